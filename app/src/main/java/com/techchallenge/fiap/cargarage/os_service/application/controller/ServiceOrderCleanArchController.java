@@ -1,21 +1,34 @@
 package com.techchallenge.fiap.cargarage.os_service.application.controller;
 
+import java.time.LocalDateTime;
+
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderApprovalDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderExecutionTimeDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.presenter.ServiceOrderPresenter;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CreateServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindServiceOrderUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindVehicleHistoryUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderExecutionTimeUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderStatusCountsUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderTimeInStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.ProcessApprovalUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.SearchServiceOrdersUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderUseCase;
 
@@ -33,6 +46,10 @@ public class ServiceOrderCleanArchController {
     private final ProcessApprovalUseCase processApprovalUseCase;
     private final GetServiceOrderExecutionTimeUseCase getServiceOrderExecutionTimeUseCase;
     private final CancelServiceOrderUseCase cancelServiceOrderUseCase;
+    private final GetServiceOrderTimeInStatusUseCase getServiceOrderTimeInStatusUseCase;
+    private final GetServiceOrderStatusCountsUseCase getServiceOrderStatusCountsUseCase;
+    private final FindVehicleHistoryUseCase findVehicleHistoryUseCase;
+    private final SearchServiceOrdersUseCase searchServiceOrdersUseCase;
 
     /**
      * Finds a service order by its ID.
@@ -89,6 +106,124 @@ public class ServiceOrderCleanArchController {
                 modelPage.pageSize());
     }
 
+    /**
+     * Finds the version of a service order.
+     */
+    public ServiceOrderVersionDto findVersionById(Long id) {
+        return findServiceOrderUseCase.findVersionById(id);
+    }
+
+    /**
+     * Finds the versions of the orders {@link #findAll} returns.
+     */
+    public PageDto<ServiceOrderVersionDto> findAllVersions(int page, int size) {
+        return findServiceOrderUseCase.findVersions(new PageRequestDto(page, size));
+    }
+
+    /**
+     * Finds the versions of the orders {@link #findByCustomerId} returns.
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, int page, int size) {
+        return findServiceOrderUseCase.findVersionsByCustomerId(customerId, new PageRequestDto(page, size));
+    }
+
+    /**
+     * Finds the versions of the orders {@link #findByStatus} returns.
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, int page, int size) {
+        return findServiceOrderUseCase.findVersionsByStatus(status, new PageRequestDto(page, size));
+    }
+
+    /**
+     * Finds service orders matching a multi-criteria filter, newest first.
+     */
+    public PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, int page, int size) {
+        PageRequestDto pageRequest = new PageRequestDto(page, size);
+        PageDto<ServiceOrder> modelPage = searchServiceOrdersUseCase.search(filter, pageRequest);
+        return new PageDto<>(
+                modelPage.content().stream()
+                        .map(ServiceOrderPresenter::toResponseDtoFromModel)
+                        .toList(),
+                modelPage.totalElements(),
+                modelPage.pageNumber(),
+                modelPage.pageSize());
+    }
+
+    /**
+     * Finds a service order by its ID with only the given fields.
+     */
+    public ServiceOrderDto findById(Long id, String fields) {
+        return findServiceOrderUseCase.findFieldsById(id, fields);
+    }
+
+    /**
+     * Finds all service orders with pagination and only the given fields.
+     */
+    public PageDto<ServiceOrderDto> findAll(int page, int size, String fields) {
+        return findServiceOrderUseCase.findAllFields(new PageRequestDto(page, size), fields);
+    }
+
+    /**
+     * Finds service orders by customer ID with pagination and only the given
+     * fields.
+     */
+    public PageDto<ServiceOrderDto> findByCustomerId(Long customerId, int page, int size, String fields) {
+        return findServiceOrderUseCase.findFieldsByCustomerId(customerId, new PageRequestDto(page, size), fields);
+    }
+
+    /**
+     * Finds service orders by status with pagination and only the given
+     * fields.
+     */
+    public PageDto<ServiceOrderDto> findByStatus(String status, int page, int size, String fields) {
+        return findServiceOrderUseCase.findFieldsByStatus(status, new PageRequestDto(page, size), fields);
+    }
+
+    /**
+     * Finds service orders matching a multi-criteria filter, newest first,
+     * with only the given fields.
+     */
+    public PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, int page, int size, String fields) {
+        return searchServiceOrdersUseCase.searchFields(filter, new PageRequestDto(page, size), fields);
+    }
+
+    /**
+     * Finds the service history of a vehicle by its ID, newest first.
+     */
+    public CursorPageDto<ServiceOrderDto> findByVehicleId(Long vehicleId, String cursor, int size) {
+        return toResponsePage(findVehicleHistoryUseCase.findByVehicleId(vehicleId, cursor, size));
+    }
+
+    /**
+     * Finds the service history of a vehicle by its license plate, newest
+     * first.
+     */
+    public CursorPageDto<ServiceOrderDto> findByLicensePlate(String licensePlate, String cursor, int size) {
+        return toResponsePage(findVehicleHistoryUseCase.findByLicensePlate(licensePlate, cursor, size));
+    }
+
+    /**
+     * Finds the service history summaries of a vehicle by its ID.
+     */
+    public CursorPageDto<ServiceOrderSummaryDto> findSummariesByVehicleId(Long vehicleId, String cursor, int size) {
+        return findVehicleHistoryUseCase.findSummariesByVehicleId(vehicleId, cursor, size);
+    }
+
+    /**
+     * Finds the service history summaries of a vehicle by its license plate.
+     */
+    public CursorPageDto<ServiceOrderSummaryDto> findSummariesByLicensePlate(
+            String licensePlate, String cursor, int size) {
+        return findVehicleHistoryUseCase.findSummariesByLicensePlate(licensePlate, cursor, size);
+    }
+
+    /**
+     * Searches service orders by free text, most relevant first.
+     */
+    public CursorPageDto<ServiceOrderSearchResultDto> searchText(String text, String cursor, int size) {
+        return searchServiceOrdersUseCase.searchText(text, cursor, size);
+    }
+
     /**
      * Gets execution time statistics.
      */
@@ -96,6 +231,20 @@ public class ServiceOrderCleanArchController {
         return getServiceOrderExecutionTimeUseCase.execute();
     }
 
+    /**
+     * Gets time-in-status statistics for the given window.
+     */
+    public ServiceOrderTimeInStatusDto getTimeInStatusStatistics(LocalDateTime from, LocalDateTime to) {
+        return getServiceOrderTimeInStatusUseCase.execute(from, to);
+    }
+
+    /**
+     * Gets the number of service orders currently in each status.
+     */
+    public ServiceOrderStatusCountsDto getStatusCounts() {
+        return getServiceOrderStatusCountsUseCase.execute();
+    }
+
     /**
      * Creates a new service order.
      */
@@ -143,4 +292,13 @@ public class ServiceOrderCleanArchController {
         return ServiceOrderPresenter.toResponseDtoFromModel(
                 cancelServiceOrderUseCase.execute(id, reason));
     }
+
+    private static CursorPageDto<ServiceOrderDto> toResponsePage(CursorPageDto<ServiceOrder> modelPage) {
+        return new CursorPageDto<>(
+                modelPage.content().stream()
+                        .map(ServiceOrderPresenter::toResponseDtoFromModel)
+                        .toList(),
+                modelPage.nextCursor(),
+                modelPage.pageSize());
+    }
 }
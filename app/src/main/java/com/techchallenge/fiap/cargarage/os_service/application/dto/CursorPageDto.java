@@ -0,0 +1,13 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.util.List;
+
+/**
+ * Generic DTO for keyset-paginated responses. {@code nextCursor} is passed
+ * back to fetch the following page and is null on the last page.
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor,
+        int pageSize) {
+}
@@ -9,7 +9,7 @@ import lombok.Builder;
 /**
  * DTO for Service Order response.
  */
-@Builder
+@Builder(toBuilder = true)
 public record ServiceOrderDto(
         Long id,
         Long customerId,
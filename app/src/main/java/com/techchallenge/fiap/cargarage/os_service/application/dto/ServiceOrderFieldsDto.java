@@ -0,0 +1,50 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DTO for a sparse fieldset: the {@link ServiceOrderDto} properties a client
+ * asked for. Only those columns are read and, for {@code services} and
+ * {@code resources}, only then are the child rows loaded. {@code id},
+ * {@code status} and {@code updatedAt} are always read because they make up
+ * the order's version.
+ */
+public record ServiceOrderFieldsDto(Set<String> names) {
+
+    public static final String SERVICES = "services";
+    public static final String RESOURCES = "resources";
+
+    /** Properties of {@link ServiceOrderDto} that can be selected. */
+    public static final List<String> SELECTABLE = List.of(
+            "id", "customerId", "customerName", "vehicleId", "vehicleLicensePlate",
+            "vehicleModel", "vehicleBrand", "description", "status", "totalPrice",
+            "createdAt", "updatedAt", "approvedAt", "finishedAt", "deliveredAt",
+            SERVICES, RESOURCES);
+
+    /** Properties read whatever was asked for. */
+    public static final List<String> ALWAYS_READ = List.of("id", "status", "updatedAt");
+
+    public ServiceOrderFieldsDto {
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * Returns whether the property was asked for.
+     */
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * Returns the order columns to read: the ones asked for plus
+     * {@link #ALWAYS_READ}, in {@link #SELECTABLE} order, without the child
+     * collections.
+     */
+    public List<String> columns() {
+        return SELECTABLE.stream()
+                .filter(name -> !SERVICES.equals(name) && !RESOURCES.equals(name))
+                .filter(name -> names.contains(name) || ALWAYS_READ.contains(name))
+                .toList();
+    }
+}
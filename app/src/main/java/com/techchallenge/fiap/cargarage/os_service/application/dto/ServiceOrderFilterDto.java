@@ -0,0 +1,20 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a multi-criteria service order search. Null (or empty) criteria
+ * are ignored; the others are combined with AND. Statuses hold status names
+ * and any of them matches; {@code createdFrom} is inclusive and
+ * {@code createdTo} exclusive.
+ */
+public record ServiceOrderFilterDto(
+        List<String> statuses,
+        Long customerId,
+        Long vehicleId,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        BigDecimal minTotal) {
+}
@@ -0,0 +1,25 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+
+/**
+ * DTO for a Service Order matched by a text search, with its relevance score.
+ */
+@Builder
+public record ServiceOrderSearchResultDto(
+        Long id,
+        Long customerId,
+        String customerName,
+        Long vehicleId,
+        String vehicleLicensePlate,
+        String vehicleModel,
+        String vehicleBrand,
+        String description,
+        String status,
+        BigDecimal totalPrice,
+        LocalDateTime createdAt,
+        float score) {
+}
@@ -0,0 +1,14 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.util.Map;
+
+import lombok.Builder;
+
+/**
+ * DTO for the number of service orders currently in each status.
+ */
+@Builder
+public record ServiceOrderStatusCountsDto(
+        Map<String, Long> counts,
+        long total) {
+}
@@ -0,0 +1,20 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Builder;
+
+/**
+ * DTO for the distribution of time spent in a single status.
+ */
+@Builder
+public record ServiceOrderStatusDurationDto(
+        String status,
+        long transitions,
+        BigDecimal avgHours,
+        BigDecimal minHours,
+        BigDecimal p50Hours,
+        BigDecimal p90Hours,
+        BigDecimal p95Hours,
+        BigDecimal maxHours) {
+}
@@ -0,0 +1,24 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+
+/**
+ * DTO for a Service Order without its services and resources.
+ */
+@Builder
+public record ServiceOrderSummaryDto(
+        Long id,
+        Long customerId,
+        String customerName,
+        Long vehicleId,
+        String vehicleLicensePlate,
+        String vehicleModel,
+        String vehicleBrand,
+        String status,
+        BigDecimal totalPrice,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
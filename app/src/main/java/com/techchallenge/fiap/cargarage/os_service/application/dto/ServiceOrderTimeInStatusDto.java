@@ -0,0 +1,16 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+
+/**
+ * DTO for time-in-status statistics over a window of status transitions.
+ */
+@Builder
+public record ServiceOrderTimeInStatusDto(
+        LocalDateTime from,
+        LocalDateTime to,
+        List<ServiceOrderStatusDurationDto> statuses) {
+}
@@ -0,0 +1,14 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO identifying the current state of a service order without loading it.
+ * Every write sets {@code updatedAt}; the status distinguishes transitions
+ * applied with the same timestamp.
+ */
+public record ServiceOrderVersionDto(
+        Long id,
+        String status,
+        LocalDateTime updatedAt) {
+}
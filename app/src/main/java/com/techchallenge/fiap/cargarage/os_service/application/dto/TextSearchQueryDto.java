@@ -0,0 +1,16 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+/**
+ * DTO for a ranked text search over service orders. {@code text} is matched
+ * against the description and customer name; {@code plateFragment}, when not
+ * empty, against any part of the license plate. Only results strictly after
+ * ({@code scoreBelow}, {@code idBefore}) in descending order are returned, at
+ * most {@code limit} of them.
+ */
+public record TextSearchQueryDto(
+        String text,
+        String plateFragment,
+        float scoreBelow,
+        long idBefore,
+        int limit) {
+}
@@ -0,0 +1,17 @@
+package com.techchallenge.fiap.cargarage.os_service.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a keyset query over the service orders of a vehicle, newest first.
+ * Exactly one of {@code vehicleId} and {@code licensePlate} is set; only
+ * orders strictly before ({@code createdBefore}, {@code idBefore}) are
+ * returned, at most {@code limit} of them.
+ */
+public record VehicleHistoryQueryDto(
+        Long vehicleId,
+        String licensePlate,
+        LocalDateTime createdBefore,
+        Long idBefore,
+        int limit) {
+}
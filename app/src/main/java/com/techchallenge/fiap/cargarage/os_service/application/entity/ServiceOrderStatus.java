@@ -1,23 +1,62 @@
 package com.techchallenge.fiap.cargarage.os_service.application.entity;
 
-import java.util.Objects;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
-import lombok.EqualsAndHashCode;
 import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 
 /**
- * Value object that represents service order status as a canonical String.
- * The enum ServiceOrderStatusEnum is used only to validate/normalize input
- * during creation.
+ * Value object that represents service order status. There is exactly one
+ * instance per ServiceOrderStatusEnum value, so factories never allocate and
+ * instances may be compared by identity.
  */
-@EqualsAndHashCode
 public final class ServiceOrderStatus {
 
-    private final String status;
+    /**
+     * Allowed transitions per status; statuses without an entry are terminal.
+     */
+    private static final Map<ServiceOrderStatusEnum, Set<ServiceOrderStatusEnum>> TRANSITIONS = new EnumMap<>(
+            Map.of(
+                    ServiceOrderStatusEnum.RECEIVED, EnumSet.of(
+                            ServiceOrderStatusEnum.IN_DIAGNOSIS,
+                            ServiceOrderStatusEnum.CANCELLED),
+                    ServiceOrderStatusEnum.IN_DIAGNOSIS, EnumSet.of(
+                            ServiceOrderStatusEnum.WAITING_APPROVAL,
+                            ServiceOrderStatusEnum.CANCELLED),
+                    ServiceOrderStatusEnum.WAITING_APPROVAL, EnumSet.of(
+                            ServiceOrderStatusEnum.IN_EXECUTION,
+                            ServiceOrderStatusEnum.IN_DIAGNOSIS,
+                            ServiceOrderStatusEnum.CANCELLED),
+                    ServiceOrderStatusEnum.IN_EXECUTION, EnumSet.of(
+                            ServiceOrderStatusEnum.FINISHED),
+                    ServiceOrderStatusEnum.FINISHED, EnumSet.of(
+                            ServiceOrderStatusEnum.DELIVERED)));
+
+    private static final ServiceOrderStatus[] INSTANCES;
+
+    static {
+        ServiceOrderStatusEnum[] values = ServiceOrderStatusEnum.values();
+        INSTANCES = new ServiceOrderStatus[values.length];
+        for (ServiceOrderStatusEnum value : values) {
+            int allowedTargets = 0;
+            for (ServiceOrderStatusEnum target : TRANSITIONS.getOrDefault(value, Set.of())) {
+                allowedTargets |= 1 << target.ordinal();
+            }
+            INSTANCES[value.ordinal()] = new ServiceOrderStatus(value, allowedTargets);
+        }
+    }
+
+    private final ServiceOrderStatusEnum status;
 
-    private ServiceOrderStatus(String status) {
-        this.status = Objects.requireNonNull(status, "status must not be null");
+    /** Bit {@code n} is set when the status with ordinal {@code n} is reachable. */
+    private final int allowedTargets;
+
+    private ServiceOrderStatus(ServiceOrderStatusEnum status, int allowedTargets) {
+        this.status = status;
+        this.allowedTargets = allowedTargets;
     }
 
     /**
@@ -30,119 +69,99 @@ public final class ServiceOrderStatus {
         if (status == null || status.isBlank()) {
             throw new IllegalArgumentException("status must not be null or blank");
         }
-        String normalized = status.trim().toUpperCase();
-        ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(normalized);
+        ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(status.trim());
         if (enumVal == null) {
             throw new InvalidDataException("Invalid order status: " + status);
         }
-        return new ServiceOrderStatus(enumVal.name());
+        return of(enumVal);
+    }
+
+    /**
+     * Returns the canonical instance for the given enum value.
+     */
+    public static ServiceOrderStatus of(ServiceOrderStatusEnum status) {
+        return INSTANCES[status.ordinal()];
     }
 
     // Named factories for each status for convenience and readability in use-cases
     public static ServiceOrderStatus received() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.RECEIVED.name());
+        return of(ServiceOrderStatusEnum.RECEIVED);
     }
 
     public static ServiceOrderStatus inDiagnosis() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.IN_DIAGNOSIS.name());
+        return of(ServiceOrderStatusEnum.IN_DIAGNOSIS);
     }
 
     public static ServiceOrderStatus waitingApproval() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.WAITING_APPROVAL.name());
+        return of(ServiceOrderStatusEnum.WAITING_APPROVAL);
     }
 
     public static ServiceOrderStatus inExecution() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.IN_EXECUTION.name());
+        return of(ServiceOrderStatusEnum.IN_EXECUTION);
     }
 
     public static ServiceOrderStatus finished() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.FINISHED.name());
+        return of(ServiceOrderStatusEnum.FINISHED);
     }
 
     public static ServiceOrderStatus delivered() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.DELIVERED.name());
+        return of(ServiceOrderStatusEnum.DELIVERED);
     }
 
     public static ServiceOrderStatus cancelled() {
-        return new ServiceOrderStatus(ServiceOrderStatusEnum.CANCELLED.name());
+        return of(ServiceOrderStatusEnum.CANCELLED);
     }
 
     // Predicate helpers
     public boolean isReceived() {
-        return ServiceOrderStatusEnum.RECEIVED.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.RECEIVED;
     }
 
     public boolean isInDiagnosis() {
-        return ServiceOrderStatusEnum.IN_DIAGNOSIS.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.IN_DIAGNOSIS;
     }
 
     public boolean isWaitingApproval() {
-        return ServiceOrderStatusEnum.WAITING_APPROVAL.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.WAITING_APPROVAL;
     }
 
     public boolean isInExecution() {
-        return ServiceOrderStatusEnum.IN_EXECUTION.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.IN_EXECUTION;
     }
 
     public boolean isFinished() {
-        return ServiceOrderStatusEnum.FINISHED.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.FINISHED;
     }
 
     public boolean isDelivered() {
-        return ServiceOrderStatusEnum.DELIVERED.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.DELIVERED;
     }
 
     public boolean isCancelled() {
-        return ServiceOrderStatusEnum.CANCELLED.name().equals(this.status);
+        return status == ServiceOrderStatusEnum.CANCELLED;
     }
 
     public String value() {
+        return status.name();
+    }
+
+    public ServiceOrderStatusEnum toEnum() {
         return status;
     }
 
     /**
      * Returns true if a transition from this status to target is allowed by
-     * business rules.
-     * Uses ServiceOrderStatusEnum for decision logic by mapping the stored strings
-     * back to enum values.
+     * business rules. Transitions are precomputed into a bitmask per status.
      */
     public boolean canTransitionTo(ServiceOrderStatus targetStatus) {
         if (targetStatus == null) {
             return false;
         }
-
-        ServiceOrderStatusEnum currentEnum = ServiceOrderStatusEnum.fromString(this.status);
-        ServiceOrderStatusEnum targetEnum = ServiceOrderStatusEnum.fromString(targetStatus.status);
-        if (currentEnum == null || targetEnum == null) {
-            return false;
-        }
-
-        switch (currentEnum) {
-            case RECEIVED:
-                return targetEnum == ServiceOrderStatusEnum.IN_DIAGNOSIS
-                        || targetEnum == ServiceOrderStatusEnum.CANCELLED;
-            case IN_DIAGNOSIS:
-                return targetEnum == ServiceOrderStatusEnum.WAITING_APPROVAL
-                        || targetEnum == ServiceOrderStatusEnum.CANCELLED;
-            case WAITING_APPROVAL:
-                return targetEnum == ServiceOrderStatusEnum.IN_EXECUTION
-                        || targetEnum == ServiceOrderStatusEnum.IN_DIAGNOSIS
-                        || targetEnum == ServiceOrderStatusEnum.CANCELLED;
-            case IN_EXECUTION:
-                return targetEnum == ServiceOrderStatusEnum.FINISHED;
-            case FINISHED:
-                return targetEnum == ServiceOrderStatusEnum.DELIVERED;
-            case DELIVERED:
-                return false;
-            case CANCELLED:
-                return false;
-            default:
-                return false;
-        }
+        return (allowedTargets & (1 << targetStatus.status.ordinal())) != 0;
     }
 
     @Override
     public String toString() {
-        return status;
+        return status.name();
     }
 }
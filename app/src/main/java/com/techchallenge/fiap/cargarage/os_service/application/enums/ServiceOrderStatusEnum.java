@@ -1,5 +1,9 @@
 package com.techchallenge.fiap.cargarage.os_service.application.enums;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enum representing the possible statuses of a Service Order (OS).
  * Follows the workflow:
@@ -23,18 +27,26 @@ public enum ServiceOrderStatusEnum {
     /** Status when the order has been cancelled. */
     CANCELLED;
 
+    private static final Map<String, ServiceOrderStatusEnum> BY_NAME = new HashMap<>();
+
+    static {
+        for (ServiceOrderStatusEnum orderStatus : values()) {
+            BY_NAME.put(orderStatus.name(), orderStatus);
+        }
+    }
+
     /**
-     * Parses a string to a ServiceOrderStatusEnum.
+     * Parses a string to a ServiceOrderStatusEnum, ignoring case. Canonical
+     * (upper case) names are resolved with a single map lookup.
      *
      * @param status the string representation of the status
      * @return the corresponding enum value, or null if not found
      */
     public static ServiceOrderStatusEnum fromString(String status) {
-        for (ServiceOrderStatusEnum orderStatus : ServiceOrderStatusEnum.values()) {
-            if (orderStatus.name().equalsIgnoreCase(status)) {
-                return orderStatus;
-            }
+        if (status == null) {
+            return null;
         }
-        return null;
+        ServiceOrderStatusEnum orderStatus = BY_NAME.get(status);
+        return orderStatus != null ? orderStatus : BY_NAME.get(status.toUpperCase(Locale.ROOT));
     }
 }
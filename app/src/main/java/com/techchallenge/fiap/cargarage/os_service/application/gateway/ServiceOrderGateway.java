@@ -1,13 +1,23 @@
 package com.techchallenge.fiap.cargarage.os_service.application.gateway;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import lombok.RequiredArgsConstructor;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderResource;
@@ -31,7 +41,7 @@ public class ServiceOrderGateway {
      * @return an Optional containing the service order if found
      */
     public Optional<ServiceOrder> findById(Long id) {
-        return serviceOrderDataSource.findById(id).map(this::toModel);
+        return serviceOrderDataSource.findById(id).map(ServiceOrderGateway::toModel);
     }
 
     /**
@@ -42,7 +52,7 @@ public class ServiceOrderGateway {
      */
     public PageDto<ServiceOrder> findAll(PageRequestDto pageRequest) {
         PageDto<ServiceOrderDto> dtoPage = serviceOrderDataSource.findAll(pageRequest);
-        List<ServiceOrder> content = dtoPage.content().stream().map(this::toModel).toList();
+        List<ServiceOrder> content = dtoPage.content().stream().map(ServiceOrderGateway::toModel).toList();
         return new PageDto<>(content, dtoPage.totalElements(), dtoPage.pageNumber(), dtoPage.pageSize());
     }
 
@@ -56,7 +66,7 @@ public class ServiceOrderGateway {
     public PageDto<ServiceOrder> findByCustomerId(Long customerId, PageRequestDto pageRequest) {
         PageDto<ServiceOrderDto> dtoPage = serviceOrderDataSource.findByCustomerId(
                 customerId, pageRequest);
-        List<ServiceOrder> content = dtoPage.content().stream().map(this::toModel).toList();
+        List<ServiceOrder> content = dtoPage.content().stream().map(ServiceOrderGateway::toModel).toList();
         return new PageDto<>(content, dtoPage.totalElements(), dtoPage.pageNumber(), dtoPage.pageSize());
     }
 
@@ -70,10 +80,158 @@ public class ServiceOrderGateway {
     public PageDto<ServiceOrder> findByStatus(ServiceOrderStatus status, PageRequestDto pageRequest) {
         PageDto<ServiceOrderDto> dtoPage = serviceOrderDataSource.findByStatus(
                 status.value(), pageRequest);
-        List<ServiceOrder> content = dtoPage.content().stream().map(this::toModel).toList();
+        List<ServiceOrder> content = dtoPage.content().stream().map(ServiceOrderGateway::toModel).toList();
         return new PageDto<>(content, dtoPage.totalElements(), dtoPage.pageNumber(), dtoPage.pageSize());
     }
 
+    /**
+     * Finds the version of a service order.
+     *
+     * @param id the service order ID
+     * @return the version, or empty if not found
+     */
+    public Optional<ServiceOrderVersionDto> findVersionById(Long id) {
+        return serviceOrderDataSource.findVersionById(id);
+    }
+
+    /**
+     * Finds the versions of a page of service orders.
+     *
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest) {
+        return serviceOrderDataSource.findVersions(pageRequest);
+    }
+
+    /**
+     * Finds the versions of a page of a customer's service orders.
+     *
+     * @param customerId  the customer ID
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return serviceOrderDataSource.findVersionsByCustomerId(customerId, pageRequest);
+    }
+
+    /**
+     * Finds the versions of a page of service orders in a status.
+     *
+     * @param status      the status to filter by
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(
+            ServiceOrderStatus status, PageRequestDto pageRequest) {
+        return serviceOrderDataSource.findVersionsByStatus(status.value(), pageRequest);
+    }
+
+    /**
+     * Finds service orders matching a multi-criteria filter, newest first.
+     *
+     * @param filter      the search criteria
+     * @param pageRequest pagination parameters
+     * @return a page of service orders
+     */
+    public PageDto<ServiceOrder> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        PageDto<ServiceOrderDto> dtoPage = serviceOrderDataSource.search(filter, pageRequest);
+        List<ServiceOrder> content = dtoPage.content().stream().map(ServiceOrderGateway::toModel).toList();
+        return new PageDto<>(content, dtoPage.totalElements(), dtoPage.pageNumber(), dtoPage.pageSize());
+    }
+
+    /**
+     * Finds a service order reading only the selected fields.
+     *
+     * @param id     the service order ID
+     * @param fields the fields to read
+     * @return an Optional containing the partial service order if found
+     */
+    public Optional<ServiceOrderDto> findFieldsById(Long id, ServiceOrderFieldsDto fields) {
+        return serviceOrderDataSource.findFieldsById(id, fields);
+    }
+
+    /**
+     * Finds service orders matching a filter in id order, reading only the
+     * selected fields.
+     *
+     * @param filter      the search criteria
+     * @param fields      the fields to read
+     * @param pageRequest pagination parameters
+     * @return a page of partial service orders
+     */
+    public PageDto<ServiceOrderDto> findFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return serviceOrderDataSource.findFields(filter, fields, pageRequest);
+    }
+
+    /**
+     * Finds service orders matching a multi-criteria filter, newest first,
+     * reading only the selected fields.
+     *
+     * @param filter      the search criteria
+     * @param fields      the fields to read
+     * @param pageRequest pagination parameters
+     * @return a page of partial service orders
+     */
+    public PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return serviceOrderDataSource.searchFields(filter, fields, pageRequest);
+    }
+
+    /**
+     * Finds service orders of a vehicle, newest first, after a keyset
+     * position.
+     *
+     * @param query the vehicle, keyset position and row limit
+     * @return the matching service orders
+     */
+    public List<ServiceOrder> findVehicleHistory(VehicleHistoryQueryDto query) {
+        return serviceOrderDataSource.findVehicleHistory(query).stream().map(ServiceOrderGateway::toModel).toList();
+    }
+
+    /**
+     * Finds service order summaries of a vehicle, newest first, after a
+     * keyset position.
+     *
+     * @param query the vehicle, keyset position and row limit
+     * @return the matching service order summaries
+     */
+    public List<ServiceOrderSummaryDto> findVehicleHistorySummary(VehicleHistoryQueryDto query) {
+        return serviceOrderDataSource.findVehicleHistorySummary(query);
+    }
+
+    /**
+     * Searches service orders by text, most relevant first, after a keyset
+     * position.
+     *
+     * @param query the search text, keyset position and row limit
+     * @return the matching service orders with their scores
+     */
+    public List<ServiceOrderSearchResultDto> searchText(TextSearchQueryDto query) {
+        return serviceOrderDataSource.searchText(query);
+    }
+
+    /**
+     * Computes the time spent in each status within the given window.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return one entry per status left within the window
+     */
+    public List<ServiceOrderStatusDurationDto> findTimeInStatus(LocalDateTime from, LocalDateTime to) {
+        return serviceOrderDataSource.findTimeInStatus(from, to);
+    }
+
+    /**
+     * Returns the number of service orders currently in each status.
+     *
+     * @return order count keyed by status name
+     */
+    public Map<String, Long> countByStatus() {
+        return serviceOrderDataSource.countByStatus();
+    }
+
     /**
      * Inserts a new service order.
      *
@@ -107,7 +265,10 @@ public class ServiceOrderGateway {
         serviceOrderDataSource.deleteById(id);
     }
 
-    private ServiceOrderPersistenceDto toPersistenceDto(ServiceOrder model) {
+    /**
+     * Maps a domain model to the DTO handed to the data source.
+     */
+    static ServiceOrderPersistenceDto toPersistenceDto(ServiceOrder model) {
         var requestDto = ServiceOrderPresenter.toRequestDtoFromModel(model);
 
         return ServiceOrderPersistenceDto.builder()
@@ -131,7 +292,10 @@ public class ServiceOrderGateway {
                 .build();
     }
 
-    private ServiceOrder toModel(ServiceOrderDto dto) {
+    /**
+     * Maps a data source DTO to the domain model.
+     */
+    static ServiceOrder toModel(ServiceOrderDto dto) {
         List<ServiceOrderItem> services = dto.services() != null
                 ? dto.services().stream()
                         .map(s -> ServiceOrderItem.buildServiceOrderItem(
@@ -1,11 +1,22 @@
 package com.techchallenge.fiap.cargarage.os_service.application.interfaces;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
 
 /**
  * Interface for Service Order data source operations.
@@ -64,6 +75,131 @@ public interface ServiceOrderDataSource {
      */
     PageDto<ServiceOrderDto> findByStatus(String status, PageRequestDto pageRequest);
 
+    /**
+     * Finds service orders matching every criterion of the filter, newest
+     * first, with pagination.
+     *
+     * @param filter      the search criteria
+     * @param pageRequest pagination parameters
+     * @return a page of service orders
+     */
+    PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest);
+
+    /**
+     * Finds a service order reading only the selected fields. Fields not
+     * selected are null.
+     *
+     * @param id     the service order ID
+     * @param fields the fields to read
+     * @return an Optional containing the service order if found
+     */
+    Optional<ServiceOrderDto> findFieldsById(Long id, ServiceOrderFieldsDto fields);
+
+    /**
+     * Finds service orders matching the filter in the order of
+     * {@link #findAll}, reading only the selected fields.
+     *
+     * @param filter      the search criteria
+     * @param fields      the fields to read
+     * @param pageRequest pagination parameters
+     * @return a page of service orders
+     */
+    PageDto<ServiceOrderDto> findFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest);
+
+    /**
+     * Same as {@link #search} reading only the selected fields.
+     *
+     * @param filter      the search criteria
+     * @param fields      the fields to read
+     * @param pageRequest pagination parameters
+     * @return a page of service orders
+     */
+    PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest);
+
+    /**
+     * Finds the version of a service order with a single indexed read.
+     *
+     * @param id the service order ID
+     * @return the version, or empty if not found
+     */
+    Optional<ServiceOrderVersionDto> findVersionById(Long id);
+
+    /**
+     * Finds the versions of the orders {@link #findAll} returns for the same
+     * page, with the same total.
+     *
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest);
+
+    /**
+     * Finds the versions of the orders {@link #findByCustomerId} returns for
+     * the same page.
+     *
+     * @param customerId  the customer ID
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest);
+
+    /**
+     * Finds the versions of the orders {@link #findByStatus} returns for the
+     * same page.
+     *
+     * @param status      the status to filter by
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, PageRequestDto pageRequest);
+
+    /**
+     * Finds service orders of a vehicle, newest first, after a keyset
+     * position.
+     *
+     * @param query the vehicle, keyset position and row limit
+     * @return the matching service orders
+     */
+    List<ServiceOrderDto> findVehicleHistory(VehicleHistoryQueryDto query);
+
+    /**
+     * Finds service orders of a vehicle like {@link #findVehicleHistory},
+     * without loading their services and resources.
+     *
+     * @param query the vehicle, keyset position and row limit
+     * @return the matching service order summaries
+     */
+    List<ServiceOrderSummaryDto> findVehicleHistorySummary(VehicleHistoryQueryDto query);
+
+    /**
+     * Searches service orders by text, most relevant first, after a keyset
+     * position.
+     *
+     * @param query the search text, keyset position and row limit
+     * @return the matching service orders with their scores
+     */
+    List<ServiceOrderSearchResultDto> searchText(TextSearchQueryDto query);
+
+    /**
+     * Computes the time spent in each status for the status transitions that
+     * happened within the given window.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return one entry per status left within the window
+     */
+    List<ServiceOrderStatusDurationDto> findTimeInStatus(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the number of service orders currently in each status, read
+     * from the materialized counters.
+     *
+     * @return order count keyed by status name
+     */
+    Map<String, Long> countByStatus();
+
     /**
      * Deletes a service order by its ID.
      *
@@ -1,15 +1,27 @@
 package com.techchallenge.fiap.cargarage.os_service.application.usecase;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import lombok.RequiredArgsConstructor;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
 
 /**
- * Use case for finding Service Orders.
+ * Use case for finding Service Orders. The {@code Fields} variants read only
+ * a sparse fieldset, given as a comma-separated list of
+ * {@link ServiceOrderDto} properties, and return the partial DTOs directly.
  */
 @RequiredArgsConstructor
 public class FindServiceOrderUseCase {
@@ -60,4 +72,134 @@ public class FindServiceOrderUseCase {
         ServiceOrderStatus orderStatus = ServiceOrderStatus.of(status);
         return serviceOrderGateway.findByStatus(orderStatus, pageRequest);
     }
+
+    /**
+     * Finds the version of a service order without loading it.
+     *
+     * @param id the service order ID
+     * @return the version
+     * @throws NotFoundException if the service order is not found
+     */
+    public ServiceOrderVersionDto findVersionById(Long id) {
+        return serviceOrderGateway.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Service order not found with id: " + id));
+    }
+
+    /**
+     * Finds the versions of the page {@link #findAll} returns.
+     *
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest) {
+        return serviceOrderGateway.findVersions(pageRequest);
+    }
+
+    /**
+     * Finds the versions of the page {@link #findByCustomerId} returns.
+     *
+     * @param customerId  the customer ID
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return serviceOrderGateway.findVersionsByCustomerId(customerId, pageRequest);
+    }
+
+    /**
+     * Finds the versions of the page {@link #findByStatus} returns.
+     *
+     * @param status      the status to filter by
+     * @param pageRequest pagination parameters
+     * @return a page of versions
+     */
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, PageRequestDto pageRequest) {
+        return serviceOrderGateway.findVersionsByStatus(ServiceOrderStatus.of(status), pageRequest);
+    }
+
+    /**
+     * Finds a service order by its ID reading only the given fields.
+     *
+     * @param id     the service order ID
+     * @param fields comma-separated field names
+     * @return the partial service order
+     * @throws NotFoundException    if the service order is not found
+     * @throws InvalidDataException if a field name is unknown
+     */
+    public ServiceOrderDto findFieldsById(Long id, String fields) {
+        return serviceOrderGateway.findFieldsById(id, parseFields(fields))
+                .orElseThrow(() -> new NotFoundException("Service order not found with id: " + id));
+    }
+
+    /**
+     * Same as {@link #findAll} reading only the given fields.
+     *
+     * @param pageRequest pagination parameters
+     * @param fields      comma-separated field names
+     * @return a page of partial service orders
+     * @throws InvalidDataException if a field name is unknown
+     */
+    public PageDto<ServiceOrderDto> findAllFields(PageRequestDto pageRequest, String fields) {
+        return serviceOrderGateway.findFields(
+                new ServiceOrderFilterDto(null, null, null, null, null, null), parseFields(fields), pageRequest);
+    }
+
+    /**
+     * Same as {@link #findByCustomerId} reading only the given fields.
+     *
+     * @param customerId  the customer ID
+     * @param pageRequest pagination parameters
+     * @param fields      comma-separated field names
+     * @return a page of partial service orders for the customer
+     * @throws InvalidDataException if a field name is unknown
+     */
+    public PageDto<ServiceOrderDto> findFieldsByCustomerId(
+            Long customerId, PageRequestDto pageRequest, String fields) {
+        return serviceOrderGateway.findFields(
+                new ServiceOrderFilterDto(null, customerId, null, null, null, null), parseFields(fields), pageRequest);
+    }
+
+    /**
+     * Same as {@link #findByStatus} reading only the given fields.
+     *
+     * @param status      the status to filter by
+     * @param pageRequest pagination parameters
+     * @param fields      comma-separated field names
+     * @return a page of partial service orders with the specified status
+     * @throws InvalidDataException if the status or a field name is unknown
+     */
+    public PageDto<ServiceOrderDto> findFieldsByStatus(String status, PageRequestDto pageRequest, String fields) {
+        ServiceOrderStatus orderStatus = ServiceOrderStatus.of(status);
+        return serviceOrderGateway.findFields(
+                new ServiceOrderFilterDto(List.of(orderStatus.value()), null, null, null, null, null),
+                parseFields(fields), pageRequest);
+    }
+
+    /**
+     * Parses a comma-separated list of {@link ServiceOrderDto} properties.
+     *
+     * @param fields the field names, e.g. {@code id,status,customerName}
+     * @return the fieldset
+     * @throws InvalidDataException if the list is empty or a name is unknown
+     */
+    public static ServiceOrderFieldsDto parseFields(String fields) {
+        Set<String> names = fields == null
+                ? Set.of()
+                : Arrays.stream(fields.split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            throw new InvalidDataException("Invalid fields: at least one field is required");
+        }
+        List<String> unknown = names.stream()
+                .filter(name -> !ServiceOrderFieldsDto.SELECTABLE.contains(name))
+                .sorted()
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidDataException("Invalid fields: " + String.join(", ", unknown)
+                    + "; expected any of " + String.join(", ", ServiceOrderFieldsDto.SELECTABLE));
+        }
+        return new ServiceOrderFieldsDto(names);
+    }
 }
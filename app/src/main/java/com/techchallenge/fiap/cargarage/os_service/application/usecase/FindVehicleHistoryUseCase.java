@@ -0,0 +1,135 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+/**
+ * Use case for listing the service history of a vehicle, newest orders first.
+ * Pages are addressed by an opaque cursor holding the creation time and id of
+ * the last order returned, so each page is a range read on the vehicle index
+ * regardless of how deep it is.
+ */
+@RequiredArgsConstructor
+public class FindVehicleHistoryUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Position before every stored order, used for the first page. */
+    private static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final ServiceOrderGateway serviceOrderGateway;
+
+    /**
+     * Finds the orders of a vehicle by its ID.
+     *
+     * @param vehicleId the vehicle ID
+     * @param cursor    the cursor returned with the previous page, or null
+     * @param size      the page size (1 to 100)
+     * @return a page of service orders
+     * @throws InvalidDataException if the cursor or size is invalid
+     */
+    public CursorPageDto<ServiceOrder> findByVehicleId(Long vehicleId, String cursor, int size) {
+        VehicleHistoryQueryDto query = query(vehicleId, null, cursor, size);
+        return page(serviceOrderGateway.findVehicleHistory(query), size,
+                order -> encodeCursor(order.createdAt(), order.id()));
+    }
+
+    /**
+     * Finds the orders of a vehicle by its license plate. Case and separators
+     * are ignored, so {@code abc-1d23} matches {@code ABC1D23}.
+     *
+     * @param licensePlate the license plate
+     * @param cursor       the cursor returned with the previous page, or null
+     * @param size         the page size (1 to 100)
+     * @return a page of service orders
+     * @throws InvalidDataException if the plate, cursor or size is invalid
+     */
+    public CursorPageDto<ServiceOrder> findByLicensePlate(String licensePlate, String cursor, int size) {
+        VehicleHistoryQueryDto query = query(null, normalizePlate(licensePlate), cursor, size);
+        return page(serviceOrderGateway.findVehicleHistory(query), size,
+                order -> encodeCursor(order.createdAt(), order.id()));
+    }
+
+    /**
+     * Same as {@link #findByVehicleId} without the services and resources of
+     * each order.
+     */
+    public CursorPageDto<ServiceOrderSummaryDto> findSummariesByVehicleId(Long vehicleId, String cursor, int size) {
+        VehicleHistoryQueryDto query = query(vehicleId, null, cursor, size);
+        return page(serviceOrderGateway.findVehicleHistorySummary(query), size,
+                order -> encodeCursor(order.createdAt(), order.id()));
+    }
+
+    /**
+     * Same as {@link #findByLicensePlate} without the services and resources
+     * of each order.
+     */
+    public CursorPageDto<ServiceOrderSummaryDto> findSummariesByLicensePlate(
+            String licensePlate, String cursor, int size) {
+        VehicleHistoryQueryDto query = query(null, normalizePlate(licensePlate), cursor, size);
+        return page(serviceOrderGateway.findVehicleHistorySummary(query), size,
+                order -> encodeCursor(order.createdAt(), order.id()));
+    }
+
+    /**
+     * Normalizes a license plate to upper case letters and digits.
+     */
+    static String normalizePlate(String licensePlate) {
+        String normalized = licensePlate == null ? ""
+                : licensePlate.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new InvalidDataException("Invalid license plate: " + licensePlate);
+        }
+        return normalized;
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static VehicleHistoryQueryDto query(Long vehicleId, String licensePlate, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidDataException("Invalid page size: must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return new VehicleHistoryQueryDto(vehicleId, licensePlate, FIRST_PAGE_CREATED_AT, Long.MAX_VALUE,
+                    size + 1);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new VehicleHistoryQueryDto(vehicleId, licensePlate,
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)),
+                    size + 1);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidDataException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Trims the extra row fetched to detect a following page and derives the
+     * next cursor from the last row kept.
+     */
+    private static <T> CursorPageDto<T> page(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDto<>(rows, null, size);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDto<>(List.copyOf(content), cursorOf.apply(content.get(size - 1)), size);
+    }
+}
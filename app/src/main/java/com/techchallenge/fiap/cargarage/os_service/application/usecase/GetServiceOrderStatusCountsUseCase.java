@@ -0,0 +1,39 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+/**
+ * Use case for getting how many Service Orders are currently in each status.
+ */
+@RequiredArgsConstructor
+public class GetServiceOrderStatusCountsUseCase {
+
+    private final ServiceOrderGateway serviceOrderGateway;
+
+    /**
+     * Executes the use case. Every status is listed in workflow order, with
+     * zero for statuses that have no orders.
+     *
+     * @return the per-status counts and their total
+     */
+    public ServiceOrderStatusCountsDto execute() {
+        Map<String, Long> stored = serviceOrderGateway.countByStatus();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (ServiceOrderStatusEnum status : ServiceOrderStatusEnum.values()) {
+            long count = Math.max(0L, stored.getOrDefault(status.name(), 0L));
+            counts.put(status.name(), count);
+            total += count;
+        }
+        return ServiceOrderStatusCountsDto.builder()
+                .counts(counts)
+                .total(total)
+                .build();
+    }
+}
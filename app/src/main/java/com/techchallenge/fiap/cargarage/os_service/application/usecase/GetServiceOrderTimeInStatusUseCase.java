@@ -0,0 +1,53 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+/**
+ * Use case for getting how long Service Orders stay in each status.
+ */
+@RequiredArgsConstructor
+public class GetServiceOrderTimeInStatusUseCase {
+
+    static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final ServiceOrderGateway serviceOrderGateway;
+
+    /**
+     * Executes the use case to get time-in-status statistics for the status
+     * transitions that happened within the window. Statuses are returned in
+     * workflow order.
+     *
+     * @param from start of the window (inclusive), defaults to {@code to} minus
+     *             30 days
+     * @param to   end of the window (exclusive), defaults to now
+     * @return the time-in-status statistics
+     * @throws InvalidDataException if the window is empty
+     */
+    public ServiceOrderTimeInStatusDto execute(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime windowStart = from != null ? from : windowEnd.minusDays(DEFAULT_WINDOW_DAYS);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new InvalidDataException("Invalid window: from must be before to");
+        }
+
+        List<ServiceOrderStatusDurationDto> statuses = serviceOrderGateway
+                .findTimeInStatus(windowStart, windowEnd).stream()
+                .sorted(Comparator.comparing(d -> ServiceOrderStatus.of(d.status()).toEnum()))
+                .toList();
+
+        return ServiceOrderTimeInStatusDto.builder()
+                .from(windowStart)
+                .to(windowEnd)
+                .statuses(statuses)
+                .build();
+    }
+}
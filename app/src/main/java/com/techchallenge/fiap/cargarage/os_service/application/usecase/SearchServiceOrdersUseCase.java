@@ -0,0 +1,147 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+/**
+ * Use case for searching Service Orders. Free-text results are ordered by
+ * relevance and paged with an opaque cursor holding the score and id of the
+ * last result returned; multi-criteria results are newest first and paged by
+ * page number.
+ */
+@RequiredArgsConstructor
+public class SearchServiceOrdersUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_LENGTH = 200;
+
+    /** Plate fragments shorter than a trigram cannot use the plate index. */
+    static final int MIN_PLATE_FRAGMENT_LENGTH = 3;
+
+    private final ServiceOrderGateway serviceOrderGateway;
+
+    /**
+     * Searches orders whose description or customer name matches the text,
+     * or whose license plate contains it.
+     *
+     * @param text   the search text, e.g. {@code barulho ao frear} or
+     *               {@code 1D2}
+     * @param cursor the cursor returned with the previous page, or null
+     * @param size   the page size (1 to 100)
+     * @return a page of results, most relevant first
+     * @throws InvalidDataException if the text, cursor or size is invalid
+     */
+    public CursorPageDto<ServiceOrderSearchResultDto> searchText(String text, String cursor, int size) {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidDataException(
+                    "Invalid search text: must have between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidDataException("Invalid page size: must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        String plate = trimmed.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+        String plateFragment = plate.length() >= MIN_PLATE_FRAGMENT_LENGTH ? plate : "";
+        float scoreBelow = Float.MAX_VALUE;
+        long idBefore = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                scoreBelow = Float.parseFloat(raw.substring(0, separator));
+                idBefore = Long.parseLong(raw.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidDataException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        List<ServiceOrderSearchResultDto> rows = serviceOrderGateway.searchText(
+                new TextSearchQueryDto(trimmed, plateFragment, scoreBelow, idBefore, size + 1));
+        if (rows.size() <= size) {
+            return new CursorPageDto<>(rows, null, size);
+        }
+        List<ServiceOrderSearchResultDto> content = List.copyOf(rows.subList(0, size));
+        ServiceOrderSearchResultDto last = content.get(size - 1);
+        return new CursorPageDto<>(content, encodeCursor(last.score(), last.id()), size);
+    }
+
+    /**
+     * Searches orders matching every criterion set in the filter.
+     *
+     * @param filter      the criteria; statuses are validated and normalized
+     * @param pageRequest pagination parameters (size 1 to 100)
+     * @return a page of orders, newest first
+     * @throws InvalidDataException if a status, the date range, the minimum
+     *                              total or the page is invalid
+     */
+    public PageDto<ServiceOrder> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        return serviceOrderGateway.search(normalize(filter, pageRequest), pageRequest);
+    }
+
+    /**
+     * Same as {@link #search} reading only the given fields.
+     *
+     * @param filter      the criteria; statuses are validated and normalized
+     * @param pageRequest pagination parameters (size 1 to 100)
+     * @param fields      comma-separated {@link ServiceOrderDto} properties
+     * @return a page of partial orders, newest first
+     * @throws InvalidDataException if a criterion, the page or a field name
+     *                              is invalid
+     */
+    public PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, PageRequestDto pageRequest, String fields) {
+        ServiceOrderFieldsDto fieldset = FindServiceOrderUseCase.parseFields(fields);
+        return serviceOrderGateway.searchFields(normalize(filter, pageRequest), fieldset, pageRequest);
+    }
+
+    private static ServiceOrderFilterDto normalize(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        if (pageRequest.page() < 0 || pageRequest.size() < 1 || pageRequest.size() > MAX_PAGE_SIZE) {
+            throw new InvalidDataException(
+                    "Invalid page: page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.createdFrom() != null && filter.createdTo() != null
+                && !filter.createdFrom().isBefore(filter.createdTo())) {
+            throw new InvalidDataException("Invalid range: createdFrom must be before createdTo");
+        }
+        if (filter.minTotal() != null && filter.minTotal().compareTo(BigDecimal.ZERO) < 0) {
+            throw new InvalidDataException("Invalid minTotal: must not be negative");
+        }
+        List<String> statuses = filter.statuses() == null
+                ? List.of()
+                : filter.statuses().stream()
+                        .filter(status -> status != null && !status.isBlank())
+                        .map(status -> ServiceOrderStatus.of(status).value())
+                        .distinct()
+                        .toList();
+        return new ServiceOrderFilterDto(
+                statuses,
+                filter.customerId(),
+                filter.vehicleId(),
+                filter.createdFrom(),
+                filter.createdTo(),
+                filter.minTotal());
+    }
+
+    static String encodeCursor(float score, Long id) {
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,8 +7,12 @@ import com.techchallenge.fiap.cargarage.os_service.application.controller.Servic
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CreateServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindServiceOrderUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindVehicleHistoryUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderExecutionTimeUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderStatusCountsUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderTimeInStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.ProcessApprovalUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.SearchServiceOrdersUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderUseCase;
 
@@ -26,7 +30,11 @@ public class CleanArchControllerConfiguration {
             UpdateServiceOrderStatusUseCase updateServiceOrderStatusUseCase,
             ProcessApprovalUseCase processApprovalUseCase,
             GetServiceOrderExecutionTimeUseCase getServiceOrderExecutionTimeUseCase,
-            CancelServiceOrderUseCase cancelServiceOrderUseCase) {
+            CancelServiceOrderUseCase cancelServiceOrderUseCase,
+            GetServiceOrderTimeInStatusUseCase getServiceOrderTimeInStatusUseCase,
+            GetServiceOrderStatusCountsUseCase getServiceOrderStatusCountsUseCase,
+            FindVehicleHistoryUseCase findVehicleHistoryUseCase,
+            SearchServiceOrdersUseCase searchServiceOrdersUseCase) {
         return new ServiceOrderCleanArchController(
                 findServiceOrderUseCase,
                 createServiceOrderUseCase,
@@ -34,6 +42,10 @@ public class CleanArchControllerConfiguration {
                 updateServiceOrderStatusUseCase,
                 processApprovalUseCase,
                 getServiceOrderExecutionTimeUseCase,
-                cancelServiceOrderUseCase);
+                cancelServiceOrderUseCase,
+                getServiceOrderTimeInStatusUseCase,
+                getServiceOrderStatusCountsUseCase,
+                findVehicleHistoryUseCase,
+                searchServiceOrdersUseCase);
     }
 }
@@ -0,0 +1,48 @@
+package com.techchallenge.fiap.cargarage.os_service.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.controller.ServiceOrderFieldsAdvice;
+
+/**
+ * Jackson customisation for the application-wide {@code ObjectMapper}.
+ * Spring Boot builds a single shared mapper and registers every
+ * {@link Module} bean on it, so the web layer and the messaging components
+ * serialise with the same configuration.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Replaces reflective property access with generated lambdas.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "messaging.json.blackbird-enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Binds {@link ServiceOrderDto} to the sparse fieldset filter set per
+     * response by {@link ServiceOrderFieldsAdvice}. When no filter is set,
+     * as for messaging and event payloads, every property is written.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer serviceOrderFieldsFilter() {
+        return builder -> builder
+                .mixIn(ServiceOrderDto.class, ServiceOrderFieldsMixin.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    @JsonFilter(ServiceOrderFieldsAdvice.FILTER_ID)
+    private interface ServiceOrderFieldsMixin {
+    }
+}
@@ -0,0 +1,88 @@
+package com.techchallenge.fiap.cargarage.os_service.configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.ReplicaLagMonitor;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.ReplicaRoutingDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read replica routing, enabled with {@code persistence.replica.enabled=true}.
+ *
+ * <p>
+ * The application DataSource only borrows a pooled connection once a statement
+ * runs, by which time the transaction is known to be read-only or not.
+ * Read-write work always uses the primary pool; read-only transactions use the
+ * replica pool while the {@link ReplicaLagMonitor} deems it readable.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    /**
+     * Primary pool, configured by {@code spring.datasource.*}.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Replica pool, configured by {@code persistence.replica.datasource.*}.
+     */
+    @Bean
+    @ConfigurationProperties("persistence.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${persistence.replica.primary-position-query}") String primaryPositionQuery,
+            @Value("${persistence.replica.caught-up-query}") String caughtUpQuery,
+            @Value("${persistence.replica.max-lag-ms:5000}") long maxLagMs,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica,
+                primaryPositionQuery, caughtUpQuery, Duration.ofMillis(maxLagMs), Clock.systemUTC());
+        Gauge.builder("datasource.replica.staleness", monitor, m -> {
+            Duration staleness = m.staleness();
+            return staleness != null ? staleness.toMillis() / 1000.0 : Double.NaN;
+        })
+                .description("Time since the read replica last caught up with the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor) {
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, lagMonitor));
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+        return dataSource;
+    }
+}
@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.os_service.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -1,11 +1,17 @@
 package com.techchallenge.fiap.cargarage.os_service.configuration;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
@@ -33,6 +39,18 @@ public class SqsConfiguration {
     @Value("${spring.cloud.aws.credentials.secret-key:#{null}}")
     private String secretKey;
 
+    @Value("${messaging.sqs.listener.max-concurrent-messages:10}")
+    private int maxConcurrentMessages;
+
+    @Value("${messaging.sqs.listener.max-messages-per-poll:10}")
+    private int maxMessagesPerPoll;
+
+    @Value("${messaging.sqs.listener.poll-timeout-seconds:20}")
+    private int pollTimeoutSeconds;
+
+    @Value("${messaging.sqs.listener.virtual-threads:false}")
+    private boolean virtualThreads;
+
     /**
      * SQS Client for production (AWS).
      */
@@ -84,4 +102,44 @@ public class SqsConfiguration {
                         AwsBasicCredentials.create(accessKey, secretKey)))
                 .build();
     }
+
+    /**
+     * Default listener container factory used by every {@code @SqsListener}.
+     * Values configured here apply to each inbound queue: max concurrent
+     * messages is how many messages of a queue are held in flight at once.
+     * The {@code messaging.sqs.listener.<handler>.max-concurrent-messages}
+     * properties do not configure the container; they size the
+     * {@code InboundHandlerRegistry} permits that cap how many of those
+     * messages run their handler at once, and the others wait for a permit
+     * with their visibility timeout running.
+     */
+    @Bean
+    public SqsMessageListenerContainerFactory<Object> defaultSqsListenerContainerFactory(
+            SqsAsyncClient sqsAsyncClient) {
+        return SqsMessageListenerContainerFactory.builder()
+                .sqsAsyncClient(sqsAsyncClient)
+                .configure(options -> options
+                        .maxConcurrentMessages(maxConcurrentMessages)
+                        .maxMessagesPerPoll(maxMessagesPerPoll)
+                        .pollTimeout(Duration.ofSeconds(pollTimeoutSeconds)))
+                .build();
+    }
+
+    /**
+     * Executor on which listener handlers run their business logic.
+     * Spring Cloud AWS requires its own thread type for container threads, so
+     * virtual threads are applied by handing the handler body off to this
+     * executor and completing the listener asynchronously. When disabled, the
+     * handler runs inline on the container thread. Not a default candidate so it
+     * doesn't replace Spring Boot's application task executor.
+     */
+    @Bean(defaultCandidate = false)
+    public TaskExecutor sqsListenerHandlerExecutor() {
+        if (!virtualThreads) {
+            return new SyncTaskExecutor();
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sqs-handler-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
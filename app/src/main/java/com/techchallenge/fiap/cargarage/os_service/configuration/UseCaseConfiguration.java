@@ -7,59 +7,119 @@ import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOr
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CreateServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindServiceOrderUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindVehicleHistoryUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderExecutionTimeUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderStatusCountsUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderTimeInStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.ProcessApprovalUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.SearchServiceOrdersUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.ServiceOrderEventPublisher;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.monitoring.ObservingInterceptor;
+
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * Use case configuration for dependency injection.
+ *
+ * <p>
+ * Every use case is decorated with an observation timed as
+ * {@code service_order.use_case}, and the gateway and event publisher it
+ * receives with nested ones timed as {@code service_order.gateway} and
+ * {@code service_order.publisher}, to tell database and SQS time apart from
+ * the use case's own work.
  */
 @Configuration
 public class UseCaseConfiguration {
 
+    static final String USE_CASE_OBSERVATION = "service_order.use_case";
+    static final String GATEWAY_OBSERVATION = "service_order.gateway";
+    static final String PUBLISHER_OBSERVATION = "service_order.publisher";
+
+    private final ObservationRegistry observationRegistry;
+
+    public UseCaseConfiguration(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    private <T> T useCase(T useCase) {
+        return ObservingInterceptor.observe(useCase, USE_CASE_OBSERVATION, observationRegistry);
+    }
+
+    private ServiceOrderGateway observed(ServiceOrderGateway gateway) {
+        return ObservingInterceptor.observe(gateway, GATEWAY_OBSERVATION, observationRegistry);
+    }
+
+    private ServiceOrderEventPublisher observed(ServiceOrderEventPublisher eventPublisher) {
+        return ObservingInterceptor.observe(eventPublisher, PUBLISHER_OBSERVATION, observationRegistry);
+    }
+
     @Bean
     public FindServiceOrderUseCase findServiceOrderUseCase(ServiceOrderGateway gateway) {
-        return new FindServiceOrderUseCase(gateway);
+        return useCase(new FindServiceOrderUseCase(observed(gateway)));
     }
 
     @Bean
     public CreateServiceOrderUseCase createServiceOrderUseCase(
             ServiceOrderGateway gateway,
             ServiceOrderEventPublisher eventPublisher) {
-        return new CreateServiceOrderUseCase(gateway, eventPublisher);
+        return useCase(new CreateServiceOrderUseCase(observed(gateway), observed(eventPublisher)));
     }
 
     @Bean
     public UpdateServiceOrderUseCase updateServiceOrderUseCase(ServiceOrderGateway gateway) {
-        return new UpdateServiceOrderUseCase(gateway);
+        return useCase(new UpdateServiceOrderUseCase(observed(gateway)));
     }
 
     @Bean
     public UpdateServiceOrderStatusUseCase updateServiceOrderStatusUseCase(
             ServiceOrderGateway gateway,
             ServiceOrderEventPublisher eventPublisher) {
-        return new UpdateServiceOrderStatusUseCase(gateway, eventPublisher);
+        return useCase(new UpdateServiceOrderStatusUseCase(observed(gateway), observed(eventPublisher)));
     }
 
     @Bean
     public ProcessApprovalUseCase processApprovalUseCase(
             ServiceOrderGateway gateway,
             ServiceOrderEventPublisher eventPublisher) {
-        return new ProcessApprovalUseCase(gateway, eventPublisher);
+        return useCase(new ProcessApprovalUseCase(observed(gateway), observed(eventPublisher)));
     }
 
     @Bean
     public GetServiceOrderExecutionTimeUseCase getServiceOrderExecutionTimeUseCase(
             ServiceOrderGateway gateway) {
-        return new GetServiceOrderExecutionTimeUseCase(gateway);
+        return useCase(new GetServiceOrderExecutionTimeUseCase(observed(gateway)));
+    }
+
+    @Bean
+    public GetServiceOrderTimeInStatusUseCase getServiceOrderTimeInStatusUseCase(
+            ServiceOrderGateway gateway) {
+        return useCase(new GetServiceOrderTimeInStatusUseCase(observed(gateway)));
+    }
+
+    @Bean
+    public GetServiceOrderStatusCountsUseCase getServiceOrderStatusCountsUseCase(
+            ServiceOrderGateway gateway) {
+        return useCase(new GetServiceOrderStatusCountsUseCase(observed(gateway)));
+    }
+
+    @Bean
+    public FindVehicleHistoryUseCase findVehicleHistoryUseCase(
+            ServiceOrderGateway gateway) {
+        return useCase(new FindVehicleHistoryUseCase(observed(gateway)));
+    }
+
+    @Bean
+    public SearchServiceOrdersUseCase searchServiceOrdersUseCase(
+            ServiceOrderGateway gateway) {
+        return useCase(new SearchServiceOrdersUseCase(observed(gateway)));
     }
 
     @Bean
     public CancelServiceOrderUseCase cancelServiceOrderUseCase(
             ServiceOrderGateway gateway,
             ServiceOrderEventPublisher eventPublisher) {
-        return new CancelServiceOrderUseCase(gateway, eventPublisher);
+        return useCase(new CancelServiceOrderUseCase(observed(gateway), observed(eventPublisher)));
     }
 }
@@ -1,16 +1,38 @@
 package com.techchallenge.fiap.cargarage.os_service.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.DatabaseConcurrencyLimiter;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.controller.DatabaseConcurrencyInterceptor;
 
 /**
- * Web configuration including CORS settings.
+ * Web configuration including CORS settings and the database concurrency
+ * limit for API requests.
  */
 @Configuration
-public class WebConfiguration {
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<DatabaseConcurrencyLimiter> concurrencyLimiter;
+
+    public WebConfiguration(ObjectProvider<DatabaseConcurrencyLimiter> concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        DatabaseConcurrencyLimiter limiter = concurrencyLimiter.getIfAvailable();
+        if (limiter != null && limiter.isEnabled()) {
+            registry.addInterceptor(new DatabaseConcurrencyInterceptor(limiter))
+                    .addPathPatterns("/service-orders/**");
+        }
+    }
 
     @Bean
     public CorsFilter corsFilter() {
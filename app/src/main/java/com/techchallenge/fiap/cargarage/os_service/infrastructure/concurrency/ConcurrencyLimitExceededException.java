@@ -0,0 +1,11 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency;
+
+/**
+ * Thrown when a request could not get a database concurrency permit in time.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,88 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounds how many HTTP requests and SQS handlers work against the database at
+ * once, by default to the size of the connection pool.
+ *
+ * <p>
+ * With virtual threads nothing else caps concurrency, so thousands of
+ * requests would otherwise queue inside the pool and fail with connection
+ * timeouts. Work waits for a permit in arrival order instead; HTTP requests
+ * give up after {@code acquire-timeout-ms} and are rejected, counted by
+ * {@code db.concurrency.rejected}. Disabled, every call is let through.
+ */
+@Component
+public class DatabaseConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Counter rejections;
+
+    public DatabaseConcurrencyLimiter(
+            @Value("${persistence.concurrency-limit.enabled:false}") boolean enabled,
+            @Value("${persistence.concurrency-limit.permits:10}") int permits,
+            @Value("${persistence.concurrency-limit.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("concurrency-limit.permits must be positive");
+        }
+        this.enabled = enabled;
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejections = Counter.builder("db.concurrency.rejected")
+                .description("Requests rejected while waiting for a database concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("db.concurrency.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests and handlers waiting for a database concurrency permit")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Waits up to the acquire timeout for a permit.
+     *
+     * @return whether a permit was acquired; always true when disabled
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (!enabled) {
+            return true;
+        }
+        if (permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Waits for a permit as long as it takes.
+     */
+    public void acquire() throws InterruptedException {
+        if (enabled) {
+            permits.acquire();
+        }
+    }
+
+    /**
+     * Returns a permit obtained by {@link #tryAcquire()} or {@link #acquire()}.
+     */
+    public void release() {
+        if (enabled) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.ConcurrencyLimitExceededException;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.DatabaseConcurrencyLimiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Holds a {@link DatabaseConcurrencyLimiter} permit for the whole handling of
+ * an API request. Requests that wait too long are answered with
+ * {@code 503 Service Unavailable}.
+ */
+public class DatabaseConcurrencyInterceptor implements HandlerInterceptor {
+
+    private final DatabaseConcurrencyLimiter limiter;
+
+    public DatabaseConcurrencyInterceptor(DatabaseConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException("Too many concurrent requests, try again later");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        limiter.release();
+    }
+}
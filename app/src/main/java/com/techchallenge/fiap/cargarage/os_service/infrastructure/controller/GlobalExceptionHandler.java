@@ -3,6 +3,7 @@ package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import java.time.LocalDateTime;
 import java.util.function.Supplier;
@@ -19,6 +20,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ErrorMessageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.ConcurrencyLimitExceededException;
 
 /**
  * Global exception handler for the application.
@@ -67,6 +69,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorMessage, NOT_FOUND);
     }
 
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorMessageDto> handleConcurrencyLimitExceededException(
+            ConcurrencyLimitExceededException ex,
+            WebRequest request) {
+
+        ErrorMessageDto errorMessage = getErrorMessage(
+                SERVICE_UNAVAILABLE.toString(), ex::getMessage, SERVICE_UNAVAILABLE, request);
+
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMessage);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorMessageDto> handleIllegalArgumentException(
             IllegalArgumentException ex,
@@ -1,5 +1,14 @@
 package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,17 +31,34 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import com.techchallenge.fiap.cargarage.os_service.application.controller.ServiceOrderCleanArchController;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ErrorMessageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderApprovalDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderExecutionTimeDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 
 /**
  * REST controller for Service Order endpoints.
+ *
+ * <p>
+ * Single orders, their status and the paged listings carry strong ETags
+ * (see {@link ServiceOrderETags}). A request with {@code If-None-Match} is
+ * first checked against a version lookup of the same rows and answered with
+ * 304 when nothing changed, without loading or serializing the orders.
+ *
+ * <p>
+ * The same endpoints and the criteria search accept a {@code fields}
+ * parameter; the selected properties are the only ones read from the
+ * database and written by {@link ServiceOrderFieldsAdvice}.
  */
 @Tag(name = "Service Orders", description = "Service Order (OS) management endpoints")
 @RestController
@@ -39,54 +66,151 @@ import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderS
 @RequestMapping("/service-orders")
 public class ServiceOrderController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated properties to return, e.g. "
+            + "id,status,customerName; only those columns are read, and services or resources only when listed";
+
     private final ServiceOrderCleanArchController serviceOrderController;
 
     @Operation(summary = "Get service order by ID", description = "Returns a service order by its ID")
     @ApiResponse(responseCode = "200", description = "Service order found")
+    @ApiResponse(responseCode = "304", description = "Service order unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping("/{id}")
     public ResponseEntity<ServiceOrderDto> findById(
-            @Parameter(description = "Service order ID", required = true) @PathVariable Long id) {
-        return ResponseEntity.ok(serviceOrderController.findById(id));
+            @Parameter(description = "Service order ID", required = true) @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return conditional(request, fields,
+                () -> ServiceOrderETags.of(serviceOrderController.findVersionById(id)),
+                () -> fields == null
+                        ? serviceOrderController.findById(id)
+                        : serviceOrderController.findById(id, fields),
+                ServiceOrderETags::of);
     }
 
     @Operation(summary = "Get all service orders", description = "Returns a paginated list of service orders")
     @ApiResponse(responseCode = "200", description = "List of service orders")
+    @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "400", description = "Invalid pagination parameters", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping
     public ResponseEntity<PageDto<ServiceOrderDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "15") int size) {
-        PageDto<ServiceOrderDto> pageDto = serviceOrderController.findAll(page, size);
-        return ResponseEntity.ok(pageDto);
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return conditional(request, fields,
+                () -> ServiceOrderETags.ofVersions(serviceOrderController.findAllVersions(page, size)),
+                () -> fields == null
+                        ? serviceOrderController.findAll(page, size)
+                        : serviceOrderController.findAll(page, size, fields),
+                ServiceOrderETags::ofOrders);
     }
 
     @Operation(summary = "Get service orders by customer", description = "Returns a paginated list of service orders for a specific customer")
     @ApiResponse(responseCode = "200", description = "List of service orders")
+    @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<PageDto<ServiceOrderDto>> findByCustomerId(
             @Parameter(description = "Customer ID", required = true) @PathVariable Long customerId,
             @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return conditional(request, fields,
+                () -> ServiceOrderETags.ofVersions(
+                        serviceOrderController.findVersionsByCustomerId(customerId, page, size)),
+                () -> fields == null
+                        ? serviceOrderController.findByCustomerId(customerId, page, size)
+                        : serviceOrderController.findByCustomerId(customerId, page, size, fields),
+                ServiceOrderETags::ofOrders);
+    }
+
+    @Operation(summary = "Get service history of a vehicle", description = "Returns the service orders of a vehicle, newest first, with keyset pagination. With summary=true, services and resources are omitted")
+    @ApiResponse(responseCode = "200", description = "Page of service orders; pass nextCursor back as cursor for the next page")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/vehicle/{vehicleId}")
+    public ResponseEntity<CursorPageDto<?>> findByVehicleId(
+            @Parameter(description = "Vehicle ID", required = true) @PathVariable Long vehicleId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = "Omit services and resources") @RequestParam(value = "summary", defaultValue = "false") boolean summary) {
+        return ResponseEntity.ok(summary
+                ? serviceOrderController.findSummariesByVehicleId(vehicleId, cursor, size)
+                : serviceOrderController.findByVehicleId(vehicleId, cursor, size));
+    }
+
+    @Operation(summary = "Get service history by license plate", description = "Returns the service orders of a license plate (case and hyphens ignored), newest first, with keyset pagination. With summary=true, services and resources are omitted")
+    @ApiResponse(responseCode = "200", description = "Page of service orders; pass nextCursor back as cursor for the next page")
+    @ApiResponse(responseCode = "400", description = "Invalid license plate, cursor or page size", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/vehicle/plate/{licensePlate}")
+    public ResponseEntity<CursorPageDto<?>> findByLicensePlate(
+            @Parameter(description = "Vehicle license plate", required = true) @PathVariable String licensePlate,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = "Omit services and resources") @RequestParam(value = "summary", defaultValue = "false") boolean summary) {
+        return ResponseEntity.ok(summary
+                ? serviceOrderController.findSummariesByLicensePlate(licensePlate, cursor, size)
+                : serviceOrderController.findByLicensePlate(licensePlate, cursor, size));
+    }
+
+    @Operation(summary = "Search service orders by criteria", description = "Returns a paginated list of service orders matching every given filter, newest first")
+    @ApiResponse(responseCode = "200", description = "List of service orders")
+    @ApiResponse(responseCode = "400", description = "Invalid status, date range, minimum total or pagination", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/search")
+    public ResponseEntity<PageDto<ServiceOrderDto>> search(
+            @Parameter(description = "Statuses to match (repeat or comma-separate for several)") @RequestParam(value = "status", required = false) List<String> statuses,
+            @Parameter(description = "Customer ID") @RequestParam(value = "customerId", required = false) Long customerId,
+            @Parameter(description = "Vehicle ID") @RequestParam(value = "vehicleId", required = false) Long vehicleId,
+            @Parameter(description = "Created at or after, ISO date-time") @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before, ISO date-time") @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "Minimum total price") @RequestParam(value = "minTotal", required = false) BigDecimal minTotal,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(value = "fields", required = false) String fields) {
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(
+                statuses, customerId, vehicleId, createdFrom, createdTo, minTotal);
+        return ResponseEntity.ok(fields == null
+                ? serviceOrderController.search(filter, page, size)
+                : serviceOrderController.search(filter, page, size, fields));
+    }
+
+    @Operation(summary = "Search service orders by text", description = "Full-text search (Portuguese) over description and customer name, plus partial license plate match, most relevant first with keyset pagination")
+    @ApiResponse(responseCode = "200", description = "Page of results; pass nextCursor back as cursor for the next page")
+    @ApiResponse(responseCode = "400", description = "Invalid search text, cursor or page size", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/search/text")
+    public ResponseEntity<CursorPageDto<ServiceOrderSearchResultDto>> searchText(
+            @Parameter(description = "Search text, e.g. barulho ao frear or part of a plate", required = true) @RequestParam("q") String text,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "size", defaultValue = "15") int size) {
-        return ResponseEntity.ok(
-                serviceOrderController.findByCustomerId(customerId, page, size));
+        return ResponseEntity.ok(serviceOrderController.searchText(text, cursor, size));
     }
 
     @Operation(summary = "Get service orders by status", description = "Returns a paginated list of service orders with a specific status")
     @ApiResponse(responseCode = "200", description = "List of service orders")
+    @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "400", description = "Invalid status", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping("/status/{status}")
     public ResponseEntity<PageDto<ServiceOrderDto>> findByStatus(
             @Parameter(description = "Service order status", required = true) @PathVariable String status,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "15") int size) {
-        return ResponseEntity.ok(
-                serviceOrderController.findByStatus(status, page, size));
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return conditional(request, fields,
+                () -> ServiceOrderETags.ofVersions(serviceOrderController.findVersionsByStatus(status, page, size)),
+                () -> fields == null
+                        ? serviceOrderController.findByStatus(status, page, size)
+                        : serviceOrderController.findByStatus(status, page, size, fields),
+                ServiceOrderETags::ofOrders);
     }
 
     @Operation(summary = "Get execution time statistics", description = "Returns statistics about service order execution times")
@@ -97,6 +221,25 @@ public class ServiceOrderController {
         return ResponseEntity.ok(serviceOrderController.getExecutionTimeStatistics());
     }
 
+    @Operation(summary = "Get time-in-status statistics", description = "Returns how long service orders stayed in each status, for the status transitions within the window (defaults to the last 30 days)")
+    @ApiResponse(responseCode = "200", description = "Time-in-status statistics")
+    @ApiResponse(responseCode = "400", description = "Invalid window", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/stats/time-in-status")
+    public ResponseEntity<ServiceOrderTimeInStatusDto> getTimeInStatusStatistics(
+            @Parameter(description = "Window start (inclusive), ISO date-time") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Window end (exclusive), ISO date-time") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(serviceOrderController.getTimeInStatusStatistics(from, to));
+    }
+
+    @Operation(summary = "Get status counts", description = "Returns how many service orders are currently in each status, read from the materialized counters")
+    @ApiResponse(responseCode = "200", description = "Per-status order counts")
+    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/stats/status-counts")
+    public ResponseEntity<ServiceOrderStatusCountsDto> getStatusCounts() {
+        return ResponseEntity.ok(serviceOrderController.getStatusCounts());
+    }
+
     @Operation(summary = "Create a new service order", description = "Creates a new service order")
     @ApiResponse(responseCode = "201", description = "Service order created")
     @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
@@ -147,11 +290,19 @@ public class ServiceOrderController {
 
     @Operation(summary = "Get service order status", description = "Returns the current status of a service order")
     @ApiResponse(responseCode = "200", description = "Service order status returned")
+    @ApiResponse(responseCode = "304", description = "Service order unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping("/{id}/status")
     public ResponseEntity<ServiceOrderStatusDto> getStatus(
-            @Parameter(description = "Service order ID", required = true) @PathVariable Long id) {
-        return ResponseEntity.ok(serviceOrderController.getStatus(id));
+            @Parameter(description = "Service order ID", required = true) @PathVariable Long id,
+            WebRequest request) {
+        // The version already holds the status: one indexed read either way
+        ServiceOrderVersionDto version = serviceOrderController.findVersionById(id);
+        String etag = ServiceOrderETags.of(version);
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return withETag(etag, ServiceOrderStatusDto.builder().status(version.status()).build());
     }
 
     @Operation(summary = "Cancel a service order", description = "Cancels an existing service order")
@@ -165,4 +316,40 @@ public class ServiceOrderController {
             @RequestParam(value = "reason", required = false) String reason) {
         return ResponseEntity.ok(serviceOrderController.cancel(id, reason));
     }
+
+    /**
+     * Answers 304 when the request's If-None-Match matches the current ETag,
+     * which is only looked up when the header is present; otherwise returns
+     * the body with its own ETag. Both tags are made specific to the
+     * requested fieldset, if any.
+     */
+    private static <T> ResponseEntity<T> conditional(
+            WebRequest request,
+            String fields,
+            Supplier<String> currentETag,
+            Supplier<T> body,
+            Function<T, String> bodyETag) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = ServiceOrderETags.withFields(currentETag.get(), fields);
+            if (request.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+        }
+        T content = body.get();
+        return withETag(ServiceOrderETags.withFields(bodyETag.apply(content), fields), content);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    private static <T> ResponseEntity<T> withETag(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
 }
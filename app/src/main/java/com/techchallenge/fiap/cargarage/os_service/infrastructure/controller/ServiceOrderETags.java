@@ -0,0 +1,95 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+
+/**
+ * Strong entity tags for service order responses. A tag is computed either
+ * from the response body or from a version lookup of the same rows, and both
+ * give the same value while the orders are unchanged, so conditional requests
+ * can be answered without loading the orders. A sparse fieldset is a
+ * different representation of the same rows and gets its own tag.
+ */
+final class ServiceOrderETags {
+
+    /** Bytes of the SHA-256 digest kept in a tag. */
+    private static final int TAG_BYTES = 16;
+
+    private ServiceOrderETags() {
+    }
+
+    static String of(ServiceOrderVersionDto version) {
+        return tag(new StringBuilder().append(key(version)));
+    }
+
+    static String of(ServiceOrderDto order) {
+        return of(versionOf(order));
+    }
+
+    static String ofVersions(PageDto<ServiceOrderVersionDto> page) {
+        StringBuilder source = new StringBuilder()
+                .append(page.totalElements()).append('/')
+                .append(page.pageNumber()).append('/')
+                .append(page.pageSize());
+        page.content().forEach(version -> source.append(';').append(key(version)));
+        return tag(source);
+    }
+
+    static String ofOrders(PageDto<ServiceOrderDto> page) {
+        List<ServiceOrderVersionDto> versions = page.content().stream()
+                .map(ServiceOrderETags::versionOf)
+                .toList();
+        return ofVersions(new PageDto<>(versions, page.totalElements(), page.pageNumber(), page.pageSize()));
+    }
+
+    /**
+     * Returns the tag of the {@code fields} representation of the rows tagged
+     * {@code etag}, or {@code etag} itself when no fieldset was requested.
+     */
+    static String withFields(String etag, String fields) {
+        if (fields == null) {
+            return etag;
+        }
+        String names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
+        return tag(etag + "#" + names);
+    }
+
+    private static ServiceOrderVersionDto versionOf(ServiceOrderDto order) {
+        return new ServiceOrderVersionDto(order.id(), order.status(), order.updatedAt());
+    }
+
+    private static String key(ServiceOrderVersionDto version) {
+        // The database keeps microseconds; in-memory timestamps may carry more
+        LocalDateTime updatedAt = version.updatedAt() == null
+                ? null
+                : version.updatedAt().truncatedTo(ChronoUnit.MICROS);
+        return version.id() + "|" + version.status() + "|" + updatedAt;
+    }
+
+    private static String tag(CharSequence source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, TAG_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
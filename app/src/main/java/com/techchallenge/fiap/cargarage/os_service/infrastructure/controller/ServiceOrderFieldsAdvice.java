@@ -0,0 +1,57 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Writes only the properties listed in the {@code fields} request parameter
+ * of each {@code ServiceOrderDto} returned by {@link ServiceOrderController}.
+ * The DTO is bound to the {@link #FILTER_ID} filter on the shared
+ * {@code ObjectMapper} (see {@code JacksonConfiguration}); without a
+ * {@code fields} parameter no filter is set and every property is written.
+ *
+ * <p>
+ * The names were validated when the orders were read, so the parameter is
+ * only split here.
+ */
+@RestControllerAdvice(assignableTypes = ServiceOrderController.class)
+public class ServiceOrderFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FILTER_ID = "serviceOrderFields";
+
+    static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null) {
+            return;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for an inbound message processed by this service. While its
+ * handler runs the key holds a lease: {@code processedAt} is null and
+ * {@code expiresAt} is the end of the lease.
+ * Always persisted as new so registering a key is a single INSERT.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "processed_message")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedMessageEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "queue_name", nullable = false)
+    private String queueName;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return messageKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for an inbound message removed from its queue after a permanent
+ * failure or after exhausting its retries.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "quarantined_message")
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantinedMessageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    @Column(name = "queue_name", nullable = false)
+    private String queueName;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "classification", nullable = false)
+    private String classification;
+
+    @Column(name = "error_type")
+    private String errorType;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "receive_count", nullable = false)
+    private Integer receiveCount;
+
+    @Column(name = "quarantined_at", nullable = false)
+    private LocalDateTime quarantinedAt;
+}
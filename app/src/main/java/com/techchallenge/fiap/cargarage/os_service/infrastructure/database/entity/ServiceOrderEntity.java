@@ -76,6 +76,10 @@ public class ServiceOrderEntity {
     @Column(name = "delivered_at")
     private LocalDateTime deliveredAt;
 
+    /** When the SLA watchdog flagged the current status as overdue. */
+    @Column(name = "sla_breached_at")
+    private LocalDateTime slaBreachedAt;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ServiceOrderItemEntity> services = new ArrayList<>();
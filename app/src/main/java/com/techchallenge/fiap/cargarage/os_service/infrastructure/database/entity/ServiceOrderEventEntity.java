@@ -0,0 +1,50 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for an event of a service order stream. Rows are append-only and
+ * the unique (order_id, version) pair rejects concurrent appends of the same
+ * version.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "service_order_event", uniqueConstraints = @UniqueConstraint(name = "uk_service_order_event_version", columnNames = {
+        "order_id", "version" }))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOrderEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,38 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for the latest snapshot of a service order stream: the full
+ * order state after applying the events up to {@code version}.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "service_order_snapshot")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOrderSnapshotEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "state", nullable = false, columnDefinition = "TEXT")
+    private String state;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,50 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for one shard of the materialized order count of a status. The
+ * count of a status is the sum of its shards; spreading writes over several
+ * rows keeps concurrent transactions from queueing on a single row lock.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "service_order_status_counts")
+@IdClass(ServiceOrderStatusCountEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOrderStatusCountEntity {
+
+    @Id
+    @Column(name = "status", length = 40)
+    private String status;
+
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    /**
+     * Composite key of a counter shard.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String status;
+        private Integer shard;
+    }
+}
@@ -0,0 +1,51 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for a service order status transition. Rows are append-only;
+ * {@code durationSeconds} is the time the order spent in {@code fromStatus}
+ * and is null when that is unknown (the initial status or legacy orders).
+ * Ids come from a pooled sequence so inserts can be JDBC-batched.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "service_order_status_history")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOrderStatusHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "status_history_seq")
+    @SequenceGenerator(name = "status_history_seq", sequenceName = "service_order_status_history_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "from_status")
+    private String fromStatus;
+
+    @Column(name = "to_status", nullable = false)
+    private String toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "duration_seconds")
+    private Long durationSeconds;
+}
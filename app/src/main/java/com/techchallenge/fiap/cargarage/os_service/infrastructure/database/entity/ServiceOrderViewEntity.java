@@ -0,0 +1,94 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceDto;
+
+/**
+ * JPA entity for the denormalized read model of a service order: the order
+ * columns, its services and resources as JSON documents, and the normalized
+ * license plate, so an order or a page of orders is read from one table.
+ * Attribute names match {@link ServiceOrderEntity} so the same
+ * specifications apply to both.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "service_order_view")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceOrderViewEntity {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "vehicle_license_plate")
+    private String vehicleLicensePlate;
+
+    /** License plate in upper case without separators, as looked up. */
+    @Column(name = "license_plate_key")
+    private String licensePlateKey;
+
+    @Column(name = "vehicle_model")
+    private String vehicleModel;
+
+    @Column(name = "vehicle_brand")
+    private String vehicleBrand;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "total_price", precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "approved_at")
+    private LocalDateTime approvedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "services", nullable = false)
+    private List<ServiceOrderItemDto> services;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "resources", nullable = false)
+    private List<ServiceOrderResourceDto> resources;
+}
@@ -0,0 +1,326 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.interfaces.ServiceOrderDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEventEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderSnapshotEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderEvents.DetailsUpdated;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderEvents.StatusChanged;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderEvents.Type;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Event-sourced ServiceOrderDataSource, enabled with
+ * {@code persistence.event-sourcing.enabled=true}.
+ *
+ * <p>
+ * Every write appends events to the order's stream in
+ * {@code service_order_event}, and every {@code snapshot-interval} events the
+ * full state is stored in {@code service_order_snapshot}. Orders are read by
+ * rehydrating the latest snapshot plus the events after it. The
+ * {@code service_order} table is still maintained, in the same transaction, by
+ * {@link ServiceOrderDataSourceImpl} as the projection that assigns ids and
+ * serves the list and statistics queries.
+ *
+ * <p>
+ * Orders created before the mode was enabled have no stream; their first
+ * update starts one from the projection.
+ *
+ * <p>
+ * Cannot be combined with {@link ReadModelServiceOrderDataSource}: startup
+ * fails when {@code persistence.read-model.enabled} is also true.
+ */
+@Slf4j
+@Primary
+@Component
+@Transactional
+@ConditionalOnProperty(name = "persistence.event-sourcing.enabled", havingValue = "true")
+public class EventSourcedServiceOrderDataSource implements ServiceOrderDataSource {
+
+    private final ServiceOrderDataSourceImpl projection;
+    private final ServiceOrderEventRepository eventRepository;
+    private final ServiceOrderSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotInterval;
+
+    public EventSourcedServiceOrderDataSource(
+            ServiceOrderDataSourceImpl projection,
+            ServiceOrderEventRepository eventRepository,
+            ServiceOrderSnapshotRepository snapshotRepository,
+            ObjectMapper objectMapper,
+            @Value("${persistence.event-sourcing.snapshot-interval:20}") int snapshotInterval,
+            @Value("${persistence.read-model.enabled:false}") boolean readModelEnabled) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshot-interval must be positive");
+        }
+        if (readModelEnabled) {
+            throw new IllegalStateException("persistence.event-sourcing.enabled and "
+                    + "persistence.read-model.enabled cannot both be true: enable only one of them");
+        }
+        this.projection = projection;
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Current state of a stream and the version of its last applied event.
+     */
+    private record Aggregate(ServiceOrderDto state, long version) {
+    }
+
+    @Override
+    public ServiceOrderDto insert(ServiceOrderPersistenceDto requestDto) {
+        ServiceOrderDto created = projection.insert(requestDto);
+        append(new Aggregate(created, 0), Type.CREATED, created, created, created.createdAt());
+        return created;
+    }
+
+    @Override
+    public ServiceOrderDto update(Long id, ServiceOrderPersistenceDto requestDto) {
+        Aggregate current = load(id)
+                .or(() -> projection.findById(id).map(this::startStream))
+                .orElseThrow(() -> new RuntimeException("Service order not found"));
+
+        ServiceOrderDto updated = projection.update(id, requestDto);
+
+        Aggregate aggregate = current;
+        if (!DetailsUpdated.sameDetails(current.state(), updated)) {
+            DetailsUpdated details = DetailsUpdated.of(updated);
+            aggregate = append(aggregate, Type.DETAILS_UPDATED, details,
+                    details.applyTo(aggregate.state()), updated.updatedAt());
+        }
+        // A status event is also recorded for updates that change nothing else,
+        // so every write leaves a trace in the stream.
+        if (aggregate == current || !Objects.equals(current.state().status(), updated.status())) {
+            StatusChanged statusChanged = StatusChanged.of(updated);
+            append(aggregate, Type.STATUS_CHANGED, statusChanged,
+                    statusChanged.applyTo(aggregate.state()), updated.updatedAt());
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderDto> findById(Long id) {
+        Optional<Aggregate> aggregate = load(id);
+        if (aggregate.isPresent()) {
+            return aggregate.map(Aggregate::state);
+        }
+        return projection.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findAll(PageRequestDto pageRequest) {
+        return projection.findAll(pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return projection.findByCustomerId(customerId, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findByStatus(String status, PageRequestDto pageRequest) {
+        return projection.findByStatus(status, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderVersionDto> findVersionById(Long id) {
+        return projection.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest) {
+        return projection.findVersions(pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return projection.findVersionsByCustomerId(customerId, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, PageRequestDto pageRequest) {
+        return projection.findVersionsByStatus(status, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        return projection.search(filter, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderDto> findFieldsById(Long id, ServiceOrderFieldsDto fields) {
+        return projection.findFieldsById(id, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return projection.findFields(filter, fields, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return projection.searchFields(filter, fields, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDto> findVehicleHistory(VehicleHistoryQueryDto query) {
+        return projection.findVehicleHistory(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSummaryDto> findVehicleHistorySummary(VehicleHistoryQueryDto query) {
+        return projection.findVehicleHistorySummary(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSearchResultDto> searchText(TextSearchQueryDto query) {
+        return projection.searchText(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderStatusDurationDto> findTimeInStatus(LocalDateTime from, LocalDateTime to) {
+        return projection.findTimeInStatus(from, to);
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() {
+        return projection.countByStatus();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        eventRepository.deleteByOrderId(id);
+        snapshotRepository.findById(id).ifPresent(snapshotRepository::delete);
+        projection.deleteById(id);
+    }
+
+    /**
+     * Rehydrates a stream from its latest snapshot and the events after it.
+     */
+    private Optional<Aggregate> load(Long id) {
+        Optional<ServiceOrderSnapshotEntity> snapshot = snapshotRepository.findById(id);
+        ServiceOrderDto state = snapshot.map(s -> read(s.getState(), ServiceOrderDto.class)).orElse(null);
+        long version = snapshot.map(ServiceOrderSnapshotEntity::getVersion).orElse(0L);
+
+        List<ServiceOrderEventEntity> tail = eventRepository
+                .findByOrderIdAndVersionGreaterThanOrderByVersionAsc(id, version);
+        for (ServiceOrderEventEntity event : tail) {
+            state = apply(state, event);
+            version = event.getVersion();
+        }
+        return state != null ? Optional.of(new Aggregate(state, version)) : Optional.empty();
+    }
+
+    private ServiceOrderDto apply(ServiceOrderDto state, ServiceOrderEventEntity event) {
+        Type type = Type.valueOf(event.getEventType());
+        if (type == Type.CREATED) {
+            return read(event.getPayload(), ServiceOrderDto.class);
+        }
+        if (state == null) {
+            throw new IllegalStateException("Stream of service order " + event.getOrderId()
+                    + " has " + type + " at version " + event.getVersion() + " before CREATED");
+        }
+        return switch (type) {
+            case STATUS_CHANGED -> read(event.getPayload(), StatusChanged.class).applyTo(state);
+            case DETAILS_UPDATED -> read(event.getPayload(), DetailsUpdated.class).applyTo(state);
+            default -> state;
+        };
+    }
+
+    private Aggregate startStream(ServiceOrderDto existing) {
+        log.info("Starting event stream for service order {} from its projection", existing.id());
+        LocalDateTime occurredAt = existing.updatedAt() != null ? existing.updatedAt() : existing.createdAt();
+        return append(new Aggregate(existing, 0), Type.CREATED, existing, existing,
+                occurredAt != null ? occurredAt : LocalDateTime.now());
+    }
+
+    /**
+     * Appends one event and snapshots the resulting state when its version is
+     * a multiple of the snapshot interval.
+     */
+    private Aggregate append(Aggregate aggregate, Type type, Object payload, ServiceOrderDto newState,
+            LocalDateTime occurredAt) {
+        long version = aggregate.version() + 1;
+        Long orderId = newState.id();
+        eventRepository.save(ServiceOrderEventEntity.builder()
+                .orderId(orderId)
+                .version(version)
+                .eventType(type.name())
+                .payload(write(payload))
+                .occurredAt(occurredAt != null ? occurredAt : LocalDateTime.now())
+                .build());
+
+        if (version % snapshotInterval == 0) {
+            snapshotRepository.save(ServiceOrderSnapshotEntity.builder()
+                    .orderId(orderId)
+                    .version(version)
+                    .state(write(newState))
+                    .takenAt(LocalDateTime.now())
+                    .build());
+        }
+        return new Aggregate(newState, version);
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize service order event", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read service order stream", e);
+        }
+    }
+}
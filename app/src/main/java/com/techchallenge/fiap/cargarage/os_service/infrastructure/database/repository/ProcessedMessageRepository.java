@@ -0,0 +1,106 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ProcessedMessageEntity;
+
+/**
+ * JPA repository for processed inbound message keys.
+ */
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessageEntity, String> {
+
+    /**
+     * Checks whether a message key was processed and has not expired yet.
+     * Keys whose handler is still running are not processed.
+     *
+     * @param messageKey the message key
+     * @param now        the reference time
+     * @return true if the key is registered as processed and still valid
+     */
+    boolean existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(String messageKey, LocalDateTime now);
+
+    /**
+     * Claims a message key for processing with a lease until the given time.
+     * The insert is skipped when the key is already registered and still
+     * valid, so of concurrent deliveries of a message only one claims it; an
+     * expired key, or a lease left behind by a delivery that never finished,
+     * is claimed again.
+     *
+     * @param messageKey     the message key
+     * @param queueName      the queue the message was consumed from
+     * @param now            the claim time
+     * @param leaseExpiresAt when the lease expires if the key is not completed
+     * @return 1 if the key was claimed, 0 if it is already registered
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO processed_message (message_key, queue_name, processed_at, expires_at) "
+            + "VALUES (:messageKey, :queueName, NULL, :leaseExpiresAt) "
+            + "ON CONFLICT (message_key) DO UPDATE SET queue_name = EXCLUDED.queue_name, "
+            + "processed_at = NULL, expires_at = EXCLUDED.expires_at "
+            + "WHERE processed_message.expires_at <= :now", nativeQuery = true)
+    int claim(
+            @Param("messageKey") String messageKey,
+            @Param("queueName") String queueName,
+            @Param("now") LocalDateTime now,
+            @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Marks a claimed message key as processed, replacing its lease with the
+     * TTL.
+     *
+     * @param messageKey the message key
+     * @param now        the processing time
+     * @param expiresAt  when the key expires
+     * @return the number of completed keys
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProcessedMessageEntity p SET p.processedAt = :now, p.expiresAt = :expiresAt "
+            + "WHERE p.messageKey = :messageKey")
+    int complete(
+            @Param("messageKey") String messageKey,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Deletes a claimed message key that was not processed, so the message
+     * can be processed again.
+     *
+     * @param messageKey the message key
+     * @return the number of deleted keys
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedMessageEntity p WHERE p.messageKey = :messageKey AND p.processedAt IS NULL")
+    int release(@Param("messageKey") String messageKey);
+
+    /**
+     * Lists the keys that have not expired yet.
+     *
+     * @param now the reference time
+     * @return the active message keys
+     */
+    @Query("SELECT p.messageKey FROM ProcessedMessageEntity p WHERE p.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") LocalDateTime now);
+
+    /**
+     * Deletes the keys that expired before the given time.
+     *
+     * @param now the reference time
+     * @return the number of deleted keys
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedMessageEntity p WHERE p.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
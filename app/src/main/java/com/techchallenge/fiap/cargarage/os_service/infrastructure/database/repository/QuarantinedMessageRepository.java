@@ -0,0 +1,13 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.QuarantinedMessageEntity;
+
+/**
+ * JPA repository for quarantined inbound messages.
+ */
+@Repository
+public interface QuarantinedMessageRepository extends JpaRepository<QuarantinedMessageEntity, Long> {
+}
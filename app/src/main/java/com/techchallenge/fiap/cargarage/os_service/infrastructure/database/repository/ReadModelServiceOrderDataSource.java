@@ -0,0 +1,318 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.interfaces.ServiceOrderDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderViewEntity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CQRS ServiceOrderDataSource, enabled with
+ * {@code persistence.read-model.enabled=true}.
+ *
+ * <p>
+ * Writes go to {@link ServiceOrderDataSourceImpl} and, in the same
+ * transaction, replace the order's row in {@code service_order_view}: one row
+ * per order holding its services and resources as JSON and its normalized
+ * license plate. Orders, listings, versions, criteria searches and vehicle
+ * history are then read from that table alone, with no joins and no child
+ * queries.
+ *
+ * <p>
+ * Sparse fieldsets, text search and statistics keep using the write model,
+ * whose queries already read only what they need. Orders without a row when
+ * the mode is enabled get one at startup, {@code backfill-batch-size} per
+ * transaction. The mode cannot be combined with event sourcing, which also
+ * replaces the data source: this bean is skipped when
+ * {@code persistence.event-sourcing.enabled} is true, and
+ * {@link EventSourcedServiceOrderDataSource} then fails the startup.
+ */
+@Slf4j
+@Primary
+@Component
+@Transactional
+@ConditionalOnProperty(name = "persistence.read-model.enabled", havingValue = "true")
+@ConditionalOnExpression("!${persistence.event-sourcing.enabled:false}")
+public class ReadModelServiceOrderDataSource implements ServiceOrderDataSource {
+
+    private final ServiceOrderDataSourceImpl writeModel;
+    private final ServiceOrderViewRepository viewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillBatchSize;
+
+    public ReadModelServiceOrderDataSource(
+            ServiceOrderDataSourceImpl writeModel,
+            ServiceOrderViewRepository viewRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${persistence.read-model.backfill-batch-size:500}") int backfillBatchSize) {
+        if (backfillBatchSize < 1) {
+            throw new IllegalArgumentException("read-model.backfill-batch-size must be positive");
+        }
+        this.writeModel = writeModel;
+        this.viewRepository = viewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    @Override
+    public ServiceOrderDto insert(ServiceOrderPersistenceDto requestDto) {
+        ServiceOrderDto created = writeModel.insert(requestDto);
+        viewRepository.save(toView(created));
+        return created;
+    }
+
+    @Override
+    public ServiceOrderDto update(Long id, ServiceOrderPersistenceDto requestDto) {
+        ServiceOrderDto updated = writeModel.update(id, requestDto);
+        // Lock the order row before reading its view row, as the backfill does
+        viewRepository.flush();
+        viewRepository.save(toView(updated));
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderDto> findById(Long id) {
+        return viewRepository.findById(id).map(this::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findAll(PageRequestDto pageRequest) {
+        return ServiceOrderDataSourceImpl.toPageDto(
+                viewRepository.findAll(ServiceOrderDataSourceImpl.byId(pageRequest)).map(this::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return ServiceOrderDataSourceImpl.toPageDto(viewRepository.findByCustomerId(
+                customerId, ServiceOrderDataSourceImpl.byId(pageRequest)).map(this::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findByStatus(String status, PageRequestDto pageRequest) {
+        ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(status == null ? "" : status);
+        if (enumVal == null) {
+            return new PageDto<>(List.of(), 0, pageRequest.page(), pageRequest.size());
+        }
+        return ServiceOrderDataSourceImpl.toPageDto(viewRepository.findByStatus(
+                enumVal.name(), ServiceOrderDataSourceImpl.byId(pageRequest)).map(this::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        return ServiceOrderDataSourceImpl.toPageDto(viewRepository.findAll(
+                ServiceOrderSpecifications.matching(filter),
+                ServiceOrderDataSourceImpl.newestFirst(pageRequest)).map(this::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderDto> findFieldsById(Long id, ServiceOrderFieldsDto fields) {
+        return writeModel.findFieldsById(id, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return writeModel.findFields(filter, fields, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return writeModel.searchFields(filter, fields, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderVersionDto> findVersionById(Long id) {
+        return viewRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest) {
+        return ServiceOrderDataSourceImpl.toPageDto(
+                viewRepository.findVersions(ServiceOrderDataSourceImpl.byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return ServiceOrderDataSourceImpl.toPageDto(viewRepository.findVersionsByCustomerId(
+                customerId, ServiceOrderDataSourceImpl.byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, PageRequestDto pageRequest) {
+        ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(status == null ? "" : status);
+        if (enumVal == null) {
+            return new PageDto<>(List.of(), 0, pageRequest.page(), pageRequest.size());
+        }
+        return ServiceOrderDataSourceImpl.toPageDto(viewRepository.findVersionsByStatus(
+                enumVal.name(), ServiceOrderDataSourceImpl.byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDto> findVehicleHistory(VehicleHistoryQueryDto query) {
+        Limit limit = Limit.of(query.limit());
+        List<ServiceOrderViewEntity> orders = query.vehicleId() != null
+                ? viewRepository.findVehicleHistory(
+                        query.vehicleId(), query.createdBefore(), query.idBefore(), limit)
+                : viewRepository.findLicensePlateHistory(
+                        query.licensePlate(), query.createdBefore(), query.idBefore(), limit);
+        return orders.stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSummaryDto> findVehicleHistorySummary(VehicleHistoryQueryDto query) {
+        Limit limit = Limit.of(query.limit());
+        return query.vehicleId() != null
+                ? viewRepository.findVehicleHistorySummary(
+                        query.vehicleId(), query.createdBefore(), query.idBefore(), limit)
+                : viewRepository.findLicensePlateHistorySummary(
+                        query.licensePlate(), query.createdBefore(), query.idBefore(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSearchResultDto> searchText(TextSearchQueryDto query) {
+        return writeModel.searchText(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderStatusDurationDto> findTimeInStatus(LocalDateTime from, LocalDateTime to) {
+        return writeModel.findTimeInStatus(from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByStatus() {
+        return writeModel.countByStatus();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        viewRepository.deleteById(id);
+        writeModel.deleteById(id);
+    }
+
+    /**
+     * Builds the rows of orders written before the read model was enabled,
+     * one transaction per batch. Rows are only inserted, never replaced, so a
+     * row written meanwhile by the write path or by another instance running
+     * the backfill is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfill() {
+        long built = 0;
+        List<Long> missing;
+        do {
+            missing = viewRepository.findMissingIds(Limit.of(backfillBatchSize));
+            if (!missing.isEmpty()) {
+                List<Long> batch = missing;
+                Integer inserted = transactionTemplate.execute(
+                        status -> viewRepository.insertFromWriteModel(batch));
+                built += inserted != null ? inserted : 0;
+            }
+        } while (missing.size() == backfillBatchSize);
+        if (built > 0) {
+            log.info("Built read model rows for {} existing order(s)", built);
+        }
+    }
+
+    /**
+     * Normalizes a license plate the way vehicle history lookups do.
+     */
+    static String licensePlateKey(String licensePlate) {
+        return licensePlate == null
+                ? null
+                : licensePlate.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+    }
+
+    private ServiceOrderViewEntity toView(ServiceOrderDto order) {
+        return ServiceOrderViewEntity.builder()
+                .id(order.id())
+                .customerId(order.customerId())
+                .customerName(order.customerName())
+                .vehicleId(order.vehicleId())
+                .vehicleLicensePlate(order.vehicleLicensePlate())
+                .licensePlateKey(licensePlateKey(order.vehicleLicensePlate()))
+                .vehicleModel(order.vehicleModel())
+                .vehicleBrand(order.vehicleBrand())
+                .description(order.description())
+                .status(order.status())
+                .totalPrice(order.totalPrice())
+                .createdAt(order.createdAt())
+                .updatedAt(order.updatedAt())
+                .approvedAt(order.approvedAt())
+                .finishedAt(order.finishedAt())
+                .deliveredAt(order.deliveredAt())
+                .services(order.services() != null ? order.services() : List.of())
+                .resources(order.resources() != null ? order.resources() : List.of())
+                .build();
+    }
+
+    private ServiceOrderDto toDto(ServiceOrderViewEntity view) {
+        return ServiceOrderDto.builder()
+                .id(view.getId())
+                .customerId(view.getCustomerId())
+                .customerName(view.getCustomerName())
+                .vehicleId(view.getVehicleId())
+                .vehicleLicensePlate(view.getVehicleLicensePlate())
+                .vehicleModel(view.getVehicleModel())
+                .vehicleBrand(view.getVehicleBrand())
+                .description(view.getDescription())
+                .status(view.getStatus())
+                .totalPrice(view.getTotalPrice())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .approvedAt(view.getApprovedAt())
+                .finishedAt(view.getFinishedAt())
+                .deliveredAt(view.getDeliveredAt())
+                .services(view.getServices())
+                .resources(view.getResources())
+                .build();
+    }
+}
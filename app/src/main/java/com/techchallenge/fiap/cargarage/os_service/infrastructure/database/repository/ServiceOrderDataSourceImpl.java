@@ -1,41 +1,74 @@
 package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
 import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
 import com.techchallenge.fiap.cargarage.os_service.application.interfaces.ServiceOrderDataSource;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderItemEntity;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderResourceEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusHistoryEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository.ItemView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository.ResourceView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository.SearchResultView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusHistoryRepository.StatusDurationView;
 
 /**
  * Implementation of ServiceOrderDataSource using JPA.
+ * Every status change is appended to the status history and applied to the
+ * per-status counters in the same transaction as the order write.
  */
 @Component
 @Transactional
 public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
 
+    private static final BigDecimal SECONDS_PER_HOUR = BigDecimal.valueOf(3600);
+
     private final ServiceOrderRepository serviceOrderRepository;
+    private final ServiceOrderStatusHistoryRepository statusHistoryRepository;
+    private final ServiceOrderStatusCounts statusCounts;
 
-    public ServiceOrderDataSourceImpl(ServiceOrderRepository serviceOrderRepository) {
+    public ServiceOrderDataSourceImpl(
+            ServiceOrderRepository serviceOrderRepository,
+            ServiceOrderStatusHistoryRepository statusHistoryRepository,
+            ServiceOrderStatusCounts statusCounts) {
         this.serviceOrderRepository = serviceOrderRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.statusCounts = statusCounts;
     }
 
     @Override
@@ -45,6 +78,12 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
             entity.setCreatedAt(LocalDateTime.now());
         }
         ServiceOrderEntity saved = serviceOrderRepository.save(entity);
+        statusHistoryRepository.save(ServiceOrderStatusHistoryEntity.builder()
+                .orderId(saved.getId())
+                .toStatus(saved.getStatus())
+                .changedAt(saved.getCreatedAt())
+                .build());
+        statusCounts.increment(saved.getStatus(), saved.getId());
         return toDto(saved);
     }
 
@@ -53,6 +92,8 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
         ServiceOrderEntity existing = serviceOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Service order not found"));
 
+        String previousStatus = existing.getStatus();
+
         // Clear existing services and resources
         existing.getServices().clear();
         existing.getResources().clear();
@@ -66,6 +107,9 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
         existing.setVehicleBrand(requestDto.vehicleBrand());
         existing.setDescription(requestDto.description());
         existing.setStatus(requestDto.status());
+        if (!Objects.equals(previousStatus, requestDto.status())) {
+            existing.setSlaBreachedAt(null);
+        }
         existing.setTotalPrice(requestDto.totalPrice());
         existing.setUpdatedAt(
                 requestDto.updatedAt() != null ? requestDto.updatedAt() : LocalDateTime.now());
@@ -111,51 +155,322 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
         }
 
         ServiceOrderEntity saved = serviceOrderRepository.save(existing);
+        if (!Objects.equals(previousStatus, saved.getStatus())) {
+            recordTransition(saved, previousStatus);
+            statusCounts.transition(previousStatus, saved.getStatus(), saved.getId());
+        }
         return toDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ServiceOrderDto> findById(Long id) {
-        return serviceOrderRepository.findById(id).map(this::toDto);
+        return serviceOrderRepository.findById(id).map(ServiceOrderDataSourceImpl::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageDto<ServiceOrderDto> findAll(PageRequestDto pageRequest) {
-        Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size());
+        Pageable pageable = byId(pageRequest);
         Page<ServiceOrderEntity> page = serviceOrderRepository.findAll(pageable);
-        List<ServiceOrderDto> dtos = page.stream().map(this::toDto).toList();
+        List<ServiceOrderDto> dtos = page.stream().map(ServiceOrderDataSourceImpl::toDto).toList();
         return new PageDto<>(dtos, page.getTotalElements(), page.getNumber(), page.getSize());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageDto<ServiceOrderDto> findByCustomerId(
             Long customerId,
             PageRequestDto pageRequest) {
-        Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size());
+        Pageable pageable = byId(pageRequest);
         Page<ServiceOrderEntity> page = serviceOrderRepository.findByCustomerId(customerId, pageable);
-        List<ServiceOrderDto> dtos = page.stream().map(this::toDto).toList();
+        List<ServiceOrderDto> dtos = page.stream().map(ServiceOrderDataSourceImpl::toDto).toList();
         return new PageDto<>(dtos, page.getTotalElements(), page.getNumber(), page.getSize());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageDto<ServiceOrderDto> findByStatus(String status, PageRequestDto pageRequest) {
         ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(
                 status == null ? "" : status);
-        Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size());
+        Pageable pageable = byId(pageRequest);
         if (enumVal == null) {
             return new PageDto<>(List.of(), 0, pageable.getPageNumber(), pageable.getPageSize());
         }
         Page<ServiceOrderEntity> page = serviceOrderRepository.findByStatus(enumVal.name(), pageable);
-        List<ServiceOrderDto> dtos = page.stream().map(this::toDto).toList();
+        List<ServiceOrderDto> dtos = page.stream().map(ServiceOrderDataSourceImpl::toDto).toList();
+        return new PageDto<>(dtos, page.getTotalElements(), page.getNumber(), page.getSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderVersionDto> findVersionById(Long id) {
+        return serviceOrderRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersions(PageRequestDto pageRequest) {
+        return toPageDto(serviceOrderRepository.findVersions(byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByCustomerId(Long customerId, PageRequestDto pageRequest) {
+        return toPageDto(serviceOrderRepository.findVersionsByCustomerId(customerId, byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderVersionDto> findVersionsByStatus(String status, PageRequestDto pageRequest) {
+        ServiceOrderStatusEnum enumVal = ServiceOrderStatusEnum.fromString(
+                status == null ? "" : status);
+        if (enumVal == null) {
+            return new PageDto<>(List.of(), 0, pageRequest.page(), pageRequest.size());
+        }
+        return toPageDto(serviceOrderRepository.findVersionsByStatus(enumVal.name(), byId(pageRequest)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> search(ServiceOrderFilterDto filter, PageRequestDto pageRequest) {
+        Page<ServiceOrderEntity> page = serviceOrderRepository.findAll(
+                ServiceOrderSpecifications.matching(filter), newestFirst(pageRequest));
+        List<ServiceOrderDto> dtos = page.stream().map(ServiceOrderDataSourceImpl::toDto).toList();
         return new PageDto<>(dtos, page.getTotalElements(), page.getNumber(), page.getSize());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServiceOrderDto> findFieldsById(Long id, ServiceOrderFieldsDto fields) {
+        return readFields(ServiceOrderSpecifications.hasId(id), fields, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> findFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return readFieldsPage(ServiceOrderSpecifications.matching(filter), fields, byId(pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ServiceOrderDto> searchFields(
+            ServiceOrderFilterDto filter, ServiceOrderFieldsDto fields, PageRequestDto pageRequest) {
+        return readFieldsPage(ServiceOrderSpecifications.matching(filter), fields, newestFirst(pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDto> findVehicleHistory(VehicleHistoryQueryDto query) {
+        Limit limit = Limit.of(query.limit());
+        List<ServiceOrderEntity> orders = query.vehicleId() != null
+                ? serviceOrderRepository.findVehicleHistory(
+                        query.vehicleId(), query.createdBefore(), query.idBefore(), limit)
+                : serviceOrderRepository.findLicensePlateHistory(
+                        query.licensePlate(), query.createdBefore(), query.idBefore(), limit);
+        return orders.stream().map(ServiceOrderDataSourceImpl::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSummaryDto> findVehicleHistorySummary(VehicleHistoryQueryDto query) {
+        Limit limit = Limit.of(query.limit());
+        return query.vehicleId() != null
+                ? serviceOrderRepository.findVehicleHistorySummary(
+                        query.vehicleId(), query.createdBefore(), query.idBefore(), limit)
+                : serviceOrderRepository.findLicensePlateHistorySummary(
+                        query.licensePlate(), query.createdBefore(), query.idBefore(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderSearchResultDto> searchText(TextSearchQueryDto query) {
+        return serviceOrderRepository.searchText(query.text(), query.plateFragment(),
+                query.scoreBelow(), query.idBefore(), query.limit()).stream()
+                .map(this::toSearchResultDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceOrderStatusDurationDto> findTimeInStatus(LocalDateTime from, LocalDateTime to) {
+        return statusHistoryRepository.aggregateTimeInStatus(from, to).stream()
+                .map(this::toStatusDurationDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByStatus() {
+        return statusCounts.totals();
+    }
+
     @Override
     public void deleteById(Long id) {
+        serviceOrderRepository.findById(id)
+                .ifPresent(order -> statusCounts.decrement(order.getStatus(), order.getId()));
         serviceOrderRepository.deleteById(id);
     }
 
-    private ServiceOrderEntity toEntity(ServiceOrderPersistenceDto dto) {
+    /**
+     * Appends a transition from {@code previousStatus} to the order's current
+     * status. The time spent in the previous status is measured from the
+     * latest transition into it, or from creation for a RECEIVED order without
+     * history.
+     */
+    private void recordTransition(ServiceOrderEntity order, String previousStatus) {
+        LocalDateTime changedAt = order.getUpdatedAt();
+        LocalDateTime enteredAt = statusHistoryRepository
+                .findFirstByOrderIdOrderByChangedAtDesc(order.getId())
+                .map(last -> Objects.equals(last.getToStatus(), previousStatus) ? last.getChangedAt() : null)
+                .orElse(ServiceOrderStatusEnum.RECEIVED.name().equals(previousStatus)
+                        ? order.getCreatedAt()
+                        : null);
+
+        statusHistoryRepository.save(ServiceOrderStatusHistoryEntity.builder()
+                .orderId(order.getId())
+                .fromStatus(previousStatus)
+                .toStatus(order.getStatus())
+                .changedAt(changedAt)
+                .durationSeconds(enteredAt != null
+                        ? Math.max(0, Duration.between(enteredAt, changedAt).toSeconds())
+                        : null)
+                .build());
+    }
+
+    /**
+     * Reads a page of sparse orders. The count query is skipped when the page
+     * itself shows the total.
+     */
+    private PageDto<ServiceOrderDto> readFieldsPage(
+            Specification<ServiceOrderEntity> specification, ServiceOrderFieldsDto fields, Pageable pageable) {
+        List<ServiceOrderDto> content = readFields(specification, fields, pageable);
+        return toPageDto(PageableExecutionUtils.getPage(
+                content, pageable, () -> serviceOrderRepository.count(specification)));
+    }
+
+    /**
+     * Reads the selected columns of the matching orders, then the services
+     * and resources of all of them with one query each, only if selected.
+     */
+    private List<ServiceOrderDto> readFields(
+            Specification<ServiceOrderEntity> specification, ServiceOrderFieldsDto fields, Pageable pageable) {
+        List<Map<String, Object>> rows = serviceOrderRepository.findAttributes(
+                specification, fields.columns(), pageable);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row.get("id")).toList();
+        Map<Long, List<ServiceOrderItemDto>> services = fields.includes(ServiceOrderFieldsDto.SERVICES)
+                ? serviceOrderRepository.findItemsByOrderIds(ids).stream()
+                        .collect(Collectors.groupingBy(ItemView::getOrderId,
+                                Collectors.mapping(this::toItemDto, Collectors.toList())))
+                : null;
+        Map<Long, List<ServiceOrderResourceDto>> resources = fields.includes(ServiceOrderFieldsDto.RESOURCES)
+                ? serviceOrderRepository.findResourcesByOrderIds(ids).stream()
+                        .collect(Collectors.groupingBy(ResourceView::getOrderId,
+                                Collectors.mapping(this::toResourceDto, Collectors.toList())))
+                : null;
+        return rows.stream()
+                .map(row -> toDto(row, services, resources))
+                .toList();
+    }
+
+    private ServiceOrderDto toDto(
+            Map<String, Object> row,
+            Map<Long, List<ServiceOrderItemDto>> services,
+            Map<Long, List<ServiceOrderResourceDto>> resources) {
+        Long id = (Long) row.get("id");
+        return ServiceOrderDto.builder()
+                .id(id)
+                .customerId((Long) row.get("customerId"))
+                .customerName((String) row.get("customerName"))
+                .vehicleId((Long) row.get("vehicleId"))
+                .vehicleLicensePlate((String) row.get("vehicleLicensePlate"))
+                .vehicleModel((String) row.get("vehicleModel"))
+                .vehicleBrand((String) row.get("vehicleBrand"))
+                .description((String) row.get("description"))
+                .status((String) row.get("status"))
+                .totalPrice((BigDecimal) row.get("totalPrice"))
+                .createdAt((LocalDateTime) row.get("createdAt"))
+                .updatedAt((LocalDateTime) row.get("updatedAt"))
+                .approvedAt((LocalDateTime) row.get("approvedAt"))
+                .finishedAt((LocalDateTime) row.get("finishedAt"))
+                .deliveredAt((LocalDateTime) row.get("deliveredAt"))
+                .services(services != null ? services.getOrDefault(id, List.of()) : null)
+                .resources(resources != null ? resources.getOrDefault(id, List.of()) : null)
+                .build();
+    }
+
+    private ServiceOrderItemDto toItemDto(ItemView view) {
+        return ServiceOrderItemDto.builder()
+                .id(view.getId())
+                .serviceId(view.getServiceId())
+                .serviceName(view.getServiceName())
+                .serviceDescription(view.getServiceDescription())
+                .price(view.getPrice())
+                .quantity(view.getQuantity())
+                .totalPrice(view.getTotalPrice())
+                .build();
+    }
+
+    private ServiceOrderResourceDto toResourceDto(ResourceView view) {
+        return ServiceOrderResourceDto.builder()
+                .id(view.getId())
+                .resourceId(view.getResourceId())
+                .resourceName(view.getResourceName())
+                .resourceDescription(view.getResourceDescription())
+                .resourceType(view.getResourceType())
+                .price(view.getPrice())
+                .quantity(view.getQuantity())
+                .totalPrice(view.getTotalPrice())
+                .build();
+    }
+
+    private ServiceOrderSearchResultDto toSearchResultDto(SearchResultView view) {
+        return ServiceOrderSearchResultDto.builder()
+                .id(view.getId())
+                .customerId(view.getCustomerId())
+                .customerName(view.getCustomerName())
+                .vehicleId(view.getVehicleId())
+                .vehicleLicensePlate(view.getVehicleLicensePlate())
+                .vehicleModel(view.getVehicleModel())
+                .vehicleBrand(view.getVehicleBrand())
+                .description(view.getDescription())
+                .status(view.getStatus())
+                .totalPrice(view.getTotalPrice())
+                .createdAt(view.getCreatedAt())
+                .score(view.getScore() != null ? view.getScore() : 0f)
+                .build();
+    }
+
+    private ServiceOrderStatusDurationDto toStatusDurationDto(StatusDurationView view) {
+        return ServiceOrderStatusDurationDto.builder()
+                .status(view.getStatus())
+                .transitions(view.getTransitions().longValue())
+                .avgHours(toHours(view.getAvgSeconds()))
+                .minHours(toHours(view.getMinSeconds()))
+                .p50Hours(toHours(view.getP50Seconds()))
+                .p90Hours(toHours(view.getP90Seconds()))
+                .p95Hours(toHours(view.getP95Seconds()))
+                .maxHours(toHours(view.getMaxSeconds()))
+                .build();
+    }
+
+    private static BigDecimal toHours(Number seconds) {
+        if (seconds == null) {
+            return BigDecimal.ZERO;
+        }
+        return new BigDecimal(seconds.toString()).divide(SECONDS_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Maps a persistence DTO to a new entity with its items and resources.
+     */
+    static ServiceOrderEntity toEntity(ServiceOrderPersistenceDto dto) {
         ServiceOrderEntity entity = ServiceOrderEntity.builder()
                 .customerId(dto.customerId())
                 .customerName(dto.customerName())
@@ -211,7 +526,10 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
         return entity;
     }
 
-    private ServiceOrderDto toDto(ServiceOrderEntity entity) {
+    /**
+     * Maps an entity with its items and resources to a DTO.
+     */
+    static ServiceOrderDto toDto(ServiceOrderEntity entity) {
         List<ServiceOrderItemDto> services = entity.getServices().stream()
                 .map(s -> ServiceOrderItemDto.builder()
                         .id(s.getId())
@@ -257,4 +575,25 @@ public class ServiceOrderDataSourceImpl implements ServiceOrderDataSource {
                 .resources(resources)
                 .build();
     }
+
+    /**
+     * Pages in id order so that an order listing and its versions (read by
+     * separate queries) cover the same rows.
+     */
+    static Pageable byId(PageRequestDto pageRequest) {
+        return PageRequest.of(pageRequest.page(), pageRequest.size(), Sort.by("id"));
+    }
+
+    /**
+     * Pages newest first, matching the (…, created_at DESC, id DESC) order of
+     * the search indexes.
+     */
+    static Pageable newestFirst(PageRequestDto pageRequest) {
+        return PageRequest.of(pageRequest.page(), pageRequest.size(),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    }
+
+    static <T> PageDto<T> toPageDto(Page<T> page) {
+        return new PageDto<>(page.getContent(), page.getTotalElements(), page.getNumber(), page.getSize());
+    }
 }
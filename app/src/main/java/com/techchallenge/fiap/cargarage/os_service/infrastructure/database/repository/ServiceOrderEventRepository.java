@@ -0,0 +1,36 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEventEntity;
+
+/**
+ * JPA repository for service order event streams.
+ */
+@Repository
+public interface ServiceOrderEventRepository extends JpaRepository<ServiceOrderEventEntity, Long> {
+
+    /**
+     * Lists the events of a stream after the given version, oldest first.
+     *
+     * @param orderId the service order ID
+     * @param version the last version already applied (0 for the whole stream)
+     * @return the events to apply
+     */
+    List<ServiceOrderEventEntity> findByOrderIdAndVersionGreaterThanOrderByVersionAsc(Long orderId, Long version);
+
+    /**
+     * Deletes the stream of a service order.
+     *
+     * @param orderId the service order ID
+     */
+    @Modifying
+    @Query("DELETE FROM ServiceOrderEventEntity e WHERE e.orderId = :orderId")
+    void deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,155 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceDto;
+
+/**
+ * Event types and payloads of a service order stream. A stream starts with a
+ * {@link Type#CREATED} event carrying the full order; later events carry only
+ * the fields they change.
+ */
+final class ServiceOrderEvents {
+
+    enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DETAILS_UPDATED
+    }
+
+    private ServiceOrderEvents() {
+    }
+
+    /**
+     * Status change with the timestamps maintained alongside the status.
+     */
+    record StatusChanged(
+            String status,
+            LocalDateTime updatedAt,
+            LocalDateTime approvedAt,
+            LocalDateTime finishedAt,
+            LocalDateTime deliveredAt) {
+
+        static StatusChanged of(ServiceOrderDto order) {
+            return new StatusChanged(order.status(), order.updatedAt(), order.approvedAt(),
+                    order.finishedAt(), order.deliveredAt());
+        }
+
+        ServiceOrderDto applyTo(ServiceOrderDto state) {
+            return state.toBuilder()
+                    .status(status)
+                    .updatedAt(updatedAt)
+                    .approvedAt(approvedAt)
+                    .finishedAt(finishedAt)
+                    .deliveredAt(deliveredAt)
+                    .build();
+        }
+    }
+
+    /**
+     * Change of customer, vehicle, description, price or items.
+     */
+    record DetailsUpdated(
+            Long customerId,
+            String customerName,
+            Long vehicleId,
+            String vehicleLicensePlate,
+            String vehicleModel,
+            String vehicleBrand,
+            String description,
+            BigDecimal totalPrice,
+            LocalDateTime updatedAt,
+            List<ServiceOrderItemDto> services,
+            List<ServiceOrderResourceDto> resources) {
+
+        static DetailsUpdated of(ServiceOrderDto order) {
+            return new DetailsUpdated(order.customerId(), order.customerName(), order.vehicleId(),
+                    order.vehicleLicensePlate(), order.vehicleModel(), order.vehicleBrand(),
+                    order.description(), order.totalPrice(), order.updatedAt(), order.services(),
+                    order.resources());
+        }
+
+        ServiceOrderDto applyTo(ServiceOrderDto state) {
+            return state.toBuilder()
+                    .customerId(customerId)
+                    .customerName(customerName)
+                    .vehicleId(vehicleId)
+                    .vehicleLicensePlate(vehicleLicensePlate)
+                    .vehicleModel(vehicleModel)
+                    .vehicleBrand(vehicleBrand)
+                    .description(description)
+                    .totalPrice(totalPrice)
+                    .updatedAt(updatedAt)
+                    .services(services)
+                    .resources(resources)
+                    .build();
+        }
+
+        /**
+         * Compares the details of two orders, ignoring item ids (items are
+         * re-created on every update) and the scale of decimal values.
+         */
+        static boolean sameDetails(ServiceOrderDto a, ServiceOrderDto b) {
+            return Objects.equals(a.customerId(), b.customerId())
+                    && Objects.equals(a.customerName(), b.customerName())
+                    && Objects.equals(a.vehicleId(), b.vehicleId())
+                    && Objects.equals(a.vehicleLicensePlate(), b.vehicleLicensePlate())
+                    && Objects.equals(a.vehicleModel(), b.vehicleModel())
+                    && Objects.equals(a.vehicleBrand(), b.vehicleBrand())
+                    && Objects.equals(a.description(), b.description())
+                    && sameAmount(a.totalPrice(), b.totalPrice())
+                    && sameServices(a.services(), b.services())
+                    && sameResources(a.resources(), b.resources());
+        }
+
+        private static boolean sameServices(List<ServiceOrderItemDto> a, List<ServiceOrderItemDto> b) {
+            List<ServiceOrderItemDto> left = a != null ? a : List.of();
+            List<ServiceOrderItemDto> right = b != null ? b : List.of();
+            if (left.size() != right.size()) {
+                return false;
+            }
+            for (int i = 0; i < left.size(); i++) {
+                ServiceOrderItemDto x = left.get(i);
+                ServiceOrderItemDto y = right.get(i);
+                if (!Objects.equals(x.serviceId(), y.serviceId())
+                        || !Objects.equals(x.serviceName(), y.serviceName())
+                        || !Objects.equals(x.serviceDescription(), y.serviceDescription())
+                        || !Objects.equals(x.quantity(), y.quantity())
+                        || !sameAmount(x.price(), y.price())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean sameResources(List<ServiceOrderResourceDto> a, List<ServiceOrderResourceDto> b) {
+            List<ServiceOrderResourceDto> left = a != null ? a : List.of();
+            List<ServiceOrderResourceDto> right = b != null ? b : List.of();
+            if (left.size() != right.size()) {
+                return false;
+            }
+            for (int i = 0; i < left.size(); i++) {
+                ServiceOrderResourceDto x = left.get(i);
+                ServiceOrderResourceDto y = right.get(i);
+                if (!Objects.equals(x.resourceId(), y.resourceId())
+                        || !Objects.equals(x.resourceName(), y.resourceName())
+                        || !Objects.equals(x.resourceDescription(), y.resourceDescription())
+                        || !Objects.equals(x.resourceType(), y.resourceType())
+                        || !Objects.equals(x.quantity(), y.quantity())
+                        || !sameAmount(x.price(), y.price())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+            return a == null ? b == null : b != null && a.compareTo(b) == 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+
+/**
+ * Repository fragment reading a chosen subset of the service order columns.
+ */
+public interface ServiceOrderFieldsRepository {
+
+    /**
+     * Reads the given attributes of the orders matching the specification.
+     *
+     * @param specification the orders to read
+     * @param attributes    the {@link ServiceOrderEntity} attributes to select
+     * @param pageable      the page, with the order to read it in
+     * @return one map per order, from attribute name to value
+     */
+    List<Map<String, Object>> findAttributes(
+            Specification<ServiceOrderEntity> specification,
+            List<String> attributes,
+            Pageable pageable);
+}
@@ -1,17 +1,38 @@
 package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCountRepository.StatusCountView;
 
 /**
- * JPA repository for Service Order entities.
+ * JPA repository for Service Order entities. Multi-criteria searches are
+ * built with {@link ServiceOrderSpecifications}; sparse fieldsets are read
+ * through {@link ServiceOrderFieldsRepository}.
  */
 @Repository
-public interface ServiceOrderRepository extends JpaRepository<ServiceOrderEntity, Long> {
+public interface ServiceOrderRepository extends JpaRepository<ServiceOrderEntity, Long>,
+        JpaSpecificationExecutor<ServiceOrderEntity>, ServiceOrderFieldsRepository {
 
     /**
      * Finds service orders by customer ID.
@@ -30,4 +51,266 @@ public interface ServiceOrderRepository extends JpaRepository<ServiceOrderEntity
      * @return a page of service orders
      */
     Page<ServiceOrderEntity> findByStatus(String status, Pageable pageable);
+
+    /**
+     * Reads the version of a service order from its primary key.
+     *
+     * @param id the service order ID
+     * @return the version, or empty if the order does not exist
+     */
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "o.id, o.status, o.updatedAt) FROM ServiceOrderEntity o WHERE o.id = :id")
+    Optional<ServiceOrderVersionDto> findVersionById(@Param("id") Long id);
+
+    /**
+     * Reads the versions of a page of service orders, without loading them.
+     *
+     * @param pageable pagination parameters
+     * @return a page of versions
+     */
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "o.id, o.status, o.updatedAt) FROM ServiceOrderEntity o",
+            countQuery = "SELECT count(o) FROM ServiceOrderEntity o")
+    Page<ServiceOrderVersionDto> findVersions(Pageable pageable);
+
+    /**
+     * Same as {@link #findVersions} for the orders of a customer.
+     */
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "o.id, o.status, o.updatedAt) FROM ServiceOrderEntity o WHERE o.customerId = :customerId",
+            countQuery = "SELECT count(o) FROM ServiceOrderEntity o WHERE o.customerId = :customerId")
+    Page<ServiceOrderVersionDto> findVersionsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * Same as {@link #findVersions} for the orders in a status.
+     */
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "o.id, o.status, o.updatedAt) FROM ServiceOrderEntity o WHERE o.status = :status",
+            countQuery = "SELECT count(o) FROM ServiceOrderEntity o WHERE o.status = :status")
+    Page<ServiceOrderVersionDto> findVersionsByStatus(@Param("status") String status, Pageable pageable);
+
+    /**
+     * Finds the orders of a vehicle created before a keyset position, newest
+     * first.
+     *
+     * @param vehicleId     the vehicle ID
+     * @param createdBefore creation time of the keyset position
+     * @param idBefore      id of the keyset position
+     * @param limit         the maximum number of orders
+     * @return the orders
+     */
+    @Query("SELECT o FROM ServiceOrderEntity o WHERE o.vehicleId = :vehicleId "
+            + "AND (o.createdAt, o.id) < (:createdBefore, :idBefore) ORDER BY o.createdAt DESC, o.id DESC")
+    List<ServiceOrderEntity> findVehicleHistory(
+            @Param("vehicleId") Long vehicleId,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Finds the orders of a license plate, ignoring case and hyphens, created
+     * before a keyset position, newest first.
+     *
+     * @param licensePlate  the normalized license plate
+     * @param createdBefore creation time of the keyset position
+     * @param idBefore      id of the keyset position
+     * @param limit         the maximum number of orders
+     * @return the orders
+     */
+    @Query("SELECT o FROM ServiceOrderEntity o WHERE upper(replace(o.vehicleLicensePlate, '-', '')) = :licensePlate "
+            + "AND (o.createdAt, o.id) < (:createdBefore, :idBefore) ORDER BY o.createdAt DESC, o.id DESC")
+    List<ServiceOrderEntity> findLicensePlateHistory(
+            @Param("licensePlate") String licensePlate,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Same as {@link #findVehicleHistory} reading only the summary columns,
+     * which the vehicle history index covers.
+     */
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto("
+            + "o.id, o.customerId, o.customerName, o.vehicleId, o.vehicleLicensePlate, o.vehicleModel, "
+            + "o.vehicleBrand, o.status, o.totalPrice, o.createdAt, o.updatedAt) "
+            + "FROM ServiceOrderEntity o WHERE o.vehicleId = :vehicleId "
+            + "AND (o.createdAt, o.id) < (:createdBefore, :idBefore) ORDER BY o.createdAt DESC, o.id DESC")
+    List<ServiceOrderSummaryDto> findVehicleHistorySummary(
+            @Param("vehicleId") Long vehicleId,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Same as {@link #findLicensePlateHistory} reading only the summary
+     * columns.
+     */
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto("
+            + "o.id, o.customerId, o.customerName, o.vehicleId, o.vehicleLicensePlate, o.vehicleModel, "
+            + "o.vehicleBrand, o.status, o.totalPrice, o.createdAt, o.updatedAt) "
+            + "FROM ServiceOrderEntity o WHERE upper(replace(o.vehicleLicensePlate, '-', '')) = :licensePlate "
+            + "AND (o.createdAt, o.id) < (:createdBefore, :idBefore) ORDER BY o.createdAt DESC, o.id DESC")
+    List<ServiceOrderSummaryDto> findLicensePlateHistorySummary(
+            @Param("licensePlate") String licensePlate,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Ranked text search (PostgreSQL only). Orders match when the Portuguese
+     * {@code search_vector} (description and customer name) matches the text,
+     * or when {@code plateFragment} is not empty and occurs in the normalized
+     * license plate. The score is the text rank plus the plate similarity.
+     *
+     * @param text          the search text, parsed with websearch_to_tsquery
+     * @param plateFragment the normalized plate fragment, or empty to skip
+     * @param scoreBelow    score of the keyset position
+     * @param idBefore      id of the keyset position
+     * @param limit         the maximum number of results
+     * @return the results, highest score first
+     */
+    @Query(value = "SELECT * FROM ("
+            + "SELECT o.id AS id, o.customer_id AS \"customerId\", o.customer_name AS \"customerName\", "
+            + "o.vehicle_id AS \"vehicleId\", o.vehicle_license_plate AS \"vehicleLicensePlate\", "
+            + "o.vehicle_model AS \"vehicleModel\", o.vehicle_brand AS \"vehicleBrand\", o.description AS description, "
+            + "o.status AS status, o.total_price AS \"totalPrice\", o.created_at AS \"createdAt\", "
+            + "CAST(ts_rank(o.search_vector, q.query) + CASE WHEN :plateFragment <> '' "
+            + "THEN similarity(UPPER(REPLACE(o.vehicle_license_plate, '-', '')), :plateFragment) ELSE 0 END AS real) AS score "
+            + "FROM service_order o, websearch_to_tsquery('portuguese', :text) AS q(query) "
+            + "WHERE o.search_vector @@ q.query OR (:plateFragment <> '' "
+            + "AND UPPER(REPLACE(o.vehicle_license_plate, '-', '')) LIKE '%' || :plateFragment || '%')"
+            + ") s WHERE (s.score, s.id) < (CAST(:scoreBelow AS real), :idBefore) "
+            + "ORDER BY s.score DESC, s.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchResultView> searchText(
+            @Param("text") String text,
+            @Param("plateFragment") String plateFragment,
+            @Param("scoreBelow") float scoreBelow,
+            @Param("idBefore") long idBefore,
+            @Param("limit") int limit);
+
+    /**
+     * Reads the services of the given orders without loading the orders.
+     *
+     * @param orderIds the order IDs
+     * @return the services, in id order
+     */
+    @Query("SELECT i.order.id AS orderId, i.id AS id, i.serviceId AS serviceId, i.serviceName AS serviceName, "
+            + "i.serviceDescription AS serviceDescription, i.quantity AS quantity, i.price AS price, "
+            + "i.totalPrice AS totalPrice FROM ServiceOrderItemEntity i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<ItemView> findItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Reads the resources of the given orders without loading the orders.
+     *
+     * @param orderIds the order IDs
+     * @return the resources, in id order
+     */
+    @Query("SELECT r.order.id AS orderId, r.id AS id, r.resourceId AS resourceId, r.resourceName AS resourceName, "
+            + "r.resourceDescription AS resourceDescription, r.resourceType AS resourceType, "
+            + "r.quantity AS quantity, r.price AS price, r.totalPrice AS totalPrice "
+            + "FROM ServiceOrderResourceEntity r WHERE r.order.id IN :orderIds ORDER BY r.id")
+    List<ResourceView> findResourcesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Counts service orders per status.
+     *
+     * @return one row per status with its order count
+     */
+    @Query("SELECT o.status AS status, COUNT(o) AS total FROM ServiceOrderEntity o GROUP BY o.status")
+    List<StatusCountView> countGroupedByStatus();
+
+    /**
+     * Projection of a text search result.
+     */
+    interface SearchResultView {
+
+        Long getId();
+
+        Long getCustomerId();
+
+        String getCustomerName();
+
+        Long getVehicleId();
+
+        String getVehicleLicensePlate();
+
+        String getVehicleModel();
+
+        String getVehicleBrand();
+
+        String getDescription();
+
+        String getStatus();
+
+        BigDecimal getTotalPrice();
+
+        LocalDateTime getCreatedAt();
+
+        Float getScore();
+    }
+
+    /**
+     * Projection of a service order item with its order ID.
+     */
+    interface ItemView {
+
+        Long getOrderId();
+
+        Long getId();
+
+        Long getServiceId();
+
+        String getServiceName();
+
+        String getServiceDescription();
+
+        Integer getQuantity();
+
+        BigDecimal getPrice();
+
+        BigDecimal getTotalPrice();
+    }
+
+    /**
+     * Projection of a service order resource with its order ID.
+     */
+    interface ResourceView {
+
+        Long getOrderId();
+
+        Long getId();
+
+        Long getResourceId();
+
+        String getResourceName();
+
+        String getResourceDescription();
+
+        String getResourceType();
+
+        Integer getQuantity();
+
+        BigDecimal getPrice();
+
+        BigDecimal getTotalPrice();
+    }
+
+    /**
+     * Locks the oldest orders in a status since before {@code threshold} that
+     * have not been flagged as overdue yet. Rows locked by another transaction
+     * are skipped (lock timeout -2 is {@code SKIP LOCKED}), so concurrent
+     * replicas each take a different batch.
+     *
+     * @param status    the status
+     * @param threshold orders last updated before this instant are overdue
+     * @param pageable  the batch size
+     * @return the locked orders, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM ServiceOrderEntity o WHERE o.status = :status AND o.updatedAt < :threshold "
+            + "AND o.slaBreachedAt IS NULL ORDER BY o.updatedAt")
+    List<ServiceOrderEntity> lockOverdue(
+            @Param("status") String status,
+            @Param("threshold") LocalDateTime threshold,
+            Pageable pageable);
 }
@@ -0,0 +1,51 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+
+/**
+ * Claims batches of service orders that stayed in a status for too long.
+ * Each batch is locked, flagged and committed in its own transaction.
+ */
+@Component
+@Transactional
+public class ServiceOrderSlaScanner {
+
+    private final ServiceOrderRepository serviceOrderRepository;
+
+    public ServiceOrderSlaScanner(ServiceOrderRepository serviceOrderRepository) {
+        this.serviceOrderRepository = serviceOrderRepository;
+    }
+
+    /**
+     * Flags up to {@code limit} orders in {@code status} last updated before
+     * {@code threshold}. Flagged orders are not returned again until they
+     * change status.
+     *
+     * @param status    the status
+     * @param threshold orders last updated before this instant are overdue
+     * @param limit     the batch size
+     * @param now       the time the breach is recorded at
+     * @return the orders flagged in this batch
+     */
+    public List<OverdueOrder> flagOverdue(String status, LocalDateTime threshold, int limit, LocalDateTime now) {
+        List<ServiceOrderEntity> overdue = serviceOrderRepository.lockOverdue(
+                status, threshold, PageRequest.of(0, limit));
+        overdue.forEach(order -> order.setSlaBreachedAt(now));
+        return overdue.stream()
+                .map(order -> new OverdueOrder(order.getId(), order.getStatus(), order.getUpdatedAt()))
+                .toList();
+    }
+
+    /**
+     * An order flagged as overdue and the time it entered its status.
+     */
+    public record OverdueOrder(Long id, String status, LocalDateTime since) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderSnapshotEntity;
+
+/**
+ * JPA repository for the latest snapshot of each service order stream.
+ */
+@Repository
+public interface ServiceOrderSnapshotRepository extends JpaRepository<ServiceOrderSnapshotEntity, Long> {
+}
@@ -0,0 +1,84 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+
+/**
+ * JPA specifications for filtering service orders. Each criterion is an
+ * equality or range predicate on a plain column so the query planner can
+ * match it against the composite indexes of {@code service_order}. They apply
+ * to any entity with the attribute names of {@link ServiceOrderEntity}, such
+ * as the read model.
+ */
+public final class ServiceOrderSpecifications {
+
+    private ServiceOrderSpecifications() {
+    }
+
+    /**
+     * Combines the criteria set in the filter with AND.
+     *
+     * @param filter the filter
+     * @return a specification matching every order when no criterion is set
+     */
+    public static <T> Specification<T> matching(ServiceOrderFilterDto filter) {
+        List<Specification<T>> specifications = new ArrayList<>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            specifications.add(hasStatusIn(filter.statuses()));
+        }
+        if (filter.customerId() != null) {
+            specifications.add(hasCustomerId(filter.customerId()));
+        }
+        if (filter.vehicleId() != null) {
+            specifications.add(hasVehicleId(filter.vehicleId()));
+        }
+        if (filter.createdFrom() != null) {
+            specifications.add(createdFrom(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            specifications.add(createdBefore(filter.createdTo()));
+        }
+        if (filter.minTotal() != null) {
+            specifications.add(totalAtLeast(filter.minTotal()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static <T> Specification<T> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static <T> Specification<T> hasStatusIn(Collection<String> statuses) {
+        return (root, query, cb) -> statuses.size() == 1
+                ? cb.equal(root.get("status"), statuses.iterator().next())
+                : root.get("status").in(statuses);
+    }
+
+    public static <T> Specification<T> hasCustomerId(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+
+    public static <T> Specification<T> hasVehicleId(Long vehicleId) {
+        return (root, query, cb) -> cb.equal(root.get("vehicleId"), vehicleId);
+    }
+
+    public static <T> Specification<T> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static <T> Specification<T> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    public static <T> Specification<T> totalAtLeast(BigDecimal minTotal) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("totalPrice"), minTotal);
+    }
+}
@@ -0,0 +1,53 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusCountEntity;
+
+/**
+ * JPA repository for the materialized per-status order counts.
+ */
+@Repository
+public interface ServiceOrderStatusCountRepository
+        extends JpaRepository<ServiceOrderStatusCountEntity, ServiceOrderStatusCountEntity.Key> {
+
+    /**
+     * Adds {@code delta} to one counter shard in place, creating the shard
+     * with {@code delta} when it does not exist yet. A single upsert, so
+     * concurrent first updates of a shard never collide on its key.
+     *
+     * @param status the status
+     * @param shard  the shard
+     * @param delta  the value to add (negative to subtract)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO service_order_status_counts (status, shard, order_count) "
+            + "VALUES (:status, :shard, :delta) ON CONFLICT (status, shard) "
+            + "DO UPDATE SET order_count = service_order_status_counts.order_count + :delta", nativeQuery = true)
+    void addToCount(@Param("status") String status, @Param("shard") int shard, @Param("delta") long delta);
+
+    /**
+     * Sums the shards of every status.
+     *
+     * @return one row per status with its order count
+     */
+    @Query("SELECT c.status AS status, SUM(c.orderCount) AS total "
+            + "FROM ServiceOrderStatusCountEntity c GROUP BY c.status")
+    List<StatusCountView> sumByStatus();
+
+    /**
+     * Projection of a status and its order count.
+     */
+    interface StatusCountView {
+
+        String getStatus();
+
+        Long getTotal();
+    }
+}
@@ -0,0 +1,148 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusCountEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCountRepository.StatusCountView;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Materialized order counts per status, kept in
+ * {@code service_order_status_counts} by the data source within the
+ * transaction that inserts, transitions or deletes an order. Each status is
+ * split into {@code shards} rows and an order always updates the shard picked
+ * by its id.
+ *
+ * <p>
+ * The counts are published as the {@code service_orders.status.count} gauge,
+ * refreshed periodically so scrapes never hit the database.
+ */
+@Slf4j
+@Component
+public class ServiceOrderStatusCounts {
+
+    private final ServiceOrderStatusCountRepository countRepository;
+    private final ServiceOrderRepository serviceOrderRepository;
+    private final int shards;
+    private final Map<ServiceOrderStatusEnum, AtomicLong> gaugeValues = new EnumMap<>(ServiceOrderStatusEnum.class);
+
+    public ServiceOrderStatusCounts(
+            ServiceOrderStatusCountRepository countRepository,
+            ServiceOrderRepository serviceOrderRepository,
+            MeterRegistry meterRegistry,
+            @Value("${persistence.status-counts.shards:4}") int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("status-counts.shards must be positive");
+        }
+        this.countRepository = countRepository;
+        this.serviceOrderRepository = serviceOrderRepository;
+        this.shards = shards;
+        for (ServiceOrderStatusEnum status : ServiceOrderStatusEnum.values()) {
+            AtomicLong value = new AtomicLong();
+            gaugeValues.put(status, value);
+            Gauge.builder("service_orders.status.count", value, AtomicLong::get)
+                    .description("Service orders currently in each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Counts a new order in its initial status.
+     */
+    public void increment(String status, Long orderId) {
+        add(status, orderId, 1);
+    }
+
+    /**
+     * Removes a deleted order from the count of its status.
+     */
+    public void decrement(String status, Long orderId) {
+        add(status, orderId, -1);
+    }
+
+    /**
+     * Moves an order from one status count to another. The two shard rows are
+     * always updated in status name order, so concurrent transitions cannot
+     * lock them in opposite orders and deadlock.
+     */
+    public void transition(String fromStatus, String toStatus, Long orderId) {
+        if (fromStatus != null && toStatus != null && fromStatus.compareTo(toStatus) > 0) {
+            add(toStatus, orderId, 1);
+            add(fromStatus, orderId, -1);
+        } else {
+            add(fromStatus, orderId, -1);
+            add(toStatus, orderId, 1);
+        }
+    }
+
+    /**
+     * Returns the current count of every status that has counters.
+     */
+    public Map<String, Long> totals() {
+        return countRepository.sumByStatus().stream()
+                .collect(Collectors.toMap(StatusCountView::getStatus, v -> v.getTotal() != null ? v.getTotal() : 0L));
+    }
+
+    /**
+     * Creates the counter rows on the first start, backfilled from the orders
+     * already stored. When several replicas start together only one insert
+     * succeeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (countRepository.count() == 0) {
+            Map<String, Long> existing = serviceOrderRepository.countGroupedByStatus().stream()
+                    .collect(Collectors.toMap(StatusCountView::getStatus, StatusCountView::getTotal));
+            List<ServiceOrderStatusCountEntity> rows = new ArrayList<>();
+            for (ServiceOrderStatusEnum status : ServiceOrderStatusEnum.values()) {
+                for (int shard = 0; shard < shards; shard++) {
+                    rows.add(new ServiceOrderStatusCountEntity(status.name(), shard,
+                            shard == 0 ? existing.getOrDefault(status.name(), 0L) : 0L));
+                }
+            }
+            try {
+                countRepository.saveAll(rows);
+                log.info("Initialized status counters from {} existing order(s)",
+                        existing.values().stream().mapToLong(Long::longValue).sum());
+            } catch (DataIntegrityViolationException e) {
+                log.info("Status counters already initialized by another instance");
+            }
+        }
+        refreshGauges();
+    }
+
+    /**
+     * Reloads the gauge values from the counters.
+     */
+    @Scheduled(fixedDelayString = "${persistence.status-counts.gauge-refresh-ms:15000}",
+            initialDelayString = "${persistence.status-counts.gauge-refresh-ms:15000}")
+    public void refreshGauges() {
+        Map<String, Long> totals = totals();
+        gaugeValues.forEach((status, value) -> value.set(totals.getOrDefault(status.name(), 0L)));
+    }
+
+    private void add(String status, Long orderId, long delta) {
+        if (status == null) {
+            return;
+        }
+        int shard = orderId != null ? (int) Math.floorMod(orderId, (long) shards) : 0;
+        countRepository.addToCount(status, shard, delta);
+    }
+}
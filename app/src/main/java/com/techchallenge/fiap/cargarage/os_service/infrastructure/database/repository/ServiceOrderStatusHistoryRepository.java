@@ -0,0 +1,77 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusHistoryEntity;
+
+/**
+ * JPA repository for service order status transitions.
+ */
+@Repository
+public interface ServiceOrderStatusHistoryRepository
+        extends JpaRepository<ServiceOrderStatusHistoryEntity, Long> {
+
+    /**
+     * Finds the latest transition of a service order.
+     *
+     * @param orderId the service order ID
+     * @return the latest transition, if any
+     */
+    Optional<ServiceOrderStatusHistoryEntity> findFirstByOrderIdOrderByChangedAtDesc(Long orderId);
+
+    /**
+     * Aggregates the time spent in each status for the transitions that
+     * happened within {@code [from, to)}. Served by a range scan on the
+     * {@code changed_at} covering index.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return one row per status that was left within the window
+     */
+    @Query(value = """
+            SELECT h.from_status AS status,
+                   COUNT(*) AS transitions,
+                   AVG(h.duration_seconds) AS avgSeconds,
+                   MIN(h.duration_seconds) AS minSeconds,
+                   PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY h.duration_seconds) AS p50Seconds,
+                   PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY h.duration_seconds) AS p90Seconds,
+                   PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY h.duration_seconds) AS p95Seconds,
+                   MAX(h.duration_seconds) AS maxSeconds
+            FROM service_order_status_history h
+            WHERE h.changed_at >= :from AND h.changed_at < :to
+              AND h.duration_seconds IS NOT NULL
+            GROUP BY h.from_status
+            """, nativeQuery = true)
+    List<StatusDurationView> aggregateTimeInStatus(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Projection of one row of {@link #aggregateTimeInStatus}.
+     */
+    interface StatusDurationView {
+
+        String getStatus();
+
+        Number getTransitions();
+
+        Number getAvgSeconds();
+
+        Number getMinSeconds();
+
+        Number getP50Seconds();
+
+        Number getP90Seconds();
+
+        Number getP95Seconds();
+
+        Number getMaxSeconds();
+    }
+}
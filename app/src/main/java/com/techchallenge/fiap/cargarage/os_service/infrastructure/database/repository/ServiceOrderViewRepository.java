@@ -0,0 +1,135 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderViewEntity;
+
+/**
+ * JPA repository for the service order read model. Its queries mirror those
+ * of {@link ServiceOrderRepository} on the single {@code service_order_view}
+ * table.
+ */
+@Repository
+public interface ServiceOrderViewRepository extends JpaRepository<ServiceOrderViewEntity, Long>,
+        JpaSpecificationExecutor<ServiceOrderViewEntity> {
+
+    Page<ServiceOrderViewEntity> findByCustomerId(Long customerId, Pageable pageable);
+
+    Page<ServiceOrderViewEntity> findByStatus(String status, Pageable pageable);
+
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "v.id, v.status, v.updatedAt) FROM ServiceOrderViewEntity v WHERE v.id = :id")
+    Optional<ServiceOrderVersionDto> findVersionById(@Param("id") Long id);
+
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "v.id, v.status, v.updatedAt) FROM ServiceOrderViewEntity v",
+            countQuery = "SELECT count(v) FROM ServiceOrderViewEntity v")
+    Page<ServiceOrderVersionDto> findVersions(Pageable pageable);
+
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "v.id, v.status, v.updatedAt) FROM ServiceOrderViewEntity v WHERE v.customerId = :customerId",
+            countQuery = "SELECT count(v) FROM ServiceOrderViewEntity v WHERE v.customerId = :customerId")
+    Page<ServiceOrderVersionDto> findVersionsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = "SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto("
+            + "v.id, v.status, v.updatedAt) FROM ServiceOrderViewEntity v WHERE v.status = :status",
+            countQuery = "SELECT count(v) FROM ServiceOrderViewEntity v WHERE v.status = :status")
+    Page<ServiceOrderVersionDto> findVersionsByStatus(@Param("status") String status, Pageable pageable);
+
+    @Query("SELECT v FROM ServiceOrderViewEntity v WHERE v.vehicleId = :vehicleId "
+            + "AND (v.createdAt, v.id) < (:createdBefore, :idBefore) ORDER BY v.createdAt DESC, v.id DESC")
+    List<ServiceOrderViewEntity> findVehicleHistory(
+            @Param("vehicleId") Long vehicleId,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Same as {@link #findVehicleHistory} by the normalized license plate,
+     * matched against the precomputed {@code license_plate_key}.
+     */
+    @Query("SELECT v FROM ServiceOrderViewEntity v WHERE v.licensePlateKey = :licensePlate "
+            + "AND (v.createdAt, v.id) < (:createdBefore, :idBefore) ORDER BY v.createdAt DESC, v.id DESC")
+    List<ServiceOrderViewEntity> findLicensePlateHistory(
+            @Param("licensePlate") String licensePlate,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto("
+            + "v.id, v.customerId, v.customerName, v.vehicleId, v.vehicleLicensePlate, v.vehicleModel, "
+            + "v.vehicleBrand, v.status, v.totalPrice, v.createdAt, v.updatedAt) "
+            + "FROM ServiceOrderViewEntity v WHERE v.vehicleId = :vehicleId "
+            + "AND (v.createdAt, v.id) < (:createdBefore, :idBefore) ORDER BY v.createdAt DESC, v.id DESC")
+    List<ServiceOrderSummaryDto> findVehicleHistorySummary(
+            @Param("vehicleId") Long vehicleId,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    @Query("SELECT new com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto("
+            + "v.id, v.customerId, v.customerName, v.vehicleId, v.vehicleLicensePlate, v.vehicleModel, "
+            + "v.vehicleBrand, v.status, v.totalPrice, v.createdAt, v.updatedAt) "
+            + "FROM ServiceOrderViewEntity v WHERE v.licensePlateKey = :licensePlate "
+            + "AND (v.createdAt, v.id) < (:createdBefore, :idBefore) ORDER BY v.createdAt DESC, v.id DESC")
+    List<ServiceOrderSummaryDto> findLicensePlateHistorySummary(
+            @Param("licensePlate") String licensePlate,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("idBefore") Long idBefore,
+            Limit limit);
+
+    /**
+     * Finds orders of the write model that have no read model row yet.
+     *
+     * @param limit the maximum number of ids
+     * @return the order IDs, lowest first
+     */
+    @Query("SELECT o.id FROM ServiceOrderEntity o WHERE NOT EXISTS "
+            + "(SELECT 1 FROM ServiceOrderViewEntity v WHERE v.id = o.id) ORDER BY o.id")
+    List<Long> findMissingIds(Limit limit);
+
+    /**
+     * Builds the read model rows of the given orders from the write model in
+     * a single statement. Each order row is share-locked while its view row
+     * is built, so it cannot be updated concurrently, and orders that already
+     * have a view row (written by the write path or another instance) are left
+     * untouched.
+     *
+     * @param ids the order IDs
+     * @return the number of rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO service_order_view (id, customer_id, customer_name, vehicle_id, "
+            + "vehicle_license_plate, license_plate_key, vehicle_model, vehicle_brand, description, status, "
+            + "total_price, created_at, updated_at, approved_at, finished_at, delivered_at, services, resources) "
+            + "SELECT o.id, o.customer_id, o.customer_name, o.vehicle_id, o.vehicle_license_plate, "
+            + "UPPER(REGEXP_REPLACE(o.vehicle_license_plate, '[^A-Za-z0-9]', '', 'g')), o.vehicle_model, "
+            + "o.vehicle_brand, o.description, o.status, o.total_price, o.created_at, o.updated_at, "
+            + "o.approved_at, o.finished_at, o.delivered_at, "
+            + "COALESCE((SELECT jsonb_agg(jsonb_build_object('id', i.id, 'serviceId', i.service_id, "
+            + "'serviceName', i.service_name, 'serviceDescription', i.service_description, 'price', i.price, "
+            + "'quantity', i.quantity, 'totalPrice', i.total_price) ORDER BY i.id) "
+            + "FROM service_order_item i WHERE i.order_id = o.id), '[]'), "
+            + "COALESCE((SELECT jsonb_agg(jsonb_build_object('id', r.id, 'resourceId', r.resource_id, "
+            + "'resourceName', r.resource_name, 'resourceDescription', r.resource_description, "
+            + "'resourceType', r.resource_type, 'price', r.price, 'quantity', r.quantity, "
+            + "'totalPrice', r.total_price) ORDER BY r.id) "
+            + "FROM service_order_resource r WHERE r.order_id = o.id), '[]') "
+            + "FROM service_order o WHERE o.id IN (:ids) FOR SHARE OF o "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int insertFromWriteModel(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,101 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks how far the read replica lags behind the primary and decides
+ * whether read-only work may use it.
+ *
+ * <p>
+ * Each probe reads the primary's current WAL position and asks the replica
+ * whether it has replayed up to it. When it has, the replica holds every write
+ * committed before the probe started. Writes committed by this instance are
+ * recorded, so reads go to the replica only when its last successful probe
+ * started after the last write (read-your-writes) and no longer than
+ * {@code maxLag} ago; otherwise they fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final String primaryPositionQuery;
+    private final String caughtUpQuery;
+    private final Duration maxLag;
+    private final Clock clock;
+
+    private final AtomicReference<Instant> lastWriteAt = new AtomicReference<>(Instant.MIN);
+    private volatile Instant consistentAsOf;
+
+    public ReplicaLagMonitor(
+            DataSource primary,
+            DataSource replica,
+            String primaryPositionQuery,
+            String caughtUpQuery,
+            Duration maxLag,
+            Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.primaryPositionQuery = primaryPositionQuery;
+        this.caughtUpQuery = caughtUpQuery;
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    /**
+     * Records that a write was committed on the primary.
+     */
+    public void recordWrite() {
+        Instant now = clock.instant();
+        lastWriteAt.accumulateAndGet(now, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    /**
+     * Returns whether the replica is known to hold every write committed by
+     * this instance and has caught up with the primary within the maximum lag.
+     */
+    public boolean isReplicaReadable() {
+        Instant consistent = consistentAsOf;
+        return consistent != null
+                && lastWriteAt.get().isBefore(consistent)
+                && !staleness(consistent).minus(maxLag).isPositive();
+    }
+
+    /**
+     * Returns the time since the replica last caught up with the primary, or
+     * {@code null} when it never has.
+     */
+    public Duration staleness() {
+        Instant consistent = consistentAsOf;
+        return consistent != null ? staleness(consistent) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${persistence.replica.probe-interval-ms:500}")
+    public void probe() {
+        Instant probedAt = clock.instant();
+        try {
+            String position = primary.queryForObject(primaryPositionQuery, String.class);
+            Boolean caughtUp = replica.queryForObject(caughtUpQuery, Boolean.class, position);
+            if (Boolean.TRUE.equals(caughtUp)) {
+                consistentAsOf = probedAt;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not probe replica lag: {}", e.getMessage());
+        }
+    }
+
+    private Duration staleness(Instant consistent) {
+        return Duration.between(consistent, clock.instant());
+    }
+}
@@ -0,0 +1,52 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Primary DataSource that reports every committed read-write transaction to
+ * the {@link ReplicaLagMonitor}, so the reads following it stay on the primary
+ * until the replica has caught up.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public WriteTrackingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        super(primary);
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        trackTransaction();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        trackTransaction();
+        return super.getConnection(username, password);
+    }
+
+    private void trackTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    lagMonitor.recordWrite();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+
+/**
+ * DTO for the ORDER_CREATED payload sent to the Billing Service queue.
+ * Identifiers and amounts are strings, as expected by the billing consumer.
+ */
+@Builder
+public record BillingOrderEventDto(
+        String eventType,
+        Long orderId,
+        String serviceOrderId,
+        String customerId,
+        String vehicleId,
+        String customerName,
+        String vehicleLicensePlate,
+        String description,
+        String status,
+        String totalPrice,
+        List<BillingOrderItemDto> items,
+        LocalDateTime timestamp) {
+}
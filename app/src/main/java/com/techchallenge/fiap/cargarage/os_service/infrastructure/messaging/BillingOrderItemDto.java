@@ -0,0 +1,13 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+/**
+ * Item of the Billing Service payload, built from a service or resource of the
+ * order.
+ */
+public record BillingOrderItemDto(
+        String type,
+        String itemCode,
+        String description,
+        Integer quantity,
+        String unitPrice) {
+}
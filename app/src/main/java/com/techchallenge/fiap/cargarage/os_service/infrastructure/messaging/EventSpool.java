@@ -0,0 +1,342 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Durable local write-ahead spool for SQS messages that could not be sent.
+ *
+ * <p>
+ * Messages are appended to fixed-size, memory-mapped segment files
+ * ({@code segment-<n>.log}) in the configured directory. Each record is a
+ * 4-byte length, an 8-byte spool timestamp and the JSON-encoded
+ * {@link SpooledMessage}; the length is written last, so a record cut short by
+ * a crash reads as the end of the segment. A checkpoint file holds the read
+ * position, which only moves after a record was sent, so delivery is
+ * at-least-once and in append order. Fully drained segments are deleted.
+ *
+ * <p>
+ * Publishes the {@code sqs.spool.depth} and
+ * {@code sqs.spool.oldest.age.seconds} gauges.
+ */
+@Slf4j
+@Component
+public class EventSpool {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int CHECKPOINT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ObjectWriter messageWriter;
+    private final ObjectReader messageReader;
+
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+    private final AtomicLong depth = new AtomicLong();
+    private volatile long oldestPendingMillis = -1;
+
+    // Writer state, guarded by writeLock; position and segment are volatile so
+    // the reader never goes past what was fully written
+    private MappedByteBuffer writeBuffer;
+    private volatile int writePosition;
+    private volatile long writeSegment;
+
+    // Reader state, guarded by readLock
+    private MappedByteBuffer readBuffer;
+    private MappedByteBuffer checkpointBuffer;
+    private long readSegment;
+    private int readPosition;
+
+    public EventSpool(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.sqs.spool.enabled:false}") boolean enabled,
+            @Value("${messaging.sqs.spool.directory:${java.io.tmpdir}/os-service-spool}") String directory,
+            @Value("${messaging.sqs.spool.segment-size-bytes:8388608}") int segmentSize,
+            @Value("${messaging.sqs.spool.fsync:false}") boolean fsync) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.messageWriter = objectMapper.writerFor(SpooledMessage.class);
+        this.messageReader = objectMapper.readerFor(SpooledMessage.class);
+
+        Gauge.builder("sqs.spool.depth", depth, AtomicLong::get)
+                .description("Messages waiting in the local spool")
+                .register(meterRegistry);
+        Gauge.builder("sqs.spool.oldest.age.seconds", this, EventSpool::oldestAgeSeconds)
+                .description("Age of the oldest message waiting in the local spool")
+                .register(meterRegistry);
+
+        if (enabled) {
+            try {
+                recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open event spool at " + directory, e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEmpty() {
+        return depth.get() == 0;
+    }
+
+    public long depth() {
+        return depth.get();
+    }
+
+    /**
+     * Appends a send request to the spool.
+     *
+     * @param request the request that could not be sent
+     */
+    public void append(SendMessageRequest request) {
+        if (!enabled) {
+            throw new IllegalStateException("Event spool is disabled");
+        }
+        byte[] payload;
+        try {
+            payload = messageWriter.writeValueAsBytes(SpooledMessage.from(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode spooled message", e);
+        }
+        if (HEADER_BYTES + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Message of " + payload.length
+                    + " bytes does not fit a spool segment of " + segmentSize + " bytes");
+        }
+
+        synchronized (writeLock) {
+            int position = writePosition;
+            if (position + HEADER_BYTES + payload.length > segmentSize) {
+                rollSegment();
+                position = 0;
+            }
+            long now = System.currentTimeMillis();
+            writeBuffer.putLong(position + Integer.BYTES, now);
+            writeBuffer.put(position + HEADER_BYTES, payload);
+            writeBuffer.putInt(position, payload.length);
+            if (fsync) {
+                writeBuffer.force();
+            }
+            writePosition = position + HEADER_BYTES + payload.length;
+            if (depth.getAndIncrement() == 0) {
+                oldestPendingMillis = now;
+            }
+        }
+    }
+
+    /**
+     * Hands spooled messages to the sender in append order, stopping at the
+     * first one it rejects. A message is removed only after the sender
+     * accepted it.
+     *
+     * @param sender     sends a message, returning false if it failed
+     * @param maxRecords maximum number of messages to send in this call
+     * @return the number of messages sent
+     */
+    public int drain(Predicate<SpooledMessage> sender, int maxRecords) {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (readLock) {
+            int sent = 0;
+            while (sent < maxRecords) {
+                long currentWriteSegment = writeSegment;
+                int limit = readSegment == currentWriteSegment ? writePosition : segmentSize;
+                int length = readPosition + HEADER_BYTES <= limit ? readBuffer.getInt(readPosition) : 0;
+                if (length <= 0) {
+                    if (readSegment == currentWriteSegment) {
+                        break;
+                    }
+                    advanceReadSegment();
+                    continue;
+                }
+
+                byte[] payload = new byte[length];
+                readBuffer.get(readPosition + HEADER_BYTES, payload);
+                SpooledMessage message = decode(payload);
+                if (message != null && !sender.test(message)) {
+                    break;
+                }
+                readPosition += HEADER_BYTES + length;
+                saveCheckpoint();
+                depth.decrementAndGet();
+                if (message != null) {
+                    sent++;
+                }
+            }
+            refreshOldestPending();
+            return sent;
+        }
+    }
+
+    private double oldestAgeSeconds() {
+        long oldest = oldestPendingMillis;
+        if (oldest < 0 || depth.get() == 0) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private SpooledMessage decode(byte[] payload) {
+        try {
+            return messageReader.readValue(payload);
+        } catch (IOException e) {
+            log.error("Discarding unreadable spooled message at segment {} position {}",
+                    readSegment, readPosition, e);
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        checkpointBuffer = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_BYTES);
+        List<Long> segments = listSegments();
+
+        long checkpointSegment = checkpointBuffer.getLong(0);
+        int checkpointPosition = checkpointBuffer.getInt(Long.BYTES);
+        if (segments.isEmpty()) {
+            readSegment = checkpointSegment;
+            readPosition = 0;
+        } else if (segments.contains(checkpointSegment)) {
+            readSegment = checkpointSegment;
+            readPosition = checkpointPosition;
+        } else {
+            readSegment = segments.stream().filter(s -> s > checkpointSegment).findFirst()
+                    .orElse(segments.get(segments.size() - 1));
+            readPosition = 0;
+        }
+        for (long segment : segments) {
+            if (segment < readSegment) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+
+        long lastSegment = segments.isEmpty()
+                ? readSegment
+                : Math.max(readSegment, segments.get(segments.size() - 1));
+        for (long segment = readSegment; segment <= lastSegment; segment++) {
+            MappedByteBuffer buffer = map(segmentPath(segment), segmentSize);
+            int position = segment == readSegment ? readPosition : 0;
+            while (position + HEADER_BYTES <= segmentSize) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > segmentSize) {
+                    break;
+                }
+                if (depth.getAndIncrement() == 0) {
+                    oldestPendingMillis = buffer.getLong(position + Integer.BYTES);
+                }
+                position += HEADER_BYTES + length;
+            }
+            if (segment == readSegment) {
+                readBuffer = buffer;
+            }
+            if (segment == lastSegment) {
+                writeBuffer = buffer;
+                writePosition = position;
+            }
+        }
+        writeSegment = lastSegment;
+        saveCheckpoint();
+        log.info("Event spool opened at {} with {} pending message(s)", directory, depth.get());
+    }
+
+    private void rollSegment() {
+        long next = writeSegment + 1;
+        writeBuffer = mapUnchecked(segmentPath(next), segmentSize);
+        // Reset the position before publishing the new segment
+        writePosition = 0;
+        writeSegment = next;
+    }
+
+    private void advanceReadSegment() {
+        long finished = readSegment;
+        readSegment = finished + 1;
+        readPosition = 0;
+        readBuffer = mapUnchecked(segmentPath(readSegment), segmentSize);
+        saveCheckpoint();
+        try {
+            Files.deleteIfExists(segmentPath(finished));
+        } catch (IOException e) {
+            log.warn("Could not delete drained spool segment {}", finished, e);
+        }
+    }
+
+    private void saveCheckpoint() {
+        checkpointBuffer.putLong(0, readSegment);
+        checkpointBuffer.putInt(Long.BYTES, readPosition);
+        if (fsync) {
+            checkpointBuffer.force();
+        }
+    }
+
+    private void refreshOldestPending() {
+        if (depth.get() == 0) {
+            oldestPendingMillis = -1;
+        } else if (readPosition + HEADER_BYTES <= segmentSize && readBuffer.getInt(readPosition) > 0) {
+            oldestPendingMillis = readBuffer.getLong(readPosition + Integer.BYTES);
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(
+                            SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private MappedByteBuffer mapUnchecked(Path path, int size) {
+        try {
+            return map(path, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map spool file " + path, e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * Replays messages from the {@link EventSpool} to SQS, in the order they were
+ * spooled, whenever the publisher circuit allows sending.
+ */
+@Slf4j
+@Component
+public class EventSpoolDrainer {
+
+    private final EventSpool eventSpool;
+    private final SqsClient sqsClient;
+    private final SqsPublishCircuitBreaker circuitBreaker;
+    private final int batchSize;
+
+    public EventSpoolDrainer(
+            EventSpool eventSpool,
+            SqsClient sqsClient,
+            SqsPublishCircuitBreaker circuitBreaker,
+            @Value("${messaging.sqs.spool.drain-batch-size:100}") int batchSize) {
+        this.eventSpool = eventSpool;
+        this.sqsClient = sqsClient;
+        this.circuitBreaker = circuitBreaker;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sends up to one batch of spooled messages.
+     */
+    @Scheduled(fixedDelayString = "${messaging.sqs.spool.drain-interval-ms:1000}")
+    public void drain() {
+        if (!eventSpool.isEnabled() || eventSpool.isEmpty() || !circuitBreaker.allowRequest()) {
+            return;
+        }
+        int sent = eventSpool.drain(this::send, batchSize);
+        if (sent > 0) {
+            log.info("Replayed {} spooled message(s) to SQS, {} remaining", sent, eventSpool.depth());
+        }
+    }
+
+    private boolean send(SpooledMessage message) {
+        try {
+            sqsClient.sendMessage(message.toRequest());
+            circuitBreaker.recordSuccess();
+            return true;
+        } catch (SdkException e) {
+            circuitBreaker.recordFailure();
+            log.warn("Spooled message replay failed, will retry: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * DTO for the execution completed event consumed from execution-completed-queue.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExecutionCompletedEventDto(
+        Long orderId) implements InboundOrderEvent {
+}
@@ -0,0 +1,44 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles execution completed event from Execution service.
+ * Transitions order to FINISHED status.
+ */
+@Slf4j
+@Component
+public class ExecutionCompletedEventHandler implements InboundEventHandler<ExecutionCompletedEventDto> {
+
+    private final UpdateServiceOrderStatusUseCase updateStatusUseCase;
+
+    public ExecutionCompletedEventHandler(UpdateServiceOrderStatusUseCase updateStatusUseCase) {
+        this.updateStatusUseCase = updateStatusUseCase;
+    }
+
+    @Override
+    public String name() {
+        return "execution-completed";
+    }
+
+    @Override
+    public Class<ExecutionCompletedEventDto> eventType() {
+        return ExecutionCompletedEventDto.class;
+    }
+
+    @Override
+    public void handle(ExecutionCompletedEventDto event) {
+        log.info("Received execution completed event for order: {}", event.orderId());
+
+        updateStatusUseCase.execute(event.orderId(),
+                ServiceOrderStatusUpdateDto.builder()
+                        .status(ServiceOrderStatusEnum.FINISHED.name())
+                        .build());
+    }
+}
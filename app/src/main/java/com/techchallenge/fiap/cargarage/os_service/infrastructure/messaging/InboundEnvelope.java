@@ -0,0 +1,59 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.messaging.Message;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+
+/**
+ * Metadata and body of an inbound message, read from the SQS headers once
+ * before the message is routed to its handler.
+ *
+ * @param handlerName  name of the handler the message is routed to
+ * @param messageKey   idempotency key: {@code <handler>:<eventId>} when the
+ *                     {@code eventId} message attribute is present,
+ *                     {@code <handler>:<message id>} otherwise
+ * @param payload      the raw message body
+ * @param receiveCount how many times SQS delivered the message
+ * @param visibility   handle to change the message visibility, if available
+ */
+public record InboundEnvelope(
+        String handlerName,
+        String messageKey,
+        String payload,
+        int receiveCount,
+        Visibility visibility) {
+
+    static final String EVENT_ID_HEADER = "eventId";
+
+    /**
+     * Builds the envelope of a message consumed for the given handler.
+     *
+     * @param handlerName the handler name
+     * @param message     the consumed message
+     * @return the envelope
+     */
+    public static InboundEnvelope of(String handlerName, Message<String> message) {
+        Object eventId = message.getHeaders().get(EVENT_ID_HEADER);
+        String id = eventId != null ? eventId.toString() : String.valueOf(message.getHeaders().getId());
+        return new InboundEnvelope(
+                handlerName,
+                handlerName + ":" + id,
+                message.getPayload(),
+                receiveCount(message),
+                message.getHeaders().get(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, Visibility.class));
+    }
+
+    private static int receiveCount(Message<String> message) {
+        Object count = message.getHeaders()
+                .get(SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT);
+        if (count == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(count.toString());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
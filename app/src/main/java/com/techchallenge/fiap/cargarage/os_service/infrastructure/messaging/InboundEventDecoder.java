@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+
+/**
+ * Decodes inbound SQS payloads into typed event DTOs.
+ * Uses one {@link ObjectReader} per event type, built on first use and reused,
+ * binding straight to the record instead of building a {@code JsonNode} tree,
+ * and validates the fields every saga event requires.
+ */
+@Component
+public class InboundEventDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public InboundEventDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Decodes and validates a payload.
+     *
+     * @param payload the raw message body
+     * @param type    the expected event type
+     * @return the decoded event
+     * @throws JsonProcessingException if the payload is not valid JSON for the type
+     * @throws InvalidDataException    if a required field is missing or invalid
+     */
+    public <T extends InboundOrderEvent> T decode(String payload, Class<T> type)
+            throws JsonProcessingException {
+        if (payload == null || payload.isBlank()) {
+            throw new InvalidDataException("Invalid " + type.getSimpleName() + ": empty payload");
+        }
+        T event = readers.computeIfAbsent(type, this::readerFor).readValue(payload);
+        if (event == null || event.orderId() == null || event.orderId() <= 0) {
+            throw new InvalidDataException(
+                    "Invalid " + type.getSimpleName() + ": orderId must be a positive number");
+        }
+        return event;
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        return objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
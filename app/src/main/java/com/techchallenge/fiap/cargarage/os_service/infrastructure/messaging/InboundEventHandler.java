@@ -0,0 +1,34 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+/**
+ * Handles one type of inbound saga event.
+ * Every handler bean is picked up by {@link InboundHandlerRegistry} and
+ * consumes the queue configured in {@code messaging.sqs.queue.<name>}, so a
+ * new saga event only needs a handler and its queue property.
+ *
+ * @param <T> the event type
+ */
+public interface InboundEventHandler<T extends InboundOrderEvent> {
+
+    /**
+     * Logical name of the event, used to resolve the queue and concurrency
+     * properties and in message keys and metrics.
+     *
+     * @return the handler name
+     */
+    String name();
+
+    /**
+     * Type the payload is decoded into.
+     *
+     * @return the event type
+     */
+    Class<T> eventType();
+
+    /**
+     * Applies the event.
+     *
+     * @param event the decoded and validated event
+     */
+    void handle(T event);
+}
@@ -0,0 +1,84 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.BusinessException;
+
+/**
+ * Decides what happens to an inbound message whose handler failed.
+ * Business rule violations (unknown order, invalid transition, invalid
+ * payload) fail the same way on every delivery and are permanent; anything
+ * else (database or network trouble) is retried with exponential backoff
+ * until the attempt limit is reached.
+ */
+@Component
+public class InboundFailurePolicy {
+
+    /**
+     * Failure classification.
+     */
+    public enum Classification {
+        RETRYABLE,
+        PERMANENT
+    }
+
+    // SQS rejects visibility timeouts above 12 hours
+    private static final int MAX_VISIBILITY_SECONDS = 43_200;
+
+    private final int baseBackoffSeconds;
+    private final int maxBackoffSeconds;
+    private final int maxAttempts;
+
+    public InboundFailurePolicy(
+            @Value("${messaging.sqs.retry.base-backoff-seconds:5}") int baseBackoffSeconds,
+            @Value("${messaging.sqs.retry.max-backoff-seconds:900}") int maxBackoffSeconds,
+            @Value("${messaging.sqs.retry.max-attempts:8}") int maxAttempts) {
+        this.baseBackoffSeconds = baseBackoffSeconds;
+        this.maxBackoffSeconds = Math.min(maxBackoffSeconds, MAX_VISIBILITY_SECONDS);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Classifies a handler failure by walking its cause chain.
+     *
+     * @param failure the exception thrown by the handler
+     * @return the failure classification
+     */
+    public Classification classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof BusinessException
+                    || t instanceof JsonProcessingException
+                    || t instanceof IllegalArgumentException) {
+                return Classification.PERMANENT;
+            }
+        }
+        return Classification.RETRYABLE;
+    }
+
+    /**
+     * Returns true if the message must leave the queue instead of being
+     * retried.
+     *
+     * @param classification the failure classification
+     * @param receiveCount   how many times SQS delivered the message
+     * @return whether the message should be quarantined
+     */
+    public boolean shouldQuarantine(Classification classification, int receiveCount) {
+        return classification == Classification.PERMANENT || receiveCount >= maxAttempts;
+    }
+
+    /**
+     * Visibility timeout before the next delivery: the base backoff doubled
+     * on every receive, capped at the configured maximum.
+     *
+     * @param receiveCount how many times SQS delivered the message
+     * @return the visibility timeout in seconds
+     */
+    public int backoffSeconds(int receiveCount) {
+        int exponent = Math.max(0, Math.min(receiveCount - 1, 30));
+        long backoff = (long) baseBackoffSeconds << exponent;
+        return (int) Math.min(backoff, maxBackoffSeconds);
+    }
+}
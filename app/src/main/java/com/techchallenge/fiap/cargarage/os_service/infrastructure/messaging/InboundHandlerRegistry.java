@@ -0,0 +1,140 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link InboundEventHandler}s, keyed by the queue each one
+ * consumes ({@code messaging.sqs.queue.<name>}).
+ * Each handler gets a concurrency limit from
+ * {@code messaging.sqs.listener.<name>.max-concurrent-messages}, falling back
+ * to the listener default, so handlers share the worker pool without one
+ * queue starving the others.
+ */
+@Slf4j
+@Component
+public class InboundHandlerRegistry {
+
+    private final Map<String, Registration<?>> registrationsByQueue = new LinkedHashMap<>();
+
+    public InboundHandlerRegistry(
+            List<InboundEventHandler<?>> handlers,
+            InboundEventDecoder eventDecoder,
+            Environment environment,
+            @Value("${messaging.sqs.listener.max-concurrent-messages:10}") int defaultMaxConcurrency) {
+        for (InboundEventHandler<?> handler : handlers) {
+            String queueName = environment.getRequiredProperty("messaging.sqs.queue." + handler.name());
+            String limit = environment.getProperty(
+                    "messaging.sqs.listener." + handler.name() + ".max-concurrent-messages");
+            int maxConcurrency = limit == null || limit.isBlank() ? defaultMaxConcurrency : Integer.parseInt(limit);
+            if (registrationsByQueue.containsKey(queueName)) {
+                throw new IllegalStateException("Queue " + queueName + " is consumed by more than one handler");
+            }
+            registrationsByQueue.put(queueName, new Registration<>(handler, queueName, maxConcurrency, eventDecoder));
+            log.info("Registered inbound handler {} for queue {} (max concurrency {})",
+                    handler.name(), queueName, maxConcurrency);
+        }
+    }
+
+    /**
+     * Queues consumed by the registered handlers.
+     *
+     * @return the queue names, in registration order
+     */
+    public List<String> queueNames() {
+        return new ArrayList<>(registrationsByQueue.keySet());
+    }
+
+    /**
+     * Finds the handler for a message, by queue name or, when the queue is
+     * configured by URL, by queue URL.
+     *
+     * @param queueName the {@code Sqs_QueueName} header
+     * @param queueUrl  the {@code Sqs_QueueUrl} header
+     * @return the registration, if any
+     */
+    public Optional<Registration<?>> resolve(String queueName, String queueUrl) {
+        Registration<?> registration = queueName != null ? registrationsByQueue.get(queueName) : null;
+        if (registration == null && queueUrl != null) {
+            registration = registrationsByQueue.get(queueUrl);
+        }
+        return Optional.ofNullable(registration);
+    }
+
+    /**
+     * A handler bound to its queue and concurrency limit.
+     *
+     * @param <T> the event type
+     */
+    public static final class Registration<T extends InboundOrderEvent> {
+
+        private final InboundEventHandler<T> handler;
+        private final String queueName;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final InboundEventDecoder eventDecoder;
+
+        Registration(InboundEventHandler<T> handler, String queueName, int maxConcurrency,
+                InboundEventDecoder eventDecoder) {
+            this.handler = handler;
+            this.queueName = queueName;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency, true);
+            this.eventDecoder = eventDecoder;
+        }
+
+        public String name() {
+            return handler.name();
+        }
+
+        public String queueName() {
+            return queueName;
+        }
+
+        public int maxConcurrency() {
+            return maxConcurrency;
+        }
+
+        /**
+         * Decodes the payload into the handler's event type and handles it.
+         *
+         * @param payload the raw message body
+         * @throws InvalidDataException if the payload is malformed or invalid
+         */
+        public void dispatch(String payload) {
+            T event;
+            try {
+                event = eventDecoder.decode(payload, handler.eventType());
+            } catch (JsonProcessingException e) {
+                throw new InvalidDataException("Failed to decode " + handler.name() + " event", e);
+            }
+            handler.handle(event);
+        }
+
+        /**
+         * Waits for a free slot of this handler's concurrency limit.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void acquire() throws InterruptedException {
+            permits.acquire();
+        }
+
+        public void release() {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+/**
+ * Common contract of inbound saga events, which always target an order.
+ */
+public interface InboundOrderEvent {
+
+    /**
+     * Returns the ID of the service order the event refers to.
+     *
+     * @return the service order ID
+     */
+    Long orderId();
+}
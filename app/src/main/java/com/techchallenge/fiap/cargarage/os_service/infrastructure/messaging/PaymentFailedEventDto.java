@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * DTO for the payment failed event consumed from payment-failed-queue.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PaymentFailedEventDto(
+        Long orderId,
+        String reason) implements InboundOrderEvent {
+}
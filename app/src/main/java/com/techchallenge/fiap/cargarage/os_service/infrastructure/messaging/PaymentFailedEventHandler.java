@@ -0,0 +1,43 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles payment failed event - Saga compensation.
+ * Cancels the order.
+ */
+@Slf4j
+@Component
+public class PaymentFailedEventHandler implements InboundEventHandler<PaymentFailedEventDto> {
+
+    private static final String DEFAULT_REASON = "Payment failed";
+
+    private final CancelServiceOrderUseCase cancelUseCase;
+
+    public PaymentFailedEventHandler(CancelServiceOrderUseCase cancelUseCase) {
+        this.cancelUseCase = cancelUseCase;
+    }
+
+    @Override
+    public String name() {
+        return "payment-failed";
+    }
+
+    @Override
+    public Class<PaymentFailedEventDto> eventType() {
+        return PaymentFailedEventDto.class;
+    }
+
+    @Override
+    public void handle(PaymentFailedEventDto event) {
+        String reason = event.reason() != null ? event.reason() : DEFAULT_REASON;
+
+        log.info("Received payment failed event for order: {}. Compensating...", event.orderId());
+
+        cancelUseCase.execute(event.orderId(), reason);
+    }
+}
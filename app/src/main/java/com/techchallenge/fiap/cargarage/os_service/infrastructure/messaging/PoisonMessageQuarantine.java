@@ -0,0 +1,84 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.QuarantinedMessageEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.QuarantinedMessageRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundFailurePolicy.Classification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores poison messages in the {@code quarantined_message} table so they can
+ * be inspected and replayed by hand once removed from their queue.
+ * Publishes {@code sqs.inbound.failures} (every handler failure, tagged by
+ * queue and classification) and {@code sqs.inbound.quarantined} counters.
+ */
+@Slf4j
+@Component
+public class PoisonMessageQuarantine {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final QuarantinedMessageRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    public PoisonMessageQuarantine(QuarantinedMessageRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Counts a handler failure.
+     *
+     * @param queueName      the queue the message was consumed from
+     * @param classification the failure classification
+     */
+    public void recordFailure(String queueName, Classification classification) {
+        Counter.builder("sqs.inbound.failures")
+                .description("Inbound message handler failures")
+                .tag("queue", queueName)
+                .tag("classification", classification.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Stores a message that will not be retried.
+     *
+     * @param queueName      the queue the message was consumed from
+     * @param messageKey     the message key
+     * @param payload        the raw message body
+     * @param classification the failure classification
+     * @param failure        the exception thrown by the handler
+     * @param receiveCount   how many times SQS delivered the message
+     */
+    public void quarantine(String queueName, String messageKey, String payload,
+            Classification classification, Throwable failure, int receiveCount) {
+        String errorMessage = failure.getMessage();
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+        }
+        repository.save(QuarantinedMessageEntity.builder()
+                .messageKey(messageKey)
+                .queueName(queueName)
+                .payload(payload)
+                .classification(classification.name())
+                .errorType(failure.getClass().getName())
+                .errorMessage(errorMessage)
+                .receiveCount(receiveCount)
+                .quarantinedAt(LocalDateTime.now())
+                .build());
+        Counter.builder("sqs.inbound.quarantined")
+                .description("Inbound messages moved to quarantine")
+                .tag("queue", queueName)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Quarantined {} message {} after {} delivery(ies): {}",
+                queueName, messageKey, receiveCount, errorMessage);
+    }
+}
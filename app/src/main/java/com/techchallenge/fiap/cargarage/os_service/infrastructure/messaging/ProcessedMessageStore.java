@@ -0,0 +1,154 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ProcessedMessageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of inbound messages already processed, used to make the SQS
+ * consumers idempotent (SQS delivers at least once).
+ * Each message key is claimed in the {@code processed_message} table with a
+ * short lease before the message is handled, completed with the TTL once the
+ * handler succeeds and released if it fails. A lease left behind by a delivery
+ * that never finished (the replica crashed) expires and lets a redelivery claim
+ * the key again, so no message is lost. An in-memory Bloom filter of the keys
+ * seen lets duplicates be detected with a lookup instead of a conflicting
+ * insert; it never stands in for the table.
+ */
+@Slf4j
+@Component
+public class ProcessedMessageStore {
+
+    /**
+     * Outcome of claiming a message key.
+     */
+    public enum Claim {
+        /** The key was claimed and the message must be handled. */
+        CLAIMED,
+        /** Another delivery holds the lease and is still handling the message. */
+        IN_PROGRESS,
+        /** The message was already processed. */
+        PROCESSED
+    }
+
+    private final ProcessedMessageRepository repository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile MessageKeyBloomFilter bloomFilter;
+    private volatile MessageKeyBloomFilter rebuildingFilter;
+
+    public ProcessedMessageStore(
+            ProcessedMessageRepository repository,
+            @Value("${messaging.sqs.idempotency.ttl-hours:96}") long ttlHours,
+            @Value("${messaging.sqs.idempotency.lease-seconds:300}") long leaseSeconds,
+            @Value("${messaging.sqs.idempotency.expected-insertions:100000}") long expectedInsertions,
+            @Value("${messaging.sqs.idempotency.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bloomFilter = new MessageKeyBloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * Claims a message key before its handler runs. The key is inserted in the
+     * {@code processed_message} table with a lease, which only lets one
+     * delivery of a message claim it across threads and replicas; keys the
+     * Bloom filter has seen are first looked up so known duplicates skip the
+     * insert.
+     *
+     * @param messageKey the message key
+     * @param queueName  the queue the message was consumed from
+     * @return whether the message must be handled, is being handled by another
+     *         delivery or was already processed
+     */
+    public Claim claim(String messageKey, String queueName) {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim;
+        if (bloomFilter.mightContain(messageKey) && isProcessed(messageKey, now)) {
+            claim = Claim.PROCESSED;
+        } else if (repository.claim(messageKey, queueName, now, now.plus(lease)) == 1) {
+            claim = Claim.CLAIMED;
+        } else {
+            claim = isProcessed(messageKey, now) ? Claim.PROCESSED : Claim.IN_PROGRESS;
+        }
+        bloomFilter.put(messageKey);
+        MessageKeyBloomFilter rebuilding = rebuildingFilter;
+        if (rebuilding != null) {
+            rebuilding.put(messageKey);
+        }
+        return claim;
+    }
+
+    /**
+     * Completes a claimed message key after its handler succeeded, keeping it
+     * for the TTL.
+     *
+     * @param messageKey the message key
+     */
+    public void complete(String messageKey) {
+        LocalDateTime now = LocalDateTime.now();
+        repository.complete(messageKey, now, now.plus(ttl));
+    }
+
+    /**
+     * Releases a claimed message key after its handler failed, so a
+     * redelivery is handled again. The key stays in the Bloom filter, which
+     * only costs a lookup on that redelivery.
+     *
+     * @param messageKey the message key
+     */
+    public void release(String messageKey) {
+        repository.release(messageKey);
+    }
+
+    /**
+     * Loads the keys still valid into the Bloom filter on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Deletes expired keys and rebuilds the Bloom filter so it does not keep
+     * filling up with keys no longer stored.
+     */
+    @Scheduled(fixedDelayString = "${messaging.sqs.idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${messaging.sqs.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired processed message key(s)", deleted);
+        rebuildBloomFilter();
+    }
+
+    private void rebuildBloomFilter() {
+        MessageKeyBloomFilter rebuilt = new MessageKeyBloomFilter(
+                expectedInsertions, falsePositiveProbability);
+        // Keys claimed while loading go to both filters so none is lost
+        this.rebuildingFilter = rebuilt;
+        List<String> activeKeys = repository.findActiveKeys(LocalDateTime.now());
+        activeKeys.forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+        this.rebuildingFilter = null;
+        log.debug("Processed message Bloom filter rebuilt with {} key(s)", activeKeys.size());
+    }
+
+    private boolean isProcessed(String messageKey, LocalDateTime now) {
+        return repository.existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(messageKey, now);
+    }
+}
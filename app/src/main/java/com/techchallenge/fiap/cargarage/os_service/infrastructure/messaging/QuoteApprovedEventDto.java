@@ -0,0 +1,11 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * DTO for the quote approved event consumed from quote-approved-queue.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record QuoteApprovedEventDto(
+        Long orderId) implements InboundOrderEvent {
+}
@@ -0,0 +1,44 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles quote approved event from Billing service.
+ * Transitions order to IN_EXECUTION status.
+ */
+@Slf4j
+@Component
+public class QuoteApprovedEventHandler implements InboundEventHandler<QuoteApprovedEventDto> {
+
+    private final UpdateServiceOrderStatusUseCase updateStatusUseCase;
+
+    public QuoteApprovedEventHandler(UpdateServiceOrderStatusUseCase updateStatusUseCase) {
+        this.updateStatusUseCase = updateStatusUseCase;
+    }
+
+    @Override
+    public String name() {
+        return "quote-approved";
+    }
+
+    @Override
+    public Class<QuoteApprovedEventDto> eventType() {
+        return QuoteApprovedEventDto.class;
+    }
+
+    @Override
+    public void handle(QuoteApprovedEventDto event) {
+        log.info("Received quote approved event for order: {}", event.orderId());
+
+        updateStatusUseCase.execute(event.orderId(),
+                ServiceOrderStatusUpdateDto.builder()
+                        .status(ServiceOrderStatusEnum.IN_EXECUTION.name())
+                        .build());
+    }
+}
@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * DTO for the resource unavailable event consumed from resource-unavailable-queue.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ResourceUnavailableEventDto(
+        Long orderId,
+        String reason) implements InboundOrderEvent {
+}
@@ -0,0 +1,43 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles resource unavailable event - Saga compensation.
+ * Cancels the order.
+ */
+@Slf4j
+@Component
+public class ResourceUnavailableEventHandler implements InboundEventHandler<ResourceUnavailableEventDto> {
+
+    private static final String DEFAULT_REASON = "Resource unavailable";
+
+    private final CancelServiceOrderUseCase cancelUseCase;
+
+    public ResourceUnavailableEventHandler(CancelServiceOrderUseCase cancelUseCase) {
+        this.cancelUseCase = cancelUseCase;
+    }
+
+    @Override
+    public String name() {
+        return "resource-unavailable";
+    }
+
+    @Override
+    public Class<ResourceUnavailableEventDto> eventType() {
+        return ResourceUnavailableEventDto.class;
+    }
+
+    @Override
+    public void handle(ResourceUnavailableEventDto event) {
+        String reason = event.reason() != null ? event.reason() : DEFAULT_REASON;
+
+        log.info("Received resource unavailable event for order: {}. Compensating...", event.orderId());
+
+        cancelUseCase.execute(event.orderId(), reason);
+    }
+}
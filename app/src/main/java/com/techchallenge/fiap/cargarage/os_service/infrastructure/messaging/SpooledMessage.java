@@ -0,0 +1,58 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * SQS send request as stored in the {@link EventSpool}.
+ * Only string message attributes are kept, which is all the publisher sends.
+ */
+public record SpooledMessage(
+        String queueUrl,
+        String messageBody,
+        String messageGroupId,
+        String messageDeduplicationId,
+        Map<String, String> attributes) {
+
+    /**
+     * Captures the fields of a send request.
+     *
+     * @param request the request that could not be sent
+     * @return the spooled message
+     */
+    public static SpooledMessage from(SendMessageRequest request) {
+        Map<String, String> attributes = new HashMap<>();
+        request.messageAttributes().forEach((name, value) -> attributes.put(name, value.stringValue()));
+        return new SpooledMessage(
+                request.queueUrl(),
+                request.messageBody(),
+                request.messageGroupId(),
+                request.messageDeduplicationId(),
+                attributes);
+    }
+
+    /**
+     * Rebuilds the original send request.
+     *
+     * @return the send request
+     */
+    public SendMessageRequest toRequest() {
+        Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+        if (attributes != null) {
+            attributes.forEach((name, value) -> messageAttributes.put(name, MessageAttributeValue.builder()
+                    .stringValue(value)
+                    .dataType("String")
+                    .build()));
+        }
+        return SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(messageBody)
+                .messageGroupId(messageGroupId)
+                .messageDeduplicationId(messageDeduplicationId)
+                .messageAttributes(messageAttributes)
+                .build();
+    }
+}
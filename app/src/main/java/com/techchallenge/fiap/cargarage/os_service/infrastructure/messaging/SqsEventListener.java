@@ -1,133 +1,190 @@
 package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
-import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
-import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
-import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.DatabaseConcurrencyLimiter;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundFailurePolicy.Classification;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundHandlerRegistry.Registration;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.ProcessedMessageStore.Claim;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * AWS SQS message listener for consuming events from other services.
  * Part of the Saga pattern implementation - handles compensation events.
+ *
+ * <p>
+ * A single listener consumes every queue of the {@link InboundHandlerRegistry}
+ * and routes each message by its queue to the registered
+ * {@link InboundEventHandler}. Handlers run on the
+ * {@code sqsListenerHandlerExecutor}, which may be backed by virtual threads,
+ * within the concurrency limit of their registration and holding a
+ * {@link DatabaseConcurrencyLimiter} permit shared with HTTP requests.
+ *
+ * <p>
+ * Messages are deduplicated through {@link ProcessedMessageStore}, keyed by the
+ * {@code eventId} message attribute when present or the SQS message id
+ * otherwise: the key is claimed with a lease before the handler runs and
+ * completed once it succeeds, so redeliveries of a processed message are
+ * acknowledged without re-running the use case. A delivery that finds another
+ * one (even on another replica) still holding the lease is left
+ * unacknowledged, so the message is not lost if the lease holder fails or
+ * crashes; the key is released when the handler fails.
+ *
+ * <p>
+ * Handler failures are classified by {@link InboundFailurePolicy}: retryable
+ * ones leave the message unacknowledged with an exponentially growing
+ * visibility timeout, while permanent ones (and retryable ones past the
+ * attempt limit) are moved to {@link PoisonMessageQuarantine} and acknowledged.
  */
 @Slf4j
 @Component
 public class SqsEventListener {
 
-    private final UpdateServiceOrderStatusUseCase updateStatusUseCase;
-    private final CancelServiceOrderUseCase cancelUseCase;
-    private final ObjectMapper objectMapper;
+    private final InboundHandlerRegistry handlerRegistry;
+    private final ProcessedMessageStore processedMessageStore;
+    private final InboundFailurePolicy failurePolicy;
+    private final PoisonMessageQuarantine quarantine;
+    private final TaskExecutor handlerExecutor;
+    private final DatabaseConcurrencyLimiter concurrencyLimiter;
 
     public SqsEventListener(
-            UpdateServiceOrderStatusUseCase updateStatusUseCase,
-            CancelServiceOrderUseCase cancelUseCase) {
-        this.updateStatusUseCase = updateStatusUseCase;
-        this.cancelUseCase = cancelUseCase;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+            InboundHandlerRegistry handlerRegistry,
+            ProcessedMessageStore processedMessageStore,
+            InboundFailurePolicy failurePolicy,
+            PoisonMessageQuarantine quarantine,
+            @Qualifier("sqsListenerHandlerExecutor") TaskExecutor handlerExecutor,
+            DatabaseConcurrencyLimiter concurrencyLimiter) {
+        this.handlerRegistry = handlerRegistry;
+        this.processedMessageStore = processedMessageStore;
+        this.failurePolicy = failurePolicy;
+        this.quarantine = quarantine;
+        this.handlerExecutor = handlerExecutor;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     /**
-     * Handles quote approved event from Billing service.
-     * Transitions order to IN_EXECUTION status.
+     * Receives messages from all inbound queues and dispatches them to their
+     * handlers. The returned future completes once the message may be
+     * acknowledged; it fails when the message must be redelivered.
      */
-    @SqsListener("${messaging.sqs.queue.quote-approved}")
-    public void handleQuoteApproved(String message) {
+    @SqsListener("#{@inboundHandlerRegistry.queueNames()}")
+    public CompletableFuture<Void> onMessage(Message<String> message) {
+        String queueName = message.getHeaders().get(SqsHeaders.SQS_QUEUE_NAME_HEADER, String.class);
+        String queueUrl = message.getHeaders().get(SqsHeaders.SQS_QUEUE_URL_HEADER, String.class);
+        Registration<?> registration = handlerRegistry.resolve(queueName, queueUrl).orElse(null);
+        if (registration == null) {
+            log.error("No inbound handler registered for queue: {}", queueName);
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("No inbound handler registered for queue: " + queueName));
+        }
+        InboundEnvelope envelope = InboundEnvelope.of(registration.name(), message);
+        return CompletableFuture.runAsync(() -> process(registration, envelope), handlerExecutor);
+    }
+
+    private void process(Registration<?> registration, InboundEnvelope envelope) {
+        try {
+            registration.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + registration.name() + " handler", e);
+        }
         try {
-            JsonNode json = objectMapper.readTree(message);
-            Long orderId = json.get("orderId").asLong();
-
-            log.info("Received quote approved event for order: {}", orderId);
-
-            updateStatusUseCase.execute(orderId,
-                    ServiceOrderStatusUpdateDto.builder()
-                            .status(ServiceOrderStatusEnum.IN_EXECUTION.name())
-                            .build());
-        } catch (JsonProcessingException e) {
-            log.error("Error processing quote approved event", e);
-            throw new RuntimeException("Failed to process quote approved event", e);
-        } catch (Exception e) {
-            log.error("Error handling quote approved event", e);
-            throw e;
+            concurrencyLimiter.acquire();
+        } catch (InterruptedException e) {
+            registration.release();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a database permit", e);
+        }
+        try {
+            Claim claim = processedMessageStore.claim(envelope.messageKey(), envelope.handlerName());
+            if (claim == Claim.PROCESSED) {
+                log.info("Skipping duplicate {} message: {}", envelope.handlerName(), envelope.messageKey());
+                return;
+            }
+            if (claim == Claim.IN_PROGRESS) {
+                deferInProgress(envelope);
+            }
+            try {
+                registration.dispatch(envelope.payload());
+            } catch (RuntimeException e) {
+                releaseClaim(envelope);
+                handleFailure(envelope, e);
+                return;
+            }
+            completeClaim(envelope);
+        } finally {
+            concurrencyLimiter.release();
+            registration.release();
         }
     }
 
-    /**
-     * Handles execution completed event from Execution service.
-     * Transitions order to FINISHED status.
-     */
-    @SqsListener("${messaging.sqs.queue.execution-completed}")
-    public void handleExecutionCompleted(String message) {
+    private void deferInProgress(InboundEnvelope envelope) {
+        String handlerName = envelope.handlerName();
+        int backoff = failurePolicy.backoffSeconds(envelope.receiveCount());
+        log.info("{} message {} is being handled by another delivery; retrying in {}s",
+                handlerName, envelope.messageKey(), backoff);
+        changeVisibility(envelope, backoff);
+        throw new IllegalStateException(
+                handlerName + " message " + envelope.messageKey() + " is being handled by another delivery");
+    }
+
+    private void completeClaim(InboundEnvelope envelope) {
         try {
-            JsonNode json = objectMapper.readTree(message);
-            Long orderId = json.get("orderId").asLong();
-
-            log.info("Received execution completed event for order: {}", orderId);
-
-            updateStatusUseCase.execute(orderId,
-                    ServiceOrderStatusUpdateDto.builder()
-                            .status(ServiceOrderStatusEnum.FINISHED.name())
-                            .build());
-        } catch (JsonProcessingException e) {
-            log.error("Error processing execution completed event", e);
-            throw new RuntimeException("Failed to process execution completed event", e);
-        } catch (Exception e) {
-            log.error("Error handling execution completed event", e);
-            throw e;
+            processedMessageStore.complete(envelope.messageKey());
+        } catch (RuntimeException e) {
+            // The use case already ran: acknowledge anyway and let the lease expire
+            log.warn("Could not complete {} message key {}", envelope.handlerName(), envelope.messageKey(), e);
         }
     }
 
-    /**
-     * Handles payment failed event - Saga compensation.
-     * Cancels the order.
-     */
-    @SqsListener("${messaging.sqs.queue.payment-failed}")
-    public void handlePaymentFailed(String message) {
+    private void releaseClaim(InboundEnvelope envelope) {
         try {
-            JsonNode json = objectMapper.readTree(message);
-            Long orderId = json.get("orderId").asLong();
-            String reason = json.has("reason") ? json.get("reason").asText() : "Payment failed";
-
-            log.info("Received payment failed event for order: {}. Compensating...", orderId);
-
-            cancelUseCase.execute(orderId, reason);
-        } catch (JsonProcessingException e) {
-            log.error("Error processing payment failed event", e);
-            throw new RuntimeException("Failed to process payment failed event", e);
-        } catch (Exception e) {
-            log.error("Error handling payment failed event", e);
-            throw e;
+            processedMessageStore.release(envelope.messageKey());
+        } catch (RuntimeException e) {
+            // The lease expires on its own and lets a later redelivery claim the key
+            log.warn("Could not release {} message key {}", envelope.handlerName(), envelope.messageKey(), e);
         }
     }
 
-    /**
-     * Handles resource unavailable event - Saga compensation.
-     * Cancels the order.
-     */
-    @SqsListener("${messaging.sqs.queue.resource-unavailable}")
-    public void handleResourceUnavailable(String message) {
+    private void handleFailure(InboundEnvelope envelope, RuntimeException failure) {
+        String handlerName = envelope.handlerName();
+        Classification classification = failurePolicy.classify(failure);
+        quarantine.recordFailure(handlerName, classification);
+
+        if (failurePolicy.shouldQuarantine(classification, envelope.receiveCount())) {
+            quarantine.quarantine(handlerName, envelope.messageKey(), envelope.payload(),
+                    classification, failure, envelope.receiveCount());
+            return;
+        }
+
+        log.error("Error handling {} message {}", handlerName, envelope.messageKey(), failure);
+        int backoff = failurePolicy.backoffSeconds(envelope.receiveCount());
+        if (changeVisibility(envelope, backoff)) {
+            log.info("Retrying {} message {} in {}s (delivery {})",
+                    handlerName, envelope.messageKey(), backoff, envelope.receiveCount());
+        }
+        throw failure;
+    }
+
+    private boolean changeVisibility(InboundEnvelope envelope, int seconds) {
+        if (envelope.visibility() == null) {
+            return false;
+        }
         try {
-            JsonNode json = objectMapper.readTree(message);
-            Long orderId = json.get("orderId").asLong();
-            String reason = json.has("reason") ? json.get("reason").asText() : "Resource unavailable";
-
-            log.info("Received resource unavailable event for order: {}. Compensating...", orderId);
-
-            cancelUseCase.execute(orderId, reason);
-        } catch (JsonProcessingException e) {
-            log.error("Error processing resource unavailable event", e);
-            throw new RuntimeException("Failed to process resource unavailable event", e);
-        } catch (Exception e) {
-            log.error("Error handling resource unavailable event", e);
-            throw e;
+            envelope.visibility().changeTo(seconds);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not extend visibility of {} message {}",
+                    envelope.handlerName(), envelope.messageKey(), e);
+            return false;
         }
     }
 }
@@ -11,10 +11,11 @@ import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
@@ -22,13 +23,24 @@ import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 /**
  * AWS SQS implementation of ServiceOrderEventPublisher.
  * Publishes events to SQS queues for Saga pattern integration.
+ * Payloads are serialised with writers pre-built from the shared
+ * {@link ObjectMapper}, so type resolution happens once per application.
+ *
+ * <p>
+ * When the {@link EventSpool} is enabled, messages that cannot be sent (or are
+ * published while the circuit is open or older messages are still spooled)
+ * are appended to the spool instead of failing the caller, and replayed in
+ * order by {@link EventSpoolDrainer}.
  */
 @Slf4j
 @Component
 public class SqsEventPublisher implements ServiceOrderEventPublisher {
 
     private final SqsClient sqsClient;
-    private final ObjectMapper objectMapper;
+    private final SqsPublishCircuitBreaker circuitBreaker;
+    private final EventSpool eventSpool;
+    private final ObjectWriter eventWriter;
+    private final ObjectWriter billingWriter;
 
     @Value("${messaging.sqs.queue.os-events-url}")
     private String osEventsQueueUrl;
@@ -36,10 +48,13 @@ public class SqsEventPublisher implements ServiceOrderEventPublisher {
     @Value("${messaging.sqs.queue.billing-order-events-url:}")
     private String billingOrderEventsQueueUrl;
 
-    public SqsEventPublisher(SqsClient sqsClient) {
+    public SqsEventPublisher(SqsClient sqsClient, ObjectMapper objectMapper,
+            SqsPublishCircuitBreaker circuitBreaker, EventSpool eventSpool) {
         this.sqsClient = sqsClient;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.circuitBreaker = circuitBreaker;
+        this.eventSpool = eventSpool;
+        this.eventWriter = objectMapper.writerFor(ServiceOrderEventDto.class);
+        this.billingWriter = objectMapper.writerFor(BillingOrderEventDto.class);
     }
 
     @Override
@@ -80,19 +95,8 @@ public class SqsEventPublisher implements ServiceOrderEventPublisher {
 
     private void publishEvent(String eventType, ServiceOrder order) {
         try {
-            ServiceOrderEventDto event = ServiceOrderEventDto.builder()
-                    .eventType(eventType)
-                    .orderId(order.id())
-                    .customerId(order.customerId())
-                    .customerName(order.customerName())
-                    .vehicleId(order.vehicleId())
-                    .vehicleLicensePlate(order.vehicleLicensePlate())
-                    .status(order.status() != null ? order.status().value() : null)
-                    .description(order.description())
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            String messageBody = objectMapper.writeValueAsString(event);
+            String messageBody = eventWriter.writeValueAsString(
+                    toEvent(eventType, order, LocalDateTime.now()));
 
             Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
             messageAttributes.put("eventType", MessageAttributeValue.builder()
@@ -112,7 +116,7 @@ public class SqsEventPublisher implements ServiceOrderEventPublisher {
                     .messageDeduplicationId(order.id() + "-" + eventType + "-" + System.currentTimeMillis())
                     .build();
 
-            sqsClient.sendMessage(sendMessageRequest);
+            send(sendMessageRequest);
 
             log.info("Published SQS event: {} for order: {}", eventType, order.id());
         } catch (JsonProcessingException e) {
@@ -124,6 +128,30 @@ public class SqsEventPublisher implements ServiceOrderEventPublisher {
         }
     }
 
+    /**
+     * Sends a message, falling back to the spool when enabled. Messages go
+     * straight to the spool while the circuit is open or the spool still holds
+     * older messages, so replay keeps the original order.
+     */
+    private void send(SendMessageRequest request) {
+        if (eventSpool.isEnabled() && (!eventSpool.isEmpty() || !circuitBreaker.allowRequest())) {
+            eventSpool.append(request);
+            log.warn("SQS unavailable, spooled message for queue: {}", request.queueUrl());
+            return;
+        }
+        try {
+            sqsClient.sendMessage(request);
+            circuitBreaker.recordSuccess();
+        } catch (SdkException e) {
+            circuitBreaker.recordFailure();
+            if (!eventSpool.isEnabled()) {
+                throw e;
+            }
+            eventSpool.append(request);
+            log.warn("SQS send failed, spooled message for queue: {}", request.queueUrl(), e);
+        }
+    }
+
     /**
      * Publishes ORDER_CREATED to the Billing Service standard queue.
      * Payload is adapted so the billing-service consumer can create a Budget.
@@ -134,66 +162,99 @@ public class SqsEventPublisher implements ServiceOrderEventPublisher {
             return;
         }
         try {
-            Map<String, Object> billingPayload = new HashMap<>();
-            billingPayload.put("eventType", "ORDER_CREATED");
-            billingPayload.put("orderId", order.id());
-            billingPayload.put("serviceOrderId", String.valueOf(order.id()));
-            billingPayload.put("customerId", String.valueOf(order.customerId()));
-            billingPayload.put("vehicleId", String.valueOf(order.vehicleId()));
-            billingPayload.put("customerName", order.customerName());
-            billingPayload.put("vehicleLicensePlate", order.vehicleLicensePlate());
-            billingPayload.put("description", order.description());
-            billingPayload.put("status", order.status() != null ? order.status().value() : null);
-            billingPayload.put("totalPrice", order.totalPrice() != null ? order.totalPrice().toString() : "0");
-            billingPayload.put("items", buildBillingItems(order));
-            billingPayload.put("timestamp", LocalDateTime.now().toString());
-
-            String messageBody = objectMapper.writeValueAsString(billingPayload);
+            BillingOrderEventDto billingPayload = toBillingPayload(order, LocalDateTime.now());
+
+            String messageBody = billingWriter.writeValueAsString(billingPayload);
 
             SendMessageRequest request = SendMessageRequest.builder()
                     .queueUrl(billingOrderEventsQueueUrl)
                     .messageBody(messageBody)
                     .build();
 
-            sqsClient.sendMessage(request);
+            send(request);
             log.info("Published ORDER_CREATED to billing queue for order: {} with {} item(s)",
-                    order.id(),
-                    billingPayload.get("items") != null ? ((List<?>) billingPayload.get("items")).size() : 0);
+                    order.id(), billingPayload.items().size());
         } catch (Exception e) {
             log.error("Error publishing to billing queue for order: {}", order.id(), e);
         }
     }
 
+    /**
+     * Builds the event published to the OS events queue.
+     *
+     * @param eventType the event type, e.g. {@code ORDER_CREATED}
+     * @param order     the order the event is about
+     * @param timestamp the event timestamp
+     * @return the event
+     */
+    public static ServiceOrderEventDto toEvent(String eventType, ServiceOrder order, LocalDateTime timestamp) {
+        return ServiceOrderEventDto.builder()
+                .eventType(eventType)
+                .orderId(order.id())
+                .customerId(order.customerId())
+                .customerName(order.customerName())
+                .vehicleId(order.vehicleId())
+                .vehicleLicensePlate(order.vehicleLicensePlate())
+                .status(order.status() != null ? order.status().value() : null)
+                .description(order.description())
+                .timestamp(timestamp)
+                .build();
+    }
+
+    /**
+     * Builds the ORDER_CREATED payload published to the Billing Service queue.
+     *
+     * @param order     the created order
+     * @param timestamp the event timestamp
+     * @return the billing payload
+     */
+    public static BillingOrderEventDto toBillingPayload(ServiceOrder order, LocalDateTime timestamp) {
+        return BillingOrderEventDto.builder()
+                .eventType("ORDER_CREATED")
+                .orderId(order.id())
+                .serviceOrderId(String.valueOf(order.id()))
+                .customerId(String.valueOf(order.customerId()))
+                .vehicleId(String.valueOf(order.vehicleId()))
+                .customerName(order.customerName())
+                .vehicleLicensePlate(order.vehicleLicensePlate())
+                .description(order.description())
+                .status(order.status() != null ? order.status().value() : null)
+                .totalPrice(order.totalPrice() != null ? order.totalPrice().toString() : "0")
+                .items(buildBillingItems(order))
+                .timestamp(timestamp)
+                .build();
+    }
+
     /**
      * Builds the items array for the Billing payload from ServiceOrder services +
      * resources.
      * Each item follows the Billing contract: {type, itemCode, description,
      * quantity, unitPrice}.
      */
-    private List<Map<String, Object>> buildBillingItems(ServiceOrder order) {
-        List<Map<String, Object>> items = new ArrayList<>();
+    private static List<BillingOrderItemDto> buildBillingItems(ServiceOrder order) {
+        int size = (order.services() != null ? order.services().size() : 0)
+                + (order.resources() != null ? order.resources().size() : 0);
+        List<BillingOrderItemDto> items = new ArrayList<>(size);
 
         if (order.services() != null) {
             for (var service : order.services()) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("type", "SERVICE");
-                item.put("itemCode", String.valueOf(service.serviceId()));
-                item.put("description", service.serviceDescription());
-                item.put("quantity", service.quantity());
-                item.put("unitPrice", service.price() != null ? service.price().toString() : "0");
-                items.add(item);
+                items.add(new BillingOrderItemDto(
+                        "SERVICE",
+                        String.valueOf(service.serviceId()),
+                        service.serviceDescription(),
+                        service.quantity(),
+                        service.price() != null ? service.price().toString() : "0"));
             }
         }
 
         if (order.resources() != null) {
             for (var resource : order.resources()) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("type", "RESOURCE");
-                item.put("itemCode", String.valueOf(resource.resourceId()));
-                item.put("description", resource.resourceDescription());
-                item.put("quantity", resource.quantity());
-                item.put("unitPrice", resource.price() != null ? resource.price().toString() : "0");
-                items.add(item);
+                items.add(new BillingOrderItemDto(
+                        "RESOURCE",
+                        String.valueOf(resource.resourceId()),
+                        resource.resourceDescription(),
+                        resource.quantity(),
+                        resource.price() != null ? resource.price().toString() : "0"));
             }
         }
 
@@ -0,0 +1,101 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker guarding the SQS publisher.
+ * Opens after a number of consecutive send failures; while open, sends are
+ * not attempted until the open duration elapses, after which a single probe
+ * is allowed (half-open) and its outcome closes or reopens the circuit.
+ */
+@Component
+public class SqsPublishCircuitBreaker {
+
+    /**
+     * Circuit state.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Clock clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(-1);
+    private final AtomicLong probeStartedAt = new AtomicLong(-1);
+
+    @Autowired
+    public SqsPublishCircuitBreaker(
+            @Value("${messaging.sqs.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${messaging.sqs.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds) {
+        this(failureThreshold, Duration.ofSeconds(openDurationSeconds), Clock.systemUTC());
+    }
+
+    SqsPublishCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether a send may be attempted now. When the open duration has
+     * elapsed, only the first caller gets through as the probe.
+     *
+     * @return true if the caller may send
+     */
+    public boolean allowRequest() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return true;
+        }
+        long now = clock.millis();
+        if (now - opened < openDurationMillis) {
+            return false;
+        }
+        long probe = probeStartedAt.get();
+        // A probe that never reported back must not keep the circuit stuck
+        if (probe >= 0 && now - probe < openDurationMillis) {
+            return false;
+        }
+        return probeStartedAt.compareAndSet(probe, now);
+    }
+
+    /**
+     * Records a successful send, closing the circuit.
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(-1);
+        probeStartedAt.set(-1);
+    }
+
+    /**
+     * Records a failed send, opening (or reopening) the circuit once the
+     * threshold is reached.
+     */
+    public void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || openedAt.get() >= 0) {
+            openedAt.set(clock.millis());
+            probeStartedAt.set(-1);
+        }
+    }
+
+    public State state() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return State.CLOSED;
+        }
+        return clock.millis() - opened < openDurationMillis ? State.OPEN : State.HALF_OPEN;
+    }
+}
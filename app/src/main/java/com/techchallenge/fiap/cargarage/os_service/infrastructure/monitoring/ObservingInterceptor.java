@@ -0,0 +1,83 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.util.ClassUtils;
+
+import com.techchallenge.fiap.cargarage.os_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Wraps every public call of an object in a Micrometer {@link Observation},
+ * which records a timer named after the layer, tagged with the class, the
+ * method and the outcome ({@code success}, {@code not_found},
+ * {@code invalid} or {@code error}).
+ *
+ * <p>
+ * Observations opened while another one is in scope become its children, so
+ * the gateway and publisher calls of a use case are nested under it and show
+ * up as child spans once a tracing bridge is present.
+ */
+public class ObservingInterceptor implements MethodInterceptor {
+
+    private final ObservationRegistry registry;
+    private final String name;
+    private final String className;
+
+    private ObservingInterceptor(ObservationRegistry registry, String name, String className) {
+        this.registry = registry;
+        this.name = name;
+        this.className = className;
+    }
+
+    /**
+     * Returns a proxy of {@code target} observing its calls as {@code name}.
+     * Objects implementing interfaces are proxied through them, others by
+     * subclassing, so the class itself is left untouched.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T observe(T target, String name, ObservationRegistry registry) {
+        String className = ClassUtils.getUserClass(target).getSimpleName();
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice(new ObservingInterceptor(registry, name, className));
+        return (T) factory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted(name, registry)
+                .contextualName(className + "." + method)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = invocation.proceed();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (Throwable e) {
+            observation.lowCardinalityKeyValue("outcome", outcome(e));
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    static String outcome(Throwable failure) {
+        if (failure instanceof NotFoundException) {
+            return "not_found";
+        }
+        if (failure instanceof BusinessException || failure instanceof IllegalArgumentException) {
+            return "invalid";
+        }
+        return "error";
+    }
+}
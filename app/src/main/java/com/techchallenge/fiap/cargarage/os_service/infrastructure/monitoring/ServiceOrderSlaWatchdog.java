@@ -0,0 +1,144 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.monitoring;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderSlaScanner;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderSlaScanner.OverdueOrder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically looks for service orders that stayed in an active status longer
+ * than its configured maximum dwell time, e.g. an order left in
+ * WAITING_APPROVAL because a billing event was lost.
+ *
+ * <p>
+ * Each overdue order is reported once per status: it is flagged, logged as a
+ * warning and counted in {@code service_orders.sla.breaches}, which alerting
+ * rules can watch. Orders are claimed in bounded batches with
+ * {@code SKIP LOCKED}, so replicas running the watchdog at the same time never
+ * report the same order twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sla.watchdog.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceOrderSlaWatchdog {
+
+    private final ServiceOrderSlaScanner scanner;
+    private final MeterRegistry meterRegistry;
+    private final Map<ServiceOrderStatusEnum, Duration> maxDwell;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer runTimer;
+
+    public ServiceOrderSlaWatchdog(
+            ServiceOrderSlaScanner scanner,
+            MeterRegistry meterRegistry,
+            @Value("${sla.watchdog.max-dwell:WAITING_APPROVAL=PT72H}") String maxDwell,
+            @Value("${sla.watchdog.batch-size:100}") int batchSize,
+            @Value("${sla.watchdog.max-batches-per-run:10}") int maxBatchesPerRun) {
+        this.scanner = scanner;
+        this.meterRegistry = meterRegistry;
+        this.maxDwell = parseMaxDwell(maxDwell);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.runTimer = Timer.builder("service_orders.sla.watchdog.duration")
+                .description("Time spent by each SLA watchdog run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reports the orders that became overdue since the previous run, stopping
+     * after {@code max-batches-per-run} batches per status; the rest is picked
+     * up by the next run.
+     */
+    @Scheduled(fixedDelayString = "${sla.watchdog.interval-ms:60000}",
+            initialDelayString = "${sla.watchdog.interval-ms:60000}")
+    public void run() {
+        runTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            maxDwell.forEach((status, dwell) -> scan(status, dwell, now));
+        });
+    }
+
+    /**
+     * Returns the maximum dwell time configured for each watched status.
+     */
+    public Map<ServiceOrderStatusEnum, Duration> maxDwell() {
+        return Collections.unmodifiableMap(maxDwell);
+    }
+
+    private void scan(ServiceOrderStatusEnum status, Duration dwell, LocalDateTime now) {
+        LocalDateTime threshold = now.minus(dwell);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<OverdueOrder> overdue;
+            try {
+                overdue = scanner.flagOverdue(status.name(), threshold, batchSize, now);
+            } catch (RuntimeException e) {
+                log.error("SLA watchdog scan failed for status {}", status, e);
+                return;
+            }
+            overdue.forEach(order -> report(order, dwell, now));
+            if (overdue.size() < batchSize) {
+                return;
+            }
+        }
+        log.warn("SLA watchdog stopped after {} batch(es) for status {}; remaining orders wait for the next run",
+                maxBatchesPerRun, status);
+    }
+
+    private void report(OverdueOrder order, Duration dwell, LocalDateTime now) {
+        Duration elapsed = order.since() != null ? Duration.between(order.since(), now) : dwell;
+        log.warn("Service order {} has been in {} for {}h (limit {}h)",
+                order.id(), order.status(), elapsed.toHours(), dwell.toHours());
+        Counter.builder("service_orders.sla.breaches")
+                .description("Service orders that exceeded the maximum dwell time of a status")
+                .tag("status", order.status())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Parses {@code STATUS=ISO-8601 duration} pairs separated by commas, e.g.
+     * {@code WAITING_APPROVAL=PT72H,IN_EXECUTION=P5D}. Only statuses an order
+     * can still leave may be watched.
+     */
+    static Map<ServiceOrderStatusEnum, Duration> parseMaxDwell(String spec) {
+        Map<ServiceOrderStatusEnum, Duration> result = new EnumMap<>(ServiceOrderStatusEnum.class);
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            ServiceOrderStatusEnum status = parts.length == 2 ? ServiceOrderStatusEnum.fromString(parts[0].trim()) : null;
+            if (status == null) {
+                throw new IllegalArgumentException("Invalid sla.watchdog.max-dwell entry: " + entry);
+            }
+            ServiceOrderStatus orderStatus = ServiceOrderStatus.of(status);
+            if (orderStatus.isDelivered() || orderStatus.isCancelled()) {
+                throw new IllegalArgumentException("Final status cannot be watched: " + status);
+            }
+            Duration dwell = Duration.parse(parts[1].trim());
+            if (dwell.isNegative() || dwell.isZero()) {
+                throw new IllegalArgumentException("Max dwell must be positive: " + entry);
+            }
+            result.put(status, dwell);
+        }
+        return result;
+    }
+}
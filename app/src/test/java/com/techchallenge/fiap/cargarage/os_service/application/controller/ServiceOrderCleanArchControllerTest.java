@@ -3,6 +3,7 @@ package com.techchallenge.fiap.cargarage.os_service.application.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -11,6 +12,7 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,13 +22,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderApprovalDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderExecutionTimeDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderResource;
@@ -34,8 +44,12 @@ import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrd
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CreateServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindServiceOrderUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindVehicleHistoryUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderExecutionTimeUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderStatusCountsUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.GetServiceOrderTimeInStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.ProcessApprovalUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.SearchServiceOrdersUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderUseCase;
 
@@ -56,6 +70,14 @@ class ServiceOrderCleanArchControllerTest {
     private GetServiceOrderExecutionTimeUseCase getServiceOrderExecutionTimeUseCase;
     @Mock
     private CancelServiceOrderUseCase cancelServiceOrderUseCase;
+    @Mock
+    private GetServiceOrderTimeInStatusUseCase getServiceOrderTimeInStatusUseCase;
+    @Mock
+    private GetServiceOrderStatusCountsUseCase getServiceOrderStatusCountsUseCase;
+    @Mock
+    private FindVehicleHistoryUseCase findVehicleHistoryUseCase;
+    @Mock
+    private SearchServiceOrdersUseCase searchServiceOrdersUseCase;
 
     private ServiceOrderCleanArchController controller;
 
@@ -68,7 +90,11 @@ class ServiceOrderCleanArchControllerTest {
                 updateServiceOrderStatusUseCase,
                 processApprovalUseCase,
                 getServiceOrderExecutionTimeUseCase,
-                cancelServiceOrderUseCase);
+                cancelServiceOrderUseCase,
+                getServiceOrderTimeInStatusUseCase,
+                getServiceOrderStatusCountsUseCase,
+                findVehicleHistoryUseCase,
+                searchServiceOrdersUseCase);
     }
 
     @Test
@@ -134,6 +160,95 @@ class ServiceOrderCleanArchControllerTest {
         verify(findServiceOrderUseCase).findByStatus(eq("FINISHED"), any());
     }
 
+    @Test
+    @DisplayName("Should find versions of single orders and pages")
+    void shouldFindVersions() {
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(12L, "FINISHED", LocalDateTime.now());
+        PageDto<ServiceOrderVersionDto> page = new PageDto<>(List.of(version), 1, 0, 10);
+        when(findServiceOrderUseCase.findVersionById(12L)).thenReturn(version);
+        when(findServiceOrderUseCase.findVersions(new PageRequestDto(0, 10))).thenReturn(page);
+        when(findServiceOrderUseCase.findVersionsByCustomerId(100L, new PageRequestDto(0, 10))).thenReturn(page);
+        when(findServiceOrderUseCase.findVersionsByStatus("FINISHED", new PageRequestDto(0, 10))).thenReturn(page);
+
+        assertSame(version, controller.findVersionById(12L));
+        assertSame(page, controller.findAllVersions(0, 10));
+        assertSame(page, controller.findVersionsByCustomerId(100L, 0, 10));
+        assertSame(page, controller.findVersionsByStatus("FINISHED", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should search by criteria with pagination")
+    void shouldSearchByCriteria() {
+        ServiceOrder order = createOrder(14L, ServiceOrderStatus.received());
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(
+                List.of("RECEIVED"), 100L, null, null, null, null);
+        when(searchServiceOrdersUseCase.search(eq(filter), any()))
+                .thenReturn(new PageDto<>(List.of(order), 1, 0, 10));
+
+        PageDto<ServiceOrderDto> result = controller.search(filter, 0, 10);
+
+        assertEquals(1, result.content().size());
+        assertEquals("RECEIVED", result.content().get(0).status());
+        assertEquals(1, result.totalElements());
+    }
+
+    @Test
+    @DisplayName("Should pass fieldsets through to the use cases")
+    void shouldFindWithFieldsets() {
+        ServiceOrderDto sparse = ServiceOrderDto.builder().id(16L).status("RECEIVED").build();
+        PageDto<ServiceOrderDto> page = new PageDto<>(List.of(sparse), 1, 0, 10);
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(null, 100L, null, null, null, null);
+        when(findServiceOrderUseCase.findFieldsById(16L, "status")).thenReturn(sparse);
+        when(findServiceOrderUseCase.findAllFields(any(), eq("status"))).thenReturn(page);
+        when(findServiceOrderUseCase.findFieldsByCustomerId(eq(100L), any(), eq("status"))).thenReturn(page);
+        when(findServiceOrderUseCase.findFieldsByStatus(eq("RECEIVED"), any(), eq("status"))).thenReturn(page);
+        when(searchServiceOrdersUseCase.searchFields(eq(filter), any(), eq("status"))).thenReturn(page);
+
+        assertSame(sparse, controller.findById(16L, "status"));
+        assertSame(page, controller.findAll(0, 10, "status"));
+        assertSame(page, controller.findByCustomerId(100L, 0, 10, "status"));
+        assertSame(page, controller.findByStatus("RECEIVED", 0, 10, "status"));
+        assertSame(page, controller.search(filter, 0, 10, "status"));
+    }
+
+    @Test
+    @DisplayName("Should find vehicle history and keep the cursor")
+    void shouldFindByVehicleId() {
+        ServiceOrder order = createOrder(13L, ServiceOrderStatus.delivered());
+        when(findVehicleHistoryUseCase.findByVehicleId(200L, "c1", 10))
+                .thenReturn(new CursorPageDto<>(List.of(order), "c2", 10));
+
+        CursorPageDto<ServiceOrderDto> result = controller.findByVehicleId(200L, "c1", 10);
+
+        assertEquals(1, result.content().size());
+        assertEquals(13L, result.content().get(0).id());
+        assertEquals("c2", result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should find vehicle history summaries by license plate")
+    void shouldFindSummariesByLicensePlate() {
+        CursorPageDto<ServiceOrderSummaryDto> page = new CursorPageDto<>(
+                List.of(ServiceOrderSummaryDto.builder().id(14L).build()), null, 10);
+        when(findVehicleHistoryUseCase.findSummariesByLicensePlate("ABC1D23", null, 10)).thenReturn(page);
+
+        CursorPageDto<ServiceOrderSummaryDto> result = controller.findSummariesByLicensePlate("ABC1D23", null, 10);
+
+        assertSame(page, result);
+    }
+
+    @Test
+    @DisplayName("Should search service orders by text")
+    void shouldSearchText() {
+        CursorPageDto<ServiceOrderSearchResultDto> page = new CursorPageDto<>(
+                List.of(ServiceOrderSearchResultDto.builder().id(15L).score(0.4f).build()), null, 10);
+        when(searchServiceOrdersUseCase.searchText("freio", null, 10)).thenReturn(page);
+
+        CursorPageDto<ServiceOrderSearchResultDto> result = controller.searchText("freio", null, 10);
+
+        assertSame(page, result);
+    }
+
     @Test
     @DisplayName("Should return execution time statistics")
     void shouldGetExecutionTimeStatistics() {
@@ -155,6 +270,37 @@ class ServiceOrderCleanArchControllerTest {
         verify(getServiceOrderExecutionTimeUseCase).execute();
     }
 
+    @Test
+    @DisplayName("Should return time-in-status statistics")
+    void shouldReturnTimeInStatusStatistics() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        ServiceOrderTimeInStatusDto stats = ServiceOrderTimeInStatusDto.builder()
+                .from(from)
+                .to(to)
+                .statuses(List.of())
+                .build();
+        when(getServiceOrderTimeInStatusUseCase.execute(from, to)).thenReturn(stats);
+
+        ServiceOrderTimeInStatusDto result = controller.getTimeInStatusStatistics(from, to);
+
+        assertSame(stats, result);
+    }
+
+    @Test
+    @DisplayName("Should return status counts")
+    void shouldReturnStatusCounts() {
+        ServiceOrderStatusCountsDto counts = ServiceOrderStatusCountsDto.builder()
+                .counts(Map.of("RECEIVED", 2L))
+                .total(2L)
+                .build();
+        when(getServiceOrderStatusCountsUseCase.execute()).thenReturn(counts);
+
+        ServiceOrderStatusCountsDto result = controller.getStatusCounts();
+
+        assertSame(counts, result);
+    }
+
     @Test
     @DisplayName("Should create service order")
     void shouldCreate() {
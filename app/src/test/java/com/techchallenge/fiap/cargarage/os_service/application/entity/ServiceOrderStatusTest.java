@@ -2,10 +2,15 @@ package com.techchallenge.fiap.cargarage.os_service.application.entity;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+import java.util.Set;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 
 class ServiceOrderStatusTest {
 
@@ -153,4 +158,53 @@ class ServiceOrderStatusTest {
         assertEquals("RECEIVED", status.value());
         assertTrue(status.isReceived());
     }
+
+    @Test
+    @DisplayName("Should parse status ignoring case and surrounding whitespace")
+    void shouldParseStatusIgnoringCase() {
+        assertTrue(ServiceOrderStatus.of(" in_diagnosis ").isInDiagnosis());
+        assertTrue(ServiceOrderStatus.of("Waiting_Approval").isWaitingApproval());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and blank status")
+    void shouldRejectUnknownAndBlankStatus() {
+        assertThrows(InvalidDataException.class, () -> ServiceOrderStatus.of("UNKNOWN"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceOrderStatus.of(" "));
+    }
+
+    @Test
+    @DisplayName("Should return canonical instances from every factory")
+    void shouldReturnCanonicalInstances() {
+        for (ServiceOrderStatusEnum value : ServiceOrderStatusEnum.values()) {
+            assertSame(ServiceOrderStatus.of(value), ServiceOrderStatus.of(value.name().toLowerCase()));
+        }
+        assertSame(ServiceOrderStatus.received(), ServiceOrderStatus.received());
+        assertEquals(ServiceOrderStatus.cancelled(), ServiceOrderStatus.of("CANCELLED"));
+        assertNotEquals(ServiceOrderStatus.cancelled(), ServiceOrderStatus.delivered());
+    }
+
+    @Test
+    @DisplayName("Should allow exactly the documented transitions")
+    void shouldAllowExactlyDocumentedTransitions() {
+        Map<ServiceOrderStatusEnum, Set<ServiceOrderStatusEnum>> expected = Map.of(
+                ServiceOrderStatusEnum.RECEIVED, Set.of(
+                        ServiceOrderStatusEnum.IN_DIAGNOSIS, ServiceOrderStatusEnum.CANCELLED),
+                ServiceOrderStatusEnum.IN_DIAGNOSIS, Set.of(
+                        ServiceOrderStatusEnum.WAITING_APPROVAL, ServiceOrderStatusEnum.CANCELLED),
+                ServiceOrderStatusEnum.WAITING_APPROVAL, Set.of(
+                        ServiceOrderStatusEnum.IN_EXECUTION, ServiceOrderStatusEnum.IN_DIAGNOSIS,
+                        ServiceOrderStatusEnum.CANCELLED),
+                ServiceOrderStatusEnum.IN_EXECUTION, Set.of(ServiceOrderStatusEnum.FINISHED),
+                ServiceOrderStatusEnum.FINISHED, Set.of(ServiceOrderStatusEnum.DELIVERED));
+
+        for (ServiceOrderStatusEnum from : ServiceOrderStatusEnum.values()) {
+            for (ServiceOrderStatusEnum to : ServiceOrderStatusEnum.values()) {
+                boolean allowed = expected.getOrDefault(from, Set.of()).contains(to);
+                assertEquals(allowed, ServiceOrderStatus.of(from).canTransitionTo(ServiceOrderStatus.of(to)),
+                        from + " -> " + to);
+            }
+        }
+        assertFalse(ServiceOrderStatus.received().canTransitionTo(null));
+    }
 }
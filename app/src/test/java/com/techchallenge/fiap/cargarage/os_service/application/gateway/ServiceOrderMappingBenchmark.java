@@ -0,0 +1,123 @@
+package com.techchallenge.fiap.cargarage.os_service.application.gateway;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderResource;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.presenter.ServiceOrderPresenter;
+import com.techchallenge.fiap.cargarage.os_service.benchmark.ServiceOrderStatusBenchmark;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderEntityMappingBenchmark;
+
+/**
+ * Baselines for the mapping layers an order goes through on every request:
+ * data source DTO to domain model and back in the gateway, model to response
+ * DTO in the presenter, and the status change applied by the use cases.
+ * Orders carry {@code items} services plus {@code items} resources. Run with
+ * {@code -prof gc} to compare allocations. Kept in the gateway's package to
+ * reach its package-private mappers; the data source mappers are covered by
+ * {@link ServiceOrderEntityMappingBenchmark} and the status checks on their
+ * own by {@link ServiceOrderStatusBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceOrderMappingBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Param({ "0", "10", "100" })
+    private int items;
+
+    private ServiceOrder order;
+    private ServiceOrderDto dto;
+
+    @Setup
+    public void setUp() {
+        order = buildOrder(items);
+        dto = ServiceOrderPresenter.toResponseDtoFromModel(order);
+    }
+
+    @Benchmark
+    public ServiceOrder gatewayToModel() {
+        return ServiceOrderGateway.toModel(dto);
+    }
+
+    @Benchmark
+    public ServiceOrderPersistenceDto gatewayToPersistenceDto() {
+        return ServiceOrderGateway.toPersistenceDto(order);
+    }
+
+    @Benchmark
+    public ServiceOrderDto presenterToResponseDto() {
+        return ServiceOrderPresenter.toResponseDtoFromModel(order);
+    }
+
+    @Benchmark
+    public ServiceOrder withStatusUpdated() {
+        return order.withStatusUpdated(ServiceOrderStatus.inDiagnosis(), NOW);
+    }
+
+    /**
+     * The check and copy done by the status use case.
+     */
+    @Benchmark
+    public ServiceOrder statusTransition() {
+        ServiceOrderStatus next = ServiceOrderStatus.inDiagnosis();
+        if (!order.status().canTransitionTo(next)) {
+            throw new IllegalStateException("Unexpected transition");
+        }
+        return order.withStatusUpdated(next, NOW);
+    }
+
+    private static ServiceOrder buildOrder(int items) {
+        List<ServiceOrderItem> services = new ArrayList<>(items);
+        List<ServiceOrderResource> resources = new ArrayList<>(items);
+        for (long i = 1; i <= items; i++) {
+            services.add(ServiceOrderItem.buildServiceOrderItem(
+                    i, 300L + i, "Service " + i, "Service description " + i, 1,
+                    new BigDecimal("150.00"), new BigDecimal("150.00")));
+            resources.add(ServiceOrderResource.buildServiceOrderResource(
+                    i, 400L + i, "Part " + i, "Part description " + i, "PART", 2,
+                    new BigDecimal("80.00"), new BigDecimal("160.00")));
+        }
+        return ServiceOrder.builder()
+                .id(1L)
+                .customerId(1L)
+                .customerName("John Doe")
+                .vehicleId(2L)
+                .vehicleLicensePlate("ABC-1234")
+                .vehicleModel("Civic")
+                .vehicleBrand("Honda")
+                .description("Benchmark order")
+                .status(ServiceOrderStatus.received())
+                .totalPrice(new BigDecimal("230.00").multiply(BigDecimal.valueOf(items)))
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .services(services)
+                .resources(resources)
+                .build();
+    }
+}
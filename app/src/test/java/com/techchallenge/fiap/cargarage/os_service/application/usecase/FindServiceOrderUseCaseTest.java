@@ -1,12 +1,15 @@
 package com.techchallenge.fiap.cargarage.os_service.application.usecase;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,8 +20,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.FindServiceOrderUseCase;
@@ -137,4 +145,90 @@ class FindServiceOrderUseCaseTest {
         assertNotNull(result);
         assertEquals(1, result.content().size());
     }
+
+    @Test
+    @DisplayName("Should find the version of a service order")
+    void shouldFindVersionById() {
+        // Arrange
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, "RECEIVED", LocalDateTime.now());
+        when(gateway.findVersionById(1L)).thenReturn(Optional.of(version));
+
+        // Act & Assert
+        assertSame(version, useCase.findVersionById(1L));
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException when the order has no version")
+    void shouldThrowWhenVersionNotFound() {
+        when(gateway.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> useCase.findVersionById(99L));
+    }
+
+    @Test
+    @DisplayName("Should find page versions by customer and by validated status")
+    void shouldFindPageVersions() {
+        // Arrange
+        PageRequestDto pageRequest = new PageRequestDto(0, 10);
+        PageDto<ServiceOrderVersionDto> page = new PageDto<>(List.of(), 0, 0, 10);
+        when(gateway.findVersions(pageRequest)).thenReturn(page);
+        when(gateway.findVersionsByCustomerId(5L, pageRequest)).thenReturn(page);
+        when(gateway.findVersionsByStatus(ServiceOrderStatus.finished(), pageRequest)).thenReturn(page);
+
+        // Act & Assert
+        assertSame(page, useCase.findVersions(pageRequest));
+        assertSame(page, useCase.findVersionsByCustomerId(5L, pageRequest));
+        assertSame(page, useCase.findVersionsByStatus("finished", pageRequest));
+    }
+
+    @Test
+    @DisplayName("Should find the requested fields of an order")
+    void shouldFindFieldsById() {
+        // Arrange
+        ServiceOrderFieldsDto fields = new ServiceOrderFieldsDto(Set.of("customerName", "services"));
+        ServiceOrderDto sparse = ServiceOrderDto.builder().id(1L).customerName("John Doe").services(List.of()).build();
+        when(gateway.findFieldsById(1L, fields)).thenReturn(Optional.of(sparse));
+
+        // Act
+        ServiceOrderDto result = useCase.findFieldsById(1L, " customerName, services ");
+
+        // Assert
+        assertSame(sparse, result);
+    }
+
+    @Test
+    @DisplayName("Should throw when the order of a fieldset is not found")
+    void shouldThrowWhenFieldsNotFound() {
+        when(gateway.findFieldsById(eq(9L), any())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> useCase.findFieldsById(9L, "id"));
+    }
+
+    @Test
+    @DisplayName("Should filter a fieldset page by the normalized status")
+    void shouldFindFieldsByStatus() {
+        // Arrange
+        PageRequestDto pageRequest = new PageRequestDto(0, 10);
+        PageDto<ServiceOrderDto> page = new PageDto<>(List.of(), 0, 0, 10);
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(
+                List.of("IN_EXECUTION"), null, null, null, null, null);
+        when(gateway.findFields(filter, new ServiceOrderFieldsDto(Set.of("id")), pageRequest)).thenReturn(page);
+
+        // Act
+        PageDto<ServiceOrderDto> result = useCase.findFieldsByStatus("in_execution", pageRequest, "id");
+
+        // Assert
+        assertSame(page, result);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or missing field names")
+    void shouldRejectInvalidFields() {
+        InvalidDataException unknown = assertThrows(InvalidDataException.class,
+                () -> FindServiceOrderUseCase.parseFields("id,slaBreachedAt"));
+        assertTrue(unknown.getMessage().contains("slaBreachedAt"));
+        assertThrows(InvalidDataException.class, () -> FindServiceOrderUseCase.parseFields(" , "));
+        assertThrows(InvalidDataException.class, () -> FindServiceOrderUseCase.parseFields(null));
+        verifyNoInteractions(gateway);
+    }
 }
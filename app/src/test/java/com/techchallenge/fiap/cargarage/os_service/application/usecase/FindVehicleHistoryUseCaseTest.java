@@ -0,0 +1,161 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+@ExtendWith(MockitoExtension.class)
+class FindVehicleHistoryUseCaseTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Mock
+    private ServiceOrderGateway gateway;
+
+    private FindVehicleHistoryUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new FindVehicleHistoryUseCase(gateway);
+    }
+
+    private ServiceOrder order(long id) {
+        return ServiceOrder.builder()
+                .id(id)
+                .customerId(1L)
+                .vehicleId(2001L)
+                .vehicleLicensePlate("ABC1D23")
+                .status(ServiceOrderStatus.delivered())
+                .totalPrice(new BigDecimal("100.00"))
+                .createdAt(BASE.minusDays(id))
+                .services(List.of())
+                .resources(List.of())
+                .build();
+    }
+
+    private List<ServiceOrder> orders(long count) {
+        return LongStream.rangeClosed(1, count).mapToObj(this::order).toList();
+    }
+
+    private VehicleHistoryQueryDto capturedQuery() {
+        ArgumentCaptor<VehicleHistoryQueryDto> captor = ArgumentCaptor.forClass(VehicleHistoryQueryDto.class);
+        verify(gateway).findVehicleHistory(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and return a cursor when more orders exist")
+    void shouldReturnCursorWhenMoreOrdersExist() {
+        // Arrange
+        when(gateway.findVehicleHistory(any())).thenReturn(orders(3));
+
+        // Act
+        CursorPageDto<ServiceOrder> page = useCase.findByVehicleId(2001L, null, 2);
+
+        // Assert
+        VehicleHistoryQueryDto query = capturedQuery();
+        assertEquals(2001L, query.vehicleId());
+        assertNull(query.licensePlate());
+        assertEquals(3, query.limit());
+        assertEquals(Long.MAX_VALUE, query.idBefore());
+        assertEquals(List.of(1L, 2L), page.content().stream().map(ServiceOrder::id).toList());
+        assertEquals(FindVehicleHistoryUseCase.encodeCursor(BASE.minusDays(2), 2L), page.nextCursor());
+        assertEquals(2, page.pageSize());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void shouldReturnNoCursorOnLastPage() {
+        // Arrange
+        when(gateway.findVehicleHistory(any())).thenReturn(orders(2));
+
+        // Act
+        CursorPageDto<ServiceOrder> page = useCase.findByVehicleId(2001L, null, 2);
+
+        // Assert
+        assertEquals(2, page.content().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should continue after the position held by the cursor")
+    void shouldContinueAfterCursorPosition() {
+        // Arrange
+        String cursor = FindVehicleHistoryUseCase.encodeCursor(BASE.minusDays(2), 2L);
+        when(gateway.findVehicleHistory(any())).thenReturn(List.of());
+
+        // Act
+        useCase.findByVehicleId(2001L, cursor, 15);
+
+        // Assert
+        VehicleHistoryQueryDto query = capturedQuery();
+        assertEquals(BASE.minusDays(2), query.createdBefore());
+        assertEquals(2L, query.idBefore());
+        assertEquals(16, query.limit());
+    }
+
+    @Test
+    @DisplayName("Should normalize the license plate")
+    void shouldNormalizeLicensePlate() {
+        // Arrange
+        when(gateway.findVehicleHistory(any())).thenReturn(List.of());
+
+        // Act
+        useCase.findByLicensePlate(" abc-1d23 ", null, 15);
+
+        // Assert
+        VehicleHistoryQueryDto query = capturedQuery();
+        assertNull(query.vehicleId());
+        assertEquals("ABC1D23", query.licensePlate());
+    }
+
+    @Test
+    @DisplayName("Should page summaries the same way as full orders")
+    void shouldPageSummaries() {
+        // Arrange
+        List<ServiceOrderSummaryDto> summaries = LongStream.rangeClosed(1, 2)
+                .mapToObj(id -> ServiceOrderSummaryDto.builder().id(id).createdAt(BASE.minusDays(id)).build())
+                .toList();
+        when(gateway.findVehicleHistorySummary(any())).thenReturn(summaries);
+
+        // Act
+        CursorPageDto<ServiceOrderSummaryDto> page = useCase.findSummariesByLicensePlate("ABC1D23", null, 1);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertEquals(FindVehicleHistoryUseCase.encodeCursor(BASE.minusDays(1), 1L), page.nextCursor());
+        verify(gateway, never()).findVehicleHistory(any());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid page sizes, cursors and plates")
+    void shouldRejectInvalidInput() {
+        assertThrows(InvalidDataException.class, () -> useCase.findByVehicleId(1L, null, 0));
+        assertThrows(InvalidDataException.class,
+                () -> useCase.findByVehicleId(1L, null, FindVehicleHistoryUseCase.MAX_PAGE_SIZE + 1));
+        assertThrows(InvalidDataException.class, () -> useCase.findByVehicleId(1L, "not-a-cursor", 15));
+        assertThrows(InvalidDataException.class, () -> useCase.findByLicensePlate("--", null, 15));
+        verifyNoInteractions(gateway);
+    }
+}
@@ -0,0 +1,68 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+@ExtendWith(MockitoExtension.class)
+class GetServiceOrderStatusCountsUseCaseTest {
+
+    @Mock
+    private ServiceOrderGateway gateway;
+
+    private GetServiceOrderStatusCountsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetServiceOrderStatusCountsUseCase(gateway);
+    }
+
+    @Test
+    @DisplayName("Should list every status in workflow order with zero for missing ones")
+    void shouldListEveryStatusInWorkflowOrder() {
+        // Arrange
+        when(gateway.countByStatus()).thenReturn(Map.of("IN_EXECUTION", 4L, "RECEIVED", 2L));
+
+        // Act
+        ServiceOrderStatusCountsDto result = useCase.execute();
+
+        // Assert
+        List<String> expectedOrder = Arrays.stream(ServiceOrderStatusEnum.values())
+                .map(Enum::name)
+                .toList();
+        assertEquals(expectedOrder, List.copyOf(result.counts().keySet()));
+        assertEquals(2L, result.counts().get("RECEIVED"));
+        assertEquals(4L, result.counts().get("IN_EXECUTION"));
+        assertEquals(0L, result.counts().get("DELIVERED"));
+        assertEquals(6L, result.total());
+    }
+
+    @Test
+    @DisplayName("Should ignore unknown statuses and clamp negative counts")
+    void shouldIgnoreUnknownStatusesAndClampNegativeCounts() {
+        // Arrange
+        when(gateway.countByStatus()).thenReturn(Map.of("LEGACY", 5L, "FINISHED", -1L));
+
+        // Act
+        ServiceOrderStatusCountsDto result = useCase.execute();
+
+        // Assert
+        assertFalse(result.counts().containsKey("LEGACY"));
+        assertEquals(0L, result.counts().get("FINISHED"));
+        assertEquals(0L, result.total());
+    }
+}
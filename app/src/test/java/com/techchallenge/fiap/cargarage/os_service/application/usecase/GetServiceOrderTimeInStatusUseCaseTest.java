@@ -0,0 +1,112 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+@ExtendWith(MockitoExtension.class)
+class GetServiceOrderTimeInStatusUseCaseTest {
+
+    @Mock
+    private ServiceOrderGateway gateway;
+
+    private GetServiceOrderTimeInStatusUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetServiceOrderTimeInStatusUseCase(gateway);
+    }
+
+    private ServiceOrderStatusDurationDto duration(String status, long transitions) {
+        return ServiceOrderStatusDurationDto.builder()
+                .status(status)
+                .transitions(transitions)
+                .avgHours(new BigDecimal("1.00"))
+                .minHours(new BigDecimal("0.50"))
+                .p50Hours(new BigDecimal("1.00"))
+                .p90Hours(new BigDecimal("1.50"))
+                .p95Hours(new BigDecimal("1.75"))
+                .maxHours(new BigDecimal("2.00"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return statuses in workflow order")
+    void shouldReturnStatusesInWorkflowOrder() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        when(gateway.findTimeInStatus(from, to)).thenReturn(List.of(
+                duration("IN_EXECUTION", 2),
+                duration("RECEIVED", 5),
+                duration("WAITING_APPROVAL", 3)));
+
+        // Act
+        ServiceOrderTimeInStatusDto result = useCase.execute(from, to);
+
+        // Assert
+        assertEquals(from, result.from());
+        assertEquals(to, result.to());
+        assertEquals(List.of("RECEIVED", "WAITING_APPROVAL", "IN_EXECUTION"),
+                result.statuses().stream().map(ServiceOrderStatusDurationDto::status).toList());
+    }
+
+    @Test
+    @DisplayName("Should default to the last 30 days")
+    void shouldDefaultToLastThirtyDays() {
+        // Arrange
+        when(gateway.findTimeInStatus(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // Act
+        ServiceOrderTimeInStatusDto result = useCase.execute(null, null);
+
+        // Assert
+        assertEquals(result.to().minusDays(30), result.from());
+        assertTrue(result.statuses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start the window 30 days before the given end")
+    void shouldStartWindowBeforeGivenEnd() {
+        // Arrange
+        LocalDateTime to = LocalDateTime.of(2024, 3, 31, 0, 0);
+        when(gateway.findTimeInStatus(any(LocalDateTime.class), eq(to))).thenReturn(List.of());
+
+        // Act
+        useCase.execute(null, to);
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> fromCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(gateway).findTimeInStatus(fromCaptor.capture(), eq(to));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), fromCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("Should reject window that does not end after it starts")
+    void shouldRejectEmptyWindow() {
+        LocalDateTime instant = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        assertThrows(InvalidDataException.class, () -> useCase.execute(instant, instant));
+        assertThrows(InvalidDataException.class, () -> useCase.execute(instant.plusDays(1), instant));
+        verifyNoInteractions(gateway);
+    }
+}
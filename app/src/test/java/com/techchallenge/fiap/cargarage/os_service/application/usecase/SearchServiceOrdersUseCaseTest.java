@@ -0,0 +1,217 @@
+package com.techchallenge.fiap.cargarage.os_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceOrdersUseCaseTest {
+
+    @Mock
+    private ServiceOrderGateway gateway;
+
+    private SearchServiceOrdersUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new SearchServiceOrdersUseCase(gateway);
+    }
+
+    private static ServiceOrderSearchResultDto result(long id, float score) {
+        return ServiceOrderSearchResultDto.builder().id(id).score(score).build();
+    }
+
+    private TextSearchQueryDto capturedQuery() {
+        ArgumentCaptor<TextSearchQueryDto> captor = ArgumentCaptor.forClass(TextSearchQueryDto.class);
+        verify(gateway).searchText(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should search from the top and return a cursor when more results exist")
+    void shouldReturnCursorWhenMoreResultsExist() {
+        // Arrange
+        when(gateway.searchText(any())).thenReturn(List.of(result(4L, 0.9f), result(2L, 0.5f), result(7L, 0.1f)));
+
+        // Act
+        CursorPageDto<ServiceOrderSearchResultDto> page = useCase.searchText("  barulho ao frear ", null, 2);
+
+        // Assert
+        TextSearchQueryDto query = capturedQuery();
+        assertEquals("barulho ao frear", query.text());
+        assertEquals(Float.MAX_VALUE, query.scoreBelow());
+        assertEquals(Long.MAX_VALUE, query.idBefore());
+        assertEquals(3, query.limit());
+        assertEquals(List.of(4L, 2L), page.content().stream().map(ServiceOrderSearchResultDto::id).toList());
+        assertEquals(SearchServiceOrdersUseCase.encodeCursor(0.5f, 2L), page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should continue after the score and id held by the cursor")
+    void shouldContinueAfterCursor() {
+        // Arrange
+        when(gateway.searchText(any())).thenReturn(List.of(result(7L, 0.1f)));
+
+        // Act
+        CursorPageDto<ServiceOrderSearchResultDto> page = useCase.searchText(
+                "freio", SearchServiceOrdersUseCase.encodeCursor(0.5f, 2L), 2);
+
+        // Assert
+        TextSearchQueryDto query = capturedQuery();
+        assertEquals(0.5f, query.scoreBelow());
+        assertEquals(2L, query.idBefore());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should derive a normalized plate fragment from the text")
+    void shouldDerivePlateFragment() {
+        // Arrange
+        when(gateway.searchText(any())).thenReturn(List.of());
+
+        // Act
+        useCase.searchText("abc-1d", null, 15);
+
+        // Assert
+        assertEquals("ABC1D", capturedQuery().plateFragment());
+    }
+
+    @Test
+    @DisplayName("Should skip plate matching for fragments shorter than a trigram")
+    void shouldSkipShortPlateFragments() {
+        // Arrange
+        when(gateway.searchText(any())).thenReturn(List.of());
+
+        // Act
+        useCase.searchText("a-1", null, 15);
+
+        // Assert
+        assertEquals("", capturedQuery().plateFragment());
+    }
+
+    @Test
+    @DisplayName("Should reject blank or too long text, invalid sizes and cursors")
+    void shouldRejectInvalidInput() {
+        assertThrows(InvalidDataException.class, () -> useCase.searchText("  ", null, 15));
+        assertThrows(InvalidDataException.class, () -> useCase.searchText(
+                "x".repeat(SearchServiceOrdersUseCase.MAX_QUERY_LENGTH + 1), null, 15));
+        assertThrows(InvalidDataException.class, () -> useCase.searchText("freio", null, 0));
+        assertThrows(InvalidDataException.class, () -> useCase.searchText("freio", "bad", 15));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    @DisplayName("Should normalize statuses and pass the other criteria through")
+    void shouldNormalizeFilterStatuses() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        PageRequestDto pageRequest = new PageRequestDto(0, 15);
+        PageDto<ServiceOrder> page = new PageDto<>(List.of(), 0, 0, 15);
+        when(gateway.search(any(), eq(pageRequest))).thenReturn(page);
+
+        // Act
+        PageDto<ServiceOrder> result = useCase.search(new ServiceOrderFilterDto(
+                List.of("received", " IN_EXECUTION ", "RECEIVED", ""), 10L, 20L, from, to,
+                new BigDecimal("100.00")), pageRequest);
+
+        // Assert
+        assertSame(page, result);
+        ArgumentCaptor<ServiceOrderFilterDto> captor = ArgumentCaptor.forClass(ServiceOrderFilterDto.class);
+        verify(gateway).search(captor.capture(), eq(pageRequest));
+        ServiceOrderFilterDto filter = captor.getValue();
+        assertEquals(List.of("RECEIVED", "IN_EXECUTION"), filter.statuses());
+        assertEquals(10L, filter.customerId());
+        assertEquals(20L, filter.vehicleId());
+        assertEquals(from, filter.createdFrom());
+        assertEquals(to, filter.createdTo());
+        assertEquals(new BigDecimal("100.00"), filter.minTotal());
+    }
+
+    @Test
+    @DisplayName("Should search without criteria when none is given")
+    void shouldSearchWithoutCriteria() {
+        // Arrange
+        when(gateway.search(any(), any())).thenReturn(new PageDto<>(List.of(), 0, 0, 15));
+
+        // Act
+        useCase.search(new ServiceOrderFilterDto(null, null, null, null, null, null), new PageRequestDto(0, 15));
+
+        // Assert
+        verify(gateway).search(eq(new ServiceOrderFilterDto(List.of(), null, null, null, null, null)), any());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid statuses, ranges, totals and pages")
+    void shouldRejectInvalidFilters() {
+        PageRequestDto pageRequest = new PageRequestDto(0, 15);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(InvalidDataException.class, () -> useCase.search(
+                new ServiceOrderFilterDto(List.of("PARKED"), null, null, null, null, null), pageRequest));
+        assertThrows(InvalidDataException.class, () -> useCase.search(
+                new ServiceOrderFilterDto(null, null, null, now, now, null), pageRequest));
+        assertThrows(InvalidDataException.class, () -> useCase.search(
+                new ServiceOrderFilterDto(null, null, null, null, null, new BigDecimal("-1")), pageRequest));
+        assertThrows(InvalidDataException.class, () -> useCase.search(
+                new ServiceOrderFilterDto(null, null, null, null, null, null), new PageRequestDto(-1, 15)));
+        assertThrows(InvalidDataException.class, () -> useCase.search(
+                new ServiceOrderFilterDto(null, null, null, null, null, null), new PageRequestDto(0, 101)));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    @DisplayName("Should search a fieldset with the normalized filter")
+    void shouldSearchFields() {
+        // Arrange
+        PageRequestDto pageRequest = new PageRequestDto(0, 15);
+        PageDto<ServiceOrderDto> page = new PageDto<>(List.of(), 0, 0, 15);
+        when(gateway.searchFields(
+                new ServiceOrderFilterDto(List.of("FINISHED"), null, null, null, null, null),
+                new ServiceOrderFieldsDto(Set.of("id", "totalPrice")),
+                pageRequest)).thenReturn(page);
+
+        // Act
+        PageDto<ServiceOrderDto> result = useCase.searchFields(
+                new ServiceOrderFilterDto(List.of("finished"), null, null, null, null, null),
+                pageRequest, "id,totalPrice");
+
+        // Assert
+        assertSame(page, result);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown field before searching")
+    void shouldRejectUnknownSearchField() {
+        assertThrows(InvalidDataException.class, () -> useCase.searchFields(
+                new ServiceOrderFilterDto(null, null, null, null, null, null),
+                new PageRequestDto(0, 15), "id,score"));
+        verifyNoInteractions(gateway);
+    }
+}
@@ -0,0 +1,165 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderResource;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.BillingOrderEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.BillingOrderItemDto;
+
+/**
+ * Compares serialisation of the billing ORDER_CREATED payload: nested
+ * {@code HashMap}s written reflectively (previous implementation) against the
+ * typed records written by a cached {@link ObjectWriter}, with and without
+ * the Blackbird module. Orders carry {@code items} services plus
+ * {@code items} resources. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillingPayloadSerializationBenchmark {
+
+    @Param({ "1", "20", "200" })
+    private int items;
+
+    @Param({ "false", "true" })
+    private boolean blackbird;
+
+    private ServiceOrder order;
+    private ObjectMapper objectMapper;
+    private ObjectWriter billingWriter;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        billingWriter = objectMapper.writerFor(BillingOrderEventDto.class);
+        order = buildOrder(items);
+    }
+
+    @Benchmark
+    public String hashMaps() throws IOException {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventType", "ORDER_CREATED");
+        payload.put("orderId", order.id());
+        payload.put("serviceOrderId", String.valueOf(order.id()));
+        payload.put("customerId", String.valueOf(order.customerId()));
+        payload.put("vehicleId", String.valueOf(order.vehicleId()));
+        payload.put("customerName", order.customerName());
+        payload.put("vehicleLicensePlate", order.vehicleLicensePlate());
+        payload.put("description", order.description());
+        payload.put("status", order.status().value());
+        payload.put("totalPrice", order.totalPrice().toString());
+        List<Map<String, Object>> billingItems = new ArrayList<>();
+        for (var service : order.services()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("type", "SERVICE");
+            item.put("itemCode", String.valueOf(service.serviceId()));
+            item.put("description", service.serviceDescription());
+            item.put("quantity", service.quantity());
+            item.put("unitPrice", service.price().toString());
+            billingItems.add(item);
+        }
+        for (var resource : order.resources()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("type", "RESOURCE");
+            item.put("itemCode", String.valueOf(resource.resourceId()));
+            item.put("description", resource.resourceDescription());
+            item.put("quantity", resource.quantity());
+            item.put("unitPrice", resource.price().toString());
+            billingItems.add(item);
+        }
+        payload.put("items", billingItems);
+        payload.put("timestamp", LocalDateTime.now().toString());
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    @Benchmark
+    public String typedWriter() throws IOException {
+        List<BillingOrderItemDto> billingItems = new ArrayList<>(
+                order.services().size() + order.resources().size());
+        for (var service : order.services()) {
+            billingItems.add(new BillingOrderItemDto("SERVICE", String.valueOf(service.serviceId()),
+                    service.serviceDescription(), service.quantity(), service.price().toString()));
+        }
+        for (var resource : order.resources()) {
+            billingItems.add(new BillingOrderItemDto("RESOURCE", String.valueOf(resource.resourceId()),
+                    resource.resourceDescription(), resource.quantity(), resource.price().toString()));
+        }
+        BillingOrderEventDto payload = BillingOrderEventDto.builder()
+                .eventType("ORDER_CREATED")
+                .orderId(order.id())
+                .serviceOrderId(String.valueOf(order.id()))
+                .customerId(String.valueOf(order.customerId()))
+                .vehicleId(String.valueOf(order.vehicleId()))
+                .customerName(order.customerName())
+                .vehicleLicensePlate(order.vehicleLicensePlate())
+                .description(order.description())
+                .status(order.status().value())
+                .totalPrice(order.totalPrice().toString())
+                .items(billingItems)
+                .timestamp(LocalDateTime.now())
+                .build();
+        return billingWriter.writeValueAsString(payload);
+    }
+
+    private static ServiceOrder buildOrder(int items) {
+        List<ServiceOrderItem> services = new ArrayList<>(items);
+        List<ServiceOrderResource> resources = new ArrayList<>(items);
+        for (long i = 1; i <= items; i++) {
+            services.add(ServiceOrderItem.buildServiceOrderItem(
+                    i, 300L + i, "Service " + i, "Service description " + i, 1,
+                    new BigDecimal("150.00"), new BigDecimal("150.00")));
+            resources.add(ServiceOrderResource.buildServiceOrderResource(
+                    i, 400L + i, "Part " + i, "Part description " + i, "PART", 2,
+                    new BigDecimal("80.00"), new BigDecimal("160.00")));
+        }
+        return ServiceOrder.builder()
+                .id(1L)
+                .customerId(1L)
+                .customerName("John Doe")
+                .vehicleId(2L)
+                .vehicleLicensePlate("ABC-1234")
+                .description("Benchmark order")
+                .status(ServiceOrderStatus.received())
+                .totalPrice(new BigDecimal("310.00").multiply(BigDecimal.valueOf(items)))
+                .services(services)
+                .resources(resources)
+                .build();
+    }
+}
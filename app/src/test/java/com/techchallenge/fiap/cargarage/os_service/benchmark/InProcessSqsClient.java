@@ -0,0 +1,49 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * {@link SqsClient} standing in for SQS in {@link SagaLoadHarness}: sends are
+ * accepted in-process and counted per queue, so publishing costs only the
+ * payload encoding. Every other operation is unsupported.
+ */
+public class InProcessSqsClient implements SqsClient {
+
+    private final Map<String, LongAdder> sentByQueue = new ConcurrentHashMap<>();
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        sentByQueue.computeIfAbsent(request.queueUrl(), queue -> new LongAdder()).increment();
+        return SendMessageResponse.builder()
+                .messageId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    /**
+     * Messages sent so far, per queue URL.
+     *
+     * @return the counts
+     */
+    public Map<String, Long> sentByQueue() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        sentByQueue.forEach((queue, count) -> counts.put(queue, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,104 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundEventDecoder;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.PaymentFailedEventDto;
+
+/**
+ * Compares decoding strategies for inbound saga payloads: full JsonNode tree
+ * (previous implementation), typed binding with a pre-built ObjectReader
+ * (current {@link InboundEventDecoder}) and a streaming parser that stops once
+ * the needed fields were read. Run with {@code -prof gc} to compare
+ * allocations per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InboundEventDecodingBenchmark {
+
+    private static final String MINIMAL = "{\"orderId\": 123, \"reason\": \"CARD_DECLINED\"}";
+
+    private static final String ENRICHED = """
+            {"orderId": 123, "reason": "CARD_DECLINED", "eventType": "PAYMENT_FAILED",
+             "paymentId": "pay-8f2c", "customerId": "1001", "amount": "890.00",
+             "attempts": [{"at": "2024-02-01T10:00:00", "code": "51"},
+                          {"at": "2024-02-01T10:05:00", "code": "51"}],
+             "gateway": {"name": "acme", "region": "sa-east-1", "latencyMs": 312},
+             "timestamp": "2024-02-01T10:05:01"}
+            """;
+
+    @Param({ "minimal", "enriched" })
+    private String payloadShape;
+
+    private String payload;
+    private ObjectMapper treeMapper;
+    private InboundEventDecoder decoder;
+    private JsonFactory jsonFactory;
+
+    @Setup
+    public void setUp() {
+        payload = "minimal".equals(payloadShape) ? MINIMAL : ENRICHED;
+        treeMapper = new ObjectMapper();
+        decoder = new InboundEventDecoder(new ObjectMapper());
+        jsonFactory = new JsonFactory();
+    }
+
+    @Benchmark
+    public void tree(Blackhole blackhole) throws IOException {
+        JsonNode json = treeMapper.readTree(payload);
+        blackhole.consume(json.get("orderId").asLong());
+        blackhole.consume(json.has("reason") ? json.get("reason").asText() : "Payment failed");
+    }
+
+    @Benchmark
+    public PaymentFailedEventDto typed() throws IOException {
+        return decoder.decode(payload, PaymentFailedEventDto.class);
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws IOException {
+        long orderId = 0;
+        String reason = null;
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (orderId == 0 || reason == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("orderId".equals(field)) {
+                    orderId = value == JsonToken.VALUE_STRING
+                            ? Long.parseLong(parser.getText())
+                            : parser.getLongValue();
+                } else if ("reason".equals(field)) {
+                    reason = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        blackhole.consume(orderId);
+        blackhole.consume(reason);
+    }
+}
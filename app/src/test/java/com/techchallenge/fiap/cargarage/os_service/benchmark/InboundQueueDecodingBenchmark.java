@@ -0,0 +1,86 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.ExecutionCompletedEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundEventDecoder;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundOrderEvent;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.PaymentFailedEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.QuoteApprovedEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.ResourceUnavailableEventDto;
+
+/**
+ * Decoding cost of each inbound saga queue's payload through
+ * {@link InboundEventDecoder}, as done by the handler registrations. Payloads
+ * follow {@code docs/QUEUE_CONTRACT.md}; the {@code enriched} shape adds the
+ * envelope fields producers typically send along, which the decoder skips.
+ * Run with {@code -prof gc} to compare allocations per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InboundQueueDecodingBenchmark {
+
+    private static final String ENVELOPE = "\"eventId\": \"7b1e4c52-9a0f-4d7e-8f36-2f0c1d9e5a11\", "
+            + "\"source\": \"billing-service\", \"correlationId\": \"os-123\", "
+            + "\"timestamp\": \"2024-02-01T10:05:01\"";
+
+    @Param({ "quote-approved", "execution-completed", "payment-failed", "resource-unavailable" })
+    private String queue;
+
+    @Param({ "minimal", "enriched" })
+    private String payloadShape;
+
+    private InboundEventDecoder decoder;
+    private Class<? extends InboundOrderEvent> eventType;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        decoder = new InboundEventDecoder(new ObjectMapper());
+        String fields = switch (queue) {
+            case "quote-approved" -> {
+                eventType = QuoteApprovedEventDto.class;
+                yield "\"orderId\": 123";
+            }
+            case "execution-completed" -> {
+                eventType = ExecutionCompletedEventDto.class;
+                yield "\"orderId\": 123";
+            }
+            case "payment-failed" -> {
+                eventType = PaymentFailedEventDto.class;
+                yield "\"orderId\": 123, \"reason\": \"CARD_DECLINED\"";
+            }
+            case "resource-unavailable" -> {
+                eventType = ResourceUnavailableEventDto.class;
+                yield "\"orderId\": 123, \"reason\": \"OUT_OF_STOCK\"";
+            }
+            default -> throw new IllegalArgumentException("Unknown queue: " + queue);
+        };
+        payload = "minimal".equals(payloadShape)
+                ? "{" + fields + "}"
+                : "{" + fields + ", " + ENVELOPE + "}";
+    }
+
+    @Benchmark
+    public InboundOrderEvent decode() throws IOException {
+        return decoder.decode(payload, eventType);
+    }
+}
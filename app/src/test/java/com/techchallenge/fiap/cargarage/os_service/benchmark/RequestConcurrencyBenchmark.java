@@ -0,0 +1,184 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.techchallenge.fiap.cargarage.os_service.OsServiceApplication;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.interfaces.ServiceOrderDataSource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Load test of the HTTP API on platform threads (Tomcat's pool, no
+ * concurrency limit) versus virtual threads (with the database concurrency
+ * limit sized to the pool). 256 client threads, more than Tomcat's 200
+ * workers, issue order reads against the application on a random port;
+ * throughput and the latency percentiles (p99 in the sample-time results) are
+ * compared per {@code virtualThreads}.
+ *
+ * <p>
+ * By default each trial runs on its own embedded PostgreSQL created from
+ * {@code database/init-scripts}; H2 cannot run the PostgreSQL upserts of the
+ * application. Pass {@code -jvmArgsAppend "-Dbenchmark.datasource.url=...
+ * -Dbenchmark.datasource.username=... -Dbenchmark.datasource.password=..."} in
+ * {@code jmh.args} to load an external PostgreSQL database instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final int ORDERS = 500;
+    private static final Path INIT_SCRIPT = Path.of("../database/init-scripts/00-init-database.sql");
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] orderIds;
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=ERROR",
+                "--logging.level.com.techchallenge.fiap.cargarage.os_service=ERROR",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=none"));
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute(Files.readString(INIT_SCRIPT));
+            }
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password="));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "")));
+        }
+        context = new SpringApplicationBuilder(OsServiceApplication.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "")
+                + "/service-orders";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        ServiceOrderDataSource dataSource = context.getBean(ServiceOrderDataSource.class);
+        orderIds = new long[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds[i] = dataSource.insert(order(i)).id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private static ServiceOrderPersistenceDto order(int index) {
+        return ServiceOrderPersistenceDto.builder()
+                .customerId(1000L + index % 50)
+                .customerName("Load Customer " + index % 50)
+                .vehicleId(2000L + index)
+                .vehicleLicensePlate("LDT" + (1000 + index))
+                .vehicleModel("Civic")
+                .vehicleBrand("Honda")
+                .description("Load order " + index)
+                .status("RECEIVED")
+                .totalPrice(new BigDecimal("340.00"))
+                .services(List.of(
+                        ServiceOrderItemRequestDto.builder()
+                                .serviceId(301L)
+                                .serviceName("Diagnóstico de freios")
+                                .quantity(1)
+                                .price(new BigDecimal("120.00"))
+                                .build(),
+                        ServiceOrderItemRequestDto.builder()
+                                .serviceId(302L)
+                                .serviceName("Troca de pastilhas")
+                                .quantity(1)
+                                .price(new BigDecimal("220.00"))
+                                .build()))
+                .resources(List.of())
+                .build();
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @Benchmark
+    public int findById(Client state) throws IOException, InterruptedException {
+        return get("/" + orderIds[state.random.nextInt(ORDERS)]);
+    }
+
+    @Benchmark
+    public int findByCustomerId(Client state) throws IOException, InterruptedException {
+        return get("/customer/" + (1000 + state.random.nextInt(50)) + "?size=20");
+    }
+}
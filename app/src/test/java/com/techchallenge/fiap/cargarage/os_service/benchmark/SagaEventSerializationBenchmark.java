@@ -0,0 +1,123 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderResource;
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.BillingOrderEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.ServiceOrderEventDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.SqsEventPublisher;
+
+/**
+ * Encoding cost of the outbound saga messages as built by
+ * {@link SqsEventPublisher}: the {@link ServiceOrderEventDto} sent to the OS
+ * events queue on every status change and the ORDER_CREATED billing payload,
+ * each built on its own and built plus serialised by the cached writer.
+ * Orders carry {@code items} services plus {@code items} resources; only the
+ * billing payload grows with them. Run with {@code -prof gc} to compare
+ * allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SagaEventSerializationBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Param({ "1", "20", "200" })
+    private int items;
+
+    @Param({ "false", "true" })
+    private boolean blackbird;
+
+    private ServiceOrder order;
+    private ObjectWriter eventWriter;
+    private ObjectWriter billingWriter;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        eventWriter = objectMapper.writerFor(ServiceOrderEventDto.class);
+        billingWriter = objectMapper.writerFor(BillingOrderEventDto.class);
+        order = buildOrder(items);
+    }
+
+    @Benchmark
+    public ServiceOrderEventDto buildEvent() {
+        return SqsEventPublisher.toEvent("ORDER_APPROVED", order, NOW);
+    }
+
+    @Benchmark
+    public String serializeEvent() throws IOException {
+        return eventWriter.writeValueAsString(SqsEventPublisher.toEvent("ORDER_APPROVED", order, NOW));
+    }
+
+    @Benchmark
+    public BillingOrderEventDto buildBillingPayload() {
+        return SqsEventPublisher.toBillingPayload(order, NOW);
+    }
+
+    @Benchmark
+    public String serializeBillingPayload() throws IOException {
+        return billingWriter.writeValueAsString(SqsEventPublisher.toBillingPayload(order, NOW));
+    }
+
+    private static ServiceOrder buildOrder(int items) {
+        List<ServiceOrderItem> services = new ArrayList<>(items);
+        List<ServiceOrderResource> resources = new ArrayList<>(items);
+        for (long i = 1; i <= items; i++) {
+            services.add(ServiceOrderItem.buildServiceOrderItem(
+                    i, 300L + i, "Service " + i, "Service description " + i, 1,
+                    new BigDecimal("150.00"), new BigDecimal("150.00")));
+            resources.add(ServiceOrderResource.buildServiceOrderResource(
+                    i, 400L + i, "Part " + i, "Part description " + i, "PART", 2,
+                    new BigDecimal("80.00"), new BigDecimal("160.00")));
+        }
+        return ServiceOrder.builder()
+                .id(1L)
+                .customerId(1L)
+                .customerName("John Doe")
+                .vehicleId(2L)
+                .vehicleLicensePlate("ABC-1234")
+                .description("Benchmark order")
+                .status(ServiceOrderStatus.inExecution())
+                .totalPrice(new BigDecimal("310.00").multiply(BigDecimal.valueOf(items)))
+                .services(services)
+                .resources(resources)
+                .build();
+    }
+}
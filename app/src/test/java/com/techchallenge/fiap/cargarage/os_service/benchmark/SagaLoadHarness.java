@@ -0,0 +1,400 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.OsServiceApplication;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.SqsEventListener;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * End-to-end load test of the order saga. Boots the application on a random
+ * port (profile {@code test}, on an embedded PostgreSQL by default) with
+ * {@link InProcessSqsClient} in place of SQS, then starts {@code rate} sagas
+ * per second. Each saga creates an order over REST, moves it to IN_DIAGNOSIS
+ * and WAITING_APPROVAL through the status endpoint, and completes it with
+ * quote-approved and execution-completed events handed to
+ * {@link SqsEventListener} the way the SQS listener container does.
+ *
+ * <p>
+ * Sagas are started on schedule however many are still running (open loop),
+ * and the saga latency is measured from the scheduled start, so a saturated
+ * application shows up as growing latency instead of a lower offered rate.
+ * Throughput and p50/p95/p99 are printed per endpoint and per saga stage;
+ * sagas started during the warm-up are not recorded.
+ *
+ * <p>
+ * Options: {@code --rate=<sagas per second>} (20), {@code --duration=<s>}
+ * (30), {@code --warmup=<s>} (5), {@code --items=<services and resources per
+ * order>} (2), {@code --think-time-ms=<pause before each inbound event>}
+ * (0) and {@code --dataset-orders=<orders>}, loaded into the embedded
+ * PostgreSQL created from {@code database/init-scripts} by
+ * {@link SyntheticDatasetGenerator} before the test. H2 cannot run the
+ * PostgreSQL upserts of the application, so {@code --embedded-postgres=false}
+ * is only for running against an external PostgreSQL given with
+ * {@code --spring.datasource.url=...}. Other arguments are passed to the
+ * application, e.g. {@code --spring.threads.virtual.enabled=true}.
+ */
+public final class SagaLoadHarness {
+
+    private static final String CREATE_ENDPOINT = "POST /service-orders";
+    private static final String STATUS_ENDPOINT = "PUT /service-orders/{id}/status";
+    private static final Path INIT_SCRIPT = Path.of("../database/init-scripts/00-init-database.sql");
+
+    private final Options options;
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final InProcessSqsClient sqsClient;
+    private final SqsEventListener listener;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String quoteApprovedQueue;
+    private final String executionCompletedQueue;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> endpoints = new LinkedHashMap<>();
+    private final Map<String, Timer> stages = new LinkedHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+
+    private SagaLoadHarness(Options options, List<String> applicationArgs)
+            throws IOException, SQLException, InterruptedException {
+        this.options = options;
+        this.sqsClient = new InProcessSqsClient();
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--sla.watchdog.enabled=false",
+                "--logging.level.root=ERROR",
+                "--logging.level.com.techchallenge.fiap.cargarage.os_service=ERROR"));
+        if (options.embeddedPostgres) {
+            postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute(Files.readString(INIT_SCRIPT));
+            }
+            if (options.datasetOrders > 0) {
+                SyntheticDatasetGenerator.Options dataset = new SyntheticDatasetGenerator.Options()
+                        .orders(options.datasetOrders);
+                new SyntheticDatasetGenerator(dataset).generate(postgres.getPostgresDatabase());
+            }
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password="));
+        } else {
+            postgres = null;
+        }
+        args.addAll(List.of(
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=none"));
+        args.addAll(applicationArgs);
+        // The devtools restarter would run main() again on its own thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        this.context = new SpringApplicationBuilder(OsServiceApplication.class)
+                .profiles("test")
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        "inProcessSqsClient", SqsClient.class, () -> sqsClient,
+                        definition -> definition.setPrimary(true)))
+                .run(args.toArray(String[]::new));
+        this.listener = context.getBean(SqsEventListener.class);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "")
+                + "/service-orders";
+        this.quoteApprovedQueue = context.getEnvironment()
+                .getRequiredProperty("messaging.sqs.queue.quote-approved");
+        this.executionCompletedQueue = context.getEnvironment()
+                .getRequiredProperty("messaging.sqs.queue.execution-completed");
+
+        for (String endpoint : List.of(CREATE_ENDPOINT, STATUS_ENDPOINT)) {
+            endpoints.put(endpoint, timer("load.endpoint", "endpoint", endpoint));
+        }
+        for (String stage : List.of("created", "in_diagnosis", "waiting_approval", "in_execution",
+                "finished", "saga")) {
+            stages.put(stage, timer("load.stage", "stage", stage));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!options.parse(arg)) {
+                applicationArgs.add(arg);
+            }
+        }
+        SagaLoadHarness harness = new SagaLoadHarness(options, applicationArgs);
+        try {
+            harness.run();
+        } finally {
+            harness.client.close();
+            harness.context.close();
+            if (harness.postgres != null) {
+                harness.postgres.close();
+            }
+        }
+    }
+
+    private Timer timer(String name, String tag, String value) {
+        // A single buffer that never rotates, so percentiles cover the whole run
+        return Timer.builder(name)
+                .tag(tag, value)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+
+    private void run() throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long sagas = (long) options.rate * (options.warmup + options.duration);
+        long warmupSagas = (long) options.rate * options.warmup;
+        System.out.printf("Offering %d sagas/s for %ds after %ds of warm-up (%d items per order)%n",
+                options.rate, options.duration, options.warmup, options.items);
+
+        long start = System.nanoTime();
+        long measureStart = start + warmupSagas * interval;
+        try (ExecutorService sagaThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < sagas; i++) {
+                long scheduledAt = start + i * interval;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long index = i;
+                boolean measured = i >= warmupSagas;
+                sagaThreads.execute(() -> runSaga(index, scheduledAt, measured));
+            }
+        }
+        double elapsed = (System.nanoTime() - measureStart) / 1e9;
+        report(elapsed);
+    }
+
+    private void runSaga(long index, long scheduledAt, boolean measured) {
+        try {
+            long started = System.nanoTime();
+            long id = create(index);
+            record(measured, started, endpoints.get(CREATE_ENDPOINT), stages.get("created"));
+
+            started = System.nanoTime();
+            updateStatus(id, "IN_DIAGNOSIS");
+            record(measured, started, endpoints.get(STATUS_ENDPOINT), stages.get("in_diagnosis"));
+
+            started = System.nanoTime();
+            updateStatus(id, "WAITING_APPROVAL");
+            record(measured, started, endpoints.get(STATUS_ENDPOINT), stages.get("waiting_approval"));
+
+            thinkTime();
+            started = System.nanoTime();
+            deliver(quoteApprovedQueue, id);
+            record(measured, started, stages.get("in_execution"));
+
+            thinkTime();
+            started = System.nanoTime();
+            deliver(executionCompletedQueue, id);
+            record(measured, started, stages.get("finished"));
+
+            record(measured, scheduledAt, stages.get("saga"));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failures.increment();
+            firstFailure.compareAndSet(null, e);
+        }
+    }
+
+    private static void record(boolean measured, long started, Timer... timers) {
+        if (!measured) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        for (Timer timer : timers) {
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void thinkTime() throws InterruptedException {
+        if (options.thinkTimeMs > 0) {
+            Thread.sleep(options.thinkTimeMs);
+        }
+    }
+
+    private long create(long index) throws IOException, InterruptedException {
+        List<ServiceOrderItemRequestDto> services = new ArrayList<>(options.items);
+        List<ServiceOrderResourceRequestDto> resources = new ArrayList<>(options.items);
+        for (long i = 1; i <= options.items; i++) {
+            services.add(ServiceOrderItemRequestDto.builder()
+                    .serviceId(300L + i)
+                    .serviceName("Service " + i)
+                    .price(new BigDecimal("150.00"))
+                    .quantity(1)
+                    .build());
+            resources.add(ServiceOrderResourceRequestDto.builder()
+                    .resourceId(400L + i)
+                    .resourceName("Part " + i)
+                    .resourceType("PART")
+                    .price(new BigDecimal("80.00"))
+                    .quantity(2)
+                    .build());
+        }
+        ServiceOrderRequestDto order = ServiceOrderRequestDto.builder()
+                .customerId(1000L + index % 500)
+                .customerName("Load Customer " + index % 500)
+                .vehicleId(2000L + index)
+                .vehicleLicensePlate("LDT" + (10000 + index % 90000))
+                .vehicleModel("Civic")
+                .vehicleBrand("Honda")
+                .description("Saga load order " + index)
+                .services(services)
+                .resources(resources)
+                .build();
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(order)))
+                .build(), 201);
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private void updateStatus(long id, String status) throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id + "/status"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\": \"" + status + "\"}"))
+                .build(), 200);
+    }
+
+    private HttpResponse<String> send(HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    /**
+     * Hands an inbound event to the listener with the headers the SQS
+     * container sets, and waits until it may be acknowledged.
+     */
+    private void deliver(String queueName, long orderId) {
+        Message<String> message = MessageBuilder.withPayload("{\"orderId\": " + orderId + "}")
+                .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, queueName)
+                .setHeader("eventId", UUID.randomUUID().toString())
+                .build();
+        listener.onMessage(message).join();
+    }
+
+    private void report(double elapsedSeconds) throws InterruptedException {
+        Timer sagas = stages.get("saga");
+        System.out.printf("%nCompleted %d sagas in %.1fs: %.1f sagas/s, %d failed%n",
+                sagas.count(), elapsedSeconds, sagas.count() / elapsedSeconds, failures.sum());
+        if (firstFailure.get() != null) {
+            System.out.println("First failure: " + firstFailure.get());
+        }
+        System.out.printf("%n%-34s %10s %10s %10s %10s %10s%n", "", "count", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        endpoints.forEach((name, timer) -> print(name, timer, elapsedSeconds));
+        stages.forEach((name, timer) -> print("stage " + name, timer, elapsedSeconds));
+        System.out.println();
+        System.out.println("Messages published: " + sqsClient.sentByQueue());
+        try {
+            System.out.println("Orders per status: " + client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/stats/status-counts")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body());
+        } catch (IOException e) {
+            System.out.println("Could not read status counts: " + e.getMessage());
+        }
+    }
+
+    private static void print(String name, Timer timer, double elapsedSeconds) {
+        double[] percentiles = new double[3];
+        ValueAtPercentile[] values = timer.takeSnapshot().percentileValues();
+        for (int i = 0; i < values.length && i < percentiles.length; i++) {
+            percentiles[i] = values[i].value(TimeUnit.MILLISECONDS);
+        }
+        System.out.printf("%-34s %10d %10.1f %10.2f %10.2f %10.2f%n", name, timer.count(),
+                timer.count() / elapsedSeconds, percentiles[0], percentiles[1], percentiles[2]);
+    }
+
+    private static final class Options {
+
+        int rate = 20;
+        int duration = 30;
+        int warmup = 5;
+        int items = 2;
+        long thinkTimeMs;
+        boolean embeddedPostgres = true;
+        long datasetOrders;
+
+        /**
+         * Applies a harness option.
+         *
+         * @return whether the argument is a harness option
+         */
+        boolean parse(String arg) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                return false;
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "rate" -> rate = Integer.parseInt(value);
+                case "duration" -> duration = Integer.parseInt(value);
+                case "warmup" -> warmup = Integer.parseInt(value);
+                case "items" -> items = Integer.parseInt(value);
+                case "think-time-ms" -> thinkTimeMs = Long.parseLong(value);
+                case "embedded-postgres" -> embeddedPostgres = Boolean.parseBoolean(value);
+                case "dataset-orders" -> datasetOrders = Long.parseLong(value);
+                default -> {
+                    return false;
+                }
+            }
+            if (rate <= 0 || duration <= 0) {
+                throw new IllegalArgumentException(arg + " must be positive");
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.techchallenge.fiap.cargarage.os_service.OsServiceApplication;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.interfaces.ServiceOrderDataSource;
+
+/**
+ * Compares write and read latency of the JPA ServiceOrderDataSource with the
+ * event-sourced one. Each trial boots the application with the {@code test}
+ * profile on its own in-memory H2 database, so absolute numbers exclude
+ * network round-trips; the relative cost of appending events and rehydrating
+ * streams is what this measures. {@code streamLength} is the number of updates
+ * applied to the order read by {@code findById} before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceOrderPersistenceBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean eventSourcing;
+
+    @Param({ "1", "50" })
+    private int streamLength;
+
+    private ConfigurableApplicationContext context;
+    private ServiceOrderDataSource dataSource;
+    private Long readOrderId;
+    private Long writeOrderId;
+    private long writes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OsServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:persistence-" + eventSourcing + "-" + streamLength
+                                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=ERROR",
+                        "logging.level.com.techchallenge.fiap.cargarage.os_service=ERROR",
+                        "persistence.event-sourcing.enabled=" + eventSourcing,
+                        "persistence.event-sourcing.snapshot-interval=20")
+                .run();
+        dataSource = context.getBean(ServiceOrderDataSource.class);
+
+        readOrderId = dataSource.insert(order("RECEIVED", "read")).id();
+        for (int i = 1; i < streamLength; i++) {
+            dataSource.update(readOrderId, order("RECEIVED", "read " + i));
+        }
+        writeOrderId = dataSource.insert(order("RECEIVED", "write")).id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static ServiceOrderPersistenceDto order(String status, String description) {
+        return ServiceOrderPersistenceDto.builder()
+                .customerId(1001L)
+                .customerName("Benchmark Customer")
+                .vehicleId(2001L)
+                .vehicleLicensePlate("ABC1D23")
+                .vehicleModel("Civic")
+                .vehicleBrand("Honda")
+                .description(description)
+                .status(status)
+                .totalPrice(new BigDecimal("340.00"))
+                .services(List.of(
+                        ServiceOrderItemRequestDto.builder()
+                                .serviceId(301L)
+                                .serviceName("Diagnóstico de freios")
+                                .quantity(1)
+                                .price(new BigDecimal("120.00"))
+                                .build(),
+                        ServiceOrderItemRequestDto.builder()
+                                .serviceId(302L)
+                                .serviceName("Troca de pastilhas")
+                                .quantity(1)
+                                .price(new BigDecimal("220.00"))
+                                .build()))
+                .resources(List.of())
+                .build();
+    }
+
+    @Benchmark
+    public ServiceOrderDto insert() {
+        return dataSource.insert(order("RECEIVED", "insert"));
+    }
+
+    @Benchmark
+    public ServiceOrderDto update() {
+        return dataSource.update(writeOrderId, order("RECEIVED", "update " + writes++));
+    }
+
+    @Benchmark
+    public ServiceOrderDto findById() {
+        return dataSource.findById(readOrderId).orElseThrow();
+    }
+}
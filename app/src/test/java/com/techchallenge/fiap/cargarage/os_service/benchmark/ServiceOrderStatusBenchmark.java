@@ -0,0 +1,82 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+
+/**
+ * Measures the hot paths of {@link ServiceOrderStatus}: parsing with
+ * {@code of}, the transition check and the predicates. Every benchmark walks
+ * all statuses so branch prediction does not settle on a single value. Run
+ * with {@code -prof gc} to confirm that none of them allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceOrderStatusBenchmark {
+
+    private String[] canonicalNames;
+    private String[] mixedCaseNames;
+    private ServiceOrderStatus[] statuses;
+
+    @Setup
+    public void setUp() {
+        ServiceOrderStatusEnum[] values = ServiceOrderStatusEnum.values();
+        canonicalNames = new String[values.length];
+        mixedCaseNames = new String[values.length];
+        statuses = new ServiceOrderStatus[values.length];
+        for (int i = 0; i < values.length; i++) {
+            canonicalNames[i] = values[i].name();
+            mixedCaseNames[i] = values[i].name().toLowerCase();
+            statuses[i] = ServiceOrderStatus.of(values[i]);
+        }
+    }
+
+    @Benchmark
+    public void ofCanonical(Blackhole blackhole) {
+        for (String name : canonicalNames) {
+            blackhole.consume(ServiceOrderStatus.of(name));
+        }
+    }
+
+    @Benchmark
+    public void ofMixedCase(Blackhole blackhole) {
+        for (String name : mixedCaseNames) {
+            blackhole.consume(ServiceOrderStatus.of(name));
+        }
+    }
+
+    @Benchmark
+    public void canTransitionTo(Blackhole blackhole) {
+        for (ServiceOrderStatus from : statuses) {
+            for (ServiceOrderStatus to : statuses) {
+                blackhole.consume(from.canTransitionTo(to));
+            }
+        }
+    }
+
+    @Benchmark
+    public void predicates(Blackhole blackhole) {
+        for (ServiceOrderStatus status : statuses) {
+            blackhole.consume(status.isReceived() || status.isInDiagnosis() || status.isWaitingApproval()
+                    || status.isInExecution() || status.isFinished() || status.isDelivered()
+                    || status.isCancelled());
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.techchallenge.fiap.cargarage.os_service.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.ds.PGSimpleDataSource;
+
+/**
+ * Loads a large synthetic dataset into the PostgreSQL schema of
+ * {@code database/init-scripts}, so paging, statistics and search can be
+ * benchmarked at production volume. Orders are spread over the last
+ * {@code days} days and walk the real status lifecycle until the next
+ * transition would fall in the future, so old orders are mostly delivered and
+ * recent ones open; each gets 1 to 4 services, 0 to 5 resources and its status
+ * history. Customers, vehicles and plates repeat across orders, with a few
+ * frequent customers.
+ *
+ * <p>
+ * Rows are written with {@code COPY} over {@code streams} connections, each
+ * loading its own range of order ids and committing every {@code batch}
+ * orders. Each order is drawn from the seed and its id alone, so the dataset
+ * does not depend on the number of streams. Afterwards the status counters are rebuilt, the
+ * order sequence is moved past the new ids and the tables are analysed; the
+ * read model, when enabled, is backfilled by the application on startup.
+ *
+ * <p>
+ * Options: {@code --orders} (1000000), {@code --streams} (4),
+ * {@code --days} (730), {@code --batch} (5000), {@code --seed} (42) and the
+ * connection settings {@code --url}, {@code --user} and {@code --password},
+ * which default to the docker-compose database.
+ */
+public final class SyntheticDatasetGenerator {
+
+    private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe",
+            "Gabriela", "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula",
+            "Rafael", "Sofia", "Thiago", "Vanessa", "William" };
+    private static final String[] LAST_NAMES = { "Almeida", "Barbosa", "Cardoso", "Costa", "Ferreira",
+            "Gomes", "Lima", "Martins", "Oliveira", "Pereira", "Ribeiro", "Rocha", "Santos", "Silva",
+            "Souza" };
+    private static final String[][] VEHICLES = { { "Civic", "Honda" }, { "Onix", "Chevrolet" },
+            { "Corolla", "Toyota" }, { "HB20", "Hyundai" }, { "Gol", "Volkswagen" }, { "Argo", "Fiat" },
+            { "Kwid", "Renault" }, { "Compass", "Jeep" }, { "T-Cross", "Volkswagen" }, { "Strada", "Fiat" } };
+    private static final String[] COMPLAINTS = { "Barulho ao frear", "Vibração no volante",
+            "Luz de injeção acesa", "Falha na partida", "Bateria descarregando", "Ar-condicionado não gela",
+            "Revisão periódica", "Troca de óleo", "Ruído na suspensão dianteira", "Consumo alto de combustível",
+            "Direção puxando para a direita", "Superaquecimento do motor", "Embreagem patinando",
+            "Vazamento de óleo", "Alinhamento e balanceamento" };
+    private static final Object[][] SERVICES = {
+            { 301L, "Diagnóstico de freios", "Inspeção completa do sistema de freios", "120.00" },
+            { 302L, "Troca de pastilhas", "Substituição das pastilhas dianteiras", "220.00" },
+            { 303L, "Troca de óleo", "Troca de óleo e filtro", "180.00" },
+            { 304L, "Revisão periódica", "Checklist geral de 10.000 km", "140.00" },
+            { 305L, "Diagnóstico elétrico", "Teste de alternador e circuito de carga", "210.00" },
+            { 306L, "Alinhamento", "Alinhamento e balanceamento das quatro rodas", "150.00" },
+            { 307L, "Higienização do ar-condicionado", "Limpeza e carga de gás", "260.00" },
+            { 308L, "Troca de embreagem", "Substituição do kit de embreagem", "650.00" } };
+    private static final Object[][] RESOURCES = {
+            { 401L, "Pastilha de freio dianteira", "Jogo com 4 pastilhas", "PART", "320.00" },
+            { 402L, "Fluido de freio DOT 4", "Fluido sintético 500ml", "SUPPLY", "70.00" },
+            { 403L, "Óleo 5W30", "Lubrificante sintético 1L", "SUPPLY", "25.00" },
+            { 404L, "Bateria 60Ah", "Bateria automotiva selada", "PART", "350.00" },
+            { 405L, "Filtro de óleo", "Filtro para motores 1.0 a 2.0", "PART", "45.00" },
+            { 406L, "Gás R134a", "Carga de gás refrigerante", "SUPPLY", "90.00" },
+            { 407L, "Kit de embreagem", "Platô, disco e rolamento", "PART", "890.00" } };
+
+    private static final String ORDER_COPY = "COPY service_order (id, customer_id, customer_name, vehicle_id, "
+            + "vehicle_license_plate, vehicle_model, vehicle_brand, description, status, total_price, "
+            + "created_at, updated_at, approved_at, finished_at, delivered_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String ITEM_COPY = "COPY service_order_item (order_id, service_id, service_name, "
+            + "service_description, quantity, price, total_price) FROM STDIN WITH (FORMAT csv)";
+    private static final String RESOURCE_COPY = "COPY service_order_resource (order_id, resource_id, "
+            + "resource_name, resource_description, resource_type, quantity, price, total_price) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String HISTORY_COPY = "COPY service_order_status_history (order_id, from_status, "
+            + "to_status, changed_at, duration_seconds) FROM STDIN WITH (FORMAT csv)";
+
+    private final Options options;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final AtomicLong loaded = new AtomicLong();
+
+    public SyntheticDatasetGenerator(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        for (String arg : args) {
+            if (!options.parse(arg)) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(options.url);
+        dataSource.setUser(options.user);
+        dataSource.setPassword(options.password);
+        new SyntheticDatasetGenerator(options).generate(dataSource);
+    }
+
+    /**
+     * Loads the dataset, after any orders already in the database.
+     *
+     * @param dataSource the PostgreSQL database
+     * @return the id of the first generated order
+     */
+    public long generate(DataSource dataSource) throws SQLException, InterruptedException {
+        long firstId;
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM service_order")) {
+            result.next();
+            firstId = result.getLong(1);
+        }
+        System.out.printf("Loading %d orders from id %d over %d streams%n", options.orders, firstId, options.streams);
+
+        long started = System.nanoTime();
+        long perStream = (options.orders + options.streams - 1) / options.streams;
+        ExecutorService executor = Executors.newFixedThreadPool(options.streams);
+        try {
+            List<Future<?>> streams = new ArrayList<>();
+            for (long from = firstId; from < firstId + options.orders; from += perStream) {
+                long start = from;
+                long end = Math.min(from + perStream, firstId + options.orders);
+                streams.add(executor.submit(() -> {
+                    loadRange(dataSource, start, end);
+                    return null;
+                }));
+            }
+            for (Future<?> stream : streams) {
+                stream.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dataset load failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("DELETE FROM service_order_status_counts");
+            statement.execute("INSERT INTO service_order_status_counts (status, shard, order_count) "
+                    + "SELECT status, 0, COUNT(*) FROM service_order GROUP BY status");
+            statement.execute("SELECT setval('service_order_id_seq', (SELECT MAX(id) FROM service_order), true)");
+            connection.commit();
+            connection.setAutoCommit(true);
+            statement.execute("ANALYZE service_order, service_order_item, service_order_resource, "
+                    + "service_order_status_history");
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Loaded %d orders in %.1fs (%.0f orders/s)%n",
+                options.orders, seconds, options.orders / seconds);
+        return firstId;
+    }
+
+    private void loadRange(DataSource dataSource, long start, long end) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            for (long batchStart = start; batchStart < end; batchStart += options.batch) {
+                Batch batch = new Batch();
+                for (long id = batchStart; id < Math.min(batchStart + options.batch, end); id++) {
+                    appendOrder(batch, id);
+                }
+                copy.copyIn(ORDER_COPY, new StringReader(batch.orders.toString()));
+                copy.copyIn(ITEM_COPY, new StringReader(batch.items.toString()));
+                copy.copyIn(RESOURCE_COPY, new StringReader(batch.resources.toString()));
+                copy.copyIn(HISTORY_COPY, new StringReader(batch.history.toString()));
+                connection.commit();
+                long total = loaded.addAndGet(Math.min(options.batch, end - batchStart));
+                if (total % (options.batch * 20L) < options.batch) {
+                    System.out.printf("  %d orders loaded%n", total);
+                }
+            }
+        }
+    }
+
+    private void appendOrder(Batch batch, long id) {
+        SplittableRandom random = new SplittableRandom(options.seed ^ (id * 0x9E3779B97F4A7C15L));
+
+        // Squaring skews picks toward low ids: a few customers come back often
+        long customers = Math.max(1, options.orders / 8);
+        long customer = (long) (customers * Math.pow(random.nextDouble(), 2));
+        long customerId = 10_000 + customer;
+        long vehicleId = 100_000 + customer * 2 + (random.nextInt(5) == 0 ? 1 : 0);
+        String[] vehicle = VEHICLES[(int) (vehicleId % VEHICLES.length)];
+
+        LocalDateTime createdAt = now.minusDays(random.nextInt(options.days))
+                .withHour(7 + random.nextInt(12))
+                .withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60));
+        if (createdAt.isAfter(now)) {
+            createdAt = now.minusMinutes(random.nextInt(1, 60));
+        }
+        List<Transition> transitions = lifecycle(random, createdAt);
+        Transition last = transitions.get(transitions.size() - 1);
+
+        BigDecimal total = BigDecimal.ZERO;
+        int services = 1 + (int) (4 * Math.pow(random.nextDouble(), 2));
+        for (int i = 0; i < services; i++) {
+            Object[] service = SERVICES[random.nextInt(SERVICES.length)];
+            BigDecimal price = new BigDecimal((String) service[3]);
+            total = total.add(price);
+            row(batch.items, id, service[0], service[1], service[2], 1, price, price);
+        }
+        int resources = random.nextInt(6);
+        for (int i = 0; i < resources; i++) {
+            Object[] resource = RESOURCES[random.nextInt(RESOURCES.length)];
+            int quantity = 1 + random.nextInt(4);
+            BigDecimal price = new BigDecimal((String) resource[4]);
+            BigDecimal resourceTotal = price.multiply(BigDecimal.valueOf(quantity));
+            total = total.add(resourceTotal);
+            row(batch.resources, id, resource[0], resource[1], resource[2], resource[3], quantity, price,
+                    resourceTotal);
+        }
+
+        String description = COMPLAINTS[random.nextInt(COMPLAINTS.length)]
+                + (random.nextBoolean() ? " e " + COMPLAINTS[random.nextInt(COMPLAINTS.length)].toLowerCase() : "");
+        row(batch.orders, id, customerId,
+                FIRST_NAMES[(int) (customer % FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[(int) (customer / FIRST_NAMES.length % LAST_NAMES.length)],
+                vehicleId, plate(vehicleId), vehicle[0], vehicle[1], description, last.to(), total,
+                createdAt, last.at(), enteredAt(transitions, "IN_EXECUTION"), enteredAt(transitions, "FINISHED"),
+                enteredAt(transitions, "DELIVERED"));
+
+        Transition previous = null;
+        for (Transition transition : transitions) {
+            row(batch.history, id, transition.from(), transition.to(), transition.at(),
+                    previous == null ? null : ChronoUnit.SECONDS.between(previous.at(), transition.at()));
+            previous = transition;
+        }
+    }
+
+    /**
+     * Walks the status lifecycle from creation while the next transition is
+     * not in the future.
+     */
+    private List<Transition> lifecycle(SplittableRandom random, LocalDateTime createdAt) {
+        List<Transition> transitions = new ArrayList<>();
+        transitions.add(new Transition(null, "RECEIVED", createdAt));
+        String status = "RECEIVED";
+        LocalDateTime at = createdAt;
+        while (true) {
+            String next;
+            long minutes;
+            double roll = random.nextDouble();
+            switch (status) {
+                case "RECEIVED" -> {
+                    next = roll < 0.02 ? "CANCELLED" : "IN_DIAGNOSIS";
+                    minutes = random.nextLong(30, 6 * 60);
+                }
+                case "IN_DIAGNOSIS" -> {
+                    next = "WAITING_APPROVAL";
+                    minutes = random.nextLong(2 * 60, 48 * 60);
+                }
+                case "WAITING_APPROVAL" -> {
+                    next = roll < 0.08 ? "CANCELLED" : roll < 0.11 ? "IN_DIAGNOSIS" : "IN_EXECUTION";
+                    minutes = random.nextLong(60, 72 * 60);
+                }
+                case "IN_EXECUTION" -> {
+                    next = "FINISHED";
+                    minutes = random.nextLong(4 * 60, 120 * 60);
+                }
+                case "FINISHED" -> {
+                    next = "DELIVERED";
+                    minutes = random.nextLong(60, 72 * 60);
+                }
+                default -> {
+                    return transitions;
+                }
+            }
+            LocalDateTime nextAt = at.plusMinutes(minutes);
+            if (nextAt.isAfter(now)) {
+                return transitions;
+            }
+            transitions.add(new Transition(status, next, nextAt));
+            status = next;
+            at = nextAt;
+        }
+    }
+
+    private static LocalDateTime enteredAt(List<Transition> transitions, String status) {
+        for (Transition transition : transitions) {
+            if (status.equals(transition.to())) {
+                return transition.at();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mercosul plate derived from the vehicle id, so a vehicle keeps its plate.
+     */
+    private static String plate(long vehicleId) {
+        long value = vehicleId;
+        char[] plate = new char[7];
+        for (int i : new int[] { 6, 5, 3 }) {
+            plate[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        plate[4] = (char) ('A' + value % 26);
+        value /= 26;
+        for (int i = 2; i >= 0; i--) {
+            plate[i] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(plate);
+    }
+
+    /**
+     * Appends a CSV row: {@code null} as an empty unquoted field, text quoted.
+     */
+    private static void row(StringBuilder csv, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof BigDecimal decimal) {
+                csv.append(decimal.toPlainString());
+            } else if (value != null) {
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+
+    private record Transition(String from, String to, LocalDateTime at) {
+    }
+
+    private static final class Batch {
+
+        private final StringBuilder orders = new StringBuilder();
+        private final StringBuilder items = new StringBuilder();
+        private final StringBuilder resources = new StringBuilder();
+        private final StringBuilder history = new StringBuilder();
+    }
+
+    /**
+     * Generator settings, see the class documentation.
+     */
+    public static final class Options {
+
+        long orders = 1_000_000;
+        int streams = 4;
+        int days = 730;
+        int batch = 5_000;
+        long seed = 42;
+        String url = "jdbc:postgresql://localhost:5433/os_service_db";
+        String user = "os_service_user";
+        String password = "os_service_password";
+
+        public Options orders(long orders) {
+            this.orders = orders;
+            return this;
+        }
+
+        /**
+         * Applies a {@code --name=value} option.
+         *
+         * @return whether the argument is a generator option
+         */
+        public boolean parse(String arg) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                return false;
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "orders" -> orders = Long.parseLong(value);
+                case "streams" -> streams = Integer.parseInt(value);
+                case "days" -> days = Integer.parseInt(value);
+                case "batch" -> batch = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "url" -> url = value;
+                case "user" -> user = value;
+                case "password" -> password = value;
+                default -> {
+                    return false;
+                }
+            }
+            if (orders <= 0 || streams <= 0 || days <= 0 || batch <= 0) {
+                throw new IllegalArgumentException(arg + " must be positive");
+            }
+            return true;
+        }
+    }
+}
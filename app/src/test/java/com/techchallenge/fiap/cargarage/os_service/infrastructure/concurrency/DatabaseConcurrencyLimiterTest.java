@@ -0,0 +1,45 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DatabaseConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should hand out at most the configured permits and count rejections")
+    void shouldLimitPermits() throws InterruptedException {
+        DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(true, 2, 10, meterRegistry);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("db.concurrency.rejected").counter().count());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should let every call through when disabled")
+    void shouldNotLimitWhenDisabled() throws InterruptedException {
+        DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(false, 1, 10, meterRegistry);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        limiter.acquire();
+        assertEquals(0.0, meterRegistry.get("db.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive number of permits")
+    void shouldRejectNonPositivePermits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatabaseConcurrencyLimiter(true, 0, 10, meterRegistry));
+    }
+}
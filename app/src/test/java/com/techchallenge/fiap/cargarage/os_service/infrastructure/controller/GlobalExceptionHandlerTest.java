@@ -24,6 +24,7 @@ import org.springframework.web.context.request.WebRequest;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ErrorMessageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.ConcurrencyLimitExceededException;
 
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
@@ -195,6 +196,29 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Handle ConcurrencyLimitExceededException Tests")
+    class HandleConcurrencyLimitExceededExceptionTests {
+
+        @Test
+        @DisplayName("Should return SERVICE_UNAVAILABLE with Retry-After when the limit is exceeded")
+        void shouldReturnServiceUnavailableForConcurrencyLimit() {
+            // Arrange
+            ConcurrencyLimitExceededException exception =
+                    new ConcurrencyLimitExceededException("Too many concurrent requests, try again later");
+            when(webRequest.getDescription(false)).thenReturn("uri=/service-orders");
+
+            // Act
+            ResponseEntity<ErrorMessageDto> response = exceptionHandler.handleConcurrencyLimitExceededException(
+                    exception, webRequest);
+
+            // Assert
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+            assertEquals(503, response.getBody().status());
+        }
+    }
+
     @Nested
     @DisplayName("Handle IllegalArgumentException Tests")
     class HandleIllegalArgumentExceptionTests {
@@ -1,6 +1,8 @@
 package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -8,7 +10,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -26,12 +31,22 @@ import com.techchallenge.fiap.cargarage.os_service.application.controller.Servic
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderApprovalDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusCountsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderTimeInStatusDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.configuration.JacksonConfiguration;
 
 @WebMvcTest(ServiceOrderController.class)
+@Import(JacksonConfiguration.class)
 class ServiceOrderControllerTest {
 
     @Autowired
@@ -124,7 +139,92 @@ class ServiceOrderControllerTest {
         // Act & Assert
         mockMvc.perform(get("/service-orders/{id}", orderId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(orderId));
+                .andExpect(jsonPath("$.id").value(orderId))
+                .andExpect(header().string("ETag", ServiceOrderETags.of(expectedDto)))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+        verify(cleanArchController, never()).findVersionById(any());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 from the version when the order is unchanged")
+    void shouldReturnNotModifiedWhenOrderUnchanged() throws Exception {
+        // Arrange
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, "RECEIVED", LocalDateTime.now());
+        String etag = ServiceOrderETags.of(version);
+        when(cleanArchController.findVersionById(1L)).thenReturn(version);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/{id}", 1L).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(cleanArchController, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should return the order when the ETag is stale")
+    void shouldReturnOrderWhenETagStale() throws Exception {
+        // Arrange
+        ServiceOrderDto order = createSampleDto(1L);
+        when(cleanArchController.findVersionById(1L))
+                .thenReturn(new ServiceOrderVersionDto(1L, order.status(), order.updatedAt()));
+        when(cleanArchController.findById(1L)).thenReturn(order);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/{id}", 1L).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(header().string("ETag", ServiceOrderETags.of(order)));
+    }
+
+    @Test
+    @DisplayName("Should serve the status from the version and honour If-None-Match")
+    void shouldServeStatusWithETag() throws Exception {
+        // Arrange
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, "IN_EXECUTION", LocalDateTime.now());
+        String etag = ServiceOrderETags.of(version);
+        when(cleanArchController.findVersionById(1L)).thenReturn(version);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/{id}/status", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_EXECUTION"))
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/service-orders/{id}/status", 1L).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(cleanArchController, never()).getStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for an unchanged page of a customer's orders")
+    void shouldReturnNotModifiedForUnchangedPage() throws Exception {
+        // Arrange
+        PageDto<ServiceOrderVersionDto> versions = new PageDto<>(
+                List.of(new ServiceOrderVersionDto(1L, "RECEIVED", LocalDateTime.now())), 1, 0, 15);
+        String etag = ServiceOrderETags.ofVersions(versions);
+        when(cleanArchController.findVersionsByCustomerId(100L, 0, 15)).thenReturn(versions);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/customer/{customerId}", 100L).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(cleanArchController, never()).findByCustomerId(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return a changed page of orders by status with its ETag")
+    void shouldReturnChangedPageByStatus() throws Exception {
+        // Arrange
+        PageDto<ServiceOrderDto> page = new PageDto<>(List.of(createSampleDto(2L)), 1, 0, 15);
+        when(cleanArchController.findVersionsByStatus("RECEIVED", 0, 15))
+                .thenReturn(new PageDto<>(List.of(new ServiceOrderVersionDto(2L, "RECEIVED", null)), 1, 0, 15));
+        when(cleanArchController.findByStatus("RECEIVED", 0, 15)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/status/{status}", "RECEIVED")
+                .header("If-None-Match", ServiceOrderETags.ofVersions(new PageDto<>(List.of(), 0, 0, 15))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(header().string("ETag", ServiceOrderETags.ofOrders(page)));
     }
 
     @Test
@@ -147,6 +247,125 @@ class ServiceOrderControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2));
     }
 
+    @Test
+    @DisplayName("Should write only the requested fields of a page")
+    void shouldWriteOnlyRequestedFields() throws Exception {
+        // Arrange
+        ServiceOrderDto sparse = ServiceOrderDto.builder()
+                .id(1L)
+                .customerName("Test Customer")
+                .status("RECEIVED")
+                .build();
+        when(cleanArchController.findAll(0, 15, "id,customerName"))
+                .thenReturn(new PageDto<>(List.of(sparse), 1, 0, 15));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders").param("fields", "id,customerName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].customerName").value("Test Customer"))
+                .andExpect(jsonPath("$.content[0].status").doesNotExist())
+                .andExpect(jsonPath("$.content[0].services").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+        verify(cleanArchController, never()).findAll(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should tag a sparse order apart from the full order")
+    void shouldTagSparseOrderByFieldset() throws Exception {
+        // Arrange
+        ServiceOrderDto order = createSampleDto(1L);
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, order.status(), order.updatedAt());
+        String sparseETag = ServiceOrderETags.withFields(ServiceOrderETags.of(version), "id,services");
+        when(cleanArchController.findVersionById(1L)).thenReturn(version);
+        when(cleanArchController.findById(1L, "services,id")).thenReturn(order);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/{id}", 1L).param("fields", "services,id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", sparseETag))
+                .andExpect(jsonPath("$.services").isArray())
+                .andExpect(jsonPath("$.customerName").doesNotExist());
+        mockMvc.perform(get("/service-orders/{id}", 1L).param("fields", "services,id")
+                .header("If-None-Match", sparseETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/service-orders/{id}", 1L).param("fields", "services,id")
+                .header("If-None-Match", ServiceOrderETags.of(version)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should write every field without a fieldset")
+    void shouldWriteEveryFieldWithoutFieldset() throws Exception {
+        // Arrange
+        when(cleanArchController.findById(1L)).thenReturn(createSampleDto(1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName").value("Test Customer"))
+                .andExpect(jsonPath("$.approvedAt").isEmpty())
+                .andExpect(jsonPath("$.services").isArray());
+    }
+
+    @Test
+    @DisplayName("Should search with a fieldset")
+    void shouldSearchWithFieldset() throws Exception {
+        // Arrange
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(null, 100L, null, null, null, null);
+        ServiceOrderDto sparse = ServiceOrderDto.builder().id(1L).status("RECEIVED").totalPrice(BigDecimal.TEN).build();
+        when(cleanArchController.search(filter, 0, 15, "status,totalPrice"))
+                .thenReturn(new PageDto<>(List.of(sparse), 1, 0, 15));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/search")
+                .param("customerId", "100")
+                .param("fields", "status,totalPrice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("RECEIVED"))
+                .andExpect(jsonPath("$.content[0].totalPrice").value(10))
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should search service orders by several criteria")
+    void shouldSearchServiceOrdersByCriteria() throws Exception {
+        // Arrange
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(
+                List.of("RECEIVED", "IN_EXECUTION"), 100L, 200L,
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0),
+                new BigDecimal("250.00"));
+        when(cleanArchController.search(filter, 1, 5))
+                .thenReturn(new PageDto<>(List.of(createSampleDto(1L)), 6, 1, 5));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/search")
+                .param("status", "RECEIVED,IN_EXECUTION")
+                .param("customerId", "100")
+                .param("vehicleId", "200")
+                .param("createdFrom", "2024-03-01T00:00:00")
+                .param("createdTo", "2024-04-01T00:00:00")
+                .param("minTotal", "250.00")
+                .param("page", "1")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(6));
+    }
+
+    @Test
+    @DisplayName("Should search without criteria")
+    void shouldSearchServiceOrdersWithoutCriteria() throws Exception {
+        // Arrange
+        when(cleanArchController.search(new ServiceOrderFilterDto(null, null, null, null, null, null), 0, 15))
+                .thenReturn(new PageDto<>(List.of(), 0, 0, 15));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
     @Test
     @DisplayName("Should update service order")
     void shouldUpdateServiceOrder() throws Exception {
@@ -289,4 +508,133 @@ class ServiceOrderControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
     }
+
+    @Test
+    @DisplayName("Should return time-in-status statistics for the window")
+    void shouldReturnTimeInStatusStatistics() throws Exception {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 8, 0, 0);
+        ServiceOrderTimeInStatusDto stats = ServiceOrderTimeInStatusDto.builder()
+                .from(from)
+                .to(to)
+                .statuses(List.of(ServiceOrderStatusDurationDto.builder()
+                        .status("WAITING_APPROVAL")
+                        .transitions(4)
+                        .avgHours(new BigDecimal("2.50"))
+                        .minHours(new BigDecimal("0.50"))
+                        .p50Hours(new BigDecimal("2.00"))
+                        .p90Hours(new BigDecimal("4.50"))
+                        .p95Hours(new BigDecimal("4.75"))
+                        .maxHours(new BigDecimal("5.00"))
+                        .build()))
+                .build();
+        when(cleanArchController.getTimeInStatusStatistics(from, to)).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/stats/time-in-status")
+                .param("from", "2024-03-01T00:00:00")
+                .param("to", "2024-03-08T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses[0].status").value("WAITING_APPROVAL"))
+                .andExpect(jsonPath("$.statuses[0].transitions").value(4))
+                .andExpect(jsonPath("$.statuses[0].p90Hours").value(4.5));
+    }
+
+    @Test
+    @DisplayName("Should use default window when none is given")
+    void shouldUseDefaultTimeInStatusWindow() throws Exception {
+        // Arrange
+        when(cleanArchController.getTimeInStatusStatistics(null, null))
+                .thenReturn(ServiceOrderTimeInStatusDto.builder().statuses(List.of()).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/stats/time-in-status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return status counts")
+    void shouldReturnStatusCounts() throws Exception {
+        // Arrange
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("RECEIVED", 2L);
+        counts.put("IN_DIAGNOSIS", 0L);
+        when(cleanArchController.getStatusCounts()).thenReturn(ServiceOrderStatusCountsDto.builder()
+                .counts(counts)
+                .total(2L)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/stats/status-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.RECEIVED").value(2))
+                .andExpect(jsonPath("$.counts.IN_DIAGNOSIS").value(0))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return vehicle history with the next cursor")
+    void shouldReturnVehicleHistory() throws Exception {
+        // Arrange
+        when(cleanArchController.findByVehicleId(200L, null, 15))
+                .thenReturn(new CursorPageDto<>(List.of(createSampleDto(1L)), "next", 15));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/vehicle/{vehicleId}", 200L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.pageSize").value(15));
+        verify(cleanArchController, never()).findSummariesByVehicleId(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return vehicle history summaries by license plate")
+    void shouldReturnVehicleHistorySummariesByLicensePlate() throws Exception {
+        // Arrange
+        when(cleanArchController.findSummariesByLicensePlate("ABC-1234", "c1", 5))
+                .thenReturn(new CursorPageDto<>(List.of(ServiceOrderSummaryDto.builder()
+                        .id(3L)
+                        .vehicleLicensePlate("ABC-1234")
+                        .status("DELIVERED")
+                        .build()), null, 5));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/vehicle/plate/{licensePlate}", "ABC-1234")
+                .param("cursor", "c1")
+                .param("size", "5")
+                .param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(3))
+                .andExpect(jsonPath("$.content[0].services").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return text search results")
+    void shouldReturnTextSearchResults() throws Exception {
+        // Arrange
+        when(cleanArchController.searchText("barulho ao frear", null, 15))
+                .thenReturn(new CursorPageDto<>(List.of(ServiceOrderSearchResultDto.builder()
+                        .id(1L)
+                        .description("Barulho ao frear")
+                        .score(0.75f)
+                        .build()), "next", 15));
+
+        // Act & Assert
+        mockMvc.perform(get("/service-orders/search/text").param("q", "barulho ao frear"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value("Barulho ao frear"))
+                .andExpect(jsonPath("$.content[0].score").value(0.75))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Should require the search text")
+    void shouldRequireSearchText() throws Exception {
+        mockMvc.perform(get("/service-orders/search/text"))
+                .andExpect(status().isBadRequest());
+    }
 }
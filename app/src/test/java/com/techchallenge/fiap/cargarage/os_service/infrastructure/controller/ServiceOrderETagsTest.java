@@ -0,0 +1,87 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+
+class ServiceOrderETagsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 10, 30, 0, 123_456_789);
+
+    private static ServiceOrderDto order(Long id, String status, LocalDateTime updatedAt) {
+        return ServiceOrderDto.builder().id(id).status(status).updatedAt(updatedAt).build();
+    }
+
+    @Test
+    @DisplayName("Should give the same quoted tag for an order and its version")
+    void shouldMatchOrderAndVersion() {
+        String fromVersion = ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT));
+        String fromOrder = ServiceOrderETags.of(order(1L, "RECEIVED", UPDATED_AT));
+
+        assertEquals(fromVersion, fromOrder);
+        assertTrue(fromVersion.startsWith("\"") && fromVersion.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Should ignore precision below microseconds")
+    void shouldTruncateToMicroseconds() {
+        LocalDateTime stored = UPDATED_AT.withNano(123_456_000);
+
+        assertEquals(
+                ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", stored)),
+                ServiceOrderETags.of(order(1L, "RECEIVED", UPDATED_AT)));
+    }
+
+    @Test
+    @DisplayName("Should change when the status or timestamp changes")
+    void shouldChangeWithVersion() {
+        String tag = ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT));
+
+        assertNotEquals(tag, ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "IN_DIAGNOSIS", UPDATED_AT)));
+        assertNotEquals(tag, ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT.plusSeconds(1))));
+        assertNotEquals(tag, ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", null)));
+    }
+
+    @Test
+    @DisplayName("Should give the same tag for a page of orders and of their versions")
+    void shouldMatchPageOfOrdersAndVersions() {
+        PageDto<ServiceOrderDto> orders = new PageDto<>(
+                List.of(order(1L, "RECEIVED", UPDATED_AT), order(2L, "FINISHED", null)), 12, 0, 2);
+        PageDto<ServiceOrderVersionDto> versions = new PageDto<>(List.of(
+                new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT),
+                new ServiceOrderVersionDto(2L, "FINISHED", null)), 12, 0, 2);
+
+        assertEquals(ServiceOrderETags.ofVersions(versions), ServiceOrderETags.ofOrders(orders));
+    }
+
+    @Test
+    @DisplayName("Should change a page tag when the total changes")
+    void shouldChangePageTagWithTotal() {
+        List<ServiceOrderVersionDto> content = List.of(new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT));
+
+        assertNotEquals(
+                ServiceOrderETags.ofVersions(new PageDto<>(content, 12, 0, 1)),
+                ServiceOrderETags.ofVersions(new PageDto<>(content, 13, 0, 1)));
+    }
+
+    @Test
+    @DisplayName("Should tag each fieldset apart, ignoring order, spaces and repeats")
+    void shouldTagFieldsets() {
+        String tag = ServiceOrderETags.of(new ServiceOrderVersionDto(1L, "RECEIVED", UPDATED_AT));
+
+        assertEquals(tag, ServiceOrderETags.withFields(tag, null));
+        assertNotEquals(tag, ServiceOrderETags.withFields(tag, "id,status"));
+        assertEquals(ServiceOrderETags.withFields(tag, "id,status"),
+                ServiceOrderETags.withFields(tag, "status, id,status"));
+        assertNotEquals(ServiceOrderETags.withFields(tag, "id,status"),
+                ServiceOrderETags.withFields(tag, "id,services"));
+    }
+}
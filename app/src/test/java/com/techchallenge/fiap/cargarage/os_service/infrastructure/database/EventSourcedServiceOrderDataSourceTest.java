@@ -0,0 +1,291 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEventEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderSnapshotEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.EventSourcedServiceOrderDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderDataSourceImpl;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderEventRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderSnapshotRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventSourcedServiceOrderDataSourceTest {
+
+    private static final Long ORDER_ID = 1L;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Mock
+    private ServiceOrderDataSourceImpl projection;
+
+    @Mock
+    private ServiceOrderEventRepository eventRepository;
+
+    @Mock
+    private ServiceOrderSnapshotRepository snapshotRepository;
+
+    private final List<ServiceOrderEventEntity> events = new ArrayList<>();
+    private final Map<Long, ServiceOrderSnapshotEntity> snapshots = new HashMap<>();
+
+    private EventSourcedServiceOrderDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.save(any(ServiceOrderEventEntity.class))).thenAnswer(invocation -> {
+            events.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(eventRepository.findByOrderIdAndVersionGreaterThanOrderByVersionAsc(anyLong(), anyLong()))
+                .thenAnswer(invocation -> events.stream()
+                        .filter(e -> e.getOrderId().equals(invocation.getArgument(0)))
+                        .filter(e -> e.getVersion() > (Long) invocation.getArgument(1))
+                        .toList());
+        when(snapshotRepository.save(any(ServiceOrderSnapshotEntity.class))).thenAnswer(invocation -> {
+            ServiceOrderSnapshotEntity snapshot = invocation.getArgument(0);
+            snapshots.put(snapshot.getOrderId(), snapshot);
+            return snapshot;
+        });
+        when(snapshotRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(snapshots.get(invocation.getArgument(0))));
+
+        dataSource = createDataSource(3);
+    }
+
+    private EventSourcedServiceOrderDataSource createDataSource(int snapshotInterval) {
+        return createDataSource(snapshotInterval, false);
+    }
+
+    private EventSourcedServiceOrderDataSource createDataSource(int snapshotInterval, boolean readModelEnabled) {
+        JsonMapper objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        return new EventSourcedServiceOrderDataSource(
+                projection, eventRepository, snapshotRepository, objectMapper, snapshotInterval, readModelEnabled);
+    }
+
+    private ServiceOrderDto order(String status, String description, LocalDateTime updatedAt) {
+        return ServiceOrderDto.builder()
+                .id(ORDER_ID)
+                .customerId(100L)
+                .customerName("Test Customer")
+                .vehicleId(200L)
+                .vehicleLicensePlate("ABC1D23")
+                .description(description)
+                .status(status)
+                .totalPrice(new BigDecimal("100.00"))
+                .createdAt(CREATED_AT)
+                .updatedAt(updatedAt)
+                .services(List.of(ServiceOrderItemDto.builder()
+                        .id(updatedAt == null ? 10L : 10L + updatedAt.getHour())
+                        .serviceId(5L)
+                        .serviceName("Oil change")
+                        .quantity(1)
+                        .price(new BigDecimal("100.00"))
+                        .totalPrice(new BigDecimal("100.00"))
+                        .build()))
+                .resources(List.of())
+                .build();
+    }
+
+    private ServiceOrderPersistenceDto request() {
+        return ServiceOrderPersistenceDto.builder().customerId(100L).vehicleId(200L).build();
+    }
+
+    private void update(ServiceOrderDto projected) {
+        when(projection.update(eq(ORDER_ID), any(ServiceOrderPersistenceDto.class))).thenReturn(projected);
+        dataSource.update(ORDER_ID, request());
+    }
+
+    private List<String> eventTypes() {
+        return events.stream().map(ServiceOrderEventEntity::getEventType).toList();
+    }
+
+    @Test
+    @DisplayName("Should start the stream with a CREATED event on insert")
+    void shouldAppendCreatedEventOnInsert() {
+        // Arrange
+        ServiceOrderDto created = order("RECEIVED", "Noise", null);
+        when(projection.insert(any(ServiceOrderPersistenceDto.class))).thenReturn(created);
+
+        // Act
+        ServiceOrderDto result = dataSource.insert(request());
+
+        // Assert
+        assertSame(created, result);
+        assertEquals(List.of("CREATED"), eventTypes());
+        assertEquals(1L, events.get(0).getVersion());
+        assertEquals(CREATED_AT, events.get(0).getOccurredAt());
+        assertEquals(Optional.of(created), dataSource.findById(ORDER_ID));
+    }
+
+    @Test
+    @DisplayName("Should append only the changed fields and rehydrate the latest state")
+    void shouldAppendDeltasAndRehydrate() {
+        // Arrange
+        when(projection.insert(any(ServiceOrderPersistenceDto.class)))
+                .thenReturn(order("RECEIVED", "Noise", null));
+        dataSource.insert(request());
+
+        // Act
+        update(order("IN_DIAGNOSIS", "Noise", CREATED_AT.plusHours(1)));
+        ServiceOrderDto latest = order("IN_DIAGNOSIS", "Noise when braking", CREATED_AT.plusHours(2));
+        update(latest);
+
+        // Assert
+        assertEquals(List.of("CREATED", "STATUS_CHANGED", "DETAILS_UPDATED"), eventTypes());
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(ServiceOrderEventEntity::getVersion).toList());
+        assertEquals(Optional.of(latest), dataSource.findById(ORDER_ID));
+        verify(projection, never()).findById(ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Should record both events when details and status change together")
+    void shouldRecordDetailsAndStatusChange() {
+        // Arrange
+        when(projection.insert(any(ServiceOrderPersistenceDto.class)))
+                .thenReturn(order("RECEIVED", "Noise", null));
+        dataSource.insert(request());
+
+        // Act
+        ServiceOrderDto latest = order("IN_DIAGNOSIS", "Brakes", CREATED_AT.plusHours(1));
+        update(latest);
+
+        // Assert
+        assertEquals(List.of("CREATED", "DETAILS_UPDATED", "STATUS_CHANGED"), eventTypes());
+        assertEquals(Optional.of(latest), dataSource.findById(ORDER_ID));
+    }
+
+    @Test
+    @DisplayName("Should snapshot every N events and replay only the tail")
+    void shouldSnapshotAndReplayTail() {
+        // Arrange
+        when(projection.insert(any(ServiceOrderPersistenceDto.class)))
+                .thenReturn(order("RECEIVED", "v0", null));
+        dataSource.insert(request());
+
+        // Act
+        for (int i = 1; i <= 4; i++) {
+            update(order("RECEIVED", "v" + i, CREATED_AT.plusHours(i)));
+        }
+
+        // Assert
+        assertEquals(5, events.size());
+        assertEquals(3L, snapshots.get(ORDER_ID).getVersion());
+        assertEquals(Optional.of(order("RECEIVED", "v4", CREATED_AT.plusHours(4))),
+                dataSource.findById(ORDER_ID));
+        verify(eventRepository, atLeastOnce())
+                .findByOrderIdAndVersionGreaterThanOrderByVersionAsc(ORDER_ID, 3L);
+    }
+
+    @Test
+    @DisplayName("Should rehydrate from the snapshot when older events are gone")
+    void shouldRehydrateFromSnapshotAlone() {
+        // Arrange
+        dataSource = createDataSource(1);
+        ServiceOrderDto created = order("RECEIVED", "Noise", null);
+        when(projection.insert(any(ServiceOrderPersistenceDto.class))).thenReturn(created);
+        dataSource.insert(request());
+
+        // Act
+        events.clear();
+
+        // Assert
+        assertEquals(Optional.of(created), dataSource.findById(ORDER_ID));
+    }
+
+    @Test
+    @DisplayName("Should start a stream from the projection for orders without events")
+    void shouldStartStreamForLegacyOrder() {
+        // Arrange
+        when(projection.findById(ORDER_ID)).thenReturn(Optional.of(order("RECEIVED", "Noise", null)));
+
+        // Act
+        update(order("IN_DIAGNOSIS", "Noise", CREATED_AT.plusHours(1)));
+
+        // Assert
+        assertEquals(List.of("CREATED", "STATUS_CHANGED"), eventTypes());
+    }
+
+    @Test
+    @DisplayName("Should fail update when order does not exist")
+    void shouldFailUpdateWhenOrderMissing() {
+        when(projection.findById(ORDER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> dataSource.update(ORDER_ID, request()));
+        verify(projection, never()).update(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should read orders without stream from the projection")
+    void shouldFallBackToProjectionOnRead() {
+        ServiceOrderDto legacy = order("FINISHED", "Legacy", CREATED_AT);
+        when(projection.findById(ORDER_ID)).thenReturn(Optional.of(legacy));
+
+        assertEquals(Optional.of(legacy), dataSource.findById(ORDER_ID));
+    }
+
+    @Test
+    @DisplayName("Should serve list queries from the projection")
+    void shouldDelegateListQueries() {
+        PageRequestDto pageRequest = new PageRequestDto(0, 10);
+        PageDto<ServiceOrderDto> page = new PageDto<>(List.of(), 0, 0, 10);
+        when(projection.findAll(pageRequest)).thenReturn(page);
+
+        assertSame(page, dataSource.findAll(pageRequest));
+    }
+
+    @Test
+    @DisplayName("Should delete the stream with the order")
+    void shouldDeleteStream() {
+        dataSource.deleteById(ORDER_ID);
+
+        verify(eventRepository).deleteByOrderId(ORDER_ID);
+        verify(projection).deleteById(ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive snapshot interval")
+    void shouldRejectInvalidSnapshotInterval() {
+        assertThrows(IllegalArgumentException.class, () -> createDataSource(0));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with the read model also enabled")
+    void shouldRejectReadModelEnabled() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> createDataSource(3, true));
+
+        assertTrue(exception.getMessage().contains("persistence.read-model.enabled"));
+    }
+}
@@ -0,0 +1,218 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderViewEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ReadModelServiceOrderDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderDataSourceImpl;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderViewRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReadModelServiceOrderDataSourceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Mock
+    private ServiceOrderDataSourceImpl writeModel;
+
+    @Mock
+    private ServiceOrderViewRepository viewRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReadModelServiceOrderDataSource dataSource;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation
+                .getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(viewRepository.save(any(ServiceOrderViewEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        dataSource = new ReadModelServiceOrderDataSource(writeModel, viewRepository, transactionTemplate, 2);
+    }
+
+    private static ServiceOrderDto order(Long id) {
+        return ServiceOrderDto.builder()
+                .id(id)
+                .customerId(10L)
+                .customerName("Maria Silva")
+                .vehicleId(20L)
+                .vehicleLicensePlate("abc-1d23")
+                .status("RECEIVED")
+                .totalPrice(new BigDecimal("150.00"))
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .services(List.of(ServiceOrderItemDto.builder()
+                        .id(5L).serviceId(1L).serviceName("Troca de óleo")
+                        .price(new BigDecimal("150.00")).quantity(1)
+                        .totalPrice(new BigDecimal("150.00")).build()))
+                .build();
+    }
+
+    private static ServiceOrderViewEntity view(Long id) {
+        return ServiceOrderViewEntity.builder()
+                .id(id)
+                .customerId(10L)
+                .vehicleId(20L)
+                .vehicleLicensePlate("ABC-1D23")
+                .licensePlateKey("ABC1D23")
+                .status("RECEIVED")
+                .createdAt(CREATED_AT)
+                .services(order(id).services())
+                .resources(List.of())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write the order and its read model row with a normalized plate")
+    void shouldWriteOrderAndItsRow() {
+        ServiceOrderPersistenceDto request = ServiceOrderPersistenceDto.builder().customerId(10L).build();
+        when(writeModel.insert(request)).thenReturn(order(1L));
+
+        ServiceOrderDto created = dataSource.insert(request);
+
+        ArgumentCaptor<ServiceOrderViewEntity> captor = ArgumentCaptor.forClass(ServiceOrderViewEntity.class);
+        verify(viewRepository).save(captor.capture());
+        ServiceOrderViewEntity row = captor.getValue();
+        assertEquals(1L, row.getId());
+        assertEquals("ABC1D23", row.getLicensePlateKey());
+        assertEquals(created.services(), row.getServices());
+        assertEquals(List.of(), row.getResources());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the row after an update")
+    void shouldRewriteRowAfterUpdate() {
+        ServiceOrderPersistenceDto request = ServiceOrderPersistenceDto.builder().status("IN_DIAGNOSIS").build();
+        when(writeModel.update(1L, request))
+                .thenReturn(order(1L).toBuilder().status("IN_DIAGNOSIS").build());
+
+        dataSource.update(1L, request);
+
+        InOrder inOrder = inOrder(writeModel, viewRepository);
+        inOrder.verify(writeModel).update(1L, request);
+        inOrder.verify(viewRepository).flush();
+        inOrder.verify(viewRepository).save(argThat(row -> "IN_DIAGNOSIS".equals(row.getStatus())));
+    }
+
+    @Test
+    @DisplayName("Should read orders from the read model only")
+    void shouldReadFromReadModel() {
+        when(viewRepository.findById(1L)).thenReturn(Optional.of(view(1L)));
+        when(viewRepository.findByCustomerId(eq(10L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(view(1L)), PageRequest.of(0, 10), 1));
+
+        Optional<ServiceOrderDto> found = dataSource.findById(1L);
+        PageDto<ServiceOrderDto> page = dataSource.findByCustomerId(10L, new PageRequestDto(0, 10));
+
+        assertTrue(found.isPresent());
+        assertEquals("ABC-1D23", found.get().vehicleLicensePlate());
+        assertEquals("Troca de óleo", found.get().services().get(0).serviceName());
+        assertEquals(1, page.totalElements());
+        verifyNoInteractions(writeModel);
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for an unknown status without querying")
+    void shouldReturnEmptyPageForUnknownStatus() {
+        PageDto<ServiceOrderDto> page = dataSource.findByStatus("UNKNOWN", new PageRequestDto(0, 10));
+
+        assertTrue(page.content().isEmpty());
+        verifyNoInteractions(viewRepository);
+    }
+
+    @Test
+    @DisplayName("Should read the history of a license plate by its normalized key")
+    void shouldReadLicensePlateHistory() {
+        VehicleHistoryQueryDto query = new VehicleHistoryQueryDto(null, "ABC1D23", null, null, 20);
+        when(viewRepository.findLicensePlateHistory("ABC1D23", null, null, Limit.of(20)))
+                .thenReturn(List.of(view(1L)));
+
+        List<ServiceOrderDto> history = dataSource.findVehicleHistory(query);
+
+        assertEquals(1, history.size());
+        verify(viewRepository, never()).findVehicleHistory(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delete the row before the order")
+    void shouldDeleteRowBeforeOrder() {
+        dataSource.deleteById(1L);
+
+        InOrder inOrder = inOrder(viewRepository, writeModel);
+        inOrder.verify(viewRepository).deleteById(1L);
+        inOrder.verify(writeModel).deleteById(1L);
+    }
+
+    @Test
+    @DisplayName("Should backfill missing rows one batch per transaction without replacing rows")
+    void shouldBackfillMissingRowsInBatches() {
+        when(viewRepository.findMissingIds(Limit.of(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(viewRepository.insertFromWriteModel(any())).thenReturn(2, 1);
+
+        dataSource.backfill();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(viewRepository).insertFromWriteModel(List.of(1L, 2L));
+        verify(viewRepository).insertFromWriteModel(List.of(3L));
+        verify(viewRepository, never()).save(any(ServiceOrderViewEntity.class));
+        verifyNoInteractions(writeModel);
+    }
+
+    @Test
+    @DisplayName("Should keep backfilling when another instance built part of a batch")
+    void shouldKeepBackfillingAfterConflicts() {
+        when(viewRepository.findMissingIds(Limit.of(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+        when(viewRepository.insertFromWriteModel(List.of(1L, 2L))).thenReturn(0);
+
+        dataSource.backfill();
+
+        verify(viewRepository, times(2)).findMissingIds(Limit.of(2));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive backfill batch size")
+    void shouldRejectNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadModelServiceOrderDataSource(writeModel, viewRepository, transactionTemplate, 0));
+    }
+}
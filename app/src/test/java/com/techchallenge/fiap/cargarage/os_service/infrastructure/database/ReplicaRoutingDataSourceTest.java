@@ -0,0 +1,248 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderDataSourceImpl;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCounts;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusHistoryRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.ReplicaLagMonitor;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.ReplicaRoutingDataSource;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.routing.WriteTrackingDataSource;
+
+/**
+ * Routes through two H2 databases standing in for the primary and the
+ * replica, each holding a row naming itself; the replica's catch-up state is
+ * a flag in a table.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock();
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        new JdbcTemplate(primary).execute("DELETE FROM node");
+        new JdbcTemplate(primary).execute("INSERT INTO node (name) VALUES ('primary')");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DELETE FROM node");
+        replicaJdbc.execute("INSERT INTO node (name) VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replication (caught_up BOOLEAN)");
+        replicaJdbc.execute("DELETE FROM replication");
+        replicaJdbc.execute("INSERT INTO replication (caught_up) VALUES (TRUE)");
+
+        monitor = new ReplicaLagMonitor(primary, replica,
+                "SELECT '0/16B3748'",
+                "SELECT caught_up FROM replication WHERE CAST(? AS VARCHAR) IS NOT NULL",
+                MAX_LAG, clock);
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, monitor));
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, monitor));
+
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        return dataSource;
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    /**
+     * Wraps the data source in the transaction advice Spring applies to it,
+     * so its {@code @Transactional} attributes pick the node.
+     */
+    private ServiceOrderDataSourceImpl transactional(ServiceOrderDataSourceImpl target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(
+                new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (ServiceOrderDataSourceImpl) proxyFactory.getProxy();
+    }
+
+    private void write() {
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE node SET name = name"));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until the replica has been probed")
+    void shouldReadFromPrimaryBeforeFirstProbe() {
+        assertEquals("primary", readOnlyNode());
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to a caught-up replica and the rest to the primary")
+    void shouldRouteByTransactionReadOnlyFlag() {
+        monitor.probe();
+        clock.advance(Duration.ofMillis(100));
+
+        assertEquals("replica", readOnlyNode());
+        assertEquals("primary", readWriteNode());
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should read own writes from the primary until the replica catches up with them")
+    void shouldReadOwnWritesFromPrimary() {
+        monitor.probe();
+        clock.advance(Duration.ofMillis(100));
+        write();
+        clock.advance(Duration.ofMillis(100));
+
+        assertEquals("primary", readOnlyNode());
+
+        monitor.probe();
+        clock.advance(Duration.ofMillis(100));
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    @DisplayName("Should not count rolled back transactions as writes")
+    void shouldIgnoreRolledBackWrites() {
+        monitor.probe();
+        clock.advance(Duration.ofMillis(100));
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags beyond the maximum")
+    void shouldFallBackWhenReplicaLags() {
+        monitor.probe();
+        replicaJdbc.execute("UPDATE replication SET caught_up = FALSE");
+        clock.advance(MAX_LAG.minusSeconds(1));
+        monitor.probe();
+
+        assertEquals("replica", readOnlyNode());
+
+        clock.advance(Duration.ofSeconds(2));
+        monitor.probe();
+
+        assertEquals("primary", readOnlyNode());
+        assertEquals(Duration.ofSeconds(6), monitor.staleness());
+    }
+
+    @Test
+    @DisplayName("Should serve the order reads of the data source from the replica")
+    void shouldServeDataSourceReadsFromReplica() {
+        // Arrange
+        monitor.probe();
+        clock.advance(Duration.ofMillis(100));
+        List<String> nodes = new ArrayList<>();
+        ServiceOrderRepository repository = mock(ServiceOrderRepository.class);
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            nodes.add(node());
+            return Optional.empty();
+        });
+        when(repository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            nodes.add(node());
+            return Page.<ServiceOrderEntity>empty();
+        });
+        when(repository.findByCustomerId(eq(10L), any(Pageable.class))).thenAnswer(invocation -> {
+            nodes.add(node());
+            return Page.<ServiceOrderEntity>empty();
+        });
+        when(repository.findByStatus(eq("RECEIVED"), any(Pageable.class))).thenAnswer(invocation -> {
+            nodes.add(node());
+            return Page.<ServiceOrderEntity>empty();
+        });
+        ServiceOrderDataSourceImpl dataSource = transactional(new ServiceOrderDataSourceImpl(repository,
+                mock(ServiceOrderStatusHistoryRepository.class), mock(ServiceOrderStatusCounts.class)));
+        PageRequestDto pageRequest = new PageRequestDto(0, 10);
+
+        // Act
+        dataSource.findById(1L);
+        dataSource.findAll(pageRequest);
+        dataSource.findByCustomerId(10L, pageRequest);
+        dataSource.findByStatus("RECEIVED", pageRequest);
+
+        // Assert
+        assertEquals(List.of("replica", "replica", "replica", "replica"), nodes);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-03-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -9,29 +9,49 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFieldsDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusDurationDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSummaryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderVersionDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.TextSearchQueryDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.VehicleHistoryQueryDto;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderItemEntity;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderResourceEntity;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusHistoryEntity;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderDataSourceImpl;
 import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository.ItemView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository.SearchResultView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCounts;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusHistoryRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusHistoryRepository.StatusDurationView;
 
 @ExtendWith(MockitoExtension.class)
 class ServiceOrderDataSourceImplTest {
@@ -39,11 +59,17 @@ class ServiceOrderDataSourceImplTest {
     @Mock
     private ServiceOrderRepository repository;
 
+    @Mock
+    private ServiceOrderStatusHistoryRepository statusHistoryRepository;
+
+    @Mock
+    private ServiceOrderStatusCounts statusCounts;
+
     private ServiceOrderDataSourceImpl dataSource;
 
     @BeforeEach
     void setUp() {
-        dataSource = new ServiceOrderDataSourceImpl(repository);
+        dataSource = new ServiceOrderDataSourceImpl(repository, statusHistoryRepository, statusCounts);
     }
 
     private ServiceOrderEntity createEntity(Long id) {
@@ -188,6 +214,141 @@ class ServiceOrderDataSourceImplTest {
         assertEquals(1, result.content().size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should search by specification, newest first")
+    void shouldSearchBySpecification() {
+        // Arrange
+        ServiceOrderFilterDto filter = new ServiceOrderFilterDto(
+                List.of("RECEIVED"), 10L, null, null, null, null);
+        when(repository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(createEntity(1L))));
+
+        // Act
+        PageDto<ServiceOrderDto> result = dataSource.search(filter, new PageRequestDto(2, 5));
+
+        // Assert
+        assertEquals(1, result.content().size());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(5, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), pageable.getValue().getSort());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should read only the selected columns and the services of the page")
+    void shouldReadSelectedFieldsWithServices() {
+        // Arrange
+        ServiceOrderFieldsDto fields = new ServiceOrderFieldsDto(Set.of("customerName", "services"));
+        when(repository.findAttributes(any(Specification.class), eq(fields.columns()), any(Pageable.class)))
+                .thenReturn(List.of(
+                        Map.of("id", 1L, "customerName", "Ana", "status", "RECEIVED"),
+                        Map.of("id", 2L, "customerName", "Bia", "status", "FINISHED")));
+        ItemView item = mock(ItemView.class);
+        when(item.getOrderId()).thenReturn(1L);
+        when(item.getServiceName()).thenReturn("Oil change");
+        when(repository.findItemsByOrderIds(List.of(1L, 2L))).thenReturn(List.of(item));
+
+        // Act
+        PageDto<ServiceOrderDto> result = dataSource.findFields(
+                new ServiceOrderFilterDto(null, 7L, null, null, null, null), fields, new PageRequestDto(0, 10));
+
+        // Assert
+        assertEquals(List.of("id", "customerName", "status", "updatedAt"), fields.columns());
+        assertEquals(2, result.totalElements());
+        ServiceOrderDto first = result.content().get(0);
+        assertEquals("Ana", first.customerName());
+        assertNull(first.customerId());
+        assertEquals("Oil change", first.services().get(0).serviceName());
+        assertEquals(List.of(), result.content().get(1).services());
+        assertNull(first.resources());
+        verify(repository, never()).findResourcesByOrderIds(any());
+        // A short first page holds the total: no count query
+        verify(repository, never()).count(any(Specification.class));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findAttributes(any(Specification.class), any(), pageable.capture());
+        assertEquals(Sort.by("id"), pageable.getValue().getSort());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should count a full page of selected fields and skip the child rows")
+    void shouldCountFullPageOfFields() {
+        // Arrange
+        ServiceOrderFieldsDto fields = new ServiceOrderFieldsDto(Set.of("status"));
+        when(repository.findAttributes(any(Specification.class), any(), any(Pageable.class)))
+                .thenReturn(List.of(Map.of("id", 5L, "status", "RECEIVED")));
+        when(repository.count(any(Specification.class))).thenReturn(9L);
+
+        // Act
+        PageDto<ServiceOrderDto> result = dataSource.searchFields(
+                new ServiceOrderFilterDto(List.of("RECEIVED"), null, null, null, null, null),
+                fields, new PageRequestDto(0, 1));
+
+        // Assert
+        assertEquals(9, result.totalElements());
+        assertNull(result.content().get(0).services());
+        verify(repository, never()).findItemsByOrderIds(any());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findAttributes(any(Specification.class), any(), pageable.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), pageable.getValue().getSort());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should return empty when the order of a fieldset is not found")
+    void shouldReturnEmptyFieldsWhenNotFound() {
+        when(repository.findAttributes(any(Specification.class), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertTrue(dataSource.findFieldsById(9L, new ServiceOrderFieldsDto(Set.of("services"))).isEmpty());
+        verify(repository, never()).findItemsByOrderIds(any());
+    }
+
+    @Test
+    @DisplayName("Should read page versions in id order, like the pages themselves")
+    void shouldFindVersionsInIdOrder() {
+        // Arrange
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, "RECEIVED", LocalDateTime.now());
+        when(repository.findVersionsByCustomerId(eq(7L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(version)));
+        when(repository.findByCustomerId(eq(7L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(createEntity(1L))));
+
+        // Act
+        PageDto<ServiceOrderVersionDto> versions = dataSource.findVersionsByCustomerId(7L, new PageRequestDto(1, 3));
+        dataSource.findByCustomerId(7L, new PageRequestDto(1, 3));
+
+        // Assert
+        assertEquals(List.of(version), versions.content());
+        ArgumentCaptor<Pageable> versionPage = ArgumentCaptor.forClass(Pageable.class);
+        ArgumentCaptor<Pageable> orderPage = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findVersionsByCustomerId(eq(7L), versionPage.capture());
+        verify(repository).findByCustomerId(eq(7L), orderPage.capture());
+        assertEquals(Sort.by("id"), versionPage.getValue().getSort());
+        assertEquals(orderPage.getValue(), versionPage.getValue());
+    }
+
+    @Test
+    @DisplayName("Should return no versions for an unknown status")
+    void shouldReturnNoVersionsForUnknownStatus() {
+        PageDto<ServiceOrderVersionDto> result = dataSource.findVersionsByStatus("INVALID", new PageRequestDto(0, 10));
+
+        assertTrue(result.content().isEmpty());
+        verify(repository, never()).findVersionsByStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should find the version of an order")
+    void shouldFindVersionById() {
+        ServiceOrderVersionDto version = new ServiceOrderVersionDto(1L, "RECEIVED", LocalDateTime.now());
+        when(repository.findVersionById(1L)).thenReturn(Optional.of(version));
+
+        assertEquals(Optional.of(version), dataSource.findVersionById(1L));
+    }
+
     @Test
     @DisplayName("Should delete order by ID")
     void shouldDeleteOrderById() {
@@ -201,6 +362,22 @@ class ServiceOrderDataSourceImplTest {
         verify(repository).deleteById(orderId);
     }
 
+    @Test
+    @DisplayName("Should decrement the status counter when deleting an order")
+    void shouldDecrementStatusCounterWhenDeleting() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(5L);
+        existing.setStatus("IN_EXECUTION");
+        when(repository.findById(5L)).thenReturn(Optional.of(existing));
+
+        // Act
+        dataSource.deleteById(5L);
+
+        // Assert
+        verify(statusCounts).decrement("IN_EXECUTION", 5L);
+        verify(repository).deleteById(5L);
+    }
+
     @Test
     @DisplayName("Should update service order with services and resources")
     void shouldUpdateServiceOrderWithServicesAndResources() {
@@ -413,4 +590,284 @@ class ServiceOrderDataSourceImplTest {
         assertEquals(BigDecimal.ZERO, result.services().get(0).totalPrice());
         assertEquals(BigDecimal.ZERO, result.resources().get(0).totalPrice());
     }
+
+    private ServiceOrderPersistenceDto statusUpdate(String status, LocalDateTime updatedAt) {
+        return ServiceOrderPersistenceDto.builder()
+                .customerId(100L)
+                .vehicleId(200L)
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 3, 1, 8, 0))
+                .updatedAt(updatedAt)
+                .services(List.of())
+                .resources(List.of())
+                .build();
+    }
+
+    private ServiceOrderStatusHistoryEntity capturedHistory() {
+        ArgumentCaptor<ServiceOrderStatusHistoryEntity> captor = ArgumentCaptor
+                .forClass(ServiceOrderStatusHistoryEntity.class);
+        verify(statusHistoryRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should record initial status when inserting")
+    void shouldRecordInitialStatusWhenInserting() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 8, 0);
+        ServiceOrderPersistenceDto dto = statusUpdate("RECEIVED", null);
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> {
+            ServiceOrderEntity entity = invocation.getArgument(0);
+            entity.setId(7L);
+            return entity;
+        });
+
+        // Act
+        dataSource.insert(dto);
+
+        // Assert
+        ServiceOrderStatusHistoryEntity history = capturedHistory();
+        assertEquals(7L, history.getOrderId());
+        assertNull(history.getFromStatus());
+        assertEquals("RECEIVED", history.getToStatus());
+        assertEquals(createdAt, history.getChangedAt());
+        assertNull(history.getDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("Should record transition with time spent since the latest transition")
+    void shouldRecordTransitionWithDurationSinceLatestTransition() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(20L);
+        existing.setStatus("IN_DIAGNOSIS");
+        LocalDateTime enteredAt = LocalDateTime.of(2024, 3, 1, 9, 0);
+        LocalDateTime changedAt = enteredAt.plusHours(5).plusMinutes(30);
+        when(repository.findById(20L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statusHistoryRepository.findFirstByOrderIdOrderByChangedAtDesc(20L))
+                .thenReturn(Optional.of(ServiceOrderStatusHistoryEntity.builder()
+                        .orderId(20L)
+                        .fromStatus("RECEIVED")
+                        .toStatus("IN_DIAGNOSIS")
+                        .changedAt(enteredAt)
+                        .build()));
+
+        // Act
+        dataSource.update(20L, statusUpdate("WAITING_APPROVAL", changedAt));
+
+        // Assert
+        ServiceOrderStatusHistoryEntity history = capturedHistory();
+        assertEquals("IN_DIAGNOSIS", history.getFromStatus());
+        assertEquals("WAITING_APPROVAL", history.getToStatus());
+        assertEquals(changedAt, history.getChangedAt());
+        assertEquals(19800L, history.getDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("Should measure RECEIVED from creation when the order has no history")
+    void shouldMeasureReceivedFromCreationWithoutHistory() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(21L);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 8, 0);
+        existing.setCreatedAt(createdAt);
+        when(repository.findById(21L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        dataSource.update(21L, statusUpdate("IN_DIAGNOSIS", createdAt.plusHours(2)));
+
+        // Assert
+        assertEquals(7200L, capturedHistory().getDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("Should leave duration empty when the previous status entry is unknown")
+    void shouldLeaveDurationEmptyWhenEntryUnknown() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(22L);
+        existing.setStatus("IN_EXECUTION");
+        when(repository.findById(22L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        dataSource.update(22L, statusUpdate("FINISHED", LocalDateTime.now()));
+
+        // Assert
+        ServiceOrderStatusHistoryEntity history = capturedHistory();
+        assertEquals("IN_EXECUTION", history.getFromStatus());
+        assertNull(history.getDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("Should not record history when status is unchanged")
+    void shouldNotRecordHistoryWhenStatusUnchanged() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(23L);
+        when(repository.findById(23L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        dataSource.update(23L, statusUpdate("RECEIVED", LocalDateTime.now()));
+
+        // Assert
+        verifyNoInteractions(statusHistoryRepository);
+        verifyNoInteractions(statusCounts);
+    }
+
+    @Test
+    @DisplayName("Should clear the SLA breach flag when the status changes")
+    void shouldClearSlaBreachWhenStatusChanges() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(25L);
+        existing.setStatus("WAITING_APPROVAL");
+        existing.setSlaBreachedAt(LocalDateTime.now().minusHours(1));
+        when(repository.findById(25L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        dataSource.update(25L, statusUpdate("IN_EXECUTION", LocalDateTime.now()));
+
+        // Assert
+        assertNull(existing.getSlaBreachedAt());
+    }
+
+    @Test
+    @DisplayName("Should find vehicle history by vehicle id after the keyset position")
+    void shouldFindVehicleHistoryByVehicleId() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.of(2024, 3, 1, 8, 0);
+        when(repository.findVehicleHistory(2001L, before, 9L, Limit.of(16)))
+                .thenReturn(List.of(createEntity(8L), createEntity(7L)));
+
+        // Act
+        List<ServiceOrderDto> result = dataSource.findVehicleHistory(
+                new VehicleHistoryQueryDto(2001L, null, before, 9L, 16));
+
+        // Assert
+        assertEquals(List.of(8L, 7L), result.stream().map(ServiceOrderDto::id).toList());
+        verify(repository, never()).findLicensePlateHistory(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should find vehicle history summaries by license plate")
+    void shouldFindVehicleHistorySummaryByLicensePlate() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.of(2024, 3, 1, 8, 0);
+        ServiceOrderSummaryDto summary = ServiceOrderSummaryDto.builder().id(3L).build();
+        when(repository.findLicensePlateHistorySummary("ABC1D23", before, 9L, Limit.of(16)))
+                .thenReturn(List.of(summary));
+
+        // Act
+        List<ServiceOrderSummaryDto> result = dataSource.findVehicleHistorySummary(
+                new VehicleHistoryQueryDto(null, "ABC1D23", before, 9L, 16));
+
+        // Assert
+        assertEquals(List.of(summary), result);
+        verify(repository, never()).findLicensePlateHistory(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should map text search results with their score")
+    void shouldMapTextSearchResults() {
+        // Arrange
+        SearchResultView view = mock(SearchResultView.class);
+        when(view.getId()).thenReturn(1L);
+        when(view.getDescription()).thenReturn("Barulho ao frear");
+        when(view.getVehicleLicensePlate()).thenReturn("ABC1D23");
+        when(view.getStatus()).thenReturn("WAITING_APPROVAL");
+        when(view.getScore()).thenReturn(0.6f);
+        when(repository.searchText("barulho", "BARULHO", Float.MAX_VALUE, Long.MAX_VALUE, 16))
+                .thenReturn(List.of(view));
+
+        // Act
+        List<ServiceOrderSearchResultDto> result = dataSource.searchText(
+                new TextSearchQueryDto("barulho", "BARULHO", Float.MAX_VALUE, Long.MAX_VALUE, 16));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+        assertEquals("Barulho ao frear", result.get(0).description());
+        assertEquals("ABC1D23", result.get(0).vehicleLicensePlate());
+        assertEquals(0.6f, result.get(0).score());
+    }
+
+    @Test
+    @DisplayName("Should increment the status counter when inserting")
+    void shouldIncrementStatusCounterWhenInserting() {
+        // Arrange
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> {
+            ServiceOrderEntity entity = invocation.getArgument(0);
+            entity.setId(8L);
+            return entity;
+        });
+
+        // Act
+        dataSource.insert(statusUpdate("RECEIVED", null));
+
+        // Assert
+        verify(statusCounts).increment("RECEIVED", 8L);
+    }
+
+    @Test
+    @DisplayName("Should move the order between status counters on transition")
+    void shouldMoveOrderBetweenStatusCountersOnTransition() {
+        // Arrange
+        ServiceOrderEntity existing = createEntity(24L);
+        existing.setStatus("WAITING_APPROVAL");
+        when(repository.findById(24L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(ServiceOrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        dataSource.update(24L, statusUpdate("IN_EXECUTION", LocalDateTime.now()));
+
+        // Assert
+        verify(statusCounts).transition("WAITING_APPROVAL", "IN_EXECUTION", 24L);
+    }
+
+    @Test
+    @DisplayName("Should read status counts from the counters")
+    void shouldReadStatusCountsFromCounters() {
+        // Arrange
+        when(statusCounts.totals()).thenReturn(Map.of("RECEIVED", 3L));
+
+        // Act
+        Map<String, Long> result = dataSource.countByStatus();
+
+        // Assert
+        assertEquals(Map.of("RECEIVED", 3L), result);
+        verify(repository, never()).countGroupedByStatus();
+    }
+
+    @Test
+    @DisplayName("Should convert time-in-status aggregates to hours")
+    void shouldConvertTimeInStatusAggregatesToHours() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        StatusDurationView view = mock(StatusDurationView.class);
+        when(view.getStatus()).thenReturn("WAITING_APPROVAL");
+        when(view.getTransitions()).thenReturn(4L);
+        when(view.getAvgSeconds()).thenReturn(new BigDecimal("9000.0000"));
+        when(view.getMinSeconds()).thenReturn(1800L);
+        when(view.getP50Seconds()).thenReturn(7200.0);
+        when(view.getP90Seconds()).thenReturn(16200.0);
+        when(view.getP95Seconds()).thenReturn(17100.0);
+        when(view.getMaxSeconds()).thenReturn(18000L);
+        when(statusHistoryRepository.aggregateTimeInStatus(from, to)).thenReturn(List.of(view));
+
+        // Act
+        List<ServiceOrderStatusDurationDto> result = dataSource.findTimeInStatus(from, to);
+
+        // Assert
+        assertEquals(1, result.size());
+        ServiceOrderStatusDurationDto duration = result.get(0);
+        assertEquals("WAITING_APPROVAL", duration.status());
+        assertEquals(4L, duration.transitions());
+        assertEquals(new BigDecimal("2.50"), duration.avgHours());
+        assertEquals(new BigDecimal("0.50"), duration.minHours());
+        assertEquals(new BigDecimal("2.00"), duration.p50Hours());
+        assertEquals(new BigDecimal("4.50"), duration.p90Hours());
+        assertEquals(new BigDecimal("4.75"), duration.p95Hours());
+        assertEquals(new BigDecimal("5.00"), duration.maxHours());
+    }
 }
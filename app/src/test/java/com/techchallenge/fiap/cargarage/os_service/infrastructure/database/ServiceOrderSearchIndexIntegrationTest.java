@@ -0,0 +1,328 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.CursorPageDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderFilterDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderSearchResultDto;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderGateway;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.SearchServiceOrdersUseCase;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderDataSourceImpl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Checks that the multi-criteria search uses the indexes of the init script.
+ * Runs the SQL generated from the specifications against an embedded
+ * PostgreSQL loaded with the init script and a synthetic data set, and
+ * asserts on its {@code EXPLAIN} plan. Also runs the ranked text search,
+ * which only PostgreSQL supports, on a few orders added to the data set.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.techchallenge.fiap.cargarage.os_service.infrastructure.database."
+                + "ServiceOrderSearchIndexIntegrationTest$CapturingStatementInspector",
+        "sla.watchdog.enabled=false"
+})
+@ActiveProfiles("test")
+class ServiceOrderSearchIndexIntegrationTest {
+
+    private static final Path INIT_SCRIPT = Path.of("../database/init-scripts/00-init-database.sql");
+    private static final int PAGE_SIZE = 15;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ServiceOrderDataSourceImpl serviceOrderDataSource;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(INIT_SCRIPT));
+            // 20k orders over two years: 2k customers, 4k vehicles, mostly delivered
+            statement.execute("""
+                    INSERT INTO service_order (customer_id, customer_name, vehicle_id, vehicle_license_plate,
+                        description, status, total_price, created_at, updated_at)
+                    SELECT 1 + g % 2000, 'Cliente ' || g, 1 + g % 4000, 'AAA' || lpad((g % 10000)::text, 4, '0'),
+                        'Ordem ' || g,
+                        CASE WHEN g % 20 = 0 THEN 'RECEIVED' WHEN g % 20 = 1 THEN 'IN_EXECUTION'
+                             WHEN g % 20 = 2 THEN 'CANCELLED' WHEN g % 20 = 3 THEN 'FINISHED' ELSE 'DELIVERED' END,
+                        (g % 5000) + 0.50,
+                        TIMESTAMP '2024-01-01' + g * INTERVAL '1 hour' * 0.876,
+                        TIMESTAMP '2024-01-01' + g * INTERVAL '1 hour' * 0.876
+                    FROM generate_series(10, 20009) AS g
+                    """);
+            // Orders for the text search: stems, plates with and without hyphen, ranks and pages
+            statement.execute("""
+                    INSERT INTO service_order (customer_id, customer_name, vehicle_id, vehicle_license_plate,
+                        description, status, total_price, created_at, updated_at)
+                    VALUES (9001, 'Marta Lima', 9001, 'QRS-5T67', 'Barulho ao frear na roda dianteira',
+                            'RECEIVED', 100.00, TIMESTAMP '2026-01-05', TIMESTAMP '2026-01-05'),
+                        (9002, 'Paulo Reis', 9002, 'QRS5T68', 'Barulhos nos freios ao frear',
+                            'RECEIVED', 100.00, TIMESTAMP '2026-01-05', TIMESTAMP '2026-01-05'),
+                        (9003, 'Rita Alves', 9003, 'QRS-5T69', 'Freada com barulho',
+                            'RECEIVED', 100.00, TIMESTAMP '2026-01-05', TIMESTAMP '2026-01-05'),
+                        (9004, 'Caio Nunes', 9004, 'QRS-5T70',
+                            'Barulho ao frear, barulho forte ao frear em descida',
+                            'RECEIVED', 100.00, TIMESTAMP '2026-01-05', TIMESTAMP '2026-01-05'),
+                        (9005, 'Ines Rocha', 9005, 'QRS-5T71', 'Barulho na suspensão',
+                            'RECEIVED', 100.00, TIMESTAMP '2026-01-05', TIMESTAMP '2026-01-05')
+                    """);
+            statement.execute("""
+                    INSERT INTO service_order (customer_id, customer_name, vehicle_id, vehicle_license_plate,
+                        description, status, total_price, created_at, updated_at)
+                    SELECT 9100 + g, 'Cliente ' || (9100 + g), 9100 + g, 'RVS' || lpad(g::text, 4, '0'),
+                        CASE WHEN g % 3 = 0 THEN 'Revisão programada, revisão dos freios'
+                             ELSE 'Revisão programada ' || g END,
+                        'RECEIVED', 200.00, TIMESTAMP '2026-02-01', TIMESTAMP '2026-02-01'
+                    FROM generate_series(1, 25) AS g
+                    """);
+            statement.execute("ANALYZE service_order");
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Should read a customer's orders from the customer index")
+    void shouldUseCustomerIndex() throws SQLException {
+        String plan = explain(filter(List.of(), 42L, null, null, null, null), 42L);
+
+        assertUsesIndex(plan, "idx_service_order_customer_created");
+    }
+
+    @Test
+    @DisplayName("Should read a customer's orders in a status from the customer index")
+    void shouldUseCustomerIndexWithStatus() throws SQLException {
+        String plan = explain(filter(List.of("DELIVERED"), 42L, null, null, null, null), "DELIVERED", 42L);
+
+        assertUsesIndex(plan, "idx_service_order_customer_created");
+    }
+
+    @Test
+    @DisplayName("Should read a status within a date range from the status index")
+    void shouldUseStatusIndexForStatusAndRange() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        String plan = explain(filter(List.of("CANCELLED"), null, null, from, to, null), "CANCELLED", from, to);
+
+        assertUsesIndex(plan, "idx_service_order_status_created");
+    }
+
+    @Test
+    @DisplayName("Should read several open statuses in order from the partial index")
+    void shouldUseOpenOrdersPartialIndex() throws SQLException {
+        String plan = explain(filter(List.of("RECEIVED", "IN_EXECUTION"), null, null, null, null, null),
+                "RECEIVED", "IN_EXECUTION");
+
+        assertUsesIndex(plan, "idx_service_order_open_created");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    @DisplayName("Should read a vehicle's orders from the vehicle history index")
+    void shouldUseVehicleIndex() throws SQLException {
+        BigDecimal minTotal = new BigDecimal("100.00");
+
+        String plan = explain(filter(List.of(), null, 77L, null, null, minTotal), 77L, minTotal);
+
+        assertUsesIndex(plan, "idx_service_order_vehicle_history");
+    }
+
+    @Test
+    @DisplayName("Should read a date range from the creation index")
+    void shouldUseCreatedIndexForRange() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 8, 0, 0);
+
+        String plan = explain(filter(List.of(), null, null, from, to, null), from, to);
+
+        assertUsesIndex(plan, "idx_service_order_created");
+    }
+
+    @Test
+    @DisplayName("Should match Portuguese word variants of every term of the text")
+    void shouldMatchPortugueseStems() {
+        List<String> descriptions = searchText("barulho ao frear", 100).content().stream()
+                .map(ServiceOrderSearchResultDto::description)
+                .toList();
+
+        assertTrue(descriptions.containsAll(List.of(
+                "Barulho ao frear na roda dianteira",
+                "Barulhos nos freios ao frear",
+                "Freada com barulho",
+                "Barulho ao frear, barulho forte ao frear em descida")), descriptions::toString);
+        assertFalse(descriptions.contains("Barulho na suspensão"), descriptions::toString);
+    }
+
+    @Test
+    @DisplayName("Should match a partial license plate typed without hyphen")
+    void shouldMatchPartialPlateWithoutHyphen() {
+        List<String> plates = plates(searchText("5t6", 100));
+
+        assertEquals(List.of("QRS-5T69", "QRS5T68", "QRS-5T67"), plates);
+    }
+
+    @Test
+    @DisplayName("Should match a partial license plate typed with hyphen")
+    void shouldMatchPartialPlateWithHyphen() {
+        List<String> plates = plates(searchText("S-5T6", 100));
+
+        assertEquals(List.of("QRS-5T69", "QRS5T68", "QRS-5T67"), plates);
+    }
+
+    @Test
+    @DisplayName("Should rank orders that repeat the terms first")
+    void shouldRankByRelevance() {
+        List<ServiceOrderSearchResultDto> results = searchText("barulho ao frear", 100).content();
+
+        assertEquals("Barulho ao frear, barulho forte ao frear em descida", results.get(0).description());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).score() >= results.get(i).score(), results::toString);
+        }
+    }
+
+    @Test
+    @DisplayName("Should page the results with the cursor without duplicates or gaps")
+    void shouldPageWithCursor() {
+        List<Long> expected = ids(searchText("revisão", 100));
+
+        SearchServiceOrdersUseCase useCase = searchUseCase();
+        CursorPageDto<ServiceOrderSearchResultDto> first = useCase.searchText("revisão", null, 4);
+        CursorPageDto<ServiceOrderSearchResultDto> second = useCase.searchText("revisão", first.nextCursor(), 4);
+        List<Long> paged = new ArrayList<>(ids(first));
+        paged.addAll(ids(second));
+        String cursor = second.nextCursor();
+        while (cursor != null) {
+            CursorPageDto<ServiceOrderSearchResultDto> page = useCase.searchText("revisão", cursor, 4);
+            paged.addAll(ids(page));
+            cursor = page.nextCursor();
+        }
+
+        assertTrue(expected.size() >= 25, expected::toString);
+        assertEquals(expected.subList(4, 8), ids(second));
+        assertEquals(expected, paged);
+        assertEquals(paged.size(), new HashSet<>(paged).size());
+    }
+
+    private SearchServiceOrdersUseCase searchUseCase() {
+        return new SearchServiceOrdersUseCase(new ServiceOrderGateway(serviceOrderDataSource));
+    }
+
+    private CursorPageDto<ServiceOrderSearchResultDto> searchText(String text, int size) {
+        return searchUseCase().searchText(text, null, size);
+    }
+
+    private static List<Long> ids(CursorPageDto<ServiceOrderSearchResultDto> page) {
+        return page.content().stream().map(ServiceOrderSearchResultDto::id).toList();
+    }
+
+    private static List<String> plates(CursorPageDto<ServiceOrderSearchResultDto> page) {
+        return page.content().stream().map(ServiceOrderSearchResultDto::vehicleLicensePlate).toList();
+    }
+
+    private static ServiceOrderFilterDto filter(List<String> statuses, Long customerId, Long vehicleId,
+            LocalDateTime createdFrom, LocalDateTime createdTo, BigDecimal minTotal) {
+        return new ServiceOrderFilterDto(statuses, customerId, vehicleId, createdFrom, createdTo, minTotal);
+    }
+
+    /**
+     * Runs the search, then explains the page query it issued with the given
+     * filter values followed by the page offset and size.
+     */
+    private String explain(ServiceOrderFilterDto filter, Object... filterValues) throws SQLException {
+        serviceOrderDataSource.search(filter, new PageRequestDto(0, PAGE_SIZE));
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("order by"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No page query captured"));
+
+        List<Object> values = new ArrayList<>(List.of(filterValues));
+        values.add(0);
+        values.add(PAGE_SIZE);
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), () -> "Unexpected sequential scan:\n" + plan);
+    }
+
+    /**
+     * Records the SQL Hibernate sends so its plan can be inspected.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderStatusCountEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCountRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCountRepository.StatusCountView;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderStatusCounts;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceOrderStatusCountsTest {
+
+    private static final int SHARDS = 4;
+
+    @Mock
+    private ServiceOrderStatusCountRepository countRepository;
+
+    @Mock
+    private ServiceOrderRepository serviceOrderRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceOrderStatusCounts statusCounts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statusCounts = new ServiceOrderStatusCounts(countRepository, serviceOrderRepository, meterRegistry, SHARDS);
+    }
+
+    private static StatusCountView view(String status, long total) {
+        return new StatusCountView() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should upsert the shard picked by the order id")
+    void shouldUpsertShardPickedByOrderId() {
+        // Act
+        statusCounts.increment("RECEIVED", 10L);
+
+        // Assert
+        verify(countRepository).addToCount("RECEIVED", 2, 1L);
+        verify(countRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should move an order between statuses on the same shard")
+    void shouldMoveOrderBetweenStatuses() {
+        // Act
+        statusCounts.transition("WAITING_APPROVAL", "IN_EXECUTION", 5L);
+
+        // Assert
+        verify(countRepository).addToCount("WAITING_APPROVAL", 1, -1L);
+        verify(countRepository).addToCount("IN_EXECUTION", 1, 1L);
+    }
+
+    @Test
+    @DisplayName("Should update the shard rows of a transition in status name order")
+    void shouldUpdateTransitionRowsInStatusOrder() {
+        // Act
+        statusCounts.transition("RECEIVED", "IN_DIAGNOSIS", 6L);
+
+        // Assert
+        InOrder inOrder = inOrder(countRepository);
+        inOrder.verify(countRepository).addToCount("IN_DIAGNOSIS", 2, 1L);
+        inOrder.verify(countRepository).addToCount("RECEIVED", 2, -1L);
+    }
+
+    @Test
+    @DisplayName("Should decrement the status of a deleted order")
+    void shouldDecrementDeletedOrder() {
+        // Act
+        statusCounts.decrement("CANCELLED", 8L);
+
+        // Assert
+        verify(countRepository).addToCount("CANCELLED", 0, -1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore orders without a status")
+    void shouldIgnoreOrdersWithoutStatus() {
+        // Act
+        statusCounts.increment(null, 9L);
+
+        // Assert
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    @DisplayName("Should backfill counters from existing orders on first start")
+    @SuppressWarnings("unchecked")
+    void shouldBackfillCountersOnFirstStart() {
+        // Arrange
+        when(countRepository.count()).thenReturn(0L);
+        when(serviceOrderRepository.countGroupedByStatus()).thenReturn(List.of(view("RECEIVED", 3L)));
+        when(countRepository.sumByStatus()).thenReturn(List.of(view("RECEIVED", 3L)));
+
+        // Act
+        statusCounts.initialize();
+
+        // Assert
+        ArgumentCaptor<Iterable<ServiceOrderStatusCountEntity>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(countRepository).saveAll(captor.capture());
+        List<ServiceOrderStatusCountEntity> rows = new ArrayList<>();
+        captor.getValue().forEach(rows::add);
+        assertEquals(ServiceOrderStatusEnum.values().length * SHARDS, rows.size());
+        assertEquals(3L, rows.stream().mapToLong(ServiceOrderStatusCountEntity::getOrderCount).sum());
+        assertTrue(rows.stream().anyMatch(row -> row.getStatus().equals("RECEIVED")
+                && row.getShard() == 0 && row.getOrderCount() == 3L));
+    }
+
+    @Test
+    @DisplayName("Should skip backfill when counters already exist")
+    void shouldSkipBackfillWhenCountersExist() {
+        // Arrange
+        when(countRepository.count()).thenReturn(28L);
+
+        // Act
+        statusCounts.initialize();
+
+        // Assert
+        verify(countRepository, never()).saveAll(anyIterable());
+        verifyNoInteractions(serviceOrderRepository);
+    }
+
+    @Test
+    @DisplayName("Should tolerate another instance seeding the counters first")
+    void shouldTolerateConcurrentSeeding() {
+        // Arrange
+        when(countRepository.count()).thenReturn(0L);
+        when(countRepository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> statusCounts.initialize());
+    }
+
+    @Test
+    @DisplayName("Should publish the counts as gauges per status")
+    void shouldPublishCountsAsGauges() {
+        // Arrange
+        when(countRepository.sumByStatus()).thenReturn(List.of(view("IN_EXECUTION", 6L)));
+
+        // Act
+        statusCounts.refreshGauges();
+
+        // Assert
+        assertEquals(6.0, meterRegistry.get("service_orders.status.count").tag("status", "IN_EXECUTION").gauge().value());
+        assertEquals(0.0, meterRegistry.get("service_orders.status.count").tag("status", "RECEIVED").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should sum the shards of each status")
+    void shouldReturnTotals() {
+        // Arrange
+        when(countRepository.sumByStatus()).thenReturn(List.of(view("RECEIVED", 2L), view("FINISHED", 9L)));
+
+        // Act
+        Map<String, Long> totals = statusCounts.totals();
+
+        // Assert
+        assertEquals(Map.of("RECEIVED", 2L, "FINISHED", 9L), totals);
+    }
+}
@@ -0,0 +1,105 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderItemRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderPersistenceDto;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderResourceRequestDto;
+import com.techchallenge.fiap.cargarage.os_service.application.gateway.ServiceOrderMappingBenchmark;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.ServiceOrderEntity;
+
+/**
+ * Baselines for the data source mappers: persistence DTO to JPA entity and
+ * entity back to DTO, for orders with {@code items} services plus
+ * {@code items} resources. Kept in the data source's package to reach its
+ * package-private mappers; the gateway and presenter mappings are covered by
+ * {@link ServiceOrderMappingBenchmark}. Run with {@code -prof gc} to compare
+ * allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceOrderEntityMappingBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Param({ "0", "10", "100" })
+    private int items;
+
+    private ServiceOrderPersistenceDto persistenceDto;
+    private ServiceOrderEntity entity;
+
+    @Setup
+    public void setUp() {
+        persistenceDto = buildPersistenceDto(items);
+        entity = ServiceOrderDataSourceImpl.toEntity(persistenceDto);
+    }
+
+    @Benchmark
+    public ServiceOrderEntity dataSourceToEntity() {
+        return ServiceOrderDataSourceImpl.toEntity(persistenceDto);
+    }
+
+    @Benchmark
+    public ServiceOrderDto dataSourceToDto() {
+        return ServiceOrderDataSourceImpl.toDto(entity);
+    }
+
+    private static ServiceOrderPersistenceDto buildPersistenceDto(int items) {
+        List<ServiceOrderItemRequestDto> services = new ArrayList<>(items);
+        List<ServiceOrderResourceRequestDto> resources = new ArrayList<>(items);
+        for (long i = 1; i <= items; i++) {
+            services.add(ServiceOrderItemRequestDto.builder()
+                    .serviceId(300L + i)
+                    .serviceName("Service " + i)
+                    .serviceDescription("Service description " + i)
+                    .price(new BigDecimal("150.00"))
+                    .quantity(1)
+                    .build());
+            resources.add(ServiceOrderResourceRequestDto.builder()
+                    .resourceId(400L + i)
+                    .resourceName("Part " + i)
+                    .resourceDescription("Part description " + i)
+                    .resourceType("PART")
+                    .price(new BigDecimal("80.00"))
+                    .quantity(2)
+                    .build());
+        }
+        return ServiceOrderPersistenceDto.builder()
+                .id(1L)
+                .customerId(1L)
+                .customerName("John Doe")
+                .vehicleId(2L)
+                .vehicleLicensePlate("ABC-1234")
+                .vehicleModel("Civic")
+                .vehicleBrand("Honda")
+                .description("Benchmark order")
+                .status("RECEIVED")
+                .totalPrice(new BigDecimal("230.00").multiply(BigDecimal.valueOf(items)))
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .services(services)
+                .resources(resources)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+@ExtendWith(MockitoExtension.class)
+class EventSpoolDrainerTest {
+
+    @Mock
+    private SqsClient sqsClient;
+
+    @TempDir
+    Path directory;
+
+    private EventSpool spool;
+    private SqsPublishCircuitBreaker circuitBreaker;
+    private EventSpoolDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        spool = new EventSpool(new ObjectMapper(), new SimpleMeterRegistry(), true, directory.toString(), 4096, false);
+        circuitBreaker = new SqsPublishCircuitBreaker(1, 60);
+        drainer = new EventSpoolDrainer(spool, sqsClient, circuitBreaker, 100);
+        for (int i = 0; i < 3; i++) {
+            spool.append(SendMessageRequest.builder().queueUrl("queue").messageBody("m" + i).build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay all spooled messages when SQS is available")
+    void shouldReplayWhenAvailable() {
+        // Arrange
+        when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(SendMessageResponse.builder().build());
+
+        // Act
+        drainer.drain();
+
+        // Assert
+        verify(sqsClient, times(3)).sendMessage(any(SendMessageRequest.class));
+        assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop at the first failure and open the circuit")
+    void shouldStopAtFirstFailure() {
+        // Arrange
+        when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                .thenThrow(SqsException.builder().message("Unreachable").build());
+
+        // Act
+        drainer.drain();
+        drainer.drain();
+
+        // Assert - second run skipped because the circuit is open
+        verify(sqsClient, times(1)).sendMessage(any(SendMessageRequest.class));
+        assertEquals(3, spool.depth());
+    }
+}
@@ -0,0 +1,171 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+class EventSpoolTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventSpool spool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spool = openSpool();
+    }
+
+    private EventSpool openSpool() {
+        return new EventSpool(new ObjectMapper(), meterRegistry, true, directory.toString(), SEGMENT_SIZE, false);
+    }
+
+    private SendMessageRequest request(int n) {
+        return SendMessageRequest.builder()
+                .queueUrl("http://localhost:4566/000000000000/os-events.fifo")
+                .messageBody("{\"orderId\": " + n + "}")
+                .messageGroupId("os-service-events")
+                .messageDeduplicationId("dedup-" + n)
+                .messageAttributes(Map.of("eventType", MessageAttributeValue.builder()
+                        .stringValue("ORDER_APPROVED").dataType("String").build()))
+                .build();
+    }
+
+    private List<SpooledMessage> drainAll(EventSpool target) {
+        List<SpooledMessage> drained = new ArrayList<>();
+        target.drain(drained::add, Integer.MAX_VALUE);
+        return drained;
+    }
+
+    @Test
+    @DisplayName("Should replay messages in append order with all request fields")
+    void shouldReplayInOrder() {
+        // Arrange
+        spool.append(request(1));
+        spool.append(request(2));
+
+        // Act
+        List<SpooledMessage> drained = drainAll(spool);
+
+        // Assert
+        assertEquals(2, drained.size());
+        SendMessageRequest replayed = drained.get(0).toRequest();
+        assertEquals("{\"orderId\": 1}", replayed.messageBody());
+        assertEquals("os-service-events", replayed.messageGroupId());
+        assertEquals("dedup-1", replayed.messageDeduplicationId());
+        assertEquals("ORDER_APPROVED", replayed.messageAttributes().get("eventType").stringValue());
+        assertEquals("{\"orderId\": 2}", drained.get(1).messageBody());
+        assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep message when sender rejects it")
+    void shouldKeepRejectedMessage() {
+        // Arrange
+        spool.append(request(1));
+
+        // Act
+        int sent = spool.drain(message -> false, 10);
+
+        // Assert
+        assertEquals(0, sent);
+        assertEquals(1, spool.depth());
+        assertEquals("{\"orderId\": 1}", drainAll(spool).get(0).messageBody());
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete the drained ones")
+    void shouldRollAndDeleteSegments() throws Exception {
+        // Arrange - each record takes a few hundred bytes, forcing several segments
+        for (int i = 0; i < 50; i++) {
+            spool.append(request(i));
+        }
+
+        // Act
+        List<SpooledMessage> drained = drainAll(spool);
+
+        // Assert
+        assertEquals(50, drained.size());
+        assertEquals("{\"orderId\": 49}", drained.get(49).messageBody());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("segment-")).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover pending messages and read position after restart")
+    void shouldRecoverAfterRestart() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            spool.append(request(i));
+        }
+        spool.drain(message -> true, 5);
+
+        // Act
+        EventSpool reopened = openSpool();
+
+        // Assert
+        assertEquals(15, reopened.depth());
+        List<SpooledMessage> drained = drainAll(reopened);
+        assertEquals(15, drained.size());
+        assertEquals("{\"orderId\": 5}", drained.get(0).messageBody());
+    }
+
+    @Test
+    @DisplayName("Should expose depth and oldest age gauges")
+    void shouldExposeGauges() {
+        // Act
+        spool.append(request(1));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("sqs.spool.depth").gauge().value());
+        assertTrue(meterRegistry.get("sqs.spool.oldest.age.seconds").gauge().value() >= 0);
+
+        drainAll(spool);
+        assertEquals(0.0, meterRegistry.get("sqs.spool.depth").gauge().value());
+        assertEquals(0.0, meterRegistry.get("sqs.spool.oldest.age.seconds").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should reject messages larger than a segment")
+    void shouldRejectOversizedMessage() {
+        SendMessageRequest oversized = SendMessageRequest.builder()
+                .queueUrl("queue")
+                .messageBody("x".repeat(SEGMENT_SIZE))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> spool.append(oversized));
+    }
+
+    @Test
+    @DisplayName("Should not touch the file system when disabled")
+    void shouldDoNothingWhenDisabled(@TempDir Path unused) throws Exception {
+        EventSpool disabled = new EventSpool(new ObjectMapper(), new SimpleMeterRegistry(), false,
+                unused.resolve("spool").toString(), SEGMENT_SIZE, false);
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.drain(message -> true, 10));
+        assertThrows(IllegalStateException.class, () -> disabled.append(request(1)));
+        assertFalse(Files.exists(unused.resolve("spool")));
+    }
+}
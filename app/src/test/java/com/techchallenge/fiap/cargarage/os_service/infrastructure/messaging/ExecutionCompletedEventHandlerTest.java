@@ -0,0 +1,64 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionCompletedEventHandlerTest {
+
+    @Mock
+    private UpdateServiceOrderStatusUseCase updateStatusUseCase;
+
+    private ExecutionCompletedEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ExecutionCompletedEventHandler(updateStatusUseCase);
+    }
+
+    @Test
+    @DisplayName("Should consume the execution-completed queue with its typed event")
+    void shouldDeclareNameAndEventType() {
+        assertEquals("execution-completed", handler.name());
+        assertEquals(ExecutionCompletedEventDto.class, handler.eventType());
+    }
+
+    @Test
+    @DisplayName("Should transition order to FINISHED")
+    void shouldTransitionOrderToFinished() {
+        // Act
+        handler.handle(new ExecutionCompletedEventDto(100L));
+
+        // Assert
+        ArgumentCaptor<ServiceOrderStatusUpdateDto> captor = ArgumentCaptor
+                .forClass(ServiceOrderStatusUpdateDto.class);
+        verify(updateStatusUseCase).execute(eq(100L), captor.capture());
+        assertEquals(ServiceOrderStatusEnum.FINISHED.name(), captor.getValue().status());
+    }
+
+    @Test
+    @DisplayName("Should rethrow exception when use case fails")
+    void shouldRethrowExceptionWhenUseCaseFails() {
+        // Arrange
+        when(updateStatusUseCase.execute(eq(999L), any(ServiceOrderStatusUpdateDto.class)))
+                .thenThrow(new NotFoundException("Order not found"));
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> handler.handle(new ExecutionCompletedEventDto(999L)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+
+class InboundEventDecoderTest {
+
+    private final InboundEventDecoder decoder = new InboundEventDecoder(new ObjectMapper());
+
+    @Test
+    @DisplayName("Should decode typed event ignoring unknown fields")
+    void shouldDecodeTypedEventIgnoringUnknownFields() throws Exception {
+        QuoteApprovedEventDto event = decoder.decode(
+                "{\"orderId\": 10, \"budgetId\": \"b-1\", \"items\": [{\"a\": 1}]}",
+                QuoteApprovedEventDto.class);
+
+        assertEquals(10L, event.orderId());
+    }
+
+    @Test
+    @DisplayName("Should decode optional reason")
+    void shouldDecodeOptionalReason() throws Exception {
+        PaymentFailedEventDto withReason = decoder.decode(
+                "{\"orderId\": 11, \"reason\": \"CARD_DECLINED\"}", PaymentFailedEventDto.class);
+        ResourceUnavailableEventDto withoutReason = decoder.decode(
+                "{\"orderId\": 12}", ResourceUnavailableEventDto.class);
+
+        assertEquals("CARD_DECLINED", withReason.reason());
+        assertNull(withoutReason.reason());
+    }
+
+    @Test
+    @DisplayName("Should coerce numeric string orderId")
+    void shouldCoerceNumericStringOrderId() throws Exception {
+        ExecutionCompletedEventDto event = decoder.decode(
+                "{\"orderId\": \"13\"}", ExecutionCompletedEventDto.class);
+
+        assertEquals(13L, event.orderId());
+    }
+
+    @Test
+    @DisplayName("Should reject missing, null or empty payloads")
+    void shouldRejectMissingOrEmptyPayloads() {
+        assertThrows(InvalidDataException.class,
+                () -> decoder.decode("{}", QuoteApprovedEventDto.class));
+        assertThrows(InvalidDataException.class,
+                () -> decoder.decode("null", QuoteApprovedEventDto.class));
+        assertThrows(InvalidDataException.class,
+                () -> decoder.decode(" ", QuoteApprovedEventDto.class));
+    }
+
+    @Test
+    @DisplayName("Should fail with JsonProcessingException for malformed JSON")
+    void shouldFailForMalformedJson() {
+        assertThrows(JsonProcessingException.class,
+                () -> decoder.decode("{ broken", QuoteApprovedEventDto.class));
+        assertThrows(JsonProcessingException.class,
+                () -> decoder.decode("{\"orderId\": \"abc\"}", QuoteApprovedEventDto.class));
+    }
+}
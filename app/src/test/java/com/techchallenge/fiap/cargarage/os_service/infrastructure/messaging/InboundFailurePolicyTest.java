@@ -0,0 +1,58 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundFailurePolicy.Classification;
+
+class InboundFailurePolicyTest {
+
+    private final InboundFailurePolicy policy = new InboundFailurePolicy(5, 900, 4);
+
+    @Test
+    @DisplayName("Should classify business rule violations as permanent")
+    void shouldClassifyBusinessExceptionsAsPermanent() {
+        assertEquals(Classification.PERMANENT, policy.classify(new NotFoundException("Order not found")));
+        assertEquals(Classification.PERMANENT, policy.classify(new InvalidDataException("Invalid transition")));
+    }
+
+    @Test
+    @DisplayName("Should classify wrapped parse errors as permanent")
+    void shouldClassifyWrappedParseErrorsAsPermanent() {
+        RuntimeException wrapped = new RuntimeException("Failed to process event",
+                new JsonParseException(null, "Unexpected character"));
+
+        assertEquals(Classification.PERMANENT, policy.classify(wrapped));
+    }
+
+    @Test
+    @DisplayName("Should classify infrastructure errors as retryable")
+    void shouldClassifyInfrastructureErrorsAsRetryable() {
+        assertEquals(Classification.RETRYABLE, policy.classify(new QueryTimeoutException("Timeout")));
+        assertEquals(Classification.RETRYABLE, policy.classify(new IllegalStateException("Pool exhausted")));
+    }
+
+    @Test
+    @DisplayName("Should quarantine permanent failures and retryable ones past the attempt limit")
+    void shouldQuarantineByClassificationAndAttempts() {
+        assertTrue(policy.shouldQuarantine(Classification.PERMANENT, 1));
+        assertFalse(policy.shouldQuarantine(Classification.RETRYABLE, 3));
+        assertTrue(policy.shouldQuarantine(Classification.RETRYABLE, 4));
+    }
+
+    @Test
+    @DisplayName("Should double backoff on every delivery up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        assertEquals(5, policy.backoffSeconds(1));
+        assertEquals(10, policy.backoffSeconds(2));
+        assertEquals(40, policy.backoffSeconds(4));
+        assertEquals(900, policy.backoffSeconds(9));
+        assertEquals(900, policy.backoffSeconds(1_000));
+    }
+}
@@ -0,0 +1,161 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundHandlerRegistry.Registration;
+
+@ExtendWith(MockitoExtension.class)
+class InboundHandlerRegistryTest {
+
+    @Mock
+    private UpdateServiceOrderStatusUseCase updateStatusUseCase;
+
+    @Mock
+    private CancelServiceOrderUseCase cancelUseCase;
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("messaging.sqs.queue.quote-approved", "quote-approved-queue")
+                .withProperty("messaging.sqs.queue.payment-failed", "payment-failed-queue");
+    }
+
+    private InboundHandlerRegistry createRegistry() {
+        return new InboundHandlerRegistry(
+                List.of(new QuoteApprovedEventHandler(updateStatusUseCase),
+                        new PaymentFailedEventHandler(cancelUseCase)),
+                new InboundEventDecoder(new ObjectMapper()), environment, 10);
+    }
+
+    private Registration<?> registration(InboundHandlerRegistry registry, String queueName) {
+        return registry.resolve(queueName, null).orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Registration Tests")
+    class RegistrationTests {
+
+        @Test
+        @DisplayName("Should expose the queue of every handler")
+        void shouldExposeQueueNames() {
+            assertEquals(List.of("quote-approved-queue", "payment-failed-queue"), createRegistry().queueNames());
+        }
+
+        @Test
+        @DisplayName("Should use default concurrency unless the handler overrides it")
+        void shouldResolveConcurrencyLimits() {
+            // Arrange
+            environment.setProperty("messaging.sqs.listener.quote-approved.max-concurrent-messages", "");
+            environment.setProperty("messaging.sqs.listener.payment-failed.max-concurrent-messages", "3");
+
+            // Act
+            InboundHandlerRegistry registry = createRegistry();
+
+            // Assert
+            assertEquals(10, registration(registry, "quote-approved-queue").maxConcurrency());
+            assertEquals(3, registration(registry, "payment-failed-queue").maxConcurrency());
+        }
+
+        @Test
+        @DisplayName("Should reject two handlers on the same queue")
+        void shouldRejectDuplicateQueue() {
+            environment.setProperty("messaging.sqs.queue.payment-failed", "quote-approved-queue");
+
+            assertThrows(IllegalStateException.class, InboundHandlerRegistryTest.this::createRegistry);
+        }
+
+        @Test
+        @DisplayName("Should fail when a handler has no queue configured")
+        void shouldFailWithoutQueueProperty() {
+            environment = new MockEnvironment()
+                    .withProperty("messaging.sqs.queue.quote-approved", "quote-approved-queue");
+
+            assertThrows(IllegalStateException.class, InboundHandlerRegistryTest.this::createRegistry);
+        }
+
+        @Test
+        @DisplayName("Should not resolve unknown queues")
+        void shouldNotResolveUnknownQueue() {
+            assertTrue(createRegistry().resolve("other-queue", "http://localhost/other-queue").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Dispatch Tests")
+    class DispatchTests {
+
+        @Test
+        @DisplayName("Should decode payload ignoring additional fields")
+        void shouldDecodeIgnoringAdditionalFields() {
+            registration(createRegistry(), "quote-approved-queue")
+                    .dispatch("{\"orderId\": 200, \"extraField\": \"ignored\", \"anotherField\": 123}");
+
+            verify(updateStatusUseCase).execute(eq(200L), any(ServiceOrderStatusUpdateDto.class));
+        }
+
+        @Test
+        @DisplayName("Should decode orderId sent as string")
+        void shouldDecodeOrderIdAsString() {
+            registration(createRegistry(), "quote-approved-queue").dispatch("{\"orderId\": \"201\"}");
+
+            verify(updateStatusUseCase).execute(eq(201L), any(ServiceOrderStatusUpdateDto.class));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed JSON as invalid data")
+        void shouldRejectMalformedJson() {
+            Registration<?> registration = registration(createRegistry(), "payment-failed-queue");
+
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> registration.dispatch("{orderId: 'abc'}"));
+
+            assertEquals("Failed to decode payment-failed event", exception.getMessage());
+            assertInstanceOf(JsonProcessingException.class, exception.getCause());
+            verifyNoInteractions(cancelUseCase);
+        }
+
+        @Test
+        @DisplayName("Should reject message without orderId instead of failing with NPE")
+        void shouldRejectMessageWithoutOrderId() {
+            Registration<?> registration = registration(createRegistry(), "quote-approved-queue");
+
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> registration.dispatch("{\"reason\": \"x\"}"));
+
+            assertTrue(exception.getMessage().contains("orderId"));
+            verifyNoInteractions(updateStatusUseCase);
+        }
+
+        @Test
+        @DisplayName("Should reject message with non-positive orderId")
+        void shouldRejectMessageWithNonPositiveOrderId() {
+            Registration<?> registration = registration(createRegistry(), "payment-failed-queue");
+
+            assertThrows(InvalidDataException.class, () -> registration.dispatch("{\"orderId\": 0}"));
+
+            verifyNoInteractions(cancelUseCase);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MessageKeyBloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every key that was put")
+    void shouldContainEveryKeyThatWasPut() {
+        MessageKeyBloomFilter filter = new MessageKeyBloomFilter(1_000, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("quote-approved:" + i);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("quote-approved:" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positive rate close to the configured probability")
+    void shouldKeepFalsePositiveRateCloseToConfiguredProbability() {
+        MessageKeyBloomFilter filter = new MessageKeyBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("payment-failed:" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("payment-failed:unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should report absent keys on an empty filter")
+    void shouldReportAbsentKeysOnEmptyFilter() {
+        MessageKeyBloomFilter filter = new MessageKeyBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain("execution-completed:1"));
+        assertTrue(filter.hashCount() > 0);
+        assertTrue(filter.bitCount() >= 100);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing parameters")
+    void shouldRejectInvalidSizingParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new MessageKeyBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new MessageKeyBloomFilter(100, 1.0));
+    }
+}
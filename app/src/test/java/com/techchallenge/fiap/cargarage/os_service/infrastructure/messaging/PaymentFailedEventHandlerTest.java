@@ -0,0 +1,64 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentFailedEventHandlerTest {
+
+    @Mock
+    private CancelServiceOrderUseCase cancelUseCase;
+
+    private PaymentFailedEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new PaymentFailedEventHandler(cancelUseCase);
+    }
+
+    @Test
+    @DisplayName("Should consume the payment-failed queue with its typed event")
+    void shouldDeclareNameAndEventType() {
+        assertEquals("payment-failed", handler.name());
+        assertEquals(PaymentFailedEventDto.class, handler.eventType());
+    }
+
+    @Test
+    @DisplayName("Should cancel order with the event reason")
+    void shouldCancelOrderWithReason() {
+        handler.handle(new PaymentFailedEventDto(102L, "Insufficient funds"));
+
+        verify(cancelUseCase).execute(102L, "Insufficient funds");
+    }
+
+    @Test
+    @DisplayName("Should cancel order with default reason")
+    void shouldCancelOrderWithDefaultReason() {
+        handler.handle(new PaymentFailedEventDto(103L, null));
+
+        verify(cancelUseCase).execute(103L, "Payment failed");
+    }
+
+    @Test
+    @DisplayName("Should rethrow exception when cancel fails")
+    void shouldRethrowExceptionWhenCancelFails() {
+        // Arrange
+        when(cancelUseCase.execute(eq(777L), any(String.class)))
+                .thenThrow(new NotFoundException("Order not found"));
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> handler.handle(new PaymentFailedEventDto(777L, null)));
+    }
+}
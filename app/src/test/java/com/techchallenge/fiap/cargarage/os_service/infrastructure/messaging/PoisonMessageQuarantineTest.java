@@ -0,0 +1,86 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.entity.QuarantinedMessageEntity;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.QuarantinedMessageRepository;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.InboundFailurePolicy.Classification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PoisonMessageQuarantineTest {
+
+    @Mock
+    private QuarantinedMessageRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PoisonMessageQuarantine quarantine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        quarantine = new PoisonMessageQuarantine(repository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should store quarantined message with failure details")
+    void shouldStoreQuarantinedMessage() {
+        // Act
+        quarantine.quarantine("payment-failed", "payment-failed:evt-1", "{\"orderId\": 1}",
+                Classification.PERMANENT, new NotFoundException("Order not found"), 2);
+
+        // Assert
+        ArgumentCaptor<QuarantinedMessageEntity> captor = ArgumentCaptor.forClass(QuarantinedMessageEntity.class);
+        verify(repository).save(captor.capture());
+        QuarantinedMessageEntity saved = captor.getValue();
+        assertEquals("payment-failed", saved.getQueueName());
+        assertEquals("payment-failed:evt-1", saved.getMessageKey());
+        assertEquals("{\"orderId\": 1}", saved.getPayload());
+        assertEquals("PERMANENT", saved.getClassification());
+        assertEquals(NotFoundException.class.getName(), saved.getErrorType());
+        assertEquals("Order not found", saved.getErrorMessage());
+        assertEquals(2, saved.getReceiveCount());
+        assertNotNull(saved.getQuarantinedAt());
+        assertEquals(1.0, meterRegistry.get("sqs.inbound.quarantined")
+                .tag("queue", "payment-failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should truncate long error messages")
+    void shouldTruncateLongErrorMessages() {
+        // Act
+        quarantine.quarantine("quote-approved", "quote-approved:1", "{}",
+                Classification.RETRYABLE, new IllegalStateException("x".repeat(5_000)), 8);
+
+        // Assert
+        ArgumentCaptor<QuarantinedMessageEntity> captor = ArgumentCaptor.forClass(QuarantinedMessageEntity.class);
+        verify(repository).save(captor.capture());
+        assertEquals(1000, captor.getValue().getErrorMessage().length());
+    }
+
+    @Test
+    @DisplayName("Should count failures by queue and classification")
+    void shouldCountFailures() {
+        // Act
+        quarantine.recordFailure("quote-approved", Classification.RETRYABLE);
+        quarantine.recordFailure("quote-approved", Classification.RETRYABLE);
+        quarantine.recordFailure("quote-approved", Classification.PERMANENT);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("sqs.inbound.failures")
+                .tags("queue", "quote-approved", "classification", "retryable").counter().count());
+        assertEquals(1.0, meterRegistry.get("sqs.inbound.failures")
+                .tags("queue", "quote-approved", "classification", "permanent").counter().count());
+    }
+}
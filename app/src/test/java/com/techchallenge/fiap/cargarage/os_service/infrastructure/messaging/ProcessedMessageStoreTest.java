@@ -0,0 +1,159 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ProcessedMessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedMessageStoreTest {
+
+    @Mock
+    private ProcessedMessageRepository repository;
+
+    private ProcessedMessageStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ProcessedMessageStore(repository, 24, 300, 1_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should claim unknown keys in the database without a lookup")
+    void shouldClaimUnknownKeysWithoutLookup() {
+        // Arrange
+        when(repository.claim(eq("quote-approved:unknown"), eq("quote-approved"), any(), any())).thenReturn(1);
+
+        // Act & Assert
+        assertEquals(ProcessedMessageStore.Claim.CLAIMED, store.claim("quote-approved:unknown", "quote-approved"));
+        verify(repository, never()).existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim key with a lease")
+    void shouldClaimKeyWithLease() {
+        // Arrange
+        when(repository.claim(any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        store.claim("payment-failed:2", "payment-failed");
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseExpiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).claim(eq("payment-failed:2"), eq("payment-failed"), now.capture(),
+                leaseExpiresAt.capture());
+        assertEquals(now.getValue().plusSeconds(300), leaseExpiresAt.getValue());
+    }
+
+    @Test
+    @DisplayName("Should complete key with expiration based on TTL")
+    void shouldCompleteKeyWithExpiration() {
+        // Act
+        store.complete("payment-failed:2");
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).complete(eq("payment-failed:2"), now.capture(), expiresAt.capture());
+        assertEquals(now.getValue().plusHours(24), expiresAt.getValue());
+    }
+
+    @Test
+    @DisplayName("Should report key leased by a concurrent delivery as in progress")
+    void shouldReportKeyLeasedConcurrentlyAsInProgress() {
+        // Arrange
+        when(repository.claim(eq("quote-approved:3"), any(), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertEquals(ProcessedMessageStore.Claim.IN_PROGRESS, store.claim("quote-approved:3", "quote-approved"));
+    }
+
+    @Test
+    @DisplayName("Should report key completed by a concurrent delivery as processed")
+    void shouldReportKeyCompletedConcurrentlyAsProcessed() {
+        // Arrange
+        when(repository.claim(eq("quote-approved:7"), any(), any(), any())).thenReturn(0);
+        when(repository.existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(eq("quote-approved:7"), any()))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertEquals(ProcessedMessageStore.Claim.PROCESSED, store.claim("quote-approved:7", "quote-approved"));
+    }
+
+    @Test
+    @DisplayName("Should detect known duplicates with a lookup instead of an insert")
+    void shouldDetectKnownDuplicatesWithLookup() {
+        // Arrange
+        when(repository.claim(eq("quote-approved:1"), any(), any(), any())).thenReturn(1);
+        store.claim("quote-approved:1", "quote-approved");
+        when(repository.existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(eq("quote-approved:1"), any()))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertEquals(ProcessedMessageStore.Claim.PROCESSED, store.claim("quote-approved:1", "quote-approved"));
+        verify(repository, times(1)).claim(eq("quote-approved:1"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim again a key the filter has seen but the database no longer holds")
+    void shouldClaimAgainReleasedKey() {
+        // Arrange
+        when(repository.claim(eq("quote-approved:6"), any(), any(), any())).thenReturn(1);
+        store.claim("quote-approved:6", "quote-approved");
+        store.release("quote-approved:6");
+
+        // Act & Assert
+        assertEquals(ProcessedMessageStore.Claim.CLAIMED, store.claim("quote-approved:6", "quote-approved"));
+        verify(repository).release("quote-approved:6");
+        verify(repository, times(2)).claim(eq("quote-approved:6"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should load active keys into the filter on warm up")
+    void shouldLoadActiveKeysOnWarmUp() {
+        // Arrange
+        when(repository.findActiveKeys(any(LocalDateTime.class))).thenReturn(List.of("execution-completed:4"));
+        when(repository.existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(eq("execution-completed:4"), any()))
+                .thenReturn(true);
+
+        // Act
+        store.warmUp();
+
+        // Assert
+        assertEquals(ProcessedMessageStore.Claim.PROCESSED,
+                store.claim("execution-completed:4", "execution-completed"));
+        verify(repository, never()).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delete expired keys and rebuild the filter")
+    void shouldDeleteExpiredKeysAndRebuildFilter() {
+        // Arrange
+        when(repository.claim(any(), any(), any(), any())).thenReturn(1);
+        store.claim("quote-approved:5", "quote-approved");
+        when(repository.deleteExpired(any(LocalDateTime.class))).thenReturn(1);
+        when(repository.findActiveKeys(any(LocalDateTime.class))).thenReturn(List.of());
+
+        // Act
+        store.purgeExpired();
+
+        // Assert
+        verify(repository).deleteExpired(any(LocalDateTime.class));
+        assertEquals(ProcessedMessageStore.Claim.CLAIMED, store.claim("quote-approved:5", "quote-approved"));
+        verify(repository, never()).existsByMessageKeyAndProcessedAtIsNotNullAndExpiresAtAfter(any(), any());
+    }
+}
@@ -0,0 +1,64 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceUnavailableEventHandlerTest {
+
+    @Mock
+    private CancelServiceOrderUseCase cancelUseCase;
+
+    private ResourceUnavailableEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ResourceUnavailableEventHandler(cancelUseCase);
+    }
+
+    @Test
+    @DisplayName("Should consume the resource-unavailable queue with its typed event")
+    void shouldDeclareNameAndEventType() {
+        assertEquals("resource-unavailable", handler.name());
+        assertEquals(ResourceUnavailableEventDto.class, handler.eventType());
+    }
+
+    @Test
+    @DisplayName("Should cancel order with the event reason")
+    void shouldCancelOrderWithReason() {
+        handler.handle(new ResourceUnavailableEventDto(102L, "Part out of stock"));
+
+        verify(cancelUseCase).execute(102L, "Part out of stock");
+    }
+
+    @Test
+    @DisplayName("Should cancel order with default reason")
+    void shouldCancelOrderWithDefaultReason() {
+        handler.handle(new ResourceUnavailableEventDto(103L, null));
+
+        verify(cancelUseCase).execute(103L, "Resource unavailable");
+    }
+
+    @Test
+    @DisplayName("Should rethrow exception when cancel fails")
+    void shouldRethrowExceptionWhenCancelFails() {
+        // Arrange
+        when(cancelUseCase.execute(eq(777L), any(String.class)))
+                .thenThrow(new NotFoundException("Order not found"));
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> handler.handle(new ResourceUnavailableEventDto(777L, null)));
+    }
+}
@@ -2,12 +2,19 @@ package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,31 +22,85 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techchallenge.fiap.cargarage.os_service.application.dto.ServiceOrderStatusUpdateDto;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderStatus;
 import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.CancelServiceOrderUseCase;
 import com.techchallenge.fiap.cargarage.os_service.application.usecase.UpdateServiceOrderStatusUseCase;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.concurrency.DatabaseConcurrencyLimiter;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class SqsEventListenerTest {
 
+    private static final String QUOTE_APPROVED_QUEUE = "quote-approved-queue";
+    private static final String EXECUTION_COMPLETED_QUEUE = "execution-completed-queue";
+    private static final String PAYMENT_FAILED_QUEUE = "payment-failed-queue";
+    private static final String RESOURCE_UNAVAILABLE_QUEUE = "resource-unavailable-queue";
+
     @Mock
     private UpdateServiceOrderStatusUseCase updateStatusUseCase;
 
     @Mock
     private CancelServiceOrderUseCase cancelUseCase;
 
+    @Mock
+    private ProcessedMessageStore processedMessageStore;
+
+    @Mock
+    private PoisonMessageQuarantine quarantine;
+
+    private final InboundFailurePolicy failurePolicy = new InboundFailurePolicy(5, 900, 3);
+
+    private MockEnvironment environment;
     private SqsEventListener sqsEventListener;
 
     @BeforeEach
     void setUp() {
-        sqsEventListener = new SqsEventListener(updateStatusUseCase, cancelUseCase);
+        environment = new MockEnvironment()
+                .withProperty("messaging.sqs.queue.quote-approved", QUOTE_APPROVED_QUEUE)
+                .withProperty("messaging.sqs.queue.execution-completed", EXECUTION_COMPLETED_QUEUE)
+                .withProperty("messaging.sqs.queue.payment-failed", PAYMENT_FAILED_QUEUE)
+                .withProperty("messaging.sqs.queue.resource-unavailable", RESOURCE_UNAVAILABLE_QUEUE);
+        sqsEventListener = createListener(new SyncTaskExecutor());
+        lenient().when(processedMessageStore.claim(any(), any())).thenReturn(ProcessedMessageStore.Claim.CLAIMED);
+    }
+
+    private SqsEventListener createListener(TaskExecutor executor) {
+        return createListener(executor, new DatabaseConcurrencyLimiter(false, 10, 2000, new SimpleMeterRegistry()));
+    }
+
+    private SqsEventListener createListener(TaskExecutor executor, DatabaseConcurrencyLimiter concurrencyLimiter) {
+        InboundHandlerRegistry registry = new InboundHandlerRegistry(
+                List.of(new QuoteApprovedEventHandler(updateStatusUseCase),
+                        new ExecutionCompletedEventHandler(updateStatusUseCase),
+                        new PaymentFailedEventHandler(cancelUseCase),
+                        new ResourceUnavailableEventHandler(cancelUseCase)),
+                new InboundEventDecoder(new ObjectMapper()), environment, 10);
+        return new SqsEventListener(
+                registry, processedMessageStore, failurePolicy, quarantine, executor, concurrencyLimiter);
+    }
+
+    private MessageBuilder<String> message(String queueName, String payload) {
+        return MessageBuilder.withPayload(payload)
+                .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, queueName);
     }
 
     private ServiceOrder createTestOrder(Long id, ServiceOrderStatus status) {
@@ -62,279 +123,405 @@ class SqsEventListenerTest {
     }
 
     @Nested
-    @DisplayName("Handle Quote Approved Tests")
-    class HandleQuoteApprovedTests {
+    @DisplayName("Routing Tests")
+    class RoutingTests {
 
         @Test
-        @DisplayName("Should process quote approved event successfully")
-        void shouldProcessQuoteApprovedEventSuccessfully() {
+        @DisplayName("Should route quote approved message to IN_EXECUTION transition")
+        void shouldRouteQuoteApproved() {
             // Arrange
-            String message = "{\"orderId\": 100}";
-            ServiceOrder updatedOrder = createTestOrder(100L, ServiceOrderStatus.inExecution());
-
             when(updateStatusUseCase.execute(eq(100L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenReturn(updatedOrder);
+                    .thenReturn(createTestOrder(100L, ServiceOrderStatus.inExecution()));
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleQuoteApproved(message));
+            sqsEventListener.onMessage(message(QUOTE_APPROVED_QUEUE, "{\"orderId\": 100}").build()).join();
 
             // Assert
             ArgumentCaptor<ServiceOrderStatusUpdateDto> captor = ArgumentCaptor
                     .forClass(ServiceOrderStatusUpdateDto.class);
             verify(updateStatusUseCase).execute(eq(100L), captor.capture());
+            assertEquals(ServiceOrderStatusEnum.IN_EXECUTION.name(), captor.getValue().status());
+        }
 
-            ServiceOrderStatusUpdateDto updateDto = captor.getValue();
-            assertEquals(ServiceOrderStatusEnum.IN_EXECUTION.name(), updateDto.status());
+        @Test
+        @DisplayName("Should route execution completed message to FINISHED transition")
+        void shouldRouteExecutionCompleted() {
+            // Arrange
+            when(updateStatusUseCase.execute(eq(101L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenReturn(createTestOrder(101L, ServiceOrderStatus.finished()));
+
+            // Act
+            sqsEventListener.onMessage(message(EXECUTION_COMPLETED_QUEUE, "{\"orderId\": 101}").build()).join();
+
+            // Assert
+            ArgumentCaptor<ServiceOrderStatusUpdateDto> captor = ArgumentCaptor
+                    .forClass(ServiceOrderStatusUpdateDto.class);
+            verify(updateStatusUseCase).execute(eq(101L), captor.capture());
+            assertEquals(ServiceOrderStatusEnum.FINISHED.name(), captor.getValue().status());
         }
 
         @Test
-        @DisplayName("Should throw RuntimeException for invalid JSON")
-        void shouldThrowRuntimeExceptionForInvalidJson() {
+        @DisplayName("Should route compensation messages to cancellation")
+        void shouldRouteCompensationMessages() {
             // Arrange
-            String invalidMessage = "invalid json";
+            when(cancelUseCase.execute(any(), any()))
+                    .thenReturn(createTestOrder(102L, ServiceOrderStatus.cancelled()));
 
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> sqsEventListener.handleQuoteApproved(invalidMessage));
+            // Act
+            sqsEventListener.onMessage(message(PAYMENT_FAILED_QUEUE,
+                    "{\"orderId\": 102, \"reason\": \"Insufficient funds\"}").build()).join();
+            sqsEventListener.onMessage(message(RESOURCE_UNAVAILABLE_QUEUE, "{\"orderId\": 103}").build()).join();
 
-            assertEquals("Failed to process quote approved event", exception.getMessage());
+            // Assert
+            verify(cancelUseCase).execute(102L, "Insufficient funds");
+            verify(cancelUseCase).execute(103L, "Resource unavailable");
         }
 
         @Test
-        @DisplayName("Should rethrow exception when use case fails")
-        void shouldRethrowExceptionWhenUseCaseFails() {
+        @DisplayName("Should route by queue URL when the queue is configured by URL")
+        void shouldRouteByQueueUrl() {
             // Arrange
-            String message = "{\"orderId\": 999}";
-            when(updateStatusUseCase.execute(eq(999L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenThrow(new NotFoundException("Order not found"));
+            String url = "https://sqs.us-east-1.amazonaws.com/000000000000/payment-failed-queue";
+            environment.setProperty("messaging.sqs.queue.payment-failed", url);
+            SqsEventListener listener = createListener(new SyncTaskExecutor());
+            when(cancelUseCase.execute(eq(104L), any()))
+                    .thenReturn(createTestOrder(104L, ServiceOrderStatus.cancelled()));
+
+            // Act
+            listener.onMessage(MessageBuilder.withPayload("{\"orderId\": 104}")
+                    .setHeader(SqsHeaders.SQS_QUEUE_NAME_HEADER, "payment-failed-queue")
+                    .setHeader(SqsHeaders.SQS_QUEUE_URL_HEADER, url)
+                    .build()).join();
 
-            // Act & Assert
-            assertThrows(NotFoundException.class,
-                    () -> sqsEventListener.handleQuoteApproved(message));
+            // Assert
+            verify(cancelUseCase).execute(104L, "Payment failed");
+        }
+
+        @Test
+        @DisplayName("Should fail message from a queue without handler")
+        void shouldFailMessageFromUnknownQueue() {
+            // Act
+            CompletableFuture<Void> result = sqsEventListener.onMessage(
+                    message("unknown-queue", "{\"orderId\": 105}").build());
+
+            // Assert
+            CompletionException exception = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+            verifyNoInteractions(updateStatusUseCase, cancelUseCase, processedMessageStore);
         }
     }
 
     @Nested
-    @DisplayName("Handle Execution Completed Tests")
-    class HandleExecutionCompletedTests {
+    @DisplayName("Async Listener Tests")
+    class AsyncListenerTests {
 
         @Test
-        @DisplayName("Should process execution completed event successfully")
-        void shouldProcessExecutionCompletedEventSuccessfully() {
+        @DisplayName("Should complete future exceptionally when handler fails")
+        void shouldCompleteFutureExceptionallyWhenHandlerFails() {
             // Arrange
-            String message = "{\"orderId\": 101}";
-            ServiceOrder updatedOrder = createTestOrder(101L, ServiceOrderStatus.finished());
-
-            when(updateStatusUseCase.execute(eq(101L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenReturn(updatedOrder);
+            when(cancelUseCase.execute(eq(301L), any(String.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleExecutionCompleted(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(
+                    message(PAYMENT_FAILED_QUEUE, "{\"orderId\": 301}").build());
 
             // Assert
-            ArgumentCaptor<ServiceOrderStatusUpdateDto> captor = ArgumentCaptor
-                    .forClass(ServiceOrderStatusUpdateDto.class);
-            verify(updateStatusUseCase).execute(eq(101L), captor.capture());
+            CompletionException exception = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+
+        @Test
+        @DisplayName("Should run handler on virtual thread when executor uses virtual threads")
+        void shouldRunHandlerOnVirtualThread() {
+            // Arrange
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sqs-handler-");
+            executor.setVirtualThreads(true);
+            SqsEventListener listener = createListener(executor);
+            boolean[] virtual = new boolean[1];
+            when(updateStatusUseCase.execute(eq(302L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenAnswer(invocation -> {
+                        virtual[0] = Thread.currentThread().isVirtual();
+                        return createTestOrder(302L, ServiceOrderStatus.finished());
+                    });
+
+            // Act
+            listener.onMessage(message(EXECUTION_COMPLETED_QUEUE, "{\"orderId\": 302}").build()).join();
 
-            ServiceOrderStatusUpdateDto updateDto = captor.getValue();
-            assertEquals(ServiceOrderStatusEnum.FINISHED.name(), updateDto.status());
+            // Assert
+            assertTrue(virtual[0]);
         }
 
         @Test
-        @DisplayName("Should throw RuntimeException for invalid JSON")
-        void shouldThrowRuntimeExceptionForInvalidJson() {
+        @DisplayName("Should not run more messages of a handler than its concurrency limit")
+        void shouldRespectHandlerConcurrencyLimit() throws Exception {
             // Arrange
-            String invalidMessage = "{ broken json";
+            environment.setProperty("messaging.sqs.listener.payment-failed.max-concurrent-messages", "2");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sqs-handler-");
+            executor.setVirtualThreads(true);
+            SqsEventListener listener = createListener(executor);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            when(cancelUseCase.execute(any(), any())).thenAnswer(invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                release.await(5, TimeUnit.SECONDS);
+                running.decrementAndGet();
+                return createTestOrder(invocation.getArgument(0), ServiceOrderStatus.cancelled());
+            });
 
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> sqsEventListener.handleExecutionCompleted(invalidMessage));
+            // Act
+            List<CompletableFuture<Void>> results = LongStream.rangeClosed(1, 6)
+                    .mapToObj(id -> listener.onMessage(
+                            message(PAYMENT_FAILED_QUEUE, "{\"orderId\": " + id + "}").build()))
+                    .toList();
+            Thread.sleep(200);
+            release.countDown();
+            results.forEach(CompletableFuture::join);
 
-            assertEquals("Failed to process execution completed event", exception.getMessage());
+            // Assert
+            assertEquals(2, maxRunning.get());
+            verify(cancelUseCase, times(6)).execute(any(), any());
         }
 
         @Test
-        @DisplayName("Should rethrow exception when order not found")
-        void shouldRethrowExceptionWhenOrderNotFound() {
+        @DisplayName("Should share the database concurrency limit across handlers")
+        void shouldRespectDatabaseConcurrencyLimit() throws Exception {
             // Arrange
-            String message = "{\"orderId\": 888}";
-            when(updateStatusUseCase.execute(eq(888L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenThrow(new NotFoundException("Order not found with id: 888"));
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sqs-handler-");
+            executor.setVirtualThreads(true);
+            SqsEventListener listener = createListener(executor,
+                    new DatabaseConcurrencyLimiter(true, 1, 2000, new SimpleMeterRegistry()));
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            when(cancelUseCase.execute(any(), any())).thenAnswer(invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return createTestOrder(invocation.getArgument(0), ServiceOrderStatus.cancelled());
+            });
 
-            // Act & Assert
-            NotFoundException exception = assertThrows(NotFoundException.class,
-                    () -> sqsEventListener.handleExecutionCompleted(message));
+            // Act
+            List<CompletableFuture<Void>> results = LongStream.rangeClosed(1, 4)
+                    .mapToObj(id -> listener.onMessage(message(id % 2 == 0 ? PAYMENT_FAILED_QUEUE
+                            : RESOURCE_UNAVAILABLE_QUEUE, "{\"orderId\": " + id + "}").build()))
+                    .toList();
+            results.forEach(CompletableFuture::join);
 
-            assertTrue(exception.getMessage().contains("888"));
+            // Assert
+            assertEquals(1, maxRunning.get());
+            verify(cancelUseCase, times(4)).execute(any(), any());
         }
     }
 
     @Nested
-    @DisplayName("Handle Payment Failed Tests")
-    class HandlePaymentFailedTests {
+    @DisplayName("Idempotency Tests")
+    class IdempotencyTests {
 
         @Test
-        @DisplayName("Should process payment failed event with reason")
-        void shouldProcessPaymentFailedEventWithReason() {
+        @DisplayName("Should skip message already processed")
+        void shouldSkipMessageAlreadyProcessed() {
             // Arrange
-            String message = "{\"orderId\": 102, \"reason\": \"Insufficient funds\"}";
-            ServiceOrder cancelledOrder = createTestOrder(102L, ServiceOrderStatus.cancelled());
-
-            when(cancelUseCase.execute(eq(102L), eq("Insufficient funds")))
-                    .thenReturn(cancelledOrder);
+            Message<String> message = message(QUOTE_APPROVED_QUEUE, "{\"orderId\": 400}")
+                    .setHeader("eventId", "evt-400")
+                    .build();
+            when(processedMessageStore.claim("quote-approved:evt-400", "quote-approved"))
+                    .thenReturn(ProcessedMessageStore.Claim.PROCESSED);
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handlePaymentFailed(message));
+            sqsEventListener.onMessage(message).join();
 
             // Assert
-            verify(cancelUseCase).execute(102L, "Insufficient funds");
+            verifyNoInteractions(updateStatusUseCase);
+            verify(processedMessageStore, never()).complete(any());
+            verify(processedMessageStore, never()).release(any());
         }
 
         @Test
-        @DisplayName("Should process payment failed event with default reason")
-        void shouldProcessPaymentFailedEventWithDefaultReason() {
+        @DisplayName("Should leave message unacknowledged while another delivery handles it")
+        void shouldRetryMessageHandledByAnotherDelivery() {
             // Arrange
-            String message = "{\"orderId\": 103}";
-            ServiceOrder cancelledOrder = createTestOrder(103L, ServiceOrderStatus.cancelled());
-
-            when(cancelUseCase.execute(eq(103L), eq("Payment failed")))
-                    .thenReturn(cancelledOrder);
+            Visibility visibility = mock(Visibility.class);
+            Message<String> message = message(QUOTE_APPROVED_QUEUE, "{\"orderId\": 403}")
+                    .setHeader("eventId", "evt-403")
+                    .setHeader(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, visibility)
+                    .setHeader(SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, "2")
+                    .build();
+            when(processedMessageStore.claim("quote-approved:evt-403", "quote-approved"))
+                    .thenReturn(ProcessedMessageStore.Claim.IN_PROGRESS);
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handlePaymentFailed(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
             // Assert
-            verify(cancelUseCase).execute(103L, "Payment failed");
+            assertThrows(CompletionException.class, result::join);
+            verify(visibility).changeTo(10);
+            verifyNoInteractions(updateStatusUseCase, quarantine);
+            verify(processedMessageStore, never()).release(any());
         }
 
         @Test
-        @DisplayName("Should throw RuntimeException for invalid JSON")
-        void shouldThrowRuntimeExceptionForInvalidJson() {
+        @DisplayName("Should claim message key before processing and complete it after success")
+        void shouldClaimMessageKeyBeforeProcessing() {
             // Arrange
-            String invalidMessage = "{orderId: 'abc'}"; // Invalid JSON
+            Message<String> message = message(EXECUTION_COMPLETED_QUEUE, "{\"orderId\": 401}").build();
+            String expectedKey = "execution-completed:" + message.getHeaders().getId();
+            when(updateStatusUseCase.execute(eq(401L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenReturn(createTestOrder(401L, ServiceOrderStatus.finished()));
 
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> sqsEventListener.handlePaymentFailed(invalidMessage));
+            // Act
+            sqsEventListener.onMessage(message).join();
 
-            assertEquals("Failed to process payment failed event", exception.getMessage());
+            // Assert
+            InOrder inOrder = inOrder(processedMessageStore, updateStatusUseCase);
+            inOrder.verify(processedMessageStore).claim(expectedKey, "execution-completed");
+            inOrder.verify(updateStatusUseCase).execute(eq(401L), any(ServiceOrderStatusUpdateDto.class));
+            inOrder.verify(processedMessageStore).complete(expectedKey);
+            verify(processedMessageStore, never()).release(any());
         }
 
         @Test
-        @DisplayName("Should rethrow exception when cancel fails")
-        void shouldRethrowExceptionWhenCancelFails() {
+        @DisplayName("Should acknowledge processed message when completing its key fails")
+        void shouldAcknowledgeWhenCompletingKeyFails() {
             // Arrange
-            String message = "{\"orderId\": 777}";
-            when(cancelUseCase.execute(eq(777L), any(String.class)))
-                    .thenThrow(new NotFoundException("Order not found"));
+            Message<String> message = message(EXECUTION_COMPLETED_QUEUE, "{\"orderId\": 404}")
+                    .setHeader("eventId", "evt-404")
+                    .build();
+            when(updateStatusUseCase.execute(eq(404L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenReturn(createTestOrder(404L, ServiceOrderStatus.finished()));
+            doThrow(new IllegalStateException("Database unavailable"))
+                    .when(processedMessageStore).complete("execution-completed:evt-404");
 
-            // Act & Assert
-            assertThrows(NotFoundException.class,
-                    () -> sqsEventListener.handlePaymentFailed(message));
-        }
-    }
+            // Act
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
-    @Nested
-    @DisplayName("Handle Resource Unavailable Tests")
-    class HandleResourceUnavailableTests {
+            // Assert
+            assertDoesNotThrow(result::join);
+            verify(processedMessageStore, never()).release(any());
+        }
 
         @Test
-        @DisplayName("Should process resource unavailable event with reason")
-        void shouldProcessResourceUnavailableEventWithReason() {
+        @DisplayName("Should release message key when processing fails")
+        void shouldReleaseMessageKeyWhenProcessingFails() {
             // Arrange
-            String message = "{\"orderId\": 104, \"reason\": \"Part out of stock\"}";
-            ServiceOrder cancelledOrder = createTestOrder(104L, ServiceOrderStatus.cancelled());
-
-            when(cancelUseCase.execute(eq(104L), eq("Part out of stock")))
-                    .thenReturn(cancelledOrder);
+            Message<String> message = message(RESOURCE_UNAVAILABLE_QUEUE, "{\"orderId\": 402}")
+                    .setHeader("eventId", "evt-402")
+                    .build();
+            when(cancelUseCase.execute(eq(402L), any(String.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleResourceUnavailable(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
             // Assert
-            verify(cancelUseCase).execute(104L, "Part out of stock");
+            assertThrows(CompletionException.class, result::join);
+            verify(processedMessageStore).release("resource-unavailable:evt-402");
+            verify(processedMessageStore, never()).complete(any());
         }
 
         @Test
-        @DisplayName("Should process resource unavailable event with default reason")
-        void shouldProcessResourceUnavailableEventWithDefaultReason() {
+        @DisplayName("Should still handle the failure when releasing the message key fails")
+        void shouldHandleFailureWhenReleaseFails() {
             // Arrange
-            String message = "{\"orderId\": 105}";
-            ServiceOrder cancelledOrder = createTestOrder(105L, ServiceOrderStatus.cancelled());
-
-            when(cancelUseCase.execute(eq(105L), eq("Resource unavailable")))
-                    .thenReturn(cancelledOrder);
+            Message<String> message = message(PAYMENT_FAILED_QUEUE, "{\"orderId\": 405}")
+                    .setHeader("eventId", "evt-405")
+                    .build();
+            NotFoundException failure = new NotFoundException("Order not found");
+            when(cancelUseCase.execute(eq(405L), any(String.class))).thenThrow(failure);
+            doThrow(new IllegalStateException("Database unavailable"))
+                    .when(processedMessageStore).release("payment-failed:evt-405");
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleResourceUnavailable(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
             // Assert
-            verify(cancelUseCase).execute(105L, "Resource unavailable");
+            assertDoesNotThrow(result::join);
+            verify(quarantine).quarantine("payment-failed", "payment-failed:evt-405", "{\"orderId\": 405}",
+                    InboundFailurePolicy.Classification.PERMANENT, failure, 1);
         }
+    }
+
+    @Nested
+    @DisplayName("Failure Handling Tests")
+    class FailureHandlingTests {
 
         @Test
-        @DisplayName("Should throw RuntimeException for invalid JSON")
-        void shouldThrowRuntimeExceptionForInvalidJson() {
-            // Arrange - completely invalid JSON that can't be parsed
-            String invalidMessage = "not json at all {{{";
+        @DisplayName("Should quarantine and acknowledge message on permanent failure")
+        void shouldQuarantineOnPermanentFailure() {
+            // Arrange
+            Message<String> message = message(PAYMENT_FAILED_QUEUE, "{\"orderId\": 500}")
+                    .setHeader("eventId", "evt-500")
+                    .build();
+            NotFoundException failure = new NotFoundException("Order not found");
+            when(cancelUseCase.execute(eq(500L), any(String.class))).thenThrow(failure);
 
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> sqsEventListener.handleResourceUnavailable(invalidMessage));
+            // Act
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
-            assertEquals("Failed to process resource unavailable event", exception.getMessage());
+            // Assert
+            assertDoesNotThrow(result::join);
+            verify(quarantine).recordFailure("payment-failed", InboundFailurePolicy.Classification.PERMANENT);
+            verify(quarantine).quarantine("payment-failed", "payment-failed:evt-500", "{\"orderId\": 500}",
+                    InboundFailurePolicy.Classification.PERMANENT, failure, 1);
+            verify(processedMessageStore).release("payment-failed:evt-500");
         }
 
         @Test
-        @DisplayName("Should rethrow exception when use case throws")
-        void shouldRethrowExceptionWhenUseCaseThrows() {
-            // Arrange
-            String message = "{\"orderId\": 666}";
-            when(cancelUseCase.execute(eq(666L), any(String.class)))
-                    .thenThrow(new IllegalStateException("Cannot cancel order"));
+        @DisplayName("Should quarantine malformed payload without retrying")
+        void shouldQuarantineMalformedPayload() {
+            // Act
+            CompletableFuture<Void> result = sqsEventListener.onMessage(
+                    message(QUOTE_APPROVED_QUEUE, "not json").build());
 
-            // Act & Assert
-            assertThrows(IllegalStateException.class,
-                    () -> sqsEventListener.handleResourceUnavailable(message));
+            // Assert
+            assertDoesNotThrow(result::join);
+            verify(quarantine).quarantine(eq("quote-approved"), any(), eq("not json"),
+                    eq(InboundFailurePolicy.Classification.PERMANENT), any(InvalidDataException.class), eq(1));
+            verifyNoInteractions(updateStatusUseCase);
         }
-    }
-
-    @Nested
-    @DisplayName("Message Parsing Tests")
-    class MessageParsingTests {
 
         @Test
-        @DisplayName("Should handle message with additional fields")
-        void shouldHandleMessageWithAdditionalFields() {
+        @DisplayName("Should extend visibility with exponential backoff on retryable failure")
+        void shouldExtendVisibilityOnRetryableFailure() {
             // Arrange
-            String message = "{\"orderId\": 200, \"extraField\": \"ignored\", \"anotherField\": 123}";
-            ServiceOrder updatedOrder = createTestOrder(200L, ServiceOrderStatus.waitingApproval());
-
-            when(updateStatusUseCase.execute(eq(200L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenReturn(updatedOrder);
+            Visibility visibility = mock(Visibility.class);
+            Message<String> message = message(QUOTE_APPROVED_QUEUE, "{\"orderId\": 501}")
+                    .setHeader(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, visibility)
+                    .setHeader(SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, "2")
+                    .build();
+            when(updateStatusUseCase.execute(eq(501L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleQuoteApproved(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
             // Assert
-            verify(updateStatusUseCase).execute(eq(200L), any(ServiceOrderStatusUpdateDto.class));
+            assertThrows(CompletionException.class, result::join);
+            verify(visibility).changeTo(10);
+            verify(quarantine).recordFailure("quote-approved", InboundFailurePolicy.Classification.RETRYABLE);
+            verify(quarantine, never()).quarantine(any(), any(), any(), any(), any(), anyInt());
         }
 
         @Test
-        @DisplayName("Should handle message with orderId as string")
-        void shouldHandleMessageWithOrderIdAsString() {
+        @DisplayName("Should quarantine retryable failure after max attempts")
+        void shouldQuarantineAfterMaxAttempts() {
             // Arrange
-            String message = "{\"orderId\": \"201\"}";
-            ServiceOrder updatedOrder = createTestOrder(201L, ServiceOrderStatus.waitingApproval());
-
-            when(updateStatusUseCase.execute(eq(201L), any(ServiceOrderStatusUpdateDto.class)))
-                    .thenReturn(updatedOrder);
+            Visibility visibility = mock(Visibility.class);
+            Message<String> message = message(EXECUTION_COMPLETED_QUEUE, "{\"orderId\": 502}")
+                    .setHeader(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, visibility)
+                    .setHeader(SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, "3")
+                    .build();
+            when(updateStatusUseCase.execute(eq(502L), any(ServiceOrderStatusUpdateDto.class)))
+                    .thenThrow(new IllegalStateException("Database unavailable"));
 
             // Act
-            assertDoesNotThrow(() -> sqsEventListener.handleQuoteApproved(message));
+            CompletableFuture<Void> result = sqsEventListener.onMessage(message);
 
             // Assert
-            verify(updateStatusUseCase).execute(eq(201L), any(ServiceOrderStatusUpdateDto.class));
+            assertDoesNotThrow(result::join);
+            verify(quarantine).quarantine(eq("execution-completed"), any(), any(),
+                    eq(InboundFailurePolicy.Classification.RETRYABLE), any(IllegalStateException.class), eq(3));
+            verifyNoInteractions(visibility);
         }
     }
 }
@@ -17,6 +17,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrder;
 import com.techchallenge.fiap.cargarage.os_service.application.entity.ServiceOrderItem;
@@ -34,14 +41,23 @@ class SqsEventPublisherTest {
     @Mock
     private SqsClient sqsClient;
 
+    @Mock
+    private EventSpool eventSpool;
+
     private SqsEventPublisher sqsEventPublisher;
 
+    // Mirrors the defaults of the Spring Boot managed ObjectMapper
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
     private static final String TEST_QUEUE_URL = "http://localhost:4566/000000000000/os-events.fifo";
     private static final String TEST_BILLING_QUEUE_URL = "http://localhost:4566/000000000000/service-order-events";
 
     @BeforeEach
     void setUp() throws Exception {
-        sqsEventPublisher = new SqsEventPublisher(sqsClient);
+        sqsEventPublisher = new SqsEventPublisher(sqsClient, objectMapper, new SqsPublishCircuitBreaker(5, 30), eventSpool);
 
         // Set the queue URL via reflection since @Value won't work in unit tests
         Field queueUrlField = SqsEventPublisher.class.getDeclaredField("osEventsQueueUrl");
@@ -552,5 +568,96 @@ class SqsEventPublisherTest {
             assertTrue(billingBody.contains("\"itemCode\":\"100\""));
             assertTrue(billingBody.contains("\"itemCode\":\"200\""));
         }
+
+        @Test
+        @DisplayName("Should serialize typed billing payload with string amounts and ISO timestamp")
+        void shouldSerializeTypedBillingPayload() throws Exception {
+            // Arrange
+            enableBillingQueue();
+            ServiceOrder order = createTestOrderWithItems(206L, ServiceOrderStatus.received());
+            when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                    .thenReturn(SendMessageResponse.builder().messageId("msg-206").build());
+
+            // Act
+            sqsEventPublisher.publishOrderCreated(order);
+
+            // Assert
+            ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+            verify(sqsClient, times(2)).sendMessage(captor.capture());
+
+            JsonNode billing = objectMapper.readTree(captor.getAllValues().get(1).messageBody());
+            assertEquals(206L, billing.get("orderId").asLong());
+            assertTrue(billing.get("serviceOrderId").isTextual());
+            assertTrue(billing.get("customerId").isTextual());
+            assertTrue(billing.get("totalPrice").isTextual());
+            assertTrue(billing.get("timestamp").isTextual());
+            assertEquals(2, billing.get("items").size());
+            assertTrue(billing.get("items").get(0).get("unitPrice").isTextual());
+            assertEquals(1, billing.get("items").get(0).get("quantity").asInt());
+
+            JsonNode event = objectMapper.readTree(captor.getAllValues().get(0).messageBody());
+            assertTrue(event.get("timestamp").isTextual());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spool Fallback Tests")
+    class SpoolFallbackTests {
+
+        @Test
+        @DisplayName("Should spool message instead of failing when SQS send fails")
+        void shouldSpoolWhenSendFails() {
+            // Arrange
+            ServiceOrder order = createTestOrder(600L, ServiceOrderStatus.inExecution());
+            when(eventSpool.isEnabled()).thenReturn(true);
+            when(eventSpool.isEmpty()).thenReturn(true);
+            when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                    .thenThrow(SqsException.builder().message("Throttled").build());
+
+            // Act
+            assertDoesNotThrow(() -> sqsEventPublisher.publishOrderApproved(order));
+
+            // Assert
+            ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+            verify(eventSpool).append(captor.capture());
+            assertEquals(TEST_QUEUE_URL, captor.getValue().queueUrl());
+        }
+
+        @Test
+        @DisplayName("Should spool directly while older messages are pending")
+        void shouldSpoolWhileOlderMessagesPending() {
+            // Arrange
+            ServiceOrder order = createTestOrder(601L, ServiceOrderStatus.finished());
+            when(eventSpool.isEnabled()).thenReturn(true);
+            when(eventSpool.isEmpty()).thenReturn(false);
+
+            // Act
+            sqsEventPublisher.publishOrderFinished(order);
+
+            // Assert
+            verify(eventSpool).append(any(SendMessageRequest.class));
+            verifyNoInteractions(sqsClient);
+        }
+
+        @Test
+        @DisplayName("Should spool without calling SQS while the circuit is open")
+        void shouldSpoolWhileCircuitOpen() {
+            // Arrange
+            SqsEventPublisher publisher = new SqsEventPublisher(sqsClient, objectMapper,
+                    new SqsPublishCircuitBreaker(1, 60), eventSpool);
+            ReflectionTestUtils.setField(publisher, "osEventsQueueUrl", TEST_QUEUE_URL);
+            when(eventSpool.isEnabled()).thenReturn(true);
+            when(eventSpool.isEmpty()).thenReturn(true);
+            when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                    .thenThrow(SqsException.builder().message("Unreachable").build());
+
+            // Act
+            publisher.publishOrderApproved(createTestOrder(602L, ServiceOrderStatus.inExecution()));
+            publisher.publishOrderFinished(createTestOrder(602L, ServiceOrderStatus.finished()));
+
+            // Assert - second event never reaches SQS
+            verify(sqsClient, times(1)).sendMessage(any(SendMessageRequest.class));
+            verify(eventSpool, times(2)).append(any(SendMessageRequest.class));
+        }
     }
 }
@@ -0,0 +1,107 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.messaging.SqsPublishCircuitBreaker.State;
+
+class SqsPublishCircuitBreakerTest {
+
+    private MutableClock clock;
+    private SqsPublishCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        circuitBreaker = new SqsPublishCircuitBreaker(3, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures reach the threshold")
+    void shouldOpenAfterThreshold() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should reset failure count on success")
+    void shouldResetOnSuccess() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    @DisplayName("Should allow a single probe after the open duration")
+    void shouldAllowSingleProbeWhenHalfOpen() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertEquals(State.HALF_OPEN, circuitBreaker.state());
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should close when the probe succeeds and reopen when it fails")
+    void shouldCloseOrReopenAfterProbe() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+        circuitBreaker.allowRequest();
+        circuitBreaker.recordFailure();
+        assertEquals(State.OPEN, circuitBreaker.state());
+
+        clock.advance(Duration.ofSeconds(31));
+        circuitBreaker.allowRequest();
+        circuitBreaker.recordSuccess();
+        assertEquals(State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.techchallenge.fiap.cargarage.os_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.os_service.application.exception.NotFoundException;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+class ObservingInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private ObservationRegistry registry;
+
+    static class Repository {
+
+        String find(String id) {
+            if ("missing".equals(id)) {
+                throw new NotFoundException("not found");
+            }
+            if ("bad".equals(id)) {
+                throw new InvalidDataException("invalid");
+            }
+            if ("broken".equals(id)) {
+                throw new IllegalStateException("broken");
+            }
+            return id;
+        }
+    }
+
+    static class FindUseCase {
+
+        private final Repository repository;
+
+        FindUseCase(Repository repository) {
+            this.repository = repository;
+        }
+
+        public String execute(String id) {
+            return repository.find(id);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+                .observationHandler(new ObservationHandler<>() {
+                    @Override
+                    public void onStop(Observation.Context context) {
+                        stopped.add(context);
+                    }
+
+                    @Override
+                    public boolean supportsContext(Observation.Context context) {
+                        return true;
+                    }
+                });
+    }
+
+    private FindUseCase useCase() {
+        Repository repository = ObservingInterceptor.observe(new Repository(), "test.gateway", registry);
+        return ObservingInterceptor.observe(new FindUseCase(repository), "test.use_case", registry);
+    }
+
+    private Timer timer(String name, String outcome) {
+        return meterRegistry.find(name).tag("outcome", outcome).timer();
+    }
+
+    @Test
+    @DisplayName("Should time calls by class, method and outcome")
+    void shouldTimeCallsWithTags() {
+        FindUseCase useCase = useCase();
+
+        assertEquals("1", useCase.execute("1"));
+        assertThrows(NotFoundException.class, () -> useCase.execute("missing"));
+        assertThrows(InvalidDataException.class, () -> useCase.execute("bad"));
+        assertThrows(IllegalStateException.class, () -> useCase.execute("broken"));
+
+        Timer success = timer("test.use_case", "success");
+        assertNotNull(success);
+        assertEquals(1, success.count());
+        assertEquals("FindUseCase", success.getId().getTag("class"));
+        assertEquals("execute", success.getId().getTag("method"));
+        assertEquals(1, timer("test.use_case", "not_found").count());
+        assertEquals(1, timer("test.use_case", "invalid").count());
+        assertEquals(1, timer("test.use_case", "error").count());
+        assertEquals(4, meterRegistry.find("test.gateway").timers().stream().mapToLong(Timer::count).sum());
+    }
+
+    @Test
+    @DisplayName("Should nest inner calls under the use case observation")
+    void shouldNestInnerObservations() {
+        useCase().execute("1");
+
+        assertEquals(2, stopped.size());
+        Observation.Context gateway = stopped.get(0);
+        Observation.Context useCase = stopped.get(1);
+        assertEquals("Repository.find", gateway.getContextualName());
+        assertEquals("FindUseCase.execute", useCase.getContextualName());
+        assertSame(useCase, gateway.getParentObservation().getContextView());
+    }
+
+    @Test
+    @DisplayName("Should leave the proxied object's identity methods alone")
+    void shouldNotObserveObjectMethods() {
+        useCase().toString();
+
+        assertTrue(stopped.isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package com.techchallenge.fiap.cargarage.os_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.os_service.application.enums.ServiceOrderStatusEnum;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderSlaScanner;
+import com.techchallenge.fiap.cargarage.os_service.infrastructure.database.repository.ServiceOrderSlaScanner.OverdueOrder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceOrderSlaWatchdogTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES = 3;
+
+    @Mock
+    private ServiceOrderSlaScanner scanner;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ServiceOrderSlaWatchdog watchdog(String maxDwell) {
+        return new ServiceOrderSlaWatchdog(scanner, meterRegistry, maxDwell, BATCH_SIZE, MAX_BATCHES);
+    }
+
+    private static OverdueOrder overdue(long id, String status) {
+        return new OverdueOrder(id, status, LocalDateTime.now().minusDays(4));
+    }
+
+    private double breaches(String status) {
+        return meterRegistry.get("service_orders.sla.breaches").tag("status", status).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should scan each status with its own dwell threshold")
+    void shouldScanEachStatusWithItsThreshold() {
+        // Arrange
+        ServiceOrderSlaWatchdog watchdog = watchdog("WAITING_APPROVAL=PT72H,IN_EXECUTION=P7D");
+        when(scanner.flagOverdue(anyString(), any(), anyInt(), any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        watchdog.run();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> threshold = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(scanner).flagOverdue(eq("WAITING_APPROVAL"), threshold.capture(), eq(BATCH_SIZE), now.capture());
+        assertEquals(Duration.ofHours(72), Duration.between(threshold.getValue(), now.getValue()));
+        assertFalse(now.getValue().isBefore(before));
+        verify(scanner).flagOverdue(eq("IN_EXECUTION"), any(), eq(BATCH_SIZE), any());
+        verifyNoMoreInteractions(scanner);
+    }
+
+    @Test
+    @DisplayName("Should count every flagged order as a breach")
+    void shouldCountFlaggedOrdersAsBreaches() {
+        // Arrange
+        ServiceOrderSlaWatchdog watchdog = watchdog("WAITING_APPROVAL=PT72H");
+        when(scanner.flagOverdue(eq("WAITING_APPROVAL"), any(), anyInt(), any()))
+                .thenReturn(List.of(overdue(1L, "WAITING_APPROVAL"), overdue(2L, "WAITING_APPROVAL")))
+                .thenReturn(List.of(overdue(3L, "WAITING_APPROVAL")));
+
+        // Act
+        watchdog.run();
+
+        // Assert
+        verify(scanner, times(2)).flagOverdue(eq("WAITING_APPROVAL"), any(), anyInt(), any());
+        assertEquals(3.0, breaches("WAITING_APPROVAL"));
+        assertEquals(1L, meterRegistry.get("service_orders.sla.watchdog.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stop after the maximum number of batches per run")
+    void shouldStopAfterMaxBatches() {
+        // Arrange
+        ServiceOrderSlaWatchdog watchdog = watchdog("RECEIVED=PT24H");
+        when(scanner.flagOverdue(eq("RECEIVED"), any(), anyInt(), any()))
+                .thenReturn(List.of(overdue(1L, "RECEIVED"), overdue(2L, "RECEIVED")));
+
+        // Act
+        watchdog.run();
+
+        // Assert
+        verify(scanner, times(MAX_BATCHES)).flagOverdue(eq("RECEIVED"), any(), anyInt(), any());
+        assertEquals(MAX_BATCHES * BATCH_SIZE, breaches("RECEIVED"));
+    }
+
+    @Test
+    @DisplayName("Should keep scanning other statuses when one scan fails")
+    void shouldKeepScanningWhenOneStatusFails() {
+        // Arrange
+        ServiceOrderSlaWatchdog watchdog = watchdog("RECEIVED=PT24H,WAITING_APPROVAL=PT72H");
+        when(scanner.flagOverdue(eq("RECEIVED"), any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(scanner.flagOverdue(eq("WAITING_APPROVAL"), any(), anyInt(), any()))
+                .thenReturn(List.of(overdue(9L, "WAITING_APPROVAL")));
+
+        // Act
+        assertDoesNotThrow(watchdog::run);
+
+        // Assert
+        assertEquals(1.0, breaches("WAITING_APPROVAL"));
+    }
+
+    @Test
+    @DisplayName("Should parse the max dwell per status")
+    void shouldParseMaxDwell() {
+        // Act
+        Map<ServiceOrderStatusEnum, Duration> result = ServiceOrderSlaWatchdog.parseMaxDwell(
+                " waiting_approval = PT72H , IN_EXECUTION=P5D");
+
+        // Assert
+        assertEquals(Map.of(
+                ServiceOrderStatusEnum.WAITING_APPROVAL, Duration.ofHours(72),
+                ServiceOrderStatusEnum.IN_EXECUTION, Duration.ofDays(5)), result);
+        assertTrue(ServiceOrderSlaWatchdog.parseMaxDwell("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown, final or non-positive dwell entries")
+    void shouldRejectInvalidMaxDwell() {
+        assertThrows(IllegalArgumentException.class, () -> ServiceOrderSlaWatchdog.parseMaxDwell("UNKNOWN=PT1H"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceOrderSlaWatchdog.parseMaxDwell("WAITING_APPROVAL"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceOrderSlaWatchdog.parseMaxDwell("DELIVERED=PT1H"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceOrderSlaWatchdog.parseMaxDwell("RECEIVED=PT0S"));
+    }
+}
@@ -2,6 +2,8 @@
 -- This script runs when the PostgreSQL container starts
 -- It creates schema, tables and fake seed data for local testing.
 
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE IF NOT EXISTS service_order (
 	id BIGSERIAL PRIMARY KEY,
 	customer_id BIGINT NOT NULL,
@@ -17,7 +19,13 @@ CREATE TABLE IF NOT EXISTS service_order (
 	updated_at TIMESTAMP,
 	approved_at TIMESTAMP,
 	finished_at TIMESTAMP,
-	delivered_at TIMESTAMP
+	delivered_at TIMESTAMP,
+	sla_breached_at TIMESTAMP,
+	-- Full-text search document: description weighs more than customer name
+	search_vector TSVECTOR GENERATED ALWAYS AS (
+		setweight(to_tsvector('portuguese', COALESCE(description, '')), 'A')
+		|| setweight(to_tsvector('portuguese', COALESCE(customer_name, '')), 'B')
+	) STORED
 );
 
 CREATE TABLE IF NOT EXISTS service_order_item (
@@ -51,11 +59,157 @@ CREATE TABLE IF NOT EXISTS service_order_resource (
 		ON DELETE CASCADE
 );
 
-CREATE INDEX IF NOT EXISTS idx_service_order_customer_id ON service_order (customer_id);
-CREATE INDEX IF NOT EXISTS idx_service_order_vehicle_id ON service_order (vehicle_id);
-CREATE INDEX IF NOT EXISTS idx_service_order_status ON service_order (status);
+-- Inbound SQS messages already processed (idempotent consumers).
+-- processed_at stays NULL while a delivery holds the key, and expires_at is
+-- then the end of its lease. Entries expire after the configured TTL and are
+-- purged periodically.
+CREATE TABLE IF NOT EXISTS processed_message (
+	message_key VARCHAR(255) PRIMARY KEY,
+	queue_name VARCHAR(100) NOT NULL,
+	processed_at TIMESTAMP,
+	expires_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS quarantined_message (
+	id BIGSERIAL PRIMARY KEY,
+	message_key VARCHAR(255) NOT NULL,
+	queue_name VARCHAR(100) NOT NULL,
+	payload TEXT,
+	classification VARCHAR(20) NOT NULL,
+	error_type VARCHAR(255),
+	error_message VARCHAR(1000),
+	receive_count INTEGER NOT NULL,
+	quarantined_at TIMESTAMP NOT NULL
+);
+
+-- Append-only log of status transitions, written with every status change.
+-- duration_seconds is the time spent in from_status (NULL when unknown).
+CREATE SEQUENCE IF NOT EXISTS service_order_status_history_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS service_order_status_history (
+	id BIGINT PRIMARY KEY DEFAULT nextval('service_order_status_history_seq'),
+	order_id BIGINT NOT NULL,
+	from_status VARCHAR(40),
+	to_status VARCHAR(40) NOT NULL,
+	changed_at TIMESTAMP NOT NULL,
+	duration_seconds BIGINT,
+	CONSTRAINT fk_service_order_status_history_order
+		FOREIGN KEY (order_id)
+		REFERENCES service_order (id)
+		ON DELETE CASCADE
+);
+
+-- Materialized order count per status, split into shards that are summed on
+-- read so concurrent transitions update different rows.
+CREATE TABLE IF NOT EXISTS service_order_status_counts (
+	status VARCHAR(40) NOT NULL,
+	shard INTEGER NOT NULL,
+	order_count BIGINT NOT NULL DEFAULT 0,
+	PRIMARY KEY (status, shard)
+);
+
+-- Event-sourced persistence (persistence.event-sourcing.enabled=true).
+-- Append-only event streams per order plus the latest snapshot of each stream.
+CREATE TABLE IF NOT EXISTS service_order_event (
+	id BIGSERIAL PRIMARY KEY,
+	order_id BIGINT NOT NULL,
+	version BIGINT NOT NULL,
+	event_type VARCHAR(40) NOT NULL,
+	payload TEXT NOT NULL,
+	occurred_at TIMESTAMP NOT NULL,
+	CONSTRAINT uk_service_order_event_version UNIQUE (order_id, version),
+	CONSTRAINT fk_service_order_event_order
+		FOREIGN KEY (order_id)
+		REFERENCES service_order (id)
+		ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS service_order_snapshot (
+	order_id BIGINT PRIMARY KEY,
+	version BIGINT NOT NULL,
+	state TEXT NOT NULL,
+	taken_at TIMESTAMP NOT NULL,
+	CONSTRAINT fk_service_order_snapshot_order
+		FOREIGN KEY (order_id)
+		REFERENCES service_order (id)
+		ON DELETE CASCADE
+);
+
+-- Denormalized read model (persistence.read-model.enabled=true).
+-- One row per order, rewritten with every change, with its services and
+-- resources as JSON and its license plate without separators in upper case.
+CREATE TABLE IF NOT EXISTS service_order_view (
+	id BIGINT PRIMARY KEY,
+	customer_id BIGINT NOT NULL,
+	customer_name VARCHAR(255),
+	vehicle_id BIGINT NOT NULL,
+	vehicle_license_plate VARCHAR(20),
+	license_plate_key VARCHAR(20),
+	vehicle_model VARCHAR(255),
+	vehicle_brand VARCHAR(255),
+	description TEXT,
+	status VARCHAR(40) NOT NULL,
+	total_price NUMERIC(10, 2),
+	created_at TIMESTAMP NOT NULL,
+	updated_at TIMESTAMP,
+	approved_at TIMESTAMP,
+	finished_at TIMESTAMP,
+	delivered_at TIMESTAMP,
+	services JSONB NOT NULL DEFAULT '[]',
+	resources JSONB NOT NULL DEFAULT '[]',
+	CONSTRAINT fk_service_order_view_order
+		FOREIGN KEY (id)
+		REFERENCES service_order (id)
+		ON DELETE CASCADE
+);
+
+-- Multi-criteria search and listings (newest first, ties broken by id).
+-- Supersede the former single-column customer_id and status indexes.
+DROP INDEX IF EXISTS idx_service_order_customer_id;
+DROP INDEX IF EXISTS idx_service_order_status;
+CREATE INDEX IF NOT EXISTS idx_service_order_customer_created ON service_order (customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_status_created ON service_order (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_created ON service_order (created_at DESC, id DESC);
+-- Open orders are a small share of the table; several open statuses at once
+-- are read in order from this index instead of merged and sorted.
+CREATE INDEX IF NOT EXISTS idx_service_order_open_created ON service_order (created_at DESC, id DESC)
+	WHERE status IN ('RECEIVED', 'IN_DIAGNOSIS', 'WAITING_APPROVAL', 'IN_EXECUTION');
+-- Vehicle history (newest first, keyset on created_at, id); the INCLUDE list
+-- covers the summary columns so summary pages are index-only scans.
+-- Supersedes the former idx_service_order_vehicle_id.
+DROP INDEX IF EXISTS idx_service_order_vehicle_id;
+CREATE INDEX IF NOT EXISTS idx_service_order_vehicle_history ON service_order (vehicle_id, created_at DESC, id DESC)
+	INCLUDE (customer_id, customer_name, vehicle_license_plate, vehicle_model, vehicle_brand, status, total_price, updated_at);
+CREATE INDEX IF NOT EXISTS idx_service_order_plate_history
+	ON service_order (UPPER(REPLACE(vehicle_license_plate, '-', '')), created_at DESC, id DESC);
+-- Text search: tsvector matches and partial plates (trigrams, hyphens ignored)
+CREATE INDEX IF NOT EXISTS idx_service_order_search_vector ON service_order USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_service_order_plate_trgm
+	ON service_order USING GIN (UPPER(REPLACE(vehicle_license_plate, '-', '')) gin_trgm_ops);
+-- SLA watchdog: only orders in a status they can still leave and not yet flagged
+CREATE INDEX IF NOT EXISTS idx_service_order_sla_pending ON service_order (status, updated_at)
+	WHERE status IN ('RECEIVED', 'IN_DIAGNOSIS', 'WAITING_APPROVAL', 'IN_EXECUTION', 'FINISHED')
+		AND sla_breached_at IS NULL;
 CREATE INDEX IF NOT EXISTS idx_service_order_item_order_id ON service_order_item (order_id);
 CREATE INDEX IF NOT EXISTS idx_service_order_resource_order_id ON service_order_resource (order_id);
+CREATE INDEX IF NOT EXISTS idx_processed_message_expires_at ON processed_message (expires_at);
+CREATE INDEX IF NOT EXISTS idx_quarantined_message_queue_name ON quarantined_message (queue_name, quarantined_at);
+CREATE INDEX IF NOT EXISTS idx_status_history_order_id ON service_order_status_history (order_id, changed_at);
+CREATE INDEX IF NOT EXISTS idx_status_history_changed_at ON service_order_status_history (changed_at)
+	INCLUDE (from_status, duration_seconds);
+
+-- Read model: listings by id, searches newest first and vehicle history
+CREATE INDEX IF NOT EXISTS idx_service_order_view_customer ON service_order_view (customer_id, id);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_status ON service_order_view (status, id);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_customer_created
+	ON service_order_view (customer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_status_created
+	ON service_order_view (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_created ON service_order_view (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_vehicle
+	ON service_order_view (vehicle_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_service_order_view_plate
+	ON service_order_view (license_plate_key, created_at DESC, id DESC);
 
 -- Fake data: service orders
 INSERT INTO service_order (
@@ -98,9 +252,40 @@ INSERT INTO service_order_resource (
 	(4, 3, 404, 'Bateria 60Ah', 'Bateria automotiva selada', 'PART', 1, 350.00, 350.00)
 ON CONFLICT (id) DO NOTHING;
 
+-- Fake data: status transitions matching the orders above
+INSERT INTO service_order_status_history (
+	id, order_id, from_status, to_status, changed_at, duration_seconds
+) VALUES
+	(1, 1, NULL, 'RECEIVED', NOW() - INTERVAL '3 days', NULL),
+	(2, 1, 'RECEIVED', 'IN_DIAGNOSIS', NOW() - INTERVAL '3 days' + INTERVAL '2 hours', 7200),
+	(3, 1, 'IN_DIAGNOSIS', 'WAITING_APPROVAL', NOW() - INTERVAL '2 days', 79200),
+	(4, 2, NULL, 'RECEIVED', NOW() - INTERVAL '2 days', NULL),
+	(5, 2, 'RECEIVED', 'IN_DIAGNOSIS', NOW() - INTERVAL '2 days' + INTERVAL '1 hour', 3600),
+	(6, 2, 'IN_DIAGNOSIS', 'WAITING_APPROVAL', NOW() - INTERVAL '30 hours', 61200),
+	(7, 2, 'WAITING_APPROVAL', 'IN_EXECUTION', NOW() - INTERVAL '1 day', 21600),
+	(8, 3, NULL, 'RECEIVED', NOW() - INTERVAL '5 days', NULL),
+	(9, 3, 'RECEIVED', 'IN_DIAGNOSIS', NOW() - INTERVAL '5 days' + INTERVAL '3 hours', 10800),
+	(10, 3, 'IN_DIAGNOSIS', 'WAITING_APPROVAL', NOW() - INTERVAL '4 days', 75600),
+	(11, 3, 'WAITING_APPROVAL', 'IN_EXECUTION', NOW() - INTERVAL '3 days', 86400),
+	(12, 3, 'IN_EXECUTION', 'FINISHED', NOW() - INTERVAL '6 hours', 237600),
+	(13, 4, NULL, 'RECEIVED', NOW() - INTERVAL '4 days', NULL),
+	(14, 4, 'RECEIVED', 'CANCELLED', NOW() - INTERVAL '3 days', 86400)
+ON CONFLICT (id) DO NOTHING;
+
+-- Status counters for the orders above: every status gets the 4 shards of
+-- persistence.status-counts.shards, with the current count in shard 0
+INSERT INTO service_order_status_counts (status, shard, order_count)
+SELECT s.status, g.shard,
+	CASE WHEN g.shard = 0 THEN (SELECT COUNT(*) FROM service_order o WHERE o.status = s.status) ELSE 0 END
+FROM (VALUES ('RECEIVED'), ('IN_DIAGNOSIS'), ('WAITING_APPROVAL'), ('IN_EXECUTION'),
+	('FINISHED'), ('DELIVERED'), ('CANCELLED')) AS s(status)
+CROSS JOIN generate_series(0, 3) AS g(shard)
+ON CONFLICT (status, shard) DO NOTHING;
+
 -- Keep sequences in sync with inserted IDs
 SELECT setval('service_order_id_seq', COALESCE((SELECT MAX(id) FROM service_order), 1), true);
 SELECT setval('service_order_item_id_seq', COALESCE((SELECT MAX(id) FROM service_order_item), 1), true);
 SELECT setval('service_order_resource_id_seq', COALESCE((SELECT MAX(id) FROM service_order_resource), 1), true);
+SELECT setval('service_order_status_history_seq', COALESCE((SELECT MAX(id) FROM service_order_status_history), 1), true);
 
 SELECT 'OS Service schema and fake data initialized' AS status;